@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.svarm.common.engine.HashingEngine;
+import org.svarm.common.engine.RingEngine;
+import org.svarm.common.model.RingEntry;
+
+/**
+ * Compares the ring entry path against the primitive location hash path. Run with the gc profiler to see bytes/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingEngineBenchmark {
+
+  /**
+   * The id to hash.
+   */
+  @Param({"a4f1c2e0-6d7b-4c52-9a3e-1f0b2d8c7e65", "user:\u00e9t\u00e9:42"})
+  public String id;
+
+  /**
+   * The replication factor.
+   */
+  @Param({"3"})
+  public int replicationFactor;
+
+  private HashingEngine hashingEngine;
+  private RingEngine ringEngine;
+  private int[] locationHashes;
+
+  /**
+   * Builds the engines.
+   */
+  @Setup
+  public void setup() {
+    hashingEngine = new HashingEngine();
+    ringEngine = new RingEngine(hashingEngine);
+    locationHashes = new int[replicationFactor];
+  }
+
+  /**
+   * Guava murmur3.
+   *
+   * @return the hash.
+   */
+  @Benchmark
+  public int murmur3() {
+    return hashingEngine.murmur3(id);
+  }
+
+  /**
+   * Primitive murmur3.
+   *
+   * @return the hash.
+   */
+  @Benchmark
+  public int murmur3Fast() {
+    return hashingEngine.murmur3Fast(id);
+  }
+
+  /**
+   * The boxed ring entry.
+   *
+   * @return the ring entry.
+   */
+  @Benchmark
+  public RingEntry ringEntry() {
+    return ringEngine.ringEntry(id, replicationFactor);
+  }
+
+  /**
+   * The primitive location hashes into a reused array.
+   *
+   * @return the array.
+   */
+  @Benchmark
+  public int[] locationHashes() {
+    ringEngine.locationHashes(id, locationHashes);
+    return locationHashes;
+  }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.svarm.common.factory.ObjectMapperFactory;
+import org.svarm.node.api.EntryInfo;
+import org.svarm.node.api.ImmutableEntryInfo;
+
+/**
+ * Compares JSON and Smile for the entries sent between the proxy and the nodes. The scores give the serialization
+ * cost and the gc profiler the bytes allocated; payloadSize reports the encoded size of each format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+  /**
+   * How many fields the entry data has.
+   */
+  @Param({"4", "32"})
+  public int fields;
+
+  private ObjectMapper jsonMapper;
+  private ObjectMapper smileMapper;
+  private EntryInfo entryInfo;
+  private byte[] json;
+  private byte[] smile;
+
+  /**
+   * Builds a typical entry and its encoded forms.
+   *
+   * @throws IOException if it cannot be encoded.
+   */
+  @Setup
+  public void setup() throws IOException {
+    jsonMapper = new ObjectMapperFactory().generate();
+    smileMapper = jsonMapper.copyWith(new SmileFactory());
+    final ObjectNode data = jsonMapper.createObjectNode();
+    for (int i = 0; i < fields; i++) {
+      switch (i % 3) {
+        case 0 -> data.put("name" + i, "value for field " + i);
+        case 1 -> data.put("count" + i, i * 1000L);
+        default -> data.put("enabled" + i, i % 2 == 0);
+      }
+    }
+    entryInfo = ImmutableEntryInfo.builder()
+        .id(UUID.randomUUID().toString())
+        .locationHash(UUID.randomUUID().hashCode())
+        .timestamp(System.currentTimeMillis())
+        .data(data)
+        .build();
+    json = jsonMapper.writeValueAsBytes(entryInfo);
+    smile = smileMapper.writeValueAsBytes(entryInfo);
+  }
+
+  /**
+   * Write as JSON.
+   *
+   * @return the bytes.
+   * @throws IOException if it cannot be encoded.
+   */
+  @Benchmark
+  public byte[] jsonWrite() throws IOException {
+    return jsonMapper.writeValueAsBytes(entryInfo);
+  }
+
+  /**
+   * Write as Smile.
+   *
+   * @return the bytes.
+   * @throws IOException if it cannot be encoded.
+   */
+  @Benchmark
+  public byte[] smileWrite() throws IOException {
+    return smileMapper.writeValueAsBytes(entryInfo);
+  }
+
+  /**
+   * Read JSON.
+   *
+   * @return the entry.
+   * @throws IOException if it cannot be decoded.
+   */
+  @Benchmark
+  public EntryInfo jsonRead() throws IOException {
+    return jsonMapper.readValue(json, EntryInfo.class);
+  }
+
+  /**
+   * Read Smile.
+   *
+   * @return the entry.
+   * @throws IOException if it cannot be decoded.
+   */
+  @Benchmark
+  public EntryInfo smileRead() throws IOException {
+    return smileMapper.readValue(smile, EntryInfo.class);
+  }
+
+  /**
+   * Encodes the entry once in each format and records the sizes as secondary results. A single shot keeps the
+   * counters from being summed over iterations.
+   *
+   * @param payloadSize the counters.
+   * @throws IOException if it cannot be encoded.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  public void payloadSize(final PayloadSize payloadSize) throws IOException {
+    payloadSize.jsonBytes = jsonMapper.writeValueAsBytes(entryInfo).length;
+    payloadSize.smileBytes = smileMapper.writeValueAsBytes(entryInfo).length;
+  }
+
+  /**
+   * The encoded sizes, reported by JMH next to the score.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class PayloadSize {
+
+    /**
+     * Bytes in the JSON form.
+     */
+    public long jsonBytes;
+
+    /**
+     * Bytes in the Smile form.
+     */
+    public long smileBytes;
+
+  }
+
+}
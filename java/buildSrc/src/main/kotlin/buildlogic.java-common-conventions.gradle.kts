@@ -39,7 +39,18 @@ java {
 }
 
 tasks.named<Test>("test") {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("load") // timing based, run on demand with loadTest.
+    }
+}
+tasks.register<Test>("loadTest") {
+    description = "Runs the load tests."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
 }
 // Ensure we have lint warnings displayed so we can fix or  @SuppressWarnings("unchecked")
 tasks.withType<JavaCompile>().configureEach {
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.javaclient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+
+/**
+ * Counts connections per server. Every call acquires a connection, but only new ones are opened, so the gap between
+ * the two counts is the reuse. Counters are kept per server, so the registry is only looked up once for each.
+ */
+public class ConnectionMetricsListener extends EventListener {
+
+  /**
+   * Connections handed to a call, new or reused.
+   */
+  public static final String ACQUIRED = "okhttp.connection.acquired";
+
+  /**
+   * Connections opened.
+   */
+  public static final String OPENED = "okhttp.connection.opened";
+
+  /**
+   * Connections that could not be opened.
+   */
+  public static final String FAILED = "okhttp.connection.failed";
+
+  private static final String HOST = "host";
+  private static final String PROTOCOL = "protocol";
+
+  private final MeterRegistry meterRegistry;
+  private final Map<Key, Counter> counters;
+
+  /**
+   * Constructor.
+   *
+   * @param meterRegistry for the counters.
+   */
+  public ConnectionMetricsListener(final MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.counters = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public void connectionAcquired(final Call call, final Connection connection) {
+    counter(ACQUIRED, call, connection.protocol()).increment();
+  }
+
+  @Override
+  public void connectEnd(final Call call,
+                         final InetSocketAddress inetSocketAddress,
+                         final Proxy proxy,
+                         final Protocol protocol) {
+    counter(OPENED, call, protocol).increment();
+  }
+
+  @Override
+  public void connectFailed(final Call call,
+                            final InetSocketAddress inetSocketAddress,
+                            final Proxy proxy,
+                            final Protocol protocol,
+                            final IOException ioe) {
+    counter(FAILED, call, null).increment();
+  }
+
+  private Counter counter(final String name, final Call call, final Protocol protocol) {
+    final HttpUrl url = call.request().url();
+    return counters.computeIfAbsent(new Key(name, url.host(), url.port(), protocol), key -> {
+      final String host = key.host() + ":" + key.port();
+      return FAILED.equals(name)
+          ? meterRegistry.counter(name, HOST, host)
+          : meterRegistry.counter(name, HOST, host, PROTOCOL, String.valueOf(key.protocol()));
+    });
+  }
+
+  private record Key(String name, String host, int port, Protocol protocol) {
+  }
+
+}
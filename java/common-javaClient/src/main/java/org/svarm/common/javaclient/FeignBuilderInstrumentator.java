@@ -3,6 +3,7 @@ package org.svarm.common.javaclient;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import feign.Client;
 import feign.Feign;
 import feign.jackson.JacksonDecoder;
@@ -16,6 +17,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
+import org.svarm.common.util.MediaTypes;
 
 /**
  * Instruments the feign builder provided.
@@ -24,6 +26,8 @@ import org.slf4j.Logger;
 public class FeignBuilderInstrumentator {
 
   private static final Logger LOGGER = getLogger(FeignBuilderInstrumentator.class);
+  private static final String ACCEPT = "Accept";
+  private static final String SMILE_ACCEPT = MediaTypes.APPLICATION_SMILE + ", application/json;q=0.5";
 
   private final TraceInterceptor traceInterceptor;
   private final Slf4jLogger slf4jLogger;
@@ -31,6 +35,8 @@ public class FeignBuilderInstrumentator {
   private final JAXRSContract jakartaContract;
   private final JacksonDecoder jacksonDecoder;
   private final JacksonEncoder jacksonEncoder;
+  private final SmileDecoder smileDecoder;
+  private final SmileEncoder smileEncoder;
   private final Client client;
 
   /**
@@ -52,6 +58,9 @@ public class FeignBuilderInstrumentator {
     this.jakartaContract = new JAXRSContract();
     this.jacksonDecoder = new JacksonDecoder(objectMapper);
     this.jacksonEncoder = new JacksonEncoder(objectMapper);
+    final ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+    this.smileDecoder = new SmileDecoder(smileMapper, jacksonDecoder);
+    this.smileEncoder = new SmileEncoder(smileMapper);
     this.traceInterceptor = traceInterceptor;
     LOGGER.info("FeignBuilderInstrumentator({},{},{})", traceInterceptor, meterRegistry, objectMapper);
   }
@@ -74,6 +83,21 @@ public class FeignBuilderInstrumentator {
         .encoder(jacksonEncoder);
   }
 
+  /**
+   * Instruments the builder to send Smile and ask for it back, taking JSON if that is what the server returns.
+   * Only for services where every call consumes Smile.
+   *
+   * @param builder to instrument.
+   * @return the builder.
+   */
+  public Feign.Builder instrumentSmile(final Feign.Builder builder) {
+    LOGGER.trace("instrumentSmile({})", builder);
+    return instrument(builder)
+        .requestInterceptor(template -> template.removeHeader(ACCEPT).header(ACCEPT, SMILE_ACCEPT))
+        .decoder(smileDecoder)
+        .encoder(smileEncoder);
+  }
+
   /**
    * Generates a builder with the decorator.
    *
@@ -39,4 +39,67 @@ public interface JavaClientConfig {
     return false;
   }
 
+  /**
+   * Use Smile instead of JSON for the services that support it. Servers that do not still answer in JSON.
+   *
+   * @return the boolean
+   */
+  @Value.Default
+  default boolean smile() {
+    return false;
+  }
+
+  /**
+   * Talk HTTP/2, so every call to a server shares one multiplexed connection. Plain text servers are called with
+   * prior knowledge (h2c), so they need an h2c connector; they still accept HTTP/1.1 from other clients. TLS servers
+   * negotiate it with ALPN and fall back to HTTP/1.1.
+   *
+   * @return the boolean
+   */
+  @Value.Default
+  default boolean http2() {
+    return false;
+  }
+
+  /**
+   * How many idle connections the pool keeps, across all servers. With HTTP/2 one per server is enough.
+   *
+   * @return the int
+   */
+  @Value.Default
+  default int maxIdleConnections() {
+    return 32;
+  }
+
+  /**
+   * How long an idle connection is kept before it is closed.
+   *
+   * @return the long
+   */
+  @Value.Default
+  default long keepAliveMillis() {
+    return 300_000L;
+  }
+
+  /**
+   * How often HTTP/2 connections are pinged, so dead ones are dropped before a request uses them. Zero disables it.
+   *
+   * @return the long
+   */
+  @Value.Default
+  default long pingIntervalMillis() {
+    return 30_000L;
+  }
+
+  /**
+   * How long a whole call may take, from connecting to reading the body, before it is failed and its connection
+   * released. Zero means no limit.
+   *
+   * @return the long
+   */
+  @Value.Default
+  default long callTimeoutMillis() {
+    return 0L;
+  }
+
 }
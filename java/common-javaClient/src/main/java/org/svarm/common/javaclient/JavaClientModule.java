@@ -28,11 +28,15 @@ import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocketFactory;
+import okhttp3.ConnectionPool;
+import okhttp3.Protocol;
 import org.apache.http.ssl.SSLContexts;
 import org.apache.http.ssl.TrustStrategy;
 
@@ -72,22 +76,43 @@ public class JavaClientModule {
   }
 
   /**
-   * Ok http client ok http client.
+   * Ok http client ok http client. The connection pool, keep alive, call timeout and HTTP/2 come from the config, and connection
+   * reuse is counted per server.
    *
-   * @param config the config
+   * @param config        the config
+   * @param meterRegistry for the connection metrics
    * @return the ok http client
    */
   @Provides
   @Singleton
-  public Client client(final Optional<JavaClientConfig> config) {
-    if (config.isPresent() && config.get().disableSslVerification()) {
+  public Client client(final Optional<JavaClientConfig> config,
+                       final MeterRegistry meterRegistry) {
+    final JavaClientConfig clientConfig = config.orElseGet(JavaClientConfig::defaultConfig);
+    if (clientConfig.disableSslVerification()) {
       return new Client.Default(
           getSslSocketFactory(),
           (hostname, session) -> true
       );
     } else {
-      final okhttp3.OkHttpClient.Builder builder = new okhttp3.OkHttpClient.Builder();
-      return new OkHttpClient(builder.build());
+      final okhttp3.OkHttpClient.Builder builder = new okhttp3.OkHttpClient.Builder()
+          .connectionPool(new ConnectionPool(
+              clientConfig.maxIdleConnections(), clientConfig.keepAliveMillis(), TimeUnit.MILLISECONDS))
+          .pingInterval(clientConfig.pingIntervalMillis(), TimeUnit.MILLISECONDS)
+          .callTimeout(clientConfig.callTimeoutMillis(), TimeUnit.MILLISECONDS)
+          .eventListener(new ConnectionMetricsListener(meterRegistry));
+      final okhttp3.OkHttpClient okHttpClient = builder.build();
+      if (!clientConfig.http2()) {
+        return new OkHttpClient(okHttpClient);
+      }
+      // Prior knowledge only works over plain text, so TLS servers negotiate HTTP/2 with ALPN instead. Both clients
+      // share the connection pool.
+      final Client tls = new OkHttpClient(okHttpClient.newBuilder()
+          .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+          .build());
+      final Client plainText = new OkHttpClient(okHttpClient.newBuilder()
+          .protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE))
+          .build());
+      return (request, options) -> (request.url().startsWith("https:") ? tls : plainText).execute(request, options);
     }
   }
 
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.javaclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import org.svarm.common.util.MediaTypes;
+
+/**
+ * Decodes Smile responses, and hands anything else to the JSON decoder. The server picks the format from the
+ * accept header, so either can come back.
+ */
+public class SmileDecoder implements Decoder {
+
+  private final ObjectMapper smileMapper;
+  private final Decoder jsonDecoder;
+
+  /**
+   * Constructor.
+   *
+   * @param smileMapper an object mapper using the smile factory.
+   * @param jsonDecoder for responses that are not smile.
+   */
+  public SmileDecoder(final ObjectMapper smileMapper,
+                      final Decoder jsonDecoder) {
+    this.smileMapper = smileMapper;
+    this.jsonDecoder = jsonDecoder;
+  }
+
+  @Override
+  public Object decode(final Response response, final Type type) throws IOException {
+    if (!isSmile(response)) {
+      return jsonDecoder.decode(response, type);
+    }
+    if (response.status() == 404 || response.status() == 204) {
+      return Util.emptyValueOf(type);
+    }
+    if (response.body() == null) {
+      return null;
+    }
+    try (InputStream inputStream = response.body().asInputStream()) {
+      final byte[] bytes = inputStream.readAllBytes();
+      if (bytes.length == 0) {
+        return null;
+      }
+      return smileMapper.readValue(bytes, smileMapper.constructType(type));
+    }
+  }
+
+  private boolean isSmile(final Response response) {
+    final Collection<String> contentTypes = response.headers().getOrDefault(Util.CONTENT_TYPE, List.of());
+    return contentTypes.stream().anyMatch(contentType -> contentType.startsWith(MediaTypes.APPLICATION_SMILE));
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.javaclient;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.RequestTemplate;
+import feign.Util;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import java.lang.reflect.Type;
+import org.svarm.common.util.MediaTypes;
+
+/**
+ * Encodes request bodies as Smile, replacing the JSON content type the contract set.
+ */
+public class SmileEncoder implements Encoder {
+
+  private final ObjectMapper smileMapper;
+
+  /**
+   * Constructor.
+   *
+   * @param smileMapper an object mapper using the smile factory.
+   */
+  public SmileEncoder(final ObjectMapper smileMapper) {
+    this.smileMapper = smileMapper;
+  }
+
+  @Override
+  public void encode(final Object object, final Type bodyType, final RequestTemplate template) {
+    try {
+      template.body(smileMapper.writerFor(smileMapper.constructType(bodyType)).writeValueAsBytes(object), null);
+    } catch (JsonProcessingException e) {
+      throw new EncodeException(e.getMessage(), e);
+    }
+    template.removeHeader(Util.CONTENT_TYPE);
+    template.header(Util.CONTENT_TYPE, MediaTypes.APPLICATION_SMILE);
+  }
+}
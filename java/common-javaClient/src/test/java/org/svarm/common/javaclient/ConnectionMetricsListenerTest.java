@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.javaclient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionMetricsListenerTest {
+
+  private static final String HOST = "node:8080";
+  private static final InetSocketAddress ADDRESS = InetSocketAddress.createUnresolved("node", 8080);
+
+  @Mock private Call call;
+  @Mock private Connection connection;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ConnectionMetricsListener listener;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    listener = new ConnectionMetricsListener(meterRegistry);
+    when(call.request()).thenReturn(new Request.Builder().url("http://node:8080/v1/tenant").build());
+  }
+
+  @Test
+  void countsReuse() {
+    when(connection.protocol()).thenReturn(Protocol.H2_PRIOR_KNOWLEDGE);
+
+    listener.connectEnd(call, ADDRESS, Proxy.NO_PROXY, Protocol.H2_PRIOR_KNOWLEDGE);
+    listener.connectionAcquired(call, connection);
+    listener.connectionAcquired(call, connection);
+
+    assertThat(meterRegistry.get(ConnectionMetricsListener.OPENED).tag("host", HOST).counter().count())
+        .isEqualTo(1.0);
+    assertThat(meterRegistry.get(ConnectionMetricsListener.ACQUIRED).tag("host", HOST)
+        .tag("protocol", "h2_prior_knowledge").counter().count())
+        .isEqualTo(2.0);
+    assertThat(meterRegistry.getMeters()).hasSize(2);
+  }
+
+  @Test
+  void countsFailures() {
+    listener.connectFailed(call, ADDRESS, Proxy.NO_PROXY, null, new IOException());
+
+    assertThat(meterRegistry.get(ConnectionMetricsListener.FAILED).tag("host", HOST).counter().count())
+        .isEqualTo(1.0);
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.javaclient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.common.util.MediaTypes;
+
+@ExtendWith(MockitoExtension.class)
+class SmileCodecTest {
+
+  private static final Type TYPE = Map.class;
+  private static final Map<String, Object> BODY = Map.of("id", "abc", "timestamp", 42);
+
+  @Mock private Decoder jsonDecoder;
+
+  private ObjectMapper smileMapper;
+  private SmileEncoder encoder;
+  private SmileDecoder decoder;
+
+  @BeforeEach
+  void setup() {
+    smileMapper = new ObjectMapper().copyWith(new SmileFactory());
+    encoder = new SmileEncoder(smileMapper);
+    decoder = new SmileDecoder(smileMapper, jsonDecoder);
+  }
+
+  @Test
+  void roundTrip() throws Exception {
+    final RequestTemplate template = new RequestTemplate();
+    template.header(Util.CONTENT_TYPE, "application/json");
+
+    encoder.encode(BODY, TYPE, template);
+
+    assertThat(template.headers().get(Util.CONTENT_TYPE)).containsExactly(MediaTypes.APPLICATION_SMILE);
+    assertThat(decoder.decode(response(200, MediaTypes.APPLICATION_SMILE, template.body()), TYPE))
+        .isEqualTo(BODY);
+  }
+
+  @Test
+  void decode_jsonFallsBack() throws Exception {
+    final Response response = response(200, "application/json", "{}".getBytes(Util.UTF_8));
+    when(jsonDecoder.decode(response, TYPE)).thenReturn(BODY);
+
+    assertThat(decoder.decode(response, TYPE)).isEqualTo(BODY);
+    verify(jsonDecoder).decode(response, TYPE);
+  }
+
+  @Test
+  void decode_emptyBody() throws Exception {
+    assertThat(decoder.decode(response(200, MediaTypes.APPLICATION_SMILE, new byte[0]), TYPE)).isNull();
+  }
+
+  private Response response(final int status, final String contentType, final byte[] body) {
+    return Response.builder()
+        .status(status)
+        .request(Request.create(Request.HttpMethod.GET, "http://localhost", Map.of(), null, Util.UTF_8, null))
+        .headers(Map.of(Util.CONTENT_TYPE, List.of(contentType)))
+        .body(body)
+        .build();
+  }
+
+}
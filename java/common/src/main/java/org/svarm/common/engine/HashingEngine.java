@@ -31,7 +31,8 @@ import org.slf4j.Logger;
 public class HashingEngine {
 
   private static final Logger LOGGER = getLogger(HashingEngine.class);
-
+  private static final int C1 = 0xcc9e2d51;
+  private static final int C2 = 0x1b873593;
 
   /**
    * Constructor.
@@ -51,6 +52,80 @@ public class HashingEngine {
     return Hashing.murmur3_32_fixed().hashString(value, Charsets.UTF_8).asInt();
   }
 
+  /**
+   * Same result as {@link #murmur3(String)}, but encodes the UTF-8 bytes on the fly and returns the primitive, so
+   * nothing is allocated per call. Unpaired surrogates hash as '?', the same as String.getBytes() encodes them.
+   *
+   * @param value to be hashed.
+   * @return the value.
+   */
+  public int murmur3Fast(final CharSequence value) {
+    final int length = value.length();
+    int h1 = 0;
+    long buffer = 0;
+    int shift = 0;
+    int byteLength = 0;
+    for (int i = 0; i < length; i++) {
+      final char c = value.charAt(i);
+      if (c < 0x80) {
+        buffer |= (long) c << shift;
+        shift += 8;
+        byteLength += 1;
+      } else if (c < 0x800) {
+        buffer |= ((0xC0L | (c >>> 6)) | ((0x80L | (0x3F & c)) << 8)) << shift;
+        shift += 16;
+        byteLength += 2;
+      } else if (!Character.isSurrogate(c)) {
+        buffer |= ((0xE0L | (c >>> 12))
+            | ((0x80L | (0x3F & (c >>> 6))) << 8)
+            | ((0x80L | (0x3F & c)) << 16)) << shift;
+        shift += 24;
+        byteLength += 3;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+        final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buffer |= ((0xF0L | (codePoint >>> 18))
+            | ((0x80L | (0x3F & (codePoint >>> 12))) << 8)
+            | ((0x80L | (0x3F & (codePoint >>> 6))) << 16)
+            | ((0x80L | (0x3F & codePoint)) << 24)) << shift;
+        shift += 32;
+        byteLength += 4;
+      } else {
+        buffer |= (long) '?' << shift;
+        shift += 8;
+        byteLength += 1;
+      }
+      if (shift >= 32) {
+        h1 = mixH1(h1, mixK1((int) buffer));
+        buffer >>>= 32;
+        shift -= 32;
+      }
+    }
+    h1 ^= mixK1((int) buffer);
+    return fmix(h1, byteLength);
+  }
+
+  private static int mixK1(int k1) {
+    k1 *= C1;
+    k1 = Integer.rotateLeft(k1, 15);
+    return k1 * C2;
+  }
+
+  private static int mixH1(int h1, final int k1) {
+    h1 ^= k1;
+    h1 = Integer.rotateLeft(h1, 13);
+    return h1 * 5 + 0xe6546b64;
+  }
+
+  private static int fmix(int h1, final int length) {
+    h1 ^= length;
+    h1 ^= h1 >>> 16;
+    h1 *= 0x85ebca6b;
+    h1 ^= h1 >>> 13;
+    h1 *= 0xc2b2ae35;
+    h1 ^= h1 >>> 16;
+    return h1;
+  }
+
   /**
    * Provides for hashing a string to the hex array.
    *
@@ -32,16 +32,17 @@ import org.svarm.common.model.RingEntry;
 
 /**
  * Provides for a ring structure. Useful for the figuring out where things belong.
- * TODO: Simplify by just creating, say, six static groups of replication bases. From 1 to 6. No reason
- * to support unlimited replication bases here... and it'll go faster then.
+ * The replication bases for factors 1 to 6 are precomputed for the primitive locationHashes() path.
  */
 @Singleton
 public class RingEngine {
 
   private static final Logger LOGGER = getLogger(RingEngine.class);
+  private static final int PRECOMPUTED_REPLICATION_FACTORS = 6;
 
   private final HashingEngine hashingEngine;
   private final LoadingCache<Integer, Set<Long>> replicationBaseCache;
+  private final long[][] replicationBaseArrays;
 
   /**
    * Constructor.
@@ -53,6 +54,10 @@ public class RingEngine {
     this.hashingEngine = hashingEngine;
     replicationBaseCache = CacheBuilder.newBuilder().maximumSize(100)
         .build(CacheLoader.from(this::getReplicationBases));
+    replicationBaseArrays = new long[PRECOMPUTED_REPLICATION_FACTORS + 1][];
+    for (int i = 1; i <= PRECOMPUTED_REPLICATION_FACTORS; i++) {
+      replicationBaseArrays[i] = replicationBaseArray(i);
+    }
     LOGGER.info("RingEngine({})", hashingEngine);
   }
 
@@ -75,6 +80,42 @@ public class RingEngine {
     return ImmutableRingEntry.builder().id(id).hash(hash).locationStores(otherHashes).build();
   }
 
+  /**
+   * Primitive version of {@link #ringEntry(String, int)} for the request path. Writes the location hashes for the id
+   * into the caller's array, one per replica, so the replication factor is the array length. The first value is the
+   * hash of the id itself. Nothing is allocated for replication factors up to six.
+   *
+   * @param id             the id.
+   * @param locationHashes to fill in.
+   */
+  public void locationHashes(final CharSequence id, final int[] locationHashes) {
+    final int replicationFactor = locationHashes.length;
+    if (replicationFactor < 1) {
+      throw new IllegalStateException("Cannot initialize with a replication factor < 1. Found " + replicationFactor);
+    }
+    final int hash = hashingEngine.murmur3Fast(id);
+    final long[] bases = replicationFactor <= PRECOMPUTED_REPLICATION_FACTORS
+        ? replicationBaseArrays[replicationFactor]
+        : replicationBaseArray(replicationFactor);
+    for (int i = 0; i < replicationFactor; i++) {
+      locationHashes[i] = addNumbersWithIntegerWrap(hash, bases[i]);
+    }
+  }
+
+  private long[] replicationBaseArray(final int replicationFactor) {
+    return replicationBaseCache.getUnchecked(replicationFactor).stream().mapToLong(Long::longValue).toArray();
+  }
+
+  /**
+   * How far apart on the ring the replicas of an entry are stored.
+   *
+   * @param replicationFactor how to divide the hashing space.
+   * @return the distance between replicas.
+   */
+  public long replicationStep(final int replicationFactor) {
+    return (((long) Integer.MAX_VALUE * 2L) - 1L) / (long) replicationFactor;
+  }
+
   /**
    * This method will return a set of base hash values to add to the real hash value.
    * The result is numbers you can add to see where the replication hashes are.
@@ -85,7 +126,7 @@ public class RingEngine {
   private Set<Long> getReplicationBases(final int replicationFactor) {
     LOGGER.trace("getReplicationBases({})", replicationFactor);
     long currentHash = 0;
-    final long replicationAddition = (((long) Integer.MAX_VALUE * 2L) - 1L) / (long) replicationFactor;
+    final long replicationAddition = replicationStep(replicationFactor);
     final ImmutableSet.Builder<Long> builder = ImmutableSet.<Long>builder().add(currentHash);
     for (int i = 1; i < replicationFactor; i++) {
       currentHash = addNumbersWithIntegerWrap(Math.toIntExact(currentHash), replicationAddition);
@@ -20,6 +20,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class HashingEngineTest {
 
@@ -35,5 +37,12 @@ class HashingEngineTest {
     assertThat(hashingEngine.murmur3("fred")).isNotZero();
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {"", "a", "ab", "abc", "abcd", "fred", "h\u00e9llo", "\u65e5\u672c\u8a9e",
+      "\uD83D\uDE00x", "a\uD800b", "\uDC00", "x\uD800"})
+  void murmur3Fast_matchesMurmur3(final String value) {
+    assertThat(hashingEngine.murmur3Fast(value)).isEqualTo(hashingEngine.murmur3(value));
+  }
+
 
 }
\ No newline at end of file
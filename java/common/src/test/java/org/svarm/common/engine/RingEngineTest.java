@@ -81,4 +81,15 @@ class RingEngineTest {
         .hasFieldOrPropertyWithValue("locationStores", expected);
   }
 
+  @ParameterizedTest
+  @MethodSource("testValues")
+  void locationHashes(final Integer repFactor, final Integer hashedValue, final Set<Integer> expected) {
+    final RingEngine ringEngine = new RingEngine(hashingEngine);
+    when(hashingEngine.murmur3Fast(ID)).thenReturn(hashedValue);
+    final int[] result = new int[repFactor];
+    ringEngine.locationHashes(ID, result);
+    assertThat(result[0]).isEqualTo(hashedValue);
+    assertThat(result).containsExactlyInAnyOrder(expected.stream().mapToInt(Integer::intValue).toArray());
+  }
+
 }
\ No newline at end of file
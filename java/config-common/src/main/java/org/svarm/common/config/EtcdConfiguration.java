@@ -47,4 +47,25 @@ public interface EtcdConfiguration {
    */
   Optional<String> target();
 
+  /**
+   * Most operations to put in one transaction. Matches the etcd server default for --max-txn-ops.
+   *
+   * @return the max.
+   */
+  @Value.Default
+  default int maxTxnOps() {
+    return 128;
+  }
+
+  /**
+   * Most bytes of keys and values to put in one transaction. Kept under the etcd server default for
+   * --max-request-bytes (1.5MiB) to leave room for the request framing.
+   *
+   * @return the max.
+   */
+  @Value.Default
+  default long maxTxnBytes() {
+    return 1_000_000;
+  }
+
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.config.accessor;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking version of the etcd accessor. Every call returns as soon as the request is sent, so callers can
+ * issue several and compose the results instead of waiting on each in turn. Failures complete the future
+ * exceptionally.
+ */
+public interface AsyncEtcdAccessor {
+
+  /**
+   * Put.
+   *
+   * @param namespace the namespace
+   * @param key       the key
+   * @param value     the value
+   * @return completes when written
+   */
+  CompletableFuture<Void> put(String namespace, String key, String value);
+
+  /**
+   * Put all. Large maps are split into several transactions sent together, so the change as a whole is not
+   * atomic.
+   *
+   * @param namespace the namespace
+   * @param map       the map
+   * @return completes when written, or fails with an EtcdPartialFailureException naming the keys not written
+   */
+  CompletableFuture<Void> putAll(String namespace, Map<String, String> map);
+
+  /**
+   * Delete all. Split into transactions like putAll.
+   *
+   * @param namespace the namespace
+   * @param keys      the keys
+   * @return completes when deleted, or fails with an EtcdPartialFailureException naming the keys not deleted
+   */
+  CompletableFuture<Void> deleteAll(String namespace, Collection<String> keys);
+
+  /**
+   * Delete.
+   *
+   * @param namespace the namespace
+   * @param key       the key
+   * @return completes when deleted
+   */
+  CompletableFuture<Void> delete(String namespace, String key);
+
+  /**
+   * Get.
+   *
+   * @param namespace the namespace
+   * @param key       the key
+   * @return the value, if there is one
+   */
+  CompletableFuture<Optional<String>> get(String namespace, String key);
+
+  /**
+   * Gets all the values under the prefix.
+   *
+   * @param namespace the namespace
+   * @param key       the key
+   * @return the values by full key
+   */
+  CompletableFuture<Map<String, String>> getAll(String namespace, String key);
+
+  /**
+   * Gets all the values under the prefix with the revision they were read at.
+   *
+   * @param namespace the namespace
+   * @param key       the key
+   * @return the snapshot
+   */
+  CompletableFuture<KeyValueSnapshot> snapshot(String namespace, String key);
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.config.accessor;
+
+import static org.svarm.common.config.module.EtcdModule.INTERNAL_ETCD_ACCESSOR_PREAMBLE;
+
+import com.codeheadsystems.metrics.Metrics;
+import com.codeheadsystems.metrics.Tags;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
+import io.etcd.jetcd.KeyValue;
+import io.etcd.jetcd.Txn;
+import io.etcd.jetcd.kv.GetResponse;
+import io.etcd.jetcd.op.Op;
+import io.etcd.jetcd.options.DeleteOption;
+import io.etcd.jetcd.options.GetOption;
+import io.etcd.jetcd.options.PutOption;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The non-blocking ETCD accessor. Uses the same keys as the blocking one, so the two can be mixed.
+ */
+@Singleton
+public class AsyncEtcdAccessorImpl implements AsyncEtcdAccessor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AsyncEtcdAccessorImpl.class);
+
+  private final Client client;
+  private final String namespaceKeyFormat;
+  private final Metrics metrics;
+  private final TxnChunker txnChunker;
+
+  /**
+   * Constructor.
+   *
+   * @param client     for etcd.
+   * @param preamble   for us to use.
+   * @param metrics    the metrics
+   * @param txnChunker to split bulk changes into transactions.
+   */
+  @Inject
+  public AsyncEtcdAccessorImpl(final Client client,
+                               @Named(INTERNAL_ETCD_ACCESSOR_PREAMBLE) final String preamble,
+                               final Metrics metrics,
+                               final TxnChunker txnChunker) {
+    this.client = client;
+    this.namespaceKeyFormat = preamble + "_%s/%s";
+    this.metrics = metrics;
+    this.txnChunker = txnChunker;
+    LOGGER.info("AsyncEtcdAccessor({},{},{})", namespaceKeyFormat, client, metrics);
+  }
+
+  private String getNamespaceKey(final String namespace, final String key) {
+    return String.format(namespaceKeyFormat, namespace, key);
+  }
+
+  private ByteSequence bytes(final String value) {
+    return ByteSequence.from(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Counts and logs the failure, leaving the future failed for the caller.
+   */
+  private <T> CompletableFuture<T> track(final CompletableFuture<T> future,
+                                         final String name,
+                                         final String namespace,
+                                         final String key) {
+    return future.whenComplete((result, throwable) -> {
+      if (throwable != null) {
+        LOGGER.error("Unable to {} etcd {}/{}", name, namespace, key, throwable);
+        metrics.increment("etcd.async." + name + ".error", Tags.of("namespace", namespace));
+      }
+    });
+  }
+
+  @Override
+  public CompletableFuture<Void> put(final String namespace, final String key, final String value) {
+    final String namespaceKey = getNamespaceKey(namespace, key);
+    LOGGER.trace("put({},{})", namespaceKey, value);
+    return track(client.getKVClient().put(bytes(namespaceKey), bytes(value))
+        .thenApply(response -> null), "put", namespace, key);
+  }
+
+  @Override
+  public CompletableFuture<Void> putAll(final String namespace, final Map<String, String> map) {
+    LOGGER.trace("putAll({},{})", namespace, map);
+    final Map<List<String>, CompletableFuture<?>> commits = new LinkedHashMap<>();
+    for (List<Map.Entry<String, String>> chunk : txnChunker.chunk(map.entrySet(),
+        e -> getNamespaceKey(namespace, e.getKey()).length() + e.getValue().length())) {
+      final Txn txn = client.getKVClient().txn();
+      chunk.forEach(e ->
+          txn.Then(Op.put(bytes(getNamespaceKey(namespace, e.getKey())), bytes(e.getValue()), PutOption.DEFAULT)));
+      commits.put(chunk.stream().map(Map.Entry::getKey).toList(), txn.commit());
+    }
+    return track(allCommitted(namespace, commits), "putAll", namespace, "");
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteAll(final String namespace, final Collection<String> keys) {
+    LOGGER.trace("deleteAll({},{})", namespace, keys);
+    final Map<List<String>, CompletableFuture<?>> commits = new LinkedHashMap<>();
+    for (List<String> chunk : txnChunker.chunk(keys, key -> getNamespaceKey(namespace, key).length())) {
+      final Txn txn = client.getKVClient().txn();
+      chunk.forEach(key -> txn.Then(Op.delete(bytes(getNamespaceKey(namespace, key)), DeleteOption.DEFAULT)));
+      commits.put(chunk, txn.commit());
+    }
+    return track(allCommitted(namespace, commits), "deleteAll", namespace, "");
+  }
+
+  /**
+   * Completes once every transaction has, failing with the keys of the ones that did not commit.
+   */
+  private CompletableFuture<Void> allCommitted(final String namespace,
+                                               final Map<List<String>, CompletableFuture<?>> commits) {
+    return CompletableFuture.allOf(commits.values().toArray(CompletableFuture[]::new))
+        .handle((result, throwable) -> {
+          if (throwable == null) {
+            return null;
+          }
+          final Set<String> failedKeys = new TreeSet<>();
+          commits.forEach((keys, commit) -> {
+            if (commit.isCompletedExceptionally()) {
+              failedKeys.addAll(keys);
+            }
+          });
+          throw new EtcdPartialFailureException(namespace, failedKeys,
+              throwable instanceof CompletionException ? throwable.getCause() : throwable);
+        });
+  }
+
+  @Override
+  public CompletableFuture<Void> delete(final String namespace, final String key) {
+    final String namespaceKey = getNamespaceKey(namespace, key);
+    LOGGER.trace("delete({})", namespaceKey);
+    return track(client.getKVClient().delete(bytes(namespaceKey))
+        .thenApply(response -> null), "delete", namespace, key);
+  }
+
+  @Override
+  public CompletableFuture<Optional<String>> get(final String namespace, final String key) {
+    final String namespaceKey = getNamespaceKey(namespace, key);
+    LOGGER.trace("get({})", namespaceKey);
+    return track(client.getKVClient().get(bytes(namespaceKey))
+        .thenApply(response -> response.getKvs().stream()
+            .map(KeyValue::getValue)
+            .findFirst()
+            .map(ByteSequence::toString)), "get", namespace, key);
+  }
+
+  @Override
+  public CompletableFuture<Map<String, String>> getAll(final String namespace, final String key) {
+    final String namespaceKey = getNamespaceKey(namespace, key);
+    LOGGER.trace("getAll({})", namespaceKey);
+    return track(prefix(namespaceKey).thenApply(this::values), "getAll", namespace, key);
+  }
+
+  @Override
+  public CompletableFuture<KeyValueSnapshot> snapshot(final String namespace, final String key) {
+    final String namespaceKey = getNamespaceKey(namespace, key);
+    LOGGER.trace("snapshot({})", namespaceKey);
+    return track(prefix(namespaceKey).thenApply(response -> ImmutableKeyValueSnapshot.builder()
+        .values(values(response))
+        .revision(response.getHeader().getRevision())
+        .build()), "snapshot", namespace, key);
+  }
+
+  private CompletableFuture<GetResponse> prefix(final String namespaceKey) {
+    return client.getKVClient().get(bytes(namespaceKey), GetOption.builder().isPrefix(true).build());
+  }
+
+  private Map<String, String> values(final GetResponse response) {
+    return response.getKvs().stream()
+        .collect(Collectors.toMap(kv -> kv.getKey().toString(), kv -> kv.getValue().toString()));
+  }
+}
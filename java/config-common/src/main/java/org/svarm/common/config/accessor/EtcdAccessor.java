@@ -1,6 +1,7 @@
 package org.svarm.common.config.accessor;
 
 import io.etcd.jetcd.Watch;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 
@@ -18,13 +19,24 @@ public interface EtcdAccessor {
   void put(String namespace, String key, String value);
 
   /**
-   * Put all.
+   * Put all. Large maps are split into several transactions that are committed concurrently, so the change as a
+   * whole is not atomic.
    *
    * @param namespace the namespace
    * @param map       the map
+   * @throws EtcdPartialFailureException with the keys not written if some transactions failed.
    */
   void putAll(String namespace, Map<String, String> map);
 
+  /**
+   * Delete all. Split into transactions like putAll.
+   *
+   * @param namespace the namespace
+   * @param keys      the keys
+   * @throws EtcdPartialFailureException with the keys not deleted if some transactions failed.
+   */
+  void deleteAll(String namespace, Collection<String> keys);
+
   /**
    * Delete.
    *
@@ -45,6 +57,20 @@ public interface EtcdAccessor {
                       String key,
                       Watch.Listener listener);
 
+  /**
+   * Watch the prefix starting at the given revision, so events after a snapshot are not missed.
+   *
+   * @param namespace the namespace
+   * @param key       the key
+   * @param revision  the first revision to send events for, zero for the current one
+   * @param listener  the listener
+   * @return the watch . watcher
+   */
+  Watch.Watcher watch(String namespace,
+                      String key,
+                      long revision,
+                      Watch.Listener listener);
+
   /**
    * Get optional.
    *
@@ -62,4 +88,13 @@ public interface EtcdAccessor {
    * @return the all
    */
   Map<String, String> getAll(String namespace, String key);
+
+  /**
+   * Gets all the values under the prefix with the revision they were read at. Unlike getAll, a timeout is an error.
+   *
+   * @param namespace the namespace
+   * @param key       the key
+   * @return the snapshot
+   */
+  KeyValueSnapshot snapshot(String namespace, String key);
 }
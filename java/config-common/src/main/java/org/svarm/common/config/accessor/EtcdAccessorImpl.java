@@ -22,16 +22,13 @@ import com.codeheadsystems.metrics.Metrics;
 import com.codeheadsystems.metrics.Tags;
 import io.etcd.jetcd.ByteSequence;
 import io.etcd.jetcd.Client;
-import io.etcd.jetcd.KV;
 import io.etcd.jetcd.KeyValue;
-import io.etcd.jetcd.Txn;
 import io.etcd.jetcd.Watch;
 import io.etcd.jetcd.kv.GetResponse;
-import io.etcd.jetcd.op.Op;
 import io.etcd.jetcd.options.GetOption;
-import io.etcd.jetcd.options.PutOption;
 import io.etcd.jetcd.options.WatchOption;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -56,21 +53,25 @@ public class EtcdAccessorImpl implements EtcdAccessor {
   private final Client client;
   private final String namespaceKeyFormat;
   private final Metrics metrics;
+  private final AsyncEtcdAccessor asyncEtcdAccessor;
 
   /**
    * Constructor.
    *
-   * @param client   for etcd.
-   * @param preamble for us to use.
-   * @param metrics  the metrics
+   * @param client            for etcd.
+   * @param preamble          for us to use.
+   * @param metrics           the metrics
+   * @param asyncEtcdAccessor for the bulk changes, which are waited on.
    */
   @Inject
   public EtcdAccessorImpl(final Client client,
                           @Named(INTERNAL_ETCD_ACCESSOR_PREAMBLE) final String preamble,
-                          final Metrics metrics) {
+                          final Metrics metrics,
+                          final AsyncEtcdAccessor asyncEtcdAccessor) {
     this.client = client;
     this.namespaceKeyFormat = preamble + "_%s/%s";
     this.metrics = metrics;
+    this.asyncEtcdAccessor = asyncEtcdAccessor;
     LOGGER.info("EtcdAccessor({},{},{})", namespaceKeyFormat, client, metrics);
   }
 
@@ -104,7 +105,8 @@ public class EtcdAccessorImpl implements EtcdAccessor {
   }
 
   /**
-   * Puts the value to the etcd instance.
+   * Puts the values to the etcd instance. Waits on the async accessor, which splits the entries into transactions
+   * bounded by the configured operation count and size.
    *
    * @param namespace Type of value.
    * @param map       the key/value.
@@ -112,24 +114,50 @@ public class EtcdAccessorImpl implements EtcdAccessor {
   @Override
   public void putAll(final String namespace, final Map<String, String> map) {
     LOGGER.trace("putAll({},{}", namespace, map);
-    final KV kv = client.getKVClient();
-    final Txn txn = kv.txn();
     metrics.time("etcd.putAll", Tags.of("namespace", namespace), () -> {
-      try {
-        map.entrySet().stream()
-            .map(e -> Map.entry(getNamespaceKey(namespace, e.getKey()), e.getValue()))
-            .map(e -> Map.entry(ByteSequence.from(e.getKey().getBytes()), ByteSequence.from(e.getValue().getBytes())))
-            .forEach(e ->
-                txn.Then(Op.put(e.getKey(), e.getValue(), PutOption.DEFAULT)));
-        txn.commit().get();
-      } catch (InterruptedException | ExecutionException e) {
-        LOGGER.error("Unable to get from etcd {}", namespace, e);
-        throw new IllegalArgumentException(e);
-      }
+      await("putAll", namespace, asyncEtcdAccessor.putAll(namespace, map));
+      return null;
+    });
+  }
+
+  /**
+   * Deletes the keys from the etcd instance, split into transactions like putAll.
+   *
+   * @param namespace of the keys.
+   * @param keys      the keys.
+   */
+  @Override
+  public void deleteAll(final String namespace, final Collection<String> keys) {
+    LOGGER.trace("deleteAll({},{}", namespace, keys);
+    metrics.time("etcd.deleteAll", Tags.of("namespace", namespace), () -> {
+      await("deleteAll", namespace, asyncEtcdAccessor.deleteAll(namespace, keys));
       return null;
     });
   }
 
+  /**
+   * Waits on the async call, passing on the keys that did not commit if it partly failed.
+   *
+   * @param name      of the operation, for metrics.
+   * @param namespace of the keys.
+   * @param future    the async call.
+   */
+  private void await(final String name,
+                     final String namespace,
+                     final CompletableFuture<Void> future) {
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      LOGGER.error("Interrupted waiting on etcd {}", namespace, e);
+      throw new IllegalArgumentException(e);
+    } catch (ExecutionException e) {
+      metrics.increment("etcd." + name + ".failure", Tags.of("namespace", namespace));
+      if (e.getCause() instanceof EtcdPartialFailureException partialFailure) {
+        throw partialFailure;
+      }
+      throw new IllegalArgumentException(e.getCause());
+    }
+  }
 
   /**
    * Delete the key from the etcd instance.
@@ -166,11 +194,28 @@ public class EtcdAccessorImpl implements EtcdAccessor {
   public Watch.Watcher watch(final String namespace,
                              final String key,
                              final Watch.Listener listener) {
+    return watch(namespace, key, 0L, listener);
+  }
+
+  /**
+   * Returns a watcher for the given arguments, sending events from the revision on.
+   *
+   * @param namespace you are watching.
+   * @param key       you want to watch. (Can be empty string)
+   * @param revision  the first revision to send events for, zero for the current one.
+   * @param listener  who gets the events.
+   * @return watcher so you can cancel it.
+   */
+  @Override
+  public Watch.Watcher watch(final String namespace,
+                             final String key,
+                             final long revision,
+                             final Watch.Listener listener) {
     final String namespaceKey = getNamespaceKey(namespace, key);
-    LOGGER.trace("watch({})", namespaceKey);
+    LOGGER.trace("watch({},{})", namespaceKey, revision);
     return metrics.time("etcd.watch", Tags.of("namespace", namespace, "key", key), () -> {
       final ByteSequence namespaceKeyBytes = ByteSequence.from(namespaceKey.getBytes(StandardCharsets.UTF_8));
-      final WatchOption watchOption = WatchOption.builder().isPrefix(true).build();
+      final WatchOption watchOption = WatchOption.builder().isPrefix(true).withRevision(revision).build();
       final Watch watch = client.getWatchClient();
       return watch.watch(namespaceKeyBytes, watchOption, listener);
     });
@@ -242,4 +287,37 @@ public class EtcdAccessorImpl implements EtcdAccessor {
       }
     });
   }
-}
\ No newline at end of file
+
+  /**
+   * Gets the values under the prefix and the revision they were read at. Waits up to a second, and unlike
+   * getAll a timeout fails since callers rely on the snapshot being complete.
+   *
+   * @param namespace of the key.
+   * @param key       the key.
+   * @return the snapshot.
+   */
+  @Override
+  public KeyValueSnapshot snapshot(final String namespace, final String key) {
+    final String namespaceKey = getNamespaceKey(namespace, key);
+    LOGGER.trace("snapshot({})", namespaceKey);
+    final Tags customTags = Tags.of("namespace", namespace, "key", key);
+    return metrics.time("etcd.snapshot", customTags, () -> {
+      final ByteSequence byteSequenceKey = ByteSequence.from(namespaceKey.getBytes(StandardCharsets.UTF_8));
+      final GetOption getOption = GetOption.builder().isPrefix(true).build();
+      try {
+        final GetResponse response = client.getKVClient().get(byteSequenceKey, getOption).get(1, TimeUnit.SECONDS);
+        return ImmutableKeyValueSnapshot.builder()
+            .values(response.getKvs().stream()
+                .collect(Collectors.toMap(kv -> kv.getKey().toString(), kv -> kv.getValue().toString())))
+            .revision(response.getHeader().getRevision())
+            .build();
+      } catch (InterruptedException | ExecutionException e) {
+        LOGGER.error("Unable to get from etcd {}", namespaceKey, e);
+        throw new IllegalArgumentException(e);
+      } catch (TimeoutException e) {
+        metrics.increment("etcd.snapshot.timeout", customTags);
+        throw new IllegalArgumentException(e);
+      }
+    });
+  }
+}
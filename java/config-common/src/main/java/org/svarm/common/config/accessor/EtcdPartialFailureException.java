@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.config.accessor;
+
+import java.util.Set;
+
+/**
+ * Thrown when some of the transactions of a bulk change failed. The keys in the failed transactions were not
+ * changed; every other key was.
+ */
+public class EtcdPartialFailureException extends IllegalArgumentException {
+
+  private final String namespace;
+  private final Set<String> failedKeys;
+
+  /**
+   * Constructor.
+   *
+   * @param namespace  of the keys.
+   * @param failedKeys the keys that were not changed.
+   * @param cause      the first failure.
+   */
+  public EtcdPartialFailureException(final String namespace,
+                                     final Set<String> failedKeys,
+                                     final Throwable cause) {
+    super(String.format("%d keys in %s were not changed", failedKeys.size(), namespace), cause);
+    this.namespace = namespace;
+    this.failedKeys = Set.copyOf(failedKeys);
+  }
+
+  /**
+   * Getter.
+   *
+   * @return the namespace.
+   */
+  public String getNamespace() {
+    return namespace;
+  }
+
+  /**
+   * The keys, without the namespace, that were not changed.
+   *
+   * @return the keys.
+   */
+  public Set<String> getFailedKeys() {
+    return failedKeys;
+  }
+}
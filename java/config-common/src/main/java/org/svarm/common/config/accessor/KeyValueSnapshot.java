@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.config.accessor;
+
+import java.util.Map;
+import org.immutables.value.Value;
+
+/**
+ * The values under a prefix along with the etcd revision they were read at.
+ */
+@Value.Immutable
+public interface KeyValueSnapshot {
+
+  /**
+   * The values, by full key.
+   *
+   * @return the values.
+   */
+  Map<String, String> values();
+
+  /**
+   * The revision of the store when the values were read.
+   *
+   * @return the revision.
+   */
+  long revision();
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.config.accessor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.svarm.common.config.EtcdConfiguration;
+
+/**
+ * Splits the operations for a bulk change into chunks that each fit in one etcd transaction, bounded by both the
+ * operation count and the request size.
+ */
+@Singleton
+public class TxnChunker {
+
+  /**
+   * Rough per operation cost on top of the key and value, for the request framing.
+   */
+  static final int OP_OVERHEAD_BYTES = 16;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TxnChunker.class);
+
+  private final int maxOps;
+  private final long maxBytes;
+
+  /**
+   * Constructor.
+   *
+   * @param configuration with the limits.
+   */
+  @Inject
+  public TxnChunker(final EtcdConfiguration configuration) {
+    this.maxOps = configuration.maxTxnOps();
+    this.maxBytes = configuration.maxTxnBytes();
+    LOGGER.info("TxnChunker({},{})", maxOps, maxBytes);
+  }
+
+  /**
+   * Chunks the items in order. An item bigger than the byte limit on its own gets a chunk to itself, and etcd
+   * will reject that transaction.
+   *
+   * @param items  to chunk.
+   * @param sizeOf the bytes of the key and value the item sends.
+   * @param <T>    the item type.
+   * @return the chunks, none of them empty.
+   */
+  public <T> List<List<T>> chunk(final Collection<T> items, final ToLongFunction<T> sizeOf) {
+    final List<List<T>> chunks = new ArrayList<>();
+    List<T> current = new ArrayList<>();
+    long bytes = 0;
+    for (T item : items) {
+      final long size = sizeOf.applyAsLong(item) + OP_OVERHEAD_BYTES;
+      if (!current.isEmpty() && (current.size() >= maxOps || bytes + size > maxBytes)) {
+        chunks.add(current);
+        current = new ArrayList<>();
+        bytes = 0;
+      }
+      current.add(item);
+      bytes += size;
+    }
+    if (!current.isEmpty()) {
+      chunks.add(current);
+    }
+    LOGGER.trace("chunk({}): {}", items.size(), chunks.size());
+    return chunks;
+  }
+
+}
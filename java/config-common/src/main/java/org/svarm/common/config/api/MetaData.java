@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
 import java.util.Optional;
 import org.immutables.value.Value;
 
@@ -49,6 +50,15 @@ public interface MetaData {
   @JsonProperty("hash")
   Integer hash();
 
+  /**
+   * All the low hashes (virtual nodes) the node owns for the tenant resource, in order. Empty means the node owns
+   * just the one range starting at hash().
+   *
+   * @return value. list
+   */
+  @JsonProperty("hashes")
+  List<Integer> hashes();
+
   /**
    * What actions are available. If empty, we just create the device.
    *
@@ -17,15 +17,20 @@
 package org.svarm.common.config.engine;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.svarm.common.config.accessor.AsyncEtcdAccessor;
 import org.svarm.common.config.accessor.EtcdAccessor;
+import org.svarm.common.config.accessor.KeyValueSnapshot;
+import org.svarm.common.config.api.ImmutableTenantResource;
 import org.svarm.common.config.api.ImmutableTenantResourceRange;
 import org.svarm.common.config.api.NodeRange;
 import org.svarm.common.config.api.NodeTenantResource;
@@ -41,6 +46,9 @@ import org.svarm.common.engine.JsonEngine;
  * value={"lowHash":0,"highHash":32767}
  * Tenant view, key= tenant/{tenant}/{tenantResource}/{lowHash}
  * value = {"node":"{uuid}", "highHash":32767, "uri":"{uri}"}
+ *
+ * <p>The async methods send their request and return right away, so callers changing many keys can have them in
+ * flight together and compose the results.
  */
 @Singleton
 public class NodeConfigurationEngine {
@@ -54,6 +62,7 @@ public class NodeConfigurationEngine {
   private static final TypeReference<Map<Integer, NodeRange>> MAP_TYPE_REFERENCE = new TypeReference<>() {
   };
   private final EtcdAccessor accessor;
+  private final AsyncEtcdAccessor asyncAccessor;
   private final JsonEngine jsonEngine;
   private final NodeTenantResourceRangeConverter nodeTenantResourceRangeConverter;
 
@@ -61,17 +70,21 @@ public class NodeConfigurationEngine {
    * Constructor.
    *
    * @param accessor                         for reading/writing values.
+   * @param asyncAccessor                    for reading/writing values without blocking.
    * @param jsonEngine                       for updating json.
    * @param nodeTenantResourceRangeConverter converter.
    */
   @Inject
   public NodeConfigurationEngine(final EtcdAccessor accessor,
+                                 final AsyncEtcdAccessor asyncAccessor,
                                  final JsonEngine jsonEngine,
                                  final NodeTenantResourceRangeConverter nodeTenantResourceRangeConverter) {
     this.nodeTenantResourceRangeConverter = nodeTenantResourceRangeConverter;
     this.jsonEngine = jsonEngine;
     this.accessor = accessor;
-    LOGGER.info("NodeConfigurationEngine({},{},{})", accessor, jsonEngine, nodeTenantResourceRangeConverter);
+    this.asyncAccessor = asyncAccessor;
+    LOGGER.info("NodeConfigurationEngine({},{},{},{})",
+        accessor, asyncAccessor, jsonEngine, nodeTenantResourceRangeConverter);
   }
 
   /**
@@ -81,10 +94,7 @@ public class NodeConfigurationEngine {
    */
   public void write(final NodeTenantResourceRange resourceRange) {
     LOGGER.trace("write({})", resourceRange);
-    final NodeTenantResource nodeTenantResource = resourceRange.nodeTenantResource();
-    final TenantResource tenantResource = nodeTenantResource.tenantResource();
-    final String key = String.format("%s/id/%s/%s",
-        nodeTenantResource.uuid(), tenantResource.tenant(), tenantResource.resource());
+    final String key = nodeKey(resourceRange.nodeTenantResource());
     final String value = jsonEngine.writeValue(resourceRange.metaData());
     LOGGER.trace("put {} {}", key, value);
     accessor.put(NODE_NAMESPACE, key, value);
@@ -97,12 +107,7 @@ public class NodeConfigurationEngine {
    */
   public void write(final List<NodeTenantResourceRange> resourceRanges) {
     LOGGER.trace("write({})", resourceRanges);
-    final Map<String, String> resourceMap = resourceRanges.stream().collect(Collectors.toMap(resourceRange -> {
-      final NodeTenantResource nodeTenantResource = resourceRange.nodeTenantResource();
-      final TenantResource tenantResource = nodeTenantResource.tenantResource();
-      return String.format("%s/id/%s/%s", nodeTenantResource.uuid(), tenantResource.tenant(), tenantResource.resource());
-    }, resourceRange -> jsonEngine.writeValue(resourceRange.metaData())));
-    accessor.putAll(NODE_NAMESPACE, resourceMap);
+    accessor.putAll(NODE_NAMESPACE, nodeResourceMap(resourceRanges));
   }
 
   /**
@@ -117,6 +122,30 @@ public class NodeConfigurationEngine {
     accessor.put(TENANT_NAMESPACE, key, value);
   }
 
+  /**
+   * Writes to configuration store the nodes tenant resources in one transaction, without blocking.
+   *
+   * @param resourceRanges resource ranges.
+   * @return completes when written.
+   */
+  public CompletableFuture<Void> writeAsync(final List<NodeTenantResourceRange> resourceRanges) {
+    LOGGER.trace("writeAsync({})", resourceRanges);
+    return asyncAccessor.putAll(NODE_NAMESPACE, nodeResourceMap(resourceRanges));
+  }
+
+  /**
+   * Writes to configuration store the tenant resource range, without blocking.
+   *
+   * @param resourceRange resource range.
+   * @return completes when written.
+   */
+  public CompletableFuture<Void> writeAsync(final TenantResourceRange resourceRange) {
+    LOGGER.trace("writeAsync({})", resourceRange);
+    final String key = String.format("%s/%s", resourceRange.tenant(), resourceRange.resource());
+    final String value = jsonEngine.writeValue(resourceRange.hashToNodeRange());
+    return asyncAccessor.put(TENANT_NAMESPACE, key, value);
+  }
+
   /**
    * Delete the resource.
    *
@@ -140,6 +169,29 @@ public class NodeConfigurationEngine {
     accessor.delete(TENANT_NAMESPACE, key);
   }
 
+  /**
+   * Delete the resource, without blocking.
+   *
+   * @param resourceRange resource.
+   * @return completes when deleted.
+   */
+  public CompletableFuture<Void> deleteAsync(final TenantResourceRange resourceRange) {
+    LOGGER.trace("deleteAsync({})", resourceRange);
+    final String key = String.format("%s/%s", resourceRange.tenant(), resourceRange.resource());
+    return asyncAccessor.delete(TENANT_NAMESPACE, key);
+  }
+
+  /**
+   * Delete the range of the tenant resource by its key, without reading it first or blocking.
+   *
+   * @param tenantResource the tenant resource.
+   * @return completes when deleted.
+   */
+  public CompletableFuture<Void> deleteAsync(final TenantResource tenantResource) {
+    LOGGER.trace("deleteAsync({})", tenantResource);
+    return asyncAccessor.delete(TENANT_NAMESPACE, getTenantResourceKey(tenantResource));
+  }
+
   /**
    * Delete of the node tenant resource for the node itself.
    *
@@ -151,8 +203,22 @@ public class NodeConfigurationEngine {
                                             final String tenant,
                                             final String resource) {
     LOGGER.trace("deleteNodeTenantResourceRange({},{},{})", uuid, tenant, resource);
-    final String key = String.format("%s/id/%s/%s", uuid, tenant, resource);
-    accessor.delete(NODE_NAMESPACE, key);
+    accessor.delete(NODE_NAMESPACE, nodeKey(uuid, tenant, resource));
+  }
+
+  /**
+   * Delete of the node tenant resource for the node itself, without blocking.
+   *
+   * @param uuid     of the node.
+   * @param tenant   the tenant.
+   * @param resource the resource.
+   * @return completes when deleted.
+   */
+  public CompletableFuture<Void> deleteNodeTenantResourceRangeAsync(final String uuid,
+                                                                    final String tenant,
+                                                                    final String resource) {
+    LOGGER.trace("deleteNodeTenantResourceRangeAsync({},{},{})", uuid, tenant, resource);
+    return asyncAccessor.delete(NODE_NAMESPACE, nodeKey(uuid, tenant, resource));
   }
 
   /**
@@ -168,6 +234,22 @@ public class NodeConfigurationEngine {
     return nodeTenantResourceRangeConverter.from(map);
   }
 
+  /**
+   * Reads all node resources from etcd in one prefix read, along with the revision of that read.
+   *
+   * @param uuid of the node.
+   * @return the resources and revision.
+   */
+  public NodeResources readNodeResourcesWithRevision(final String uuid) {
+    LOGGER.trace("readNodeResourcesWithRevision({})", uuid);
+    final String key = String.format("%s/id/", uuid);
+    final KeyValueSnapshot snapshot = accessor.snapshot(NODE_NAMESPACE, key);
+    return ImmutableNodeResources.builder()
+        .ranges(nodeTenantResourceRangeConverter.from(snapshot.values()))
+        .revision(snapshot.revision())
+        .build();
+  }
+
   /**
    * Reads all the configuration for the tenant resource.
    *
@@ -178,11 +260,67 @@ public class NodeConfigurationEngine {
     LOGGER.trace("readTenantResourceRange({})", tenantResource);
     final String key = getTenantResourceKey(tenantResource);
     return accessor.get(TENANT_NAMESPACE, key)
-        .map(json -> ImmutableTenantResourceRange.builder()
-            .tenant(tenantResource.tenant())
-            .resource(tenantResource.resource())
-            .hashToNodeRange(jsonEngine.readValue(json, MAP_TYPE_REFERENCE))
-            .build());
+        .map(json -> tenantResourceRange(tenantResource, json));
+  }
+
+  /**
+   * Reads all the configuration for the tenant resource, without blocking. Unlike the blocking read there is no
+   * timeout; compose one on if needed.
+   *
+   * @param tenantResource of the node.
+   * @return the range, if there is one.
+   */
+  public CompletableFuture<Optional<TenantResourceRange>> readTenantResourceRangeAsync(
+      final TenantResource tenantResource) {
+    LOGGER.trace("readTenantResourceRangeAsync({})", tenantResource);
+    final String key = getTenantResourceKey(tenantResource);
+    return asyncAccessor.get(TENANT_NAMESPACE, key)
+        .thenApply(json -> json.map(value -> tenantResourceRange(tenantResource, value)));
+  }
+
+  /**
+   * Reads every tenant resource range in one prefix read, along with the revision of that read.
+   *
+   * @return the ranges and revision.
+   */
+  public TenantResourceRanges readTenantResourceRanges() {
+    LOGGER.trace("readTenantResourceRanges()");
+    final KeyValueSnapshot snapshot = accessor.snapshot(TENANT_NAMESPACE, "");
+    final Map<TenantResource, TenantResourceRange> ranges = new HashMap<>();
+    snapshot.values().forEach((key, json) -> {
+      final TenantResource tenantResource = tenantResourceFromKey(key);
+      ranges.put(tenantResource, tenantResourceRange(tenantResource, json));
+    });
+    return ImmutableTenantResourceRanges.builder().ranges(ranges).revision(snapshot.revision()).build();
+  }
+
+  /**
+   * Parses the tenant resource out of a full key from the tenant namespace, as found in watch events.
+   *
+   * @param key in format: {preamble}_tenant/{tenant}/{tenantResource}
+   * @return the tenant resource.
+   */
+  public TenantResource tenantResourceFromKey(final String key) {
+    final String[] tokens = key.split("/");
+    return ImmutableTenantResource.builder()
+        .tenant(tokens[tokens.length - 2])
+        .resource(tokens[tokens.length - 1])
+        .build();
+  }
+
+  /**
+   * Builds the tenant resource range from the stored value.
+   *
+   * @param tenantResource the range is for.
+   * @param json           the stored value.
+   * @return the range.
+   */
+  public TenantResourceRange tenantResourceRange(final TenantResource tenantResource, final String json) {
+    return ImmutableTenantResourceRange.builder()
+        .tenant(tenantResource.tenant())
+        .resource(tenantResource.resource())
+        .hashToNodeRange(jsonEngine.readValue(json, MAP_TYPE_REFERENCE))
+        .build();
   }
 
   /**
@@ -195,4 +333,19 @@ public class NodeConfigurationEngine {
     return String.format("%s/%s", tenantResource.tenant(), tenantResource.resource());
   }
 
+  private Map<String, String> nodeResourceMap(final List<NodeTenantResourceRange> resourceRanges) {
+    return resourceRanges.stream().collect(Collectors.toMap(
+        resourceRange -> nodeKey(resourceRange.nodeTenantResource()),
+        resourceRange -> jsonEngine.writeValue(resourceRange.metaData())));
+  }
+
+  private String nodeKey(final NodeTenantResource nodeTenantResource) {
+    final TenantResource tenantResource = nodeTenantResource.tenantResource();
+    return nodeKey(nodeTenantResource.uuid(), tenantResource.tenant(), tenantResource.resource());
+  }
+
+  private String nodeKey(final String uuid, final String tenant, final String resource) {
+    return String.format("%s/id/%s/%s", uuid, tenant, resource);
+  }
+
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.config.engine;
+
+import java.util.List;
+import org.immutables.value.Value;
+import org.svarm.common.config.api.NodeTenantResourceRange;
+
+/**
+ * The resources assigned to a node, as of a revision of the configuration store.
+ */
+@Value.Immutable
+public interface NodeResources {
+
+  /**
+   * The resource ranges of the node.
+   *
+   * @return the ranges.
+   */
+  List<NodeTenantResourceRange> ranges();
+
+  /**
+   * The revision they were read at. Watch from the next one to see every later change.
+   *
+   * @return the revision.
+   */
+  long revision();
+}
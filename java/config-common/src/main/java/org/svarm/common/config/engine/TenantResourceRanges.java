@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.config.engine;
+
+import java.util.Map;
+import org.immutables.value.Value;
+import org.svarm.common.config.api.TenantResource;
+import org.svarm.common.config.api.TenantResourceRange;
+
+/**
+ * Every tenant resource range in the configuration store, as of a revision.
+ */
+@Value.Immutable
+public interface TenantResourceRanges {
+
+  /**
+   * The ranges by tenant resource.
+   *
+   * @return the ranges.
+   */
+  Map<TenantResource, TenantResourceRange> ranges();
+
+  /**
+   * The revision they were read at. Watch from the next one to see every later change.
+   *
+   * @return the revision.
+   */
+  long revision();
+}
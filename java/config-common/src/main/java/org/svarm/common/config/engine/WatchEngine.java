@@ -26,8 +26,14 @@ import dagger.assisted.AssistedInject;
 import io.etcd.jetcd.Watch;
 import io.etcd.jetcd.watch.WatchEvent;
 import io.etcd.jetcd.watch.WatchResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import javax.inject.Named;
@@ -37,68 +43,157 @@ import org.svarm.common.config.factory.WatchEngineFactory;
 
 /**
  * A watch engine so we are notified of what's going on.
+ *
+ * <p>Events are delivered in order per key, with at most one event per key being handled at a time. While an event
+ * for a key waits, a newer one for the same key replaces it, so a burst of changes to one key is handled as its
+ * latest value. Values in etcd are state, not deltas, so the skipped events carry nothing the latest does not.
  */
 public class WatchEngine {
 
   private static final Logger LOGGER = getLogger(WatchEngine.class);
 
   private final Consumer<Event> eventConsumer;
+  private final Consumer<Throwable> errorConsumer;
   private final Metrics metrics;
   private final Watch.Watcher watcher;
   private final String tag;
   private final ExecutorService executorService;
   private final AtomicBoolean closed;
+  private final Map<String, Event> pending;
+  private final Set<String> draining;
+  private final MeterRegistry meterRegistry;
+  private final Gauge queueDepthGauge;
 
   /**
    * Constructor.
    *
    * @param accessor        for talking to etcd.
    * @param metrics         to track what's going on.
+   * @param meterRegistry   for the queue depth gauge.
    * @param executorService for thread execution.
    * @param namespace       the namespace.
    * @param key             the key.
+   * @param revision        the first revision to get events for, zero for the current one.
    * @param eventConsumer   who will get the events.
+   * @param errorConsumer   told when the watch fails, after which no more events arrive.
    */
   @AssistedInject
   public WatchEngine(final EtcdAccessor accessor,
                      final Metrics metrics,
+                     final MeterRegistry meterRegistry,
                      @Named(INTERNAL_WATCH_ENGINE_EXECUTOR) final ExecutorService executorService,
                      @Assisted(WatchEngineFactory.NAMESPACE) final String namespace,
                      @Assisted(WatchEngineFactory.KEY) final String key,
-                     @Assisted final Consumer<Event> eventConsumer) {
+                     @Assisted(WatchEngineFactory.REVISION) final long revision,
+                     @Assisted final Consumer<Event> eventConsumer,
+                     @Assisted final Consumer<Throwable> errorConsumer) {
     this.metrics = metrics;
     this.tag = namespace + "/" + key;
     this.eventConsumer = eventConsumer;
-    LOGGER.info("WatchEngine({},{},{})", namespace, key, eventConsumer);
+    this.errorConsumer = errorConsumer;
+    LOGGER.info("WatchEngine({},{},{},{})", namespace, key, revision, eventConsumer);
     this.executorService = executorService;
     closed = new AtomicBoolean(false);
+    pending = new ConcurrentHashMap<>();
+    draining = ConcurrentHashMap.newKeySet();
+    this.meterRegistry = meterRegistry;
+    queueDepthGauge = Gauge.builder("WatchEngine.queueDepth", this, WatchEngine::queueDepth)
+        .tag("tag", tag)
+        .register(meterRegistry);
     watcher = accessor.watch(
         namespace,
         key,
+        revision,
         Watch.listener(this::watchResponse, this::error, this::complete));
   }
 
+  /**
+   * Queues the event as the latest for its key, and schedules the key unless it is already being drained.
+   *
+   * @param event to deliver.
+   */
+  private void enqueue(final Event event) {
+    if (closed.get()) {
+      LOGGER.trace("{}:enqueue(): closed, dropping {}", tag, event.key());
+      return;
+    }
+    metrics.increment("WatchEngine.enqueued", "tag", tag);
+    if (pending.put(event.key(), event) != null) {
+      LOGGER.trace("{}:enqueue(): coalesced {}", tag, event.key());
+      metrics.increment("WatchEngine.coalesced", "tag", tag);
+    }
+    if (draining.add(event.key())) {
+      try {
+        executorService.execute(() -> drain(event.key()));
+      } catch (RejectedExecutionException e) {
+        // release the key, or every later event for it would wait on a drain that never runs.
+        draining.remove(event.key());
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Delivers the pending events for the key until there are none. Only one drain runs per key.
+   *
+   * @param key to drain.
+   */
+  private void drain(final String key) {
+    while (true) {
+      if (closed.get()) {
+        draining.remove(key);
+        return;
+      }
+      final Event event = pending.remove(key);
+      if (event != null) {
+        handleEvent(event);
+        continue;
+      }
+      draining.remove(key);
+      // An event may have been queued after the remove and before the drain was released.
+      if (!pending.containsKey(key) || !draining.add(key)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * The number of keys with an event waiting to be delivered.
+   *
+   * @return the depth.
+   */
+  public int queueDepth() {
+    return pending.size();
+  }
+
   private void handleEvent(final Event event) {
     LOGGER.trace("{}:handleEvent(): {}", tag, event);
-    metrics.time("WatchEngine.handleEvent", () -> {
-      eventConsumer.accept(event);
-      return null;
-    });
+    try {
+      metrics.time("WatchEngine.handleEvent", () -> {
+        eventConsumer.accept(event);
+        return null;
+      });
+    } catch (RuntimeException e) {
+      LOGGER.error("{}:handleEvent(): failed {}", tag, event, e);
+      metrics.increment("WatchEngine.handleEvent.error", "tag", tag);
+    }
   }
 
   /**
-   * Closes the watcher and releases all resources.
+   * Closes the watcher and drops the events not yet delivered. The executor is shared with other watches, so it is
+   * left running.
    */
   public void close() {
     LOGGER.trace("{}:close()", tag);
-    if (closed.get()) {
+    if (!closed.compareAndSet(false, true)) {
       LOGGER.trace("Already closed");
       return;
     }
     metrics.time("WatchEngine.close", () -> {
       watcher.close();
-      executorService.shutdown();
-      LOGGER.info("{}: Shutdown started", tag);
+      pending.clear();
+      meterRegistry.remove(queueDepthGauge);
+      LOGGER.info("{}: Closed", tag);
       return null;
     });
   }
@@ -127,11 +222,11 @@ public class WatchEngine {
         final Optional<Event.Type> eventType = getEventType(e);
         eventType.ifPresentOrElse(type -> {
           LOGGER.info("Scheduling event: {}", e);
-          executorService.execute(() -> handleEvent(ImmutableEvent.builder()
+          enqueue(ImmutableEvent.builder()
               .key(e.getKeyValue().getKey().toString())
               .value(e.getKeyValue().getValue().toString())
               .type(type)
-              .build()));
+              .build());
         }, () -> {
           LOGGER.error("Unknown type of event: {}", e);
         });
@@ -161,6 +256,7 @@ public class WatchEngine {
   void error(final Throwable throwable) {
     LOGGER.error("{}:error({})", tag, throwable.getMessage(), throwable);
     metrics.increment("WatchEngine.error", "tag", tag);
+    errorConsumer.accept(throwable);
   }
 
 
@@ -41,15 +41,55 @@ public interface WatchEngineFactory {
   String KEY = "WatchEngineFactory.KEY";
 
   /**
-   * Factory to generate a watch engine.
+   * Qualifier for the revision.
+   */
+  String REVISION = "WatchEngineFactory.REVISION";
+
+  /**
+   * Factory to generate a watch engine that sends events from the revision on.
    *
    * @param namespace     to watch.
    * @param key           to watch.
+   * @param revision      the first revision to send events for, zero for the current one.
    * @param eventConsumer to consume the events.
+   * @param errorConsumer told if the watch fails.
    * @return the engine.
    */
   WatchEngine watchEngine(@Assisted(NAMESPACE) final String namespace,
                           @Assisted(KEY) final String key,
-                          @Assisted final Consumer<Event> eventConsumer);
+                          @Assisted(REVISION) final long revision,
+                          @Assisted final Consumer<Event> eventConsumer,
+                          @Assisted final Consumer<Throwable> errorConsumer);
+
+  /**
+   * Factory to generate a watch engine that sends events from the revision on. Failures are only logged.
+   *
+   * @param namespace     to watch.
+   * @param key           to watch.
+   * @param revision      the first revision to send events for, zero for the current one.
+   * @param eventConsumer to consume the events.
+   * @return the engine.
+   */
+  default WatchEngine watchEngine(final String namespace,
+                                  final String key,
+                                  final long revision,
+                                  final Consumer<Event> eventConsumer) {
+    return watchEngine(namespace, key, revision, eventConsumer, throwable -> {
+    });
+  }
+
+  /**
+   * Factory to generate a watch engine that starts at the current revision.
+   *
+   * @param namespace     to watch.
+   * @param key           to watch.
+   * @param eventConsumer to consume the events.
+   * @return the engine.
+   */
+  default WatchEngine watchEngine(final String namespace,
+                                  final String key,
+                                  final Consumer<Event> eventConsumer) {
+    return watchEngine(namespace, key, 0L, eventConsumer);
+  }
 
 }
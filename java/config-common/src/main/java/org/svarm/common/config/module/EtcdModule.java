@@ -30,6 +30,8 @@ import java.util.concurrent.Executors;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.svarm.common.config.EtcdConfiguration;
+import org.svarm.common.config.accessor.AsyncEtcdAccessor;
+import org.svarm.common.config.accessor.AsyncEtcdAccessorImpl;
 import org.svarm.common.config.accessor.EtcdAccessor;
 import org.svarm.common.config.accessor.EtcdAccessorImpl;
 import org.svarm.common.config.healthchecks.EtcdHealthCheck;
@@ -78,6 +80,18 @@ public class EtcdModule {
     return etcdAccessor;
   }
 
+  /**
+   * Async etcd accessor.
+   *
+   * @param asyncEtcdAccessor the async etcd accessor
+   * @return the async etcd accessor
+   */
+  @Provides
+  @Singleton
+  public AsyncEtcdAccessor asyncEtcdAccessor(final AsyncEtcdAccessorImpl asyncEtcdAccessor) {
+    return asyncEtcdAccessor;
+  }
+
   /**
    * Provide the preamble for the accessor.
    *
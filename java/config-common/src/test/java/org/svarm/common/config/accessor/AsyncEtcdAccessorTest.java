@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.config.accessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.codeheadsystems.metrics.test.BaseMetricTest;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
+import io.etcd.jetcd.KV;
+import io.etcd.jetcd.KeyValue;
+import io.etcd.jetcd.Response;
+import io.etcd.jetcd.Txn;
+import io.etcd.jetcd.kv.DeleteResponse;
+import io.etcd.jetcd.kv.GetResponse;
+import io.etcd.jetcd.kv.PutResponse;
+import io.etcd.jetcd.kv.TxnResponse;
+import io.etcd.jetcd.op.Op;
+import io.etcd.jetcd.options.GetOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.common.config.ImmutableEtcdConfiguration;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncEtcdAccessorTest extends BaseMetricTest {
+
+  private static final String PREAMBLE = "p";
+  private static final String VALUE = "value";
+  private static final String KEY = "key";
+  private static final String NAMESPACE = "Namespace";
+  private static final ByteSequence NAMESPACE_KEY = ByteSequence.from((PREAMBLE + "_" + NAMESPACE + "/" + KEY).getBytes());
+
+  @Mock private Client client;
+  @Mock private KV kv;
+  @Mock private Txn txn;
+  @Mock private KeyValue keyValue;
+  @Mock private GetResponse getResponse;
+  @Mock private Response.Header header;
+  @Mock private PutResponse putResponse;
+  @Mock private DeleteResponse deleteResponse;
+  @Mock private TxnResponse txnResponse;
+  @Captor private ArgumentCaptor<Op> opArgumentCaptor;
+
+  private AsyncEtcdAccessor accessor;
+
+  @BeforeEach
+  void setUp() {
+    accessor = new AsyncEtcdAccessorImpl(client, PREAMBLE, metricsFactory,
+        new TxnChunker(ImmutableEtcdConfiguration.builder().maxTxnOps(1).build()));
+    when(client.getKVClient()).thenReturn(kv);
+  }
+
+  @Test
+  void put() {
+    when(kv.put(NAMESPACE_KEY, ByteSequence.from(VALUE.getBytes())))
+        .thenReturn(CompletableFuture.completedFuture(putResponse));
+    assertThat(accessor.put(NAMESPACE, KEY, VALUE)).isCompleted();
+  }
+
+  @Test
+  void put_failed() {
+    when(kv.put(NAMESPACE_KEY, ByteSequence.from(VALUE.getBytes())))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException()));
+    final CompletableFuture<Void> future = accessor.put(NAMESPACE, KEY, VALUE);
+    assertThatExceptionOfType(CompletionException.class).isThrownBy(future::join)
+        .withCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void putAll() {
+    when(kv.txn()).thenReturn(txn);
+    when(txn.Then(opArgumentCaptor.capture())).thenReturn(txn);
+    when(txn.commit()).thenReturn(CompletableFuture.completedFuture(txnResponse));
+    assertThat(accessor.putAll(NAMESPACE, Map.of(KEY, VALUE))).isCompleted();
+    assertThat(opArgumentCaptor.getValue()).isInstanceOf(Op.PutOp.class);
+  }
+
+  @Test
+  void putAll_partialFailure() {
+    when(kv.txn()).thenReturn(txn);
+    when(txn.Then(opArgumentCaptor.capture())).thenReturn(txn);
+    when(txn.commit())
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException()))
+        .thenReturn(CompletableFuture.completedFuture(txnResponse));
+    final Map<String, String> map = new LinkedHashMap<>();
+    map.put("a", VALUE);
+    map.put("b", VALUE);
+
+    final CompletableFuture<Void> future = accessor.putAll(NAMESPACE, map);
+
+    assertThatExceptionOfType(CompletionException.class).isThrownBy(future::join)
+        .havingCause()
+        .isInstanceOfSatisfying(EtcdPartialFailureException.class,
+            e -> assertThat(e.getFailedKeys()).containsExactly("a"));
+  }
+
+  @Test
+  void deleteAll() {
+    when(kv.txn()).thenReturn(txn);
+    when(txn.Then(opArgumentCaptor.capture())).thenReturn(txn);
+    when(txn.commit()).thenReturn(CompletableFuture.completedFuture(txnResponse));
+    assertThat(accessor.deleteAll(NAMESPACE, List.of("a", "b"))).isCompleted();
+    assertThat(opArgumentCaptor.getAllValues()).hasSize(2).allMatch(op -> op instanceof Op.DeleteOp);
+  }
+
+  @Test
+  void delete() {
+    when(kv.delete(NAMESPACE_KEY)).thenReturn(CompletableFuture.completedFuture(deleteResponse));
+    assertThat(accessor.delete(NAMESPACE, KEY)).isCompleted();
+  }
+
+  @Test
+  void get() {
+    when(kv.get(NAMESPACE_KEY)).thenReturn(CompletableFuture.completedFuture(getResponse));
+    when(getResponse.getKvs()).thenReturn(List.of(keyValue));
+    when(keyValue.getValue()).thenReturn(ByteSequence.from(VALUE.getBytes()));
+    assertThat(accessor.get(NAMESPACE, KEY).join()).contains(VALUE);
+  }
+
+  @Test
+  void get_missing() {
+    when(kv.get(NAMESPACE_KEY)).thenReturn(CompletableFuture.completedFuture(getResponse));
+    when(getResponse.getKvs()).thenReturn(List.of());
+    assertThat(accessor.get(NAMESPACE, KEY).join()).isEqualTo(Optional.empty());
+  }
+
+  @Test
+  void getAll() {
+    when(kv.get(eq(NAMESPACE_KEY), any(GetOption.class))).thenReturn(CompletableFuture.completedFuture(getResponse));
+    when(getResponse.getKvs()).thenReturn(List.of(keyValue));
+    when(keyValue.getKey()).thenReturn(NAMESPACE_KEY);
+    when(keyValue.getValue()).thenReturn(ByteSequence.from(VALUE.getBytes()));
+    assertThat(accessor.getAll(NAMESPACE, KEY).join()).containsEntry(NAMESPACE_KEY.toString(), VALUE);
+  }
+
+  @Test
+  void snapshot() {
+    when(kv.get(eq(NAMESPACE_KEY), any(GetOption.class))).thenReturn(CompletableFuture.completedFuture(getResponse));
+    when(getResponse.getKvs()).thenReturn(List.of(keyValue));
+    when(getResponse.getHeader()).thenReturn(header);
+    when(header.getRevision()).thenReturn(7L);
+    when(keyValue.getKey()).thenReturn(NAMESPACE_KEY);
+    when(keyValue.getValue()).thenReturn(ByteSequence.from(VALUE.getBytes()));
+    final KeyValueSnapshot snapshot = accessor.snapshot(NAMESPACE, KEY).join();
+    assertThat(snapshot.revision()).isEqualTo(7L);
+    assertThat(snapshot.values()).containsEntry(NAMESPACE_KEY.toString(), VALUE);
+  }
+}
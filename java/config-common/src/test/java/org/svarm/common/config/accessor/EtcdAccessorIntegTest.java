@@ -21,11 +21,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.codeheadsystems.metrics.test.BaseMetricTest;
 import io.etcd.jetcd.Client;
 import io.etcd.jetcd.test.EtcdClusterExtension;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.svarm.common.config.ImmutableEtcdConfiguration;
 
 @Tag("integ")
 class EtcdAccessorIntegTest extends BaseMetricTest {
@@ -42,7 +47,9 @@ class EtcdAccessorIntegTest extends BaseMetricTest {
   @BeforeEach
   void setupClient() {
     client = Client.builder().endpoints(cluster.clientEndpoints()).build();
-    accessor = new EtcdAccessorImpl(client, "test", metricsFactory);
+    accessor = new EtcdAccessorImpl(client, "test", metricsFactory,
+        new AsyncEtcdAccessorImpl(client, "test", metricsFactory,
+            new TxnChunker(ImmutableEtcdConfiguration.builder().maxTxnOps(10).build())));
   }
 
   @AfterEach
@@ -65,6 +72,18 @@ class EtcdAccessorIntegTest extends BaseMetricTest {
         .isNotPresent();
   }
 
+  @Test
+  void putAllAndDeleteAll_chunked() {
+    final Map<String, String> values = IntStream.range(0, 25).mapToObj(i -> "bulk/" + i)
+        .collect(Collectors.toMap(Function.identity(), key -> VALUE));
+
+    accessor.putAll(NAMESPACE, values);
+    assertThat(accessor.getAll(NAMESPACE, "bulk/")).hasSize(25);
+
+    accessor.deleteAll(NAMESPACE, values.keySet());
+    assertThat(accessor.getAll(NAMESPACE, "bulk/")).isEmpty();
+  }
+
   private void retry(final int times, final Runnable runnable) {
     AssertionError error = null;
     for (int attempt = 0; attempt < times; attempt++) {
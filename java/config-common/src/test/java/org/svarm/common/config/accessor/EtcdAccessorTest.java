@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,16 +30,17 @@ import io.etcd.jetcd.ByteSequence;
 import io.etcd.jetcd.Client;
 import io.etcd.jetcd.KV;
 import io.etcd.jetcd.KeyValue;
+import io.etcd.jetcd.Response;
 import io.etcd.jetcd.Txn;
 import io.etcd.jetcd.Watch;
 import io.etcd.jetcd.kv.DeleteResponse;
 import io.etcd.jetcd.kv.GetResponse;
 import io.etcd.jetcd.kv.PutResponse;
-import io.etcd.jetcd.kv.TxnResponse;
 import io.etcd.jetcd.op.Op;
 import io.etcd.jetcd.options.GetOption;
 import io.etcd.jetcd.options.PutOption;
 import io.etcd.jetcd.options.WatchOption;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -54,6 +56,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.common.config.ImmutableEtcdConfiguration;
 
 @ExtendWith(MockitoExtension.class)
 class EtcdAccessorTest extends BaseMetricTest {
@@ -71,10 +74,10 @@ class EtcdAccessorTest extends BaseMetricTest {
   @Mock private Txn txn;
   @Mock private KeyValue keyValue;
   @Mock private GetResponse getResponse;
+  @Mock private Response.Header header;
   @Mock private CompletableFuture<PutResponse> putResponseCompletableFuture;
   @Mock private CompletableFuture<DeleteResponse> deleteResponseCompletableFuture;
   @Mock private CompletableFuture<GetResponse> getResponseCompletableFuture;
-  @Mock private CompletableFuture<TxnResponse> txnResponseCompletableFuture;
 
   @Captor private ArgumentCaptor<ByteSequence> byteSequenceArgumentCaptor;
   @Captor private ArgumentCaptor<Op> opArgumentCaptor;
@@ -92,7 +95,9 @@ class EtcdAccessorTest extends BaseMetricTest {
 
   @BeforeEach
   void setUp() {
-    accessor = new EtcdAccessorImpl(client, PREAMBLE, metricsFactory);
+    accessor = new EtcdAccessorImpl(client, PREAMBLE, metricsFactory,
+        new AsyncEtcdAccessorImpl(client, PREAMBLE, metricsFactory,
+            new TxnChunker(ImmutableEtcdConfiguration.builder().maxTxnOps(1).build())));
   }
 
   @Test
@@ -126,33 +131,65 @@ class EtcdAccessorTest extends BaseMetricTest {
     when(client.getKVClient()).thenReturn(kv);
     when(kv.txn()).thenReturn(txn);
     when(txn.Then(opArgumentCaptor.capture())).thenReturn(txn);
-    when(txn.commit()).thenReturn(txnResponseCompletableFuture);
+    when(txn.commit()).thenReturn(CompletableFuture.completedFuture(null));
     accessor.putAll(NAMESPACE, Map.of(KEY, VALUE));
-    verify(txnResponseCompletableFuture).get();
+    verify(txn).commit();
     assertThat(opArgumentCaptor.getValue())
         .isInstanceOf(Op.PutOp.class);
   }
 
   @Test
-  void putAll_interrupted() throws ExecutionException, InterruptedException {
+  void putAll_interrupted() {
     when(client.getKVClient()).thenReturn(kv);
     when(kv.txn()).thenReturn(txn);
     when(txn.Then(opArgumentCaptor.capture())).thenReturn(txn);
-    when(txn.commit()).thenReturn(txnResponseCompletableFuture);
-    when(txnResponseCompletableFuture.get()).thenThrow(new InterruptedException());
+    when(txn.commit()).thenReturn(new CompletableFuture<>());
+    Thread.currentThread().interrupt();
     assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> accessor.putAll(NAMESPACE, Map.of(KEY, VALUE)));
+    Thread.interrupted();
   }
 
   @Test
-  void putAll_execution() throws ExecutionException, InterruptedException {
+  void putAll_execution() {
     when(client.getKVClient()).thenReturn(kv);
     when(kv.txn()).thenReturn(txn);
     when(txn.Then(opArgumentCaptor.capture())).thenReturn(txn);
-    when(txn.commit()).thenReturn(txnResponseCompletableFuture);
-    when(txnResponseCompletableFuture.get()).thenThrow(new ExecutionException(new NullPointerException()));
+    when(txn.commit()).thenReturn(CompletableFuture.failedFuture(new NullPointerException()));
     assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> accessor.putAll(NAMESPACE, Map.of(KEY, VALUE)));
   }
 
+  @Test
+  void putAll_chunked_partialFailure() {
+    when(client.getKVClient()).thenReturn(kv);
+    when(kv.txn()).thenReturn(txn);
+    when(txn.Then(opArgumentCaptor.capture())).thenReturn(txn);
+    when(txn.commit())
+        .thenReturn(CompletableFuture.completedFuture(null))
+        .thenReturn(CompletableFuture.failedFuture(new NullPointerException()));
+    final Map<String, String> map = new LinkedHashMap<>();
+    map.put("a", VALUE);
+    map.put("b", VALUE);
+
+    assertThatExceptionOfType(EtcdPartialFailureException.class)
+        .isThrownBy(() -> accessor.putAll(NAMESPACE, map))
+        .satisfies(e -> assertThat(e.getFailedKeys()).containsExactly("b"))
+        .withCauseInstanceOf(NullPointerException.class);
+    assertThat(opArgumentCaptor.getAllValues()).hasSize(2);
+  }
+
+  @Test
+  void deleteAll() {
+    when(client.getKVClient()).thenReturn(kv);
+    when(kv.txn()).thenReturn(txn);
+    when(txn.Then(opArgumentCaptor.capture())).thenReturn(txn);
+    when(txn.commit()).thenReturn(CompletableFuture.completedFuture(null));
+
+    accessor.deleteAll(NAMESPACE, List.of("a", "b"));
+
+    verify(txn, times(2)).commit();
+    assertThat(opArgumentCaptor.getAllValues()).hasSize(2).allMatch(op -> op instanceof Op.DeleteOp);
+  }
+
   @Test
   void delete() throws ExecutionException, InterruptedException {
     when(client.getKVClient()).thenReturn(kv);
@@ -189,6 +226,17 @@ class EtcdAccessorTest extends BaseMetricTest {
         .hasFieldOrPropertyWithValue("prefix", true);
   }
 
+  @Test
+  void watch_fromRevision() {
+    when(client.getWatchClient()).thenReturn(watch);
+    when(watch.watch(eq(getNamespaceKeyBytes()), watchOptionArgumentCaptor.capture(), eq(listener))).thenReturn(watcher);
+
+    assertThat(accessor.watch(NAMESPACE, KEY, 10L, listener)).isEqualTo(watcher);
+    assertThat(watchOptionArgumentCaptor.getValue())
+        .hasFieldOrPropertyWithValue("prefix", true)
+        .hasFieldOrPropertyWithValue("revision", 10L);
+  }
+
   @Test
   void get() throws ExecutionException, InterruptedException, TimeoutException {
     when(client.getKVClient()).thenReturn(kv);
@@ -266,4 +314,32 @@ class EtcdAccessorTest extends BaseMetricTest {
         .hasFieldOrPropertyWithValue("prefix", true);
   }
 
-}
\ No newline at end of file
+  @Test
+  void snapshot() throws ExecutionException, InterruptedException, TimeoutException {
+    final ByteSequence namespaceKeyBytes = getNamespaceKeyBytes();
+    when(client.getKVClient()).thenReturn(kv);
+    when(kv.get(eq(namespaceKeyBytes), getOptionArgumentCaptor.capture()))
+        .thenReturn(getResponseCompletableFuture);
+    when(getResponseCompletableFuture.get(anyLong(), any())).thenReturn(getResponse);
+    when(getResponse.getKvs()).thenReturn(List.of(keyValue));
+    when(getResponse.getHeader()).thenReturn(header);
+    when(header.getRevision()).thenReturn(42L);
+    when(keyValue.getKey()).thenReturn(namespaceKeyBytes);
+    when(keyValue.getValue()).thenReturn(ByteSequence.from(VALUE.getBytes()));
+    assertThat(accessor.snapshot(NAMESPACE, KEY))
+        .hasFieldOrPropertyWithValue("revision", 42L)
+        .hasFieldOrPropertyWithValue("values", Map.of(namespaceKeyBytes.toString(), VALUE));
+    assertThat(getOptionArgumentCaptor.getValue())
+        .hasFieldOrPropertyWithValue("prefix", true);
+  }
+
+  @Test
+  void snapshot_timeout() throws ExecutionException, InterruptedException, TimeoutException {
+    when(client.getKVClient()).thenReturn(kv);
+    when(kv.get(eq(getNamespaceKeyBytes()), getOptionArgumentCaptor.capture()))
+        .thenReturn(getResponseCompletableFuture);
+    when(getResponseCompletableFuture.get(anyLong(), any())).thenThrow(new TimeoutException());
+    assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> accessor.snapshot(NAMESPACE, KEY));
+  }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.common.config.accessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.svarm.common.config.ImmutableEtcdConfiguration;
+
+class TxnChunkerTest {
+
+  private static TxnChunker chunker(final int maxOps, final long maxBytes) {
+    return new TxnChunker(ImmutableEtcdConfiguration.builder().maxTxnOps(maxOps).maxTxnBytes(maxBytes).build());
+  }
+
+  @Test
+  void chunk_empty() {
+    assertThat(chunker(2, 1000).chunk(List.<String>of(), String::length)).isEmpty();
+  }
+
+  @Test
+  void chunk_byOps() {
+    assertThat(chunker(2, 1000).chunk(List.of("a", "b", "c", "d", "e"), String::length))
+        .containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e"));
+  }
+
+  @Test
+  void chunk_byBytes() {
+    final long maxBytes = 2 * (10 + TxnChunker.OP_OVERHEAD_BYTES);
+    final List<String> items = List.of("aaaaaaaaaa", "bbbbbbbbbb", "cccccccccc");
+    assertThat(chunker(100, maxBytes).chunk(items, String::length))
+        .containsExactly(List.of("aaaaaaaaaa", "bbbbbbbbbb"), List.of("cccccccccc"));
+  }
+
+  @Test
+  void chunk_oversizedItemAlone() {
+    assertThat(chunker(100, 20).chunk(List.of("a", "this one is too big", "b"), String::length))
+        .containsExactly(List.of("a"), List.of("this one is too big"), List.of("b"));
+  }
+
+}
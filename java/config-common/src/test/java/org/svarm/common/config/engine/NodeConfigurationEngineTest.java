@@ -27,6 +27,7 @@ import io.etcd.jetcd.test.EtcdClusterExtension;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -113,12 +114,41 @@ class NodeConfigurationEngineTest extends BaseMetricTest {
     Assertions.assertThat(engine.readTenantResourceRange(tenantResource))
         .isPresent()
         .contains(trr);
+    Assertions.assertThat(engine.readTenantResourceRanges().ranges())
+        .containsEntry(tenantResource, trr);
 
     engine.delete(trr);
     Assertions.assertThat(engine.readTenantResourceRange(tenantResource))
         .isEmpty();
   }
 
+  @Test
+  void testTenantResourceRange_async() {
+    final TenantResourceRange trr = randomTenantResourceRange(3);
+    final TenantResource tenantResource = ImmutableTenantResource.builder()
+        .tenant(trr.tenant()).resource(trr.resource()).build();
+    final Optional<TenantResourceRange> read = engine.writeAsync(trr)
+        .thenCompose(v -> engine.readTenantResourceRangeAsync(tenantResource))
+        .join();
+    Assertions.assertThat(read).contains(trr);
+
+    engine.deleteAsync(trr).join();
+    Assertions.assertThat(engine.readTenantResourceRangeAsync(tenantResource).join())
+        .isEmpty();
+  }
+
+  @Test
+  void testTenantResourceRange_deleteByKey() {
+    final TenantResourceRange trr = randomTenantResourceRange(3);
+    final TenantResource tenantResource = ImmutableTenantResource.builder()
+        .tenant(trr.tenant()).resource(trr.resource()).build();
+    engine.write(trr);
+
+    engine.deleteAsync(tenantResource).join();
+    Assertions.assertThat(engine.readTenantResourceRange(tenantResource))
+        .isEmpty();
+  }
+
   @Test
   void testRoundTrip() {
     final String uuid = uuid();
@@ -135,6 +165,10 @@ class NodeConfigurationEngineTest extends BaseMetricTest {
         .isNotNull()
         .hasSize(3)
         .contains(resource1, resource2, resource3);
+    final NodeResources withRevision = engine.readNodeResourcesWithRevision(uuid);
+    Assertions.assertThat(withRevision.ranges())
+        .containsExactlyInAnyOrder(resource1, resource2, resource3);
+    Assertions.assertThat(withRevision.revision()).isPositive();
 
     engine.delete(resource1);
     final List<NodeTenantResourceRange> result2 = engine.readNodeResources(uuid);
@@ -17,7 +17,12 @@
 package org.svarm.common.config.engine;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -28,6 +33,7 @@ import io.etcd.jetcd.KeyValue;
 import io.etcd.jetcd.Watch;
 import io.etcd.jetcd.watch.WatchEvent;
 import io.etcd.jetcd.watch.WatchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -54,26 +60,51 @@ class WatchEngineTest extends BaseMetricTest {
 
   @Mock private EtcdAccessor accessor;
   @Mock private Consumer<Event> eventConsumer;
+  @Mock private Consumer<Throwable> errorConsumer;
   @Mock private WatchResponse watchResponse;
   @Mock private WatchEvent watchEvent;
   @Mock private KeyValue keyValue;
   @Mock private Watch.Watcher watcher;
   @Captor private ArgumentCaptor<Event> eventArgumentCaptor;
   @Captor private ArgumentCaptor<Watch.Listener> listenerArgumentCaptor;
+  @Captor private ArgumentCaptor<Runnable> runnableArgumentCaptor;
+  @Mock private ExecutorService manualExecutorService;
 
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
   private WatchEngine watchEngine;
   private ExecutorService executorService = Executors.newSingleThreadExecutor();
 
   @BeforeEach
   void setupEngine() {
-    when(accessor.watch(eq(NAMESPACE), eq(KEY), listenerArgumentCaptor.capture())).thenReturn(watcher);
-    watchEngine = new WatchEngine(accessor, metricsFactory, executorService, NAMESPACE, KEY, eventConsumer);
+    when(accessor.watch(eq(NAMESPACE), eq(KEY), eq(0L), listenerArgumentCaptor.capture())).thenReturn(watcher);
+    watchEngine = new WatchEngine(accessor, metricsFactory, meterRegistry, executorService, NAMESPACE, KEY, 0L, eventConsumer, errorConsumer);
   }
 
   @AfterEach
   void shutdown() {
     watchEngine.close();
     verify(watcher).close();
+    executorService.shutdownNow();
+  }
+
+  @Test
+  void close_leavesTheSharedExecutorRunning() {
+    watchEngine.close();
+    watchEngine.close();
+
+    assertThat(executorService.isShutdown()).isFalse();
+    assertThat(watchEngine.isClosed()).isTrue();
+  }
+
+  @Test
+  void close_dropsLaterEvents() {
+    when(watchResponse.getEvents()).thenReturn(List.of(watchEvent(KEY, VALUE, WatchEvent.EventType.PUT)));
+    watchEngine.close();
+
+    watchEngine.watchResponse(watchResponse);
+
+    assertThat(watchEngine.queueDepth()).isZero();
+    verifyNoInteractions(eventConsumer);
   }
 
   @Test
@@ -83,7 +114,9 @@ class WatchEngineTest extends BaseMetricTest {
 
   @Test
   void error() {
-    watchEngine.error(new RuntimeException()); // no error
+    final RuntimeException exception = new RuntimeException();
+    watchEngine.error(exception);
+    verify(errorConsumer).accept(exception);
   }
 
   @Test
@@ -120,6 +153,56 @@ class WatchEngineTest extends BaseMetricTest {
         .hasFieldOrPropertyWithValue("type", Event.Type.DELETE);
   }
 
+  @Test
+  void watchResponse_coalescesPerKey() {
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final WatchEngine engine = new WatchEngine(accessor, metricsFactory, registry, manualExecutorService,
+        NAMESPACE, KEY, 0L, eventConsumer, errorConsumer);
+    when(watchResponse.getEvents()).thenReturn(List.of(
+        watchEvent(KEY, "1", WatchEvent.EventType.PUT),
+        watchEvent("other", "1", WatchEvent.EventType.PUT),
+        watchEvent(KEY, "2", WatchEvent.EventType.PUT),
+        watchEvent(KEY, "3", WatchEvent.EventType.DELETE)));
+
+    engine.watchResponse(watchResponse);
+
+    assertThat(engine.queueDepth()).isEqualTo(2);
+    assertThat(registry.get("WatchEngine.queueDepth").tag("tag", NAMESPACE + "/" + KEY).gauge().value())
+        .isEqualTo(2.0);
+    verify(manualExecutorService, times(2)).execute(runnableArgumentCaptor.capture());
+    runnableArgumentCaptor.getAllValues().forEach(Runnable::run);
+    verify(eventConsumer, times(2)).accept(eventArgumentCaptor.capture());
+    assertThat(eventArgumentCaptor.getAllValues())
+        .extracting(Event::key, e -> e.value().orElse(null), Event::type)
+        .containsExactly(
+            tuple(KEY, "3", Event.Type.DELETE),
+            tuple("other", "1", Event.Type.PUT));
+    assertThat(engine.queueDepth()).isZero();
+  }
+
+  @Test
+  void watchResponse_consumerFailureDoesNotStallKey() throws InterruptedException {
+    when(watchResponse.getEvents()).thenReturn(List.of(watchEvent(KEY, VALUE, WatchEvent.EventType.PUT)));
+    doThrow(new IllegalStateException()).doNothing().when(eventConsumer).accept(any());
+
+    watchEngine.watchResponse(watchResponse);
+    Thread.sleep(200);
+    watchEngine.watchResponse(watchResponse);
+    Thread.sleep(200);
+
+    verify(eventConsumer, times(2)).accept(any());
+  }
+
+  private WatchEvent watchEvent(final String key, final String value, final WatchEvent.EventType type) {
+    final KeyValue kv = mock(KeyValue.class);
+    when(kv.getKey()).thenReturn(ByteSequence.from(key.getBytes()));
+    when(kv.getValue()).thenReturn(ByteSequence.from(value.getBytes()));
+    final WatchEvent event = mock(WatchEvent.class);
+    when(event.getKeyValue()).thenReturn(kv);
+    when(event.getEventType()).thenReturn(type);
+    return event;
+  }
+
   @Test
   void watchResponse_unknown() {
     when(watchEvent.getEventType()).thenReturn(WatchEvent.EventType.UNRECOGNIZED);
@@ -43,6 +43,20 @@ public interface ControlNodeService {
   @Produces(MediaType.APPLICATION_JSON)
   NodeInfo register(@PathParam("node") final String nodeUuid, final NodeMetaData metaData);
 
+  /**
+   * Registers the node if needed, enables it, and returns its status with the node key and the keys of every
+   * tenant that has a range on the node. Replaces the status, register, enable and key calls done on startup.
+   *
+   * @param nodeUuid to bootstrap.
+   * @param metaData the node details, used if the node has to be registered.
+   * @return the bootstrap details.
+   */
+  @PUT
+  @Path("bootstrap")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  NodeBootstrap bootstrap(@PathParam("node") final String nodeUuid, final NodeMetaData metaData);
+
   /**
    * Enables a given node into the swarm.
    *
@@ -157,4 +171,17 @@ public interface ControlNodeService {
   KeyInfo nodeKey(@PathParam("node") final String nodeUuid,
                   @PathParam("reference") final String reference);
 
+  /**
+   * Reports the current load of the node, used to place new resources on the least loaded nodes.
+   *
+   * @param nodeUuid who owns the report.
+   * @param nodeLoad the load.
+   * @return a node info object.
+   */
+  @PUT
+  @Path("load")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  NodeInfo load(@PathParam("node") final String nodeUuid, final NodeLoad nodeLoad);
+
 }
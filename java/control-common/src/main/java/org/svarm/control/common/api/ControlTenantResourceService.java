@@ -73,6 +73,22 @@ public interface ControlTenantResourceService {
                                     @PathParam("resource") final String resource,
                                     final ResourceMetaData resourceMetaData);
 
+  /**
+   * Grows the resource onto more nodes. The new nodes take ranges from the current ones, and the proxies switch
+   * over once every node is ready.
+   *
+   * @param tenantId that owns the resource.
+   * @param resource the resource.
+   * @param count    how many nodes to add.
+   * @return response. tenant resource info
+   */
+  @PUT
+  @Path("/{resource}/nodes/{count}")
+  @Produces(MediaType.APPLICATION_JSON)
+  TenantResourceInfo addNodes(@PathParam("tenant") final String tenantId,
+                              @PathParam("resource") final String resource,
+                              @PathParam("count") final int count);
+
   /**
    * Delete the tenant table.
    *
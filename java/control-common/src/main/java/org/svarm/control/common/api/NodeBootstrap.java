@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.control.common.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.Map;
+import org.immutables.value.Value;
+
+/**
+ * Everything a node needs from the control plane to start, in one response.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableNodeBootstrap.class)
+@JsonDeserialize(builder = ImmutableNodeBootstrap.Builder.class)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public interface NodeBootstrap {
+
+  /**
+   * The node after registration and enablement.
+   *
+   * @return value. node info
+   */
+  @JsonProperty("nodeInfo")
+  NodeInfo nodeInfo();
+
+  /**
+   * The key for the node.
+   *
+   * @return value. key info
+   */
+  @JsonProperty("nodeKey")
+  KeyInfo nodeKey();
+
+  /**
+   * The key for every tenant that has a range on the node, by tenant.
+   *
+   * @return value. map
+   */
+  @JsonProperty("tenantKeys")
+  Map<String, KeyInfo> tenantKeys();
+}
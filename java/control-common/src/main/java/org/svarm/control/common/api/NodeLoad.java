@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.control.common.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
+import org.immutables.value.Value;
+
+/**
+ * Load a node reports to the control plane.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableNodeLoad.class)
+@JsonDeserialize(builder = ImmutableNodeLoad.Builder.class)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public interface NodeLoad {
+
+  /**
+   * Bytes of disk used by the node's stores.
+   *
+   * @return the value.
+   */
+  long diskUsedBytes();
+
+  /**
+   * Requests per second served by the node.
+   *
+   * @return the value.
+   */
+  double requestRate();
+
+  /**
+   * Per hash bucket traffic for the resources the node serves, collected since the last report.
+   *
+   * @return the value.
+   */
+  List<TenantResourceLoad> resources();
+
+}
@@ -19,6 +19,7 @@ package org.svarm.control.common.api;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.Optional;
 import org.immutables.value.Value;
 
 /**
@@ -37,4 +38,11 @@ public interface NodeMetaData {
    */
   String uri();
 
+  /**
+   * The zone the node runs in. Replicas of a resource are spread across zones when possible.
+   *
+   * @return the zone.
+   */
+  Optional<String> zone();
+
 }
@@ -3,6 +3,7 @@ package org.svarm.control.common.api;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.Optional;
 import org.immutables.value.Value;
 import org.svarm.datastore.common.TableDefinition;
 
@@ -33,4 +34,11 @@ public interface TableMetaData extends ResourceMetaData {
    */
   TableDefinition tableDefinition();
 
+  /**
+   * How many ranges (virtual nodes) each node owns for this table. If empty, the control plane default is used.
+   *
+   * @return the value.
+   */
+  Optional<Integer> virtualNodes();
+
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.control.common.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
+import org.immutables.value.Value;
+
+/**
+ * Traffic a node saw for one tenant resource, split into fixed hash buckets. Bucket i covers the hashes from
+ * {@link #lowHash(int)} of i, inclusive, to that of i + 1, exclusive.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableTenantResourceLoad.class)
+@JsonDeserialize(builder = ImmutableTenantResourceLoad.Builder.class)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public interface TenantResourceLoad {
+
+  /**
+   * How many bits of the hash pick the bucket.
+   */
+  int BUCKET_BITS = 6;
+
+  /**
+   * Number of buckets the hash ring is split into.
+   */
+  int BUCKETS = 1 << BUCKET_BITS;
+
+  /**
+   * The bucket the hash falls into.
+   *
+   * @param hash the location hash.
+   * @return the bucket.
+   */
+  static int bucket(final int hash) {
+    return (hash ^ Integer.MIN_VALUE) >>> (Integer.SIZE - BUCKET_BITS);
+  }
+
+  /**
+   * The lowest hash in the bucket.
+   *
+   * @param bucket the bucket.
+   * @return the hash.
+   */
+  static int lowHash(final int bucket) {
+    return (bucket << (Integer.SIZE - BUCKET_BITS)) ^ Integer.MIN_VALUE;
+  }
+
+  /**
+   * The tenant.
+   *
+   * @return the value.
+   */
+  String tenant();
+
+  /**
+   * The resource.
+   *
+   * @return the value.
+   */
+  String resource();
+
+  /**
+   * How long the counts were collected over.
+   *
+   * @return the value.
+   */
+  long periodMillis();
+
+  /**
+   * Requests per bucket during the period. Has {@link #BUCKETS} entries.
+   *
+   * @return the value.
+   */
+  List<Long> requests();
+
+  /**
+   * Bytes read or written per bucket during the period. Has {@link #BUCKETS} entries.
+   *
+   * @return the value.
+   */
+  List<Long> bytes();
+
+}
@@ -30,6 +30,13 @@ public class ControlConfiguration extends ServerConfiguration {
   @NotNull
   private DataSourceFactory database = new DataSourceFactory();
   private Boolean runLiquibase;
+  private int defaultClusterSize = 2;
+  private int defaultVirtualNodes = 8;
+  private double hotBucketRequestsPerSecond = 1000.0;
+  private double hotBucketBytesPerSecond = 10_000_000.0;
+  private boolean splitHotRanges = false;
+  private int cacheExpirySeconds = 60;
+  private long cacheMaximumSize = 10_000L;
 
   /**
    * Instantiates a new Control configuration.
@@ -76,4 +83,132 @@ public class ControlConfiguration extends ServerConfiguration {
     this.database = factory;
   }
 
+  /**
+   * How many nodes a new tenant resource is spread over.
+   *
+   * @return the cluster size.
+   */
+  public int getDefaultClusterSize() {
+    return defaultClusterSize;
+  }
+
+  /**
+   * Sets how many nodes a new tenant resource is spread over.
+   *
+   * @param defaultClusterSize the cluster size.
+   */
+  public void setDefaultClusterSize(final int defaultClusterSize) {
+    this.defaultClusterSize = defaultClusterSize;
+  }
+
+  /**
+   * How many ranges (virtual nodes) each node owns for a new tenant resource, unless the resource asks for another
+   * count.
+   *
+   * @return the virtual node count.
+   */
+  public int getDefaultVirtualNodes() {
+    return defaultVirtualNodes;
+  }
+
+  /**
+   * Sets how many ranges (virtual nodes) each node owns for a new tenant resource.
+   *
+   * @param defaultVirtualNodes the virtual node count.
+   */
+  public void setDefaultVirtualNodes(final int defaultVirtualNodes) {
+    this.defaultVirtualNodes = defaultVirtualNodes;
+  }
+
+  /**
+   * Gets the request rate a node may see in one hash bucket of a resource before the range is hot.
+   *
+   * @return the rate.
+   */
+  public double getHotBucketRequestsPerSecond() {
+    return hotBucketRequestsPerSecond;
+  }
+
+  /**
+   * Sets the request rate a node may see in one hash bucket of a resource before the range is hot.
+   *
+   * @param hotBucketRequestsPerSecond the rate.
+   */
+  public void setHotBucketRequestsPerSecond(final double hotBucketRequestsPerSecond) {
+    this.hotBucketRequestsPerSecond = hotBucketRequestsPerSecond;
+  }
+
+  /**
+   * Gets the byte rate a node may see in one hash bucket of a resource before the range is hot.
+   *
+   * @return the rate.
+   */
+  public double getHotBucketBytesPerSecond() {
+    return hotBucketBytesPerSecond;
+  }
+
+  /**
+   * Sets the byte rate a node may see in one hash bucket of a resource before the range is hot.
+   *
+   * @param hotBucketBytesPerSecond the rate.
+   */
+  public void setHotBucketBytesPerSecond(final double hotBucketBytesPerSecond) {
+    this.hotBucketBytesPerSecond = hotBucketBytesPerSecond;
+  }
+
+  /**
+   * If true, hot ranges are split onto a new node. Otherwise the split is only proposed in the logs and metrics.
+   *
+   * @return the flag.
+   */
+  public boolean isSplitHotRanges() {
+    return splitHotRanges;
+  }
+
+  /**
+   * Sets if hot ranges are split onto a new node.
+   *
+   * @param splitHotRanges the flag.
+   */
+  public void setSplitHotRanges(final boolean splitHotRanges) {
+    this.splitHotRanges = splitHotRanges;
+  }
+
+  /**
+   * Gets how long, in seconds, nodes and node ranges stay in the control plane cache. Writes through this instance
+   * update the cache right away, so this only bounds how stale a change made by another instance can be.
+   *
+   * @return the seconds.
+   */
+  public int getCacheExpirySeconds() {
+    return cacheExpirySeconds;
+  }
+
+  /**
+   * Sets how long, in seconds, nodes and node ranges stay in the control plane cache.
+   *
+   * @param cacheExpirySeconds the seconds.
+   */
+  public void setCacheExpirySeconds(final int cacheExpirySeconds) {
+    this.cacheExpirySeconds = cacheExpirySeconds;
+  }
+
+  /**
+   * Gets the most entries each control plane cache holds.
+   *
+   * @return the size.
+   */
+  public long getCacheMaximumSize() {
+    return cacheMaximumSize;
+  }
+
+  /**
+   * Sets the most entries each control plane cache holds.
+   *
+   * @param cacheMaximumSize the size.
+   */
+  public void setCacheMaximumSize(final long cacheMaximumSize) {
+    this.cacheMaximumSize = cacheMaximumSize;
+  }
+
 }
@@ -3,6 +3,7 @@ package org.svarm.control.converter;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -44,9 +45,27 @@ public class NodeRangeConverter {
   public List<NodeTenantResourceRange> toNodeTenantResourceRanges(final String tenant,
                                                                   final String resource,
                                                                   final List<NodeRange> nodeRange) {
+    return toNodeTenantResourceRanges(tenant, resource, nodeRange, Map.of());
+  }
+
+  /**
+   * Converts to a node tenant resource range, telling each node every range (virtual node) it owns.
+   *
+   * @param tenant    owner.
+   * @param resource  the resource.
+   * @param nodeRange the range.
+   * @param tokens    the low hashes each node owns, by node uuid. Nodes missing get just their hash.
+   * @return the result.
+   */
+  public List<NodeTenantResourceRange> toNodeTenantResourceRanges(final String tenant,
+                                                                  final String resource,
+                                                                  final List<NodeRange> nodeRange,
+                                                                  final Map<String, List<Integer>> tokens) {
     LOGGER.trace("toNodeTenantResourceRanges({},{},{})", tenant, resource, nodeRange);
     final TenantResource tenantResource = ImmutableTenantResource.builder().tenant(tenant).resource(resource).build();
-    return nodeRange.stream().map(nr -> toNodeTenantResourceRanges(tenantResource, nr)).collect(Collectors.toList());
+    return nodeRange.stream()
+        .map(nr -> toNodeTenantResourceRanges(tenantResource, nr, tokens.getOrDefault(nr.nodeUuid(), List.of())))
+        .collect(Collectors.toList());
   }
 
   /**
@@ -58,6 +77,20 @@ public class NodeRangeConverter {
    */
   public NodeTenantResourceRange toNodeTenantResourceRanges(final TenantResource tenantResource,
                                                             final NodeRange nr) {
+    return toNodeTenantResourceRanges(tenantResource, nr, List.of());
+  }
+
+  /**
+   * Converter for a single node tenant resource range.
+   *
+   * @param tenantResource to convert.
+   * @param nr             the node range.
+   * @param hashes         the low hashes the node owns.
+   * @return the result.
+   */
+  public NodeTenantResourceRange toNodeTenantResourceRanges(final TenantResource tenantResource,
+                                                            final NodeRange nr,
+                                                            final List<Integer> hashes) {
     final Optional<String> action;
     switch (nr.status()) {
       case NodeRange.STATUS_DELETING -> action = Optional.of(MetaData.ACTION_DELETE);
@@ -67,7 +100,7 @@ public class NodeRangeConverter {
     return ImmutableNodeTenantResourceRange.builder()
         .nodeTenantResource(
             ImmutableNodeTenantResource.builder().uuid(nr.nodeUuid()).tenantResource(tenantResource).build())
-        .metaData(ImmutableMetaData.builder().hash(nr.hash()).action(action).build())
+        .metaData(ImmutableMetaData.builder().hash(nr.hash()).hashes(hashes).action(action).build())
         .build();
   }
 
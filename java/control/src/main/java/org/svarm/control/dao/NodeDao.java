@@ -16,6 +16,7 @@
 
 package org.svarm.control.dao;
 
+import java.time.Instant;
 import java.util.List;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindPojo;
@@ -33,7 +34,8 @@ public interface NodeDao {
    *
    * @param instance to use.
    */
-  @SqlUpdate("insert into NODES (uuid, create_date, update_date, status, uri) values (:uuid, :createDate, :updateDate, :status, :uri)")
+  @SqlUpdate("insert into NODES (uuid, create_date, update_date, status, uri, zone, disk_used_bytes, request_rate) "
+      + "values (:uuid, :createDate, :updateDate, :status, :uri, :zone, :diskUsedBytes, :requestRate)")
   void insert(@BindPojo final Node instance);
 
   /**
@@ -41,7 +43,8 @@ public interface NodeDao {
    *
    * @param instance to use.
    */
-  @SqlUpdate("update NODES set create_date = :createDate, update_date = :updateDate, status = :status, uri = :uri where uuid = :uuid")
+  @SqlUpdate("update NODES set create_date = :createDate, update_date = :updateDate, status = :status, uri = :uri, "
+      + "zone = :zone, disk_used_bytes = :diskUsedBytes, request_rate = :requestRate where uuid = :uuid")
   void update(@BindPojo final Node instance);
 
   /**
@@ -69,6 +72,30 @@ public interface NodeDao {
   @SqlQuery("select distinct (uuid) from NODES where status = 'ENABLED'")
   List<String> allEnabledNodes();
 
+  /**
+   * Gets the details of all the enabled nodes, including their last reported load.
+   *
+   * @return the list.
+   */
+  @SqlQuery("select * from NODES where status = 'ENABLED'")
+  List<Node> enabledNodes();
+
+  /**
+   * Records the load the node reported.
+   *
+   * @param uuid          of the node.
+   * @param diskUsedBytes bytes of disk in use.
+   * @param requestRate   requests per second.
+   * @param updateDate    when the report came in.
+   * @return the number of rows updated.
+   */
+  @SqlUpdate("update NODES set disk_used_bytes = :diskUsedBytes, request_rate = :requestRate, "
+      + "update_date = :updateDate where uuid = :uuid")
+  int updateLoad(@Bind("uuid") String uuid,
+                 @Bind("diskUsedBytes") long diskUsedBytes,
+                 @Bind("requestRate") double requestRate,
+                 @Bind("updateDate") Instant updateDate);
+
   /**
    * Delete the entry from the database.
    *
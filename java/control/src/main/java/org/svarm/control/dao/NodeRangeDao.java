@@ -17,6 +17,9 @@
 package org.svarm.control.dao;
 
 import java.util.List;
+import java.util.Map;
+import org.jdbi.v3.sqlobject.config.KeyColumn;
+import org.jdbi.v3.sqlobject.config.ValueColumn;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindPojo;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
@@ -117,6 +120,25 @@ public interface NodeRangeDao extends Transactional<NodeRangeDao> {
   @SqlQuery("select distinct(resource) from NODE_RANGE where tenant = :tenant")
   List<String> resources(@Bind("tenant") String tenant);
 
+  /**
+   * How many tenant resources each node currently holds. Nodes holding nothing are absent.
+   *
+   * @return node uuid to range count.
+   */
+  @SqlQuery("select node_uuid, count(*) as range_count from NODE_RANGE group by node_uuid")
+  @KeyColumn("node_uuid")
+  @ValueColumn("range_count")
+  Map<String, Long> rangeCounts();
+
+  /**
+   * The nodes that already hold any resource for the tenant.
+   *
+   * @param tenant the tenant.
+   * @return the node uuids.
+   */
+  @SqlQuery("select distinct(node_uuid) from NODE_RANGE where tenant = :tenant")
+  List<String> tenantNodes(@Bind("tenant") String tenant);
+
   /**
    * Delete the entry from the database.
    *
@@ -128,4 +150,62 @@ public interface NodeRangeDao extends Transactional<NodeRangeDao> {
   @SqlUpdate("delete from NODE_RANGE where node_uuid = :nodeUuid and tenant = :tenant and resource = :resource")
   int delete(@Bind("nodeUuid") String nodeUuid, @Bind("tenant") String tenant, @Bind("resource") String resource);
 
+  /**
+   * Inserts one range (virtual node) owned by the node for the tenant resource.
+   *
+   * @param nodeUuid the node.
+   * @param tenant   the tenant.
+   * @param resource the resource.
+   * @param hash     the low hash of the range.
+   */
+  @SqlUpdate("insert into NODE_RANGE_TOKEN (node_uuid, tenant, resource, hash) "
+      + "values (:nodeUuid, :tenant, :resource, :hash)")
+  void insertToken(@Bind("nodeUuid") String nodeUuid,
+                   @Bind("tenant") String tenant,
+                   @Bind("resource") String resource,
+                   @Bind("hash") int hash);
+
+  /**
+   * The low hashes of the ranges the node owns for the tenant resource.
+   *
+   * @param nodeUuid the node.
+   * @param tenant   the tenant.
+   * @param resource the resource.
+   * @return the hashes, in order.
+   */
+  @SqlQuery("select hash from NODE_RANGE_TOKEN where node_uuid = :nodeUuid and tenant = :tenant "
+      + "and resource = :resource order by hash")
+  List<Integer> tokens(@Bind("nodeUuid") String nodeUuid,
+                       @Bind("tenant") String tenant,
+                       @Bind("resource") String resource);
+
+  /**
+   * Every range (virtual node) for the tenant resource, one API node range per range with its low hash.
+   *
+   * @param tenant   to use.
+   * @param resource to use.
+   * @return the list of node ranges.
+   */
+  @SqlQuery("select NODES.uuid, NODES.uri, NODE_RANGE_TOKEN.hash "
+      + "from NODE_RANGE_TOKEN, NODES where NODE_RANGE_TOKEN.tenant = :tenant "
+      + "and NODE_RANGE_TOKEN.resource = :resource "
+      + "and NODE_RANGE_TOKEN.node_uuid = NODES.uuid")
+  List<org.svarm.common.config.api.NodeRange> apiTokenRanges(
+      @Bind("tenant") String tenant,
+      @Bind("resource") String resource);
+
+  /**
+   * Delete the ranges the node owns for the tenant resource.
+   *
+   * @param nodeUuid to delete.
+   * @param tenant   to delete.
+   * @param resource to delete.
+   * @return the number deleted.
+   */
+  @SqlUpdate("delete from NODE_RANGE_TOKEN where node_uuid = :nodeUuid and tenant = :tenant "
+      + "and resource = :resource")
+  int deleteTokens(@Bind("nodeUuid") String nodeUuid,
+                   @Bind("tenant") String tenant,
+                   @Bind("resource") String resource);
+
 }
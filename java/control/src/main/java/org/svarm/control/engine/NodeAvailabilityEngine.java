@@ -18,8 +18,14 @@ package org.svarm.control.engine;
 
 import com.codeheadsystems.metrics.Metrics;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
@@ -27,13 +33,24 @@ import org.slf4j.LoggerFactory;
 import org.svarm.control.dao.NodeDao;
 import org.svarm.control.dao.NodeRangeDao;
 import org.svarm.control.exception.NotEnoughNodesException;
+import org.svarm.control.model.Node;
 
 /**
  * This engine job is to retrieve nodes that are available for work, based on least used process.
+ * Each enabled node is scored on its range count, reported disk usage and request rate, each normalized against
+ * the busiest node, plus a penalty when it already holds a resource for the tenant. Nodes are then picked
+ * lowest score first, always preferring a zone that has been picked the fewest times so far.
  */
 @Singleton
 public class NodeAvailabilityEngine {
 
+  /**
+   * Added to the score of a node that already holds a resource for the tenant, about as much as a node
+   * that is the busiest on one of the load measures.
+   */
+  public static final double TENANT_PLACEMENT_PENALTY = 1.0;
+
+  private static final String UNKNOWN_ZONE = "";
   private static final Logger LOGGER = LoggerFactory.getLogger(NodeAvailabilityEngine.class);
 
   private final NodeDao nodeDao;
@@ -63,20 +80,91 @@ public class NodeAvailabilityEngine {
    */
   public List<String> getAvailableNodes(final int count) {
     LOGGER.trace("getAvailableNodes({})", count);
+    return getAvailableNodes(Optional.empty(), count, Set.of());
+  }
+
+  /**
+   * Provides a number of nodes that are available for the tenant, least loaded first and spread across zones.
+   * Will throw an exception if it cannot get the number wanted.
+   *
+   * @param tenant who will own the resource.
+   * @param count  to look for.
+   * @return the list.
+   */
+  public List<String> getAvailableNodes(final String tenant, final int count) {
+    LOGGER.trace("getAvailableNodes({},{})", tenant, count);
+    return getAvailableNodes(Optional.of(tenant), count, Set.of());
+  }
+
+  /**
+   * Provides a number of nodes that are available for the tenant, skipping the excluded nodes. Used when growing
+   * a resource, where the nodes already holding it cannot be picked again.
+   *
+   * @param tenant  who will own the resource.
+   * @param count   to look for.
+   * @param exclude nodes that cannot be picked.
+   * @return the list.
+   */
+  public List<String> getAvailableNodes(final String tenant, final int count, final Set<String> exclude) {
+    LOGGER.trace("getAvailableNodes({},{},{})", tenant, count, exclude);
+    return getAvailableNodes(Optional.of(tenant), count, exclude);
+  }
+
+  private List<String> getAvailableNodes(final Optional<String> tenant, final int count, final Set<String> exclude) {
     if (count < 1) {
       throw new IllegalArgumentException("Count is invalid: " + count);
     }
     return metrics.time("NodeAvailabilityEngine.getAvailableNodes", () -> {
-      final List<String> allNodes = new ArrayList<>(nodeDao.allEnabledNodes()); // make sure it's mutable.
-      final Random random = new Random();
+      final List<Node> allNodes = nodeDao.enabledNodes().stream()
+          .filter(node -> !exclude.contains(node.uuid()))
+          .toList();
       if (allNodes.size() < count) {
         throw new NotEnoughNodesException("Not enough nodes. Available: " + allNodes.size());
       }
-      while (allNodes.size() > count) {
-        allNodes.remove(random.nextInt(allNodes.size()));
+      final Map<String, Long> rangeCounts = nodeRangeDao.rangeCounts();
+      final Set<String> tenantNodes = tenant.map(nodeRangeDao::tenantNodes).map(Set::copyOf).orElse(Set.of());
+      final ToDoubleFunction<Node> ranges = node -> rangeCounts.getOrDefault(node.uuid(), 0L);
+      final ToDoubleFunction<Node> disk = node -> node.diskUsedBytes().orElse(0L);
+      final ToDoubleFunction<Node> rate = node -> node.requestRate().orElse(0.0);
+      final double maxRanges = max(allNodes, ranges);
+      final double maxDisk = max(allNodes, disk);
+      final double maxRate = max(allNodes, rate);
+      final Map<String, Double> scores = allNodes.stream().collect(Collectors.toMap(Node::uuid, node ->
+          ratio(ranges.applyAsDouble(node), maxRanges)
+              + ratio(disk.applyAsDouble(node), maxDisk)
+              + ratio(rate.applyAsDouble(node), maxRate)
+              + (tenantNodes.contains(node.uuid()) ? TENANT_PLACEMENT_PENALTY : 0.0)));
+      final List<Node> candidates = new ArrayList<>(allNodes);
+      candidates.sort(Comparator.comparingDouble((Node node) -> scores.get(node.uuid())).thenComparing(Node::uuid));
+      final Map<String, Integer> zoneUse = new HashMap<>();
+      final List<String> result = new ArrayList<>();
+      while (result.size() < count) {
+        final Node chosen = candidates.stream()
+            .min(Comparator.comparingInt((Node node) -> zoneUse.getOrDefault(zone(node), 0)))
+            .orElseThrow(); // stable: ties keep the score order.
+        candidates.remove(chosen);
+        zoneUse.merge(zone(chosen), 1, Integer::sum);
+        result.add(chosen.uuid());
       }
-      return allNodes;
+      LOGGER.debug("getAvailableNodes({},{}): {} scores {}", tenant, count, result, scores);
+      return result;
     });
   }
 
+  /**
+   * Nodes that did not report a zone all share one unknown zone, so they never look more spread out than
+   * nodes that did.
+   */
+  private String zone(final Node node) {
+    return node.zone().orElse(UNKNOWN_ZONE);
+  }
+
+  private double max(final List<Node> nodes, final ToDoubleFunction<Node> function) {
+    return nodes.stream().mapToDouble(function).max().orElse(0.0);
+  }
+
+  private double ratio(final double value, final double max) {
+    return max > 0.0 ? value / max : 0.0;
+  }
+
 }
@@ -3,7 +3,13 @@ package org.svarm.control.engine;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
@@ -45,4 +51,92 @@ public class RingHashSplitEngine {
     return result;
   }
 
+  /**
+   * Exactly count even ranges. Unlike evenSplitHashes, the remainder goes to the last range instead of a small
+   * extra one, so every node gets the same number of virtual nodes.
+   */
+  private List<Integer> exactSplitHashes(final int count) {
+    final long additionBlob = TOTAL_VALUES / count;
+    final List<Integer> result = new ArrayList<>(count);
+    long currentValue = Integer.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      result.add(Math.toIntExact(currentValue));
+      currentValue += additionBlob;
+    }
+    return result;
+  }
+
+  /**
+   * Splits the space into nodeCount * virtualNodes even ranges and deals them out round-robin, so each node owns
+   * many small ranges spread across the ring instead of one contiguous block. The first node owns the lowest hash.
+   *
+   * @param nodeCount    how many nodes.
+   * @param virtualNodes how many ranges each node owns.
+   * @return for each node, its low hashes in order.
+   */
+  public List<List<Integer>> virtualNodeHashes(final int nodeCount, final int virtualNodes) {
+    LOGGER.trace("virtualNodeHashes({},{})", nodeCount, virtualNodes);
+    if (nodeCount < 1 || virtualNodes < 1) {
+      throw new IllegalArgumentException(
+          "Need at least one node and one virtual node: " + nodeCount + "," + virtualNodes);
+    }
+    final List<Integer> hashes = exactSplitHashes(nodeCount * virtualNodes);
+    final List<List<Integer>> result = new ArrayList<>();
+    for (int node = 0; node < nodeCount; node++) {
+      result.add(new ArrayList<>());
+    }
+    for (int i = 0; i < hashes.size(); i++) {
+      result.get(i % nodeCount).add(hashes.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Picks the low hashes for a node joining the ring. The new node should end up with its fair share of the space,
+   * cut into virtualNodes equal slices. Each slice is the top of an existing range, taken from the current nodes in
+   * turn (widest range first), so every node gives up a few small slices instead of one neighbor giving up half its
+   * space.
+   *
+   * @param hashesByNode the current low hashes for each node.
+   * @param virtualNodes how many ranges the new node should own.
+   * @return the low hashes for the new node, in order.
+   */
+  public List<Integer> newNodeHashes(final Map<String, List<Integer>> hashesByNode, final int virtualNodes) {
+    LOGGER.trace("newNodeHashes({},{})", hashesByNode.keySet(), virtualNodes);
+    final long slice = TOTAL_VALUES / (hashesByNode.size() + 1) / virtualNodes;
+    final TreeMap<Long, String> owners = new TreeMap<>();
+    hashesByNode.forEach((node, hashes) -> hashes.forEach(hash -> owners.put((long) hash, node)));
+    final Set<Long> added = new HashSet<>();
+    final Map<String, Integer> given = new HashMap<>();
+    for (int i = 0; i < virtualNodes; i++) {
+      Long bestHash = null;
+      long bestWidth = 0;
+      int bestGiven = Integer.MAX_VALUE;
+      for (Map.Entry<Long, String> entry : owners.entrySet()) {
+        final Long next = owners.higherKey(entry.getKey());
+        final long width = (next == null ? (long) Integer.MAX_VALUE + 1L : next) - entry.getKey();
+        if (added.contains(entry.getKey()) || width <= slice) {
+          continue;
+        }
+        final int nodeGiven = given.getOrDefault(entry.getValue(), 0);
+        if (nodeGiven < bestGiven || (nodeGiven == bestGiven && width > bestWidth)) {
+          bestHash = entry.getKey();
+          bestWidth = width;
+          bestGiven = nodeGiven;
+        }
+      }
+      if (bestHash == null || slice < 1) {
+        throw new IllegalStateException("No range left to split for a new node");
+      }
+      final long split = bestHash + bestWidth - slice;
+      given.merge(owners.get(bestHash), 1, Integer::sum);
+      owners.put(split, null);
+      added.add(split);
+    }
+    final List<Integer> result = new ArrayList<>();
+    added.forEach(hash -> result.add(Math.toIntExact(hash)));
+    Collections.sort(result);
+    return result;
+  }
+
 }
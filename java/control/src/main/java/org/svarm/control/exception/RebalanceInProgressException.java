@@ -0,0 +1,16 @@
+package org.svarm.control.exception;
+
+/**
+ * Thrown when a tenant resource cannot be rebalanced because a rebalance is already running.
+ */
+public class RebalanceInProgressException extends IllegalStateException {
+
+  /**
+   * Main constructor.
+   *
+   * @param message to send.
+   */
+  public RebalanceInProgressException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.control.manager;
+
+import com.codeheadsystems.metrics.Metrics;
+import com.google.common.annotations.VisibleForTesting;
+import io.dropwizard.lifecycle.Managed;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.svarm.common.util.ShutdownUtility;
+import org.svarm.control.ControlConfiguration;
+import org.svarm.control.common.api.TenantResourceLoad;
+import org.svarm.control.exception.NotEnoughNodesException;
+import org.svarm.server.exception.NotFoundException;
+
+/**
+ * Looks for hot ranges in the per hash bucket traffic the nodes report. The hottest bucket of a resource over the
+ * threshold is a split proposal at the middle of that bucket. Proposals are logged and counted, and when enabled
+ * the range is split onto a new node. Splits run one at a time off the request thread, at most one queued per
+ * resource. The new node copies its range before it reports ready, like any rebalance.
+ */
+@Singleton
+public class HotRangeManager implements Managed {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(HotRangeManager.class);
+  private static final int HALF_BUCKET = 1 << (Integer.SIZE - TenantResourceLoad.BUCKET_BITS - 1);
+
+  private final NodeRangeManager nodeRangeManager;
+  private final Metrics metrics;
+  private final double hotBucketRequestsPerSecond;
+  private final double hotBucketBytesPerSecond;
+  private final boolean splitHotRanges;
+  private final ExecutorService splitExecutor;
+  private final Set<String> queuedSplits = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Constructor.
+   *
+   * @param nodeRangeManager     to split ranges.
+   * @param metrics              for metrics.
+   * @param controlConfiguration for the thresholds.
+   */
+  @Inject
+  public HotRangeManager(final NodeRangeManager nodeRangeManager,
+                         final Metrics metrics,
+                         final ControlConfiguration controlConfiguration) {
+    this(nodeRangeManager, metrics, controlConfiguration, Executors.newSingleThreadExecutor());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param nodeRangeManager     to split ranges.
+   * @param metrics              for metrics.
+   * @param controlConfiguration for the thresholds.
+   * @param splitExecutor        runs the splits.
+   */
+  @VisibleForTesting
+  HotRangeManager(final NodeRangeManager nodeRangeManager,
+                  final Metrics metrics,
+                  final ControlConfiguration controlConfiguration,
+                  final ExecutorService splitExecutor) {
+    this.nodeRangeManager = nodeRangeManager;
+    this.splitExecutor = splitExecutor;
+    this.metrics = metrics;
+    this.hotBucketRequestsPerSecond = controlConfiguration.getHotBucketRequestsPerSecond();
+    this.hotBucketBytesPerSecond = controlConfiguration.getHotBucketBytesPerSecond();
+    this.splitHotRanges = controlConfiguration.isSplitHotRanges();
+    LOGGER.info("HotRangeManager({},{},{},{})",
+        nodeRangeManager, hotBucketRequestsPerSecond, hotBucketBytesPerSecond, splitHotRanges);
+  }
+
+  @Override
+  public void start() throws Exception {
+    LOGGER.info("start()");
+  }
+
+  @Override
+  public void stop() throws Exception {
+    LOGGER.info("stop()");
+    ShutdownUtility.shutdown(LOGGER, "Hot range splits", splitExecutor);
+  }
+
+  /**
+   * Reviews the traffic one node reported. Splits are queued, not run here.
+   *
+   * @param nodeUuid the node.
+   * @param loads    the per resource traffic.
+   */
+  public void review(final String nodeUuid, final List<TenantResourceLoad> loads) {
+    LOGGER.trace("review({},{})", nodeUuid, loads.size());
+    loads.forEach(load -> hotHash(load).ifPresent(hash -> {
+      LOGGER.warn("review({}): hot range for {}:{}, proposing a split at {}",
+          nodeUuid, load.tenant(), load.resource(), hash);
+      metrics.increment("HotRangeManager.proposal");
+      if (splitHotRanges) {
+        queueSplit(load, hash);
+      }
+    }));
+  }
+
+  /**
+   * The split point for the hottest bucket over the thresholds, if any.
+   *
+   * @param load the traffic.
+   * @return the hash to split at.
+   */
+  public Optional<Integer> hotHash(final TenantResourceLoad load) {
+    final double seconds = load.periodMillis() / 1000.0;
+    int hottest = -1;
+    double hottestScore = 1.0;
+    for (int bucket = 0; bucket < load.requests().size(); bucket++) {
+      final double score = Math.max(
+          load.requests().get(bucket) / seconds / hotBucketRequestsPerSecond,
+          load.bytes().get(bucket) / seconds / hotBucketBytesPerSecond);
+      if (score > hottestScore) {
+        hottest = bucket;
+        hottestScore = score;
+      }
+    }
+    return hottest < 0 ? Optional.empty() : Optional.of(TenantResourceLoad.lowHash(hottest) + HALF_BUCKET);
+  }
+
+  private void queueSplit(final TenantResourceLoad load, final int hash) {
+    final String key = load.tenant() + "/" + load.resource();
+    if (!queuedSplits.add(key)) {
+      LOGGER.debug("queueSplit({},{}): already queued", key, hash);
+      metrics.increment("HotRangeManager.split.skipped");
+      return;
+    }
+    try {
+      splitExecutor.execute(() -> {
+        try {
+          split(load, hash);
+        } finally {
+          queuedSplits.remove(key);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      queuedSplits.remove(key);
+      LOGGER.warn("queueSplit({},{}): shutting down", key, hash);
+    }
+  }
+
+  private void split(final TenantResourceLoad load, final int hash) {
+    try {
+      nodeRangeManager.splitRange(load.tenant(), load.resource(), hash);
+      metrics.increment("HotRangeManager.split");
+    } catch (IllegalStateException | NotFoundException | NotEnoughNodesException e) {
+      // Another replica already asked, a rebalance is running, or there is nowhere to go. Try on the next report.
+      LOGGER.info("split({},{},{}): skipped: {}", load.tenant(), load.resource(), hash, e.getMessage());
+      metrics.increment("HotRangeManager.split.skipped");
+    }
+  }
+}
@@ -16,18 +16,22 @@
 
 package org.svarm.control.manager;
 
+import com.codeheadsystems.metrics.Metrics;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.time.Clock;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.svarm.common.crypt.AesGcmSivManager;
+import org.svarm.control.ControlConfiguration;
 import org.svarm.control.dao.KeyDao;
 import org.svarm.control.model.ImmutableKey;
 import org.svarm.control.model.Key;
 
 /**
- * Manages the keys in the application.
+ * Manages the keys in the application. Keys never change once created, so they are cached without expiry.
  */
 @Singleton
 public class KeyManager {
@@ -37,20 +41,32 @@ public class KeyManager {
   private final KeyDao keyDao;
   private final AesGcmSivManager aesGcmSivManager;
   private final Clock clock;
+  private final Metrics metrics;
+  private final Cache<String, Key> keyCache;
 
   /**
    * Constructor.
    *
-   * @param keyDao           the dao.
-   * @param aesGcmSivManager for encryption.
-   * @param clock            our clock.
+   * @param keyDao               the dao.
+   * @param aesGcmSivManager     for encryption.
+   * @param clock                our clock.
+   * @param metrics              for metrics.
+   * @param controlConfiguration for the cache size.
    */
   @Inject
-  public KeyManager(final KeyDao keyDao, final AesGcmSivManager aesGcmSivManager, final Clock clock) {
+  public KeyManager(final KeyDao keyDao,
+                    final AesGcmSivManager aesGcmSivManager,
+                    final Clock clock,
+                    final Metrics metrics,
+                    final ControlConfiguration controlConfiguration) {
     LOGGER.info("KeyManager({},{})", keyDao, aesGcmSivManager);
     this.keyDao = keyDao;
     this.aesGcmSivManager = aesGcmSivManager;
     this.clock = clock;
+    this.metrics = metrics;
+    this.keyCache = CacheBuilder.newBuilder()
+        .maximumSize(controlConfiguration.getCacheMaximumSize())
+        .build();
   }
 
   /**
@@ -78,6 +94,24 @@ public class KeyManager {
     return getKeyByIdentifier(id);
   }
 
+  /**
+   * Returns the key from the cache, or the database.
+   *
+   * @param id to lookup.
+   * @return the key.
+   */
+  private Key getKeyByIdentifier(final String id) {
+    final Key cachedKey = keyCache.getIfPresent(id);
+    if (cachedKey != null) {
+      metrics.increment("KeyManager.cache.hit");
+      return cachedKey;
+    }
+    metrics.increment("KeyManager.cache.miss");
+    final Key key = readOrCreate(id);
+    keyCache.put(id, key);
+    return key;
+  }
+
   /**
    * Returns the key from the database.
    * TODO: ensure this idempotent regardless of threads or instances.
@@ -85,7 +119,7 @@ public class KeyManager {
    * @param id to lookup.
    * @return the key.
    */
-  private Key getKeyByIdentifier(final String id) {
+  private Key readOrCreate(final String id) {
     final Key foundKey = keyDao.read(id);
     if (foundKey == null) {
       LOGGER.trace("building new key: {}", id);
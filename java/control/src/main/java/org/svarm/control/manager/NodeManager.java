@@ -17,13 +17,18 @@
 package org.svarm.control.manager;
 
 import com.codeheadsystems.metrics.Metrics;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.Optional;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.svarm.control.ControlConfiguration;
 import org.svarm.control.common.api.NodeInfo;
+import org.svarm.control.common.api.NodeLoad;
 import org.svarm.control.common.api.NodeMetaData;
 import org.svarm.control.dao.NodeDao;
 import org.svarm.control.model.ImmutableNode;
@@ -32,7 +37,7 @@ import org.svarm.control.model.Node;
 import org.svarm.server.exception.NotFoundException;
 
 /**
- * Manages the nodes in the swarm.
+ * Manages the nodes in the swarm. Reads go through a cache that every write here updates.
  */
 @Singleton
 public class NodeManager {
@@ -43,24 +48,31 @@ public class NodeManager {
   private final KeyManager keyManager;
   private final Clock clock;
   private final Metrics metrics;
+  private final Cache<String, Node> nodeCache;
 
   /**
    * Constructor.
    *
-   * @param nodeDao    for node mgmt.
-   * @param keyManager for key mgmt.
-   * @param clock      the clock.
-   * @param metrics    for metrics.
+   * @param nodeDao              for node mgmt.
+   * @param keyManager           for key mgmt.
+   * @param clock                the clock.
+   * @param metrics              for metrics.
+   * @param controlConfiguration for the cache settings.
    */
   @Inject
   public NodeManager(final NodeDao nodeDao,
                      final KeyManager keyManager,
                      final Clock clock,
-                     final Metrics metrics) {
+                     final Metrics metrics,
+                     final ControlConfiguration controlConfiguration) {
     this.clock = clock;
     this.metrics = metrics;
     this.nodeDao = nodeDao;
     this.keyManager = keyManager;
+    this.nodeCache = CacheBuilder.newBuilder()
+        .maximumSize(controlConfiguration.getCacheMaximumSize())
+        .expireAfterWrite(Duration.ofSeconds(controlConfiguration.getCacheExpirySeconds()))
+        .build();
     LOGGER.info("NodeManager({},{},{})", nodeDao, keyManager, metrics);
   }
 
@@ -82,6 +94,7 @@ public class NodeManager {
       final Node node = ImmutableNode.builder()
           .uuid(uuid)
           .uri(metaData.uri())
+          .zone(metaData.zone())
           .createDate(clock.instant())
           .status(NodeInfo.Status.DISABLED.name())
           .build();
@@ -102,6 +115,7 @@ public class NodeManager {
       }
       LOGGER.debug("create({}): Node created: {}", uuid, node);
       metrics.increment("NodeManager.create.created");
+      nodeCache.put(uuid, node);
       return node;
     });
   }
@@ -157,6 +171,7 @@ public class NodeManager {
             .withStatus(NodeInfo.Status.ENABLED.name())
             .withUpdateDate(clock.instant());
         nodeDao.update(newNode);
+        nodeCache.put(uuid, newNode);
         LOGGER.debug("enable({}): returning: {}", uuid, newNode);
         return newNode;
       } else {
@@ -187,6 +202,7 @@ public class NodeManager {
         final Node newNode = ImmutableNode.copyOf(currentNode).withStatus(NodeInfo.Status.DISABLED.name())
             .withUpdateDate(clock.instant());
         nodeDao.update(newNode);
+        nodeCache.put(uuid, newNode);
         LOGGER.debug("disable({}): results: {}", uuid, newNode);
         return newNode;
       } else {
@@ -196,6 +212,25 @@ public class NodeManager {
     });
   }
 
+  /**
+   * Records the load the node reported. Placement of new resources reads it back.
+   *
+   * @param uuid     the node.
+   * @param nodeLoad the load.
+   * @return the resulting node.
+   */
+  public Node load(final String uuid, final NodeLoad nodeLoad) {
+    LOGGER.trace("load({},{})", uuid, nodeLoad);
+    return metrics.time("NodeManager.load", () -> {
+      if (nodeDao.updateLoad(uuid, nodeLoad.diskUsedBytes(), nodeLoad.requestRate(), clock.instant()) == 0) {
+        LOGGER.warn("load({}): Node not found", uuid);
+        throw new NotFoundException("No such node");
+      }
+      nodeCache.invalidate(uuid);
+      return read(uuid).orElseThrow(() -> new NotFoundException("No such node"));
+    });
+  }
+
   private boolean enabled(final String status) {
     return NodeInfo.Status.ENABLED.name().equals(status);
   }
@@ -209,7 +244,7 @@ public class NodeManager {
   public Optional<Node> read(final String uuid) {
     LOGGER.trace("read({})", uuid);
     return metrics.time("NodeManager.read", () -> {
-      final Node node = nodeDao.read(uuid);
+      final Node node = cachedRead(uuid);
       if (node == null) {
         LOGGER.error("read({}): Not found", uuid);
         return Optional.empty();
@@ -223,6 +258,20 @@ public class NodeManager {
     });
   }
 
+  private Node cachedRead(final String uuid) {
+    final Node cached = nodeCache.getIfPresent(uuid);
+    if (cached != null) {
+      metrics.increment("NodeManager.cache.hit");
+      return cached;
+    }
+    metrics.increment("NodeManager.cache.miss");
+    final Node node = nodeDao.read(uuid);
+    if (node != null) {
+      nodeCache.put(uuid, node);
+    }
+    return node;
+  }
+
   /**
    * Returns the status of the node. If the node doesn't exist, the optional will be empty.
    * It WILL returned if it's banded.
@@ -17,13 +17,26 @@
 package org.svarm.control.manager;
 
 import com.codeheadsystems.metrics.Metrics;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Striped;
 import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.svarm.common.config.api.ImmutableMetaData;
@@ -32,25 +45,31 @@ import org.svarm.common.config.api.ImmutableTenantResource;
 import org.svarm.common.config.api.ImmutableTenantResourceRange;
 import org.svarm.common.config.api.MetaData;
 import org.svarm.common.config.api.NodeTenantResourceRange;
+import org.svarm.common.config.api.TenantResource;
 import org.svarm.common.config.api.TenantResourceRange;
 import org.svarm.common.config.engine.NodeConfigurationEngine;
+import org.svarm.control.ControlConfiguration;
 import org.svarm.control.converter.NodeRangeConverter;
 import org.svarm.control.dao.NodeRangeDao;
 import org.svarm.control.engine.NodeAvailabilityEngine;
 import org.svarm.control.engine.RingHashSplitEngine;
+import org.svarm.control.exception.RebalanceInProgressException;
 import org.svarm.control.model.ImmutableNodeRange;
 import org.svarm.control.model.NodeRange;
 import org.svarm.datastore.common.TableDefinition;
 import org.svarm.server.exception.NotFoundException;
 
 /**
- * Manages node ranges.
+ * Manages node ranges. The node range list of each tenant resource is cached; writes here drop it.
+ * Changes to the node ranges of one tenant resource are serialized with a lock here, and across control
+ * instances with a serializable transaction.
  */
 @Singleton
 public class NodeRangeManager {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(NodeRangeManager.class);
-  private static final int DEFAULT_CLUSTER_SIZE = 2;
+  private static final int LOCK_STRIPES = 64;
+  private static final Duration ETCD_TIMEOUT = Duration.ofSeconds(5);
 
   private final NodeRangeDao nodeRangeDao;
   private final Clock clock;
@@ -59,6 +78,10 @@ public class NodeRangeManager {
   private final NodeConfigurationEngine nodeConfigurationEngine;
   private final RingHashSplitEngine ringHashSplitEngine;
   private final NodeRangeConverter nodeRangeConverter;
+  private final int clusterSize;
+  private final int defaultVirtualNodes;
+  private final Cache<String, List<NodeRange>> nodeRangeCache;
+  private final Striped<Lock> locks = Striped.lock(LOCK_STRIPES);
 
   /**
    * Constructor.
@@ -70,6 +93,7 @@ public class NodeRangeManager {
    * @param nodeConfigurationEngine for updating the configuration engine.
    * @param ringHashSplitEngine     for getting hash values.
    * @param nodeRangeConverter      for conversion.
+   * @param controlConfiguration    for the cluster size, virtual node defaults and cache settings.
    */
   @Inject
   public NodeRangeManager(final NodeRangeDao nodeRangeDao,
@@ -78,7 +102,8 @@ public class NodeRangeManager {
                           final NodeAvailabilityEngine nodeAvailabilityEngine,
                           final NodeConfigurationEngine nodeConfigurationEngine,
                           final RingHashSplitEngine ringHashSplitEngine,
-                          final NodeRangeConverter nodeRangeConverter) {
+                          final NodeRangeConverter nodeRangeConverter,
+                          final ControlConfiguration controlConfiguration) {
     this.clock = clock;
     this.metrics = metrics;
     this.nodeRangeDao = nodeRangeDao;
@@ -86,8 +111,15 @@ public class NodeRangeManager {
     this.nodeConfigurationEngine = nodeConfigurationEngine;
     this.ringHashSplitEngine = ringHashSplitEngine;
     this.nodeRangeConverter = nodeRangeConverter;
-    LOGGER.info("NodeRangeManager({},{},{},{},{})",
-        nodeRangeDao, clock, metrics, nodeAvailabilityEngine, nodeConfigurationEngine);
+    this.clusterSize = controlConfiguration.getDefaultClusterSize();
+    this.defaultVirtualNodes = controlConfiguration.getDefaultVirtualNodes();
+    this.nodeRangeCache = CacheBuilder.newBuilder()
+        .maximumSize(controlConfiguration.getCacheMaximumSize())
+        .expireAfterWrite(Duration.ofSeconds(controlConfiguration.getCacheExpirySeconds()))
+        .build();
+    LOGGER.info("NodeRangeManager({},{},{},{},{},{},{})",
+        nodeRangeDao, clock, metrics, nodeAvailabilityEngine, nodeConfigurationEngine,
+        clusterSize, defaultVirtualNodes);
   }
 
   /**
@@ -102,9 +134,25 @@ public class NodeRangeManager {
         () -> nodeRangeDao.resources(tenant));
   }
 
+  /**
+   * List the tenants that have a range on the node.
+   *
+   * @param nodeUuid to query.
+   * @return the tenants.
+   */
+  public Set<String> tenants(final String nodeUuid) {
+    LOGGER.trace("tenants({})", nodeUuid);
+    return metrics.time("NodeRangeManager.tenants", () -> nodeRangeDao.nodeRanges(nodeUuid).stream()
+        .map(NodeRange::tenant)
+        .collect(Collectors.toSet()));
+  }
+
   /**
    * Sets the ready boolean for the node that is part of the cluster. If all nodes are ready, will make the cluster
-   * ready.
+   * ready. When a rebalance is in progress, that is also the point where the proxies switch to the new ranges and
+   * the rebalancing node ranges become stable, written to the nodes again without the rebalance action. The node
+   * ranges are read back from the database in the same transaction as the update, so concurrent calls for other
+   * nodes are not lost.
    *
    * @param nodeUuid to set.
    * @param tenant   to set.
@@ -118,25 +166,180 @@ public class NodeRangeManager {
                             final boolean ready) {
     LOGGER.info("setReady({},{},{},{})", nodeUuid, tenant, ready, ready);
     return metrics.time("NodeRangeManager.resources", () -> {
-      final NodeRange nodeRange = getNodeRange(nodeUuid, tenant, resource)
-          .orElseThrow(() -> new NotFoundException("No resource for node"));
-      if (nodeRange.ready().equals(ready)) {
-        LOGGER.info("Ready already set: {}:{}", ready, nodeRange);
-        return nodeRange;
-      }
-      final NodeRange updated = ImmutableNodeRange.copyOf(nodeRange).withReady(ready);
-      nodeRangeDao.useTransaction(transDao -> {
-        transDao.update(updated);
-        transDao.commit();
-      });
-      final boolean allReady = getNodeRange(tenant, resource).stream().allMatch(NodeRange::ready);
-      if (allReady) {
-        updateTenantResourceConfiguration(tenant, resource);
+      final Lock lock = locks.get(key(tenant, resource));
+      lock.lock();
+      try {
+        final NodeRange nodeRange = getNodeRange(nodeUuid, tenant, resource)
+            .orElseThrow(() -> new NotFoundException("No resource for node"));
+        if (nodeRange.ready().equals(ready)) {
+          LOGGER.info("Ready already set: {}:{}", ready, nodeRange);
+          return nodeRange;
+        }
+        final NodeRange updated = ImmutableNodeRange.copyOf(nodeRange).withReady(ready);
+        final List<NodeRange> nodeRanges = nodeRangeDao.inTransaction(
+            TransactionIsolationLevel.SERIALIZABLE, transDao -> {
+              transDao.update(updated);
+              final List<NodeRange> current = transDao.nodeRanges(tenant, resource);
+              transDao.commit();
+              return current;
+            });
+        nodeRangeCache.invalidate(key(tenant, resource));
+        final boolean allReady = nodeRanges.stream().allMatch(NodeRange::ready);
+        if (allReady) {
+          updateTenantResourceConfiguration(tenant, resource);
+          completeRebalance(tenant, resource, nodeRanges);
+        }
+        return updated;
+      } finally {
+        lock.unlock();
       }
-      return updated;
     });
   }
 
+  private void completeRebalance(final String tenant,
+                                 final String resource,
+                                 final List<NodeRange> nodeRanges) {
+    final List<NodeRange> rebalanced = nodeRanges.stream()
+        .filter(nr -> NodeRange.STATUS_REBALANCING.equals(nr.status()))
+        .map(nr -> (NodeRange) ImmutableNodeRange.copyOf(nr).withStatus(NodeRange.STATUS_STABLE))
+        .toList();
+    if (rebalanced.isEmpty()) {
+      return;
+    }
+    LOGGER.info("completeRebalance: {}", rebalanced);
+    nodeRangeDao.useTransaction(transDao -> {
+      rebalanced.forEach(transDao::update);
+      transDao.commit();
+    });
+    nodeRangeCache.invalidate(key(tenant, resource));
+    // Without the rebalance action, so the nodes catch up once and do not backfill again on restart.
+    nodeConfigurationEngine.write(
+        nodeRangeConverter.toNodeTenantResourceRanges(tenant, resource, rebalanced, tokens(tenant, resource)));
+    metrics.increment("NodeRangeManager.rebalance.complete");
+  }
+
+  /**
+   * Adds nodes to an existing tenant resource. Each new node takes a fair share of ranges from the nodes already
+   * there. The new node ranges are written for the nodes with the rebalance action, but the proxies keep using the
+   * current ranges until every node reports ready through {@link #setReady(String, String, String, boolean)}.
+   * A new node reports ready only after it copied its ranges from their current owners.
+   *
+   * @param tenant   the tenant.
+   * @param resource the resource.
+   * @param count    how many nodes to add.
+   * @return the new node ranges.
+   * @throws RebalanceInProgressException if the resource is already being rebalanced.
+   */
+  public List<NodeRange> addNodes(final String tenant,
+                                  final String resource,
+                                  final int count) {
+    LOGGER.info("addNodes({},{},{})", tenant, resource, count);
+    if (count < 1) {
+      throw new IllegalArgumentException("Count is invalid: " + count);
+    }
+    return metrics.time("NodeRangeManager.addNodes",
+        () -> rebalance(tenant, resource, count, ringHashSplitEngine::newNodeHashes));
+  }
+
+  /**
+   * Splits the range holding the hash, moving everything from the hash to the end of that range onto one new
+   * node. Used for hot ranges. Goes through the same rebalance steps as {@link #addNodes(String, String, int)}.
+   *
+   * @param tenant   the tenant.
+   * @param resource the resource.
+   * @param hash     where the new node's range starts.
+   * @return the new node range.
+   * @throws RebalanceInProgressException if the resource is already being rebalanced.
+   */
+  public NodeRange splitRange(final String tenant,
+                              final String resource,
+                              final int hash) {
+    LOGGER.info("splitRange({},{},{})", tenant, resource, hash);
+    return metrics.time("NodeRangeManager.splitRange", () ->
+        rebalance(tenant, resource, 1, (hashesByNode, virtualNodes) -> {
+          if (hashesByNode.values().stream().anyMatch(tokens -> tokens.contains(hash))) {
+            throw new IllegalStateException("Range already starts at " + hash);
+          }
+          return List.of(hash);
+        }).get(0));
+  }
+
+  private List<NodeRange> rebalance(final String tenant,
+                                    final String resource,
+                                    final int count,
+                                    final BiFunction<Map<String, List<Integer>>, Integer, List<Integer>> newTokens) {
+    final Lock lock = locks.get(key(tenant, resource));
+    lock.lock();
+    try {
+      final Map<NodeRange, List<Integer>> nodeRangeHashes = nodeRangeDao.inTransaction(
+          TransactionIsolationLevel.SERIALIZABLE, transDao -> {
+            final Map<NodeRange, List<Integer>> inserted = newNodeRanges(transDao, tenant, resource, count, newTokens);
+            transDao.commit();
+            return inserted;
+          });
+      nodeRangeCache.invalidate(key(tenant, resource));
+      final List<NodeRange> result = new ArrayList<>(nodeRangeHashes.keySet());
+      final Map<String, List<Integer>> tokens = new HashMap<>();
+      nodeRangeHashes.forEach((nodeRange, hashes) -> tokens.put(nodeRange.nodeUuid(), hashes));
+      nodeConfigurationEngine.write(nodeRangeConverter.toNodeTenantResourceRanges(tenant, resource, result, tokens));
+      metrics.increment("NodeRangeManager.rebalance.start");
+      LOGGER.info("rebalance: {},{} onto {}", tenant, resource, result);
+      return result;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reads the current node ranges and inserts the new ones in the same transaction, so a second rebalance of the
+   * resource either sees this one or fails to commit.
+   */
+  private Map<NodeRange, List<Integer>> newNodeRanges(
+      final NodeRangeDao transDao,
+      final String tenant,
+      final String resource,
+      final int count,
+      final BiFunction<Map<String, List<Integer>>, Integer, List<Integer>> newTokens) {
+    final List<NodeRange> currentList = transDao.nodeRanges(tenant, resource);
+    if (currentList.isEmpty()) {
+      throw new NotFoundException("No such resource: " + tenant + ":" + resource);
+    }
+    if (currentList.stream().anyMatch(nr -> !nr.ready() || !isSettled(nr))) {
+      throw new RebalanceInProgressException("Resource is not settled, cannot add nodes: " + tenant + ":" + resource);
+    }
+    final Map<String, List<Integer>> hashesByNode = new LinkedHashMap<>();
+    currentList.forEach(nr -> {
+      final List<Integer> tokens = transDao.tokens(nr.nodeUuid(), tenant, resource);
+      hashesByNode.put(nr.nodeUuid(), tokens.isEmpty() ? List.of(nr.hash()) : tokens);
+    });
+    // Average over the nodes, as a node that predates vnodes or was given fewer tokens is not the norm.
+    final int totalTokens = hashesByNode.values().stream().mapToInt(List::size).sum();
+    final int virtualNodes = Math.max(1, totalTokens / hashesByNode.size());
+    final List<String> nodeUuids =
+        nodeAvailabilityEngine.getAvailableNodes(tenant, count, Set.copyOf(hashesByNode.keySet()));
+    final String tableVersion = currentList.get(0).tableVersion();
+    final Map<NodeRange, List<Integer>> nodeRangeHashes = new LinkedHashMap<>();
+    for (String nodeUuid : nodeUuids) {
+      final List<Integer> tokens = newTokens.apply(hashesByNode, virtualNodes);
+      hashesByNode.put(nodeUuid, tokens);
+      final NodeRange nodeRange = ImmutableNodeRange.builder()
+          .nodeUuid(nodeUuid).tenant(tenant).resource(resource).tableVersion(tableVersion)
+          .createDate(clock.instant()).status(NodeRange.STATUS_REBALANCING).ready(false)
+          .hash(tokens.get(0))
+          .build();
+      nodeRangeHashes.put(nodeRange, tokens);
+    }
+    nodeRangeHashes.forEach((nodeRange, tokens) -> {
+      transDao.insert(nodeRange);
+      tokens.forEach(token -> transDao.insertToken(nodeRange.nodeUuid(), tenant, resource, token));
+    });
+    return nodeRangeHashes;
+  }
+
+  private boolean isSettled(final NodeRange nodeRange) {
+    return NodeRange.STATUS_INIT.equals(nodeRange.status()) || NodeRange.STATUS_STABLE.equals(nodeRange.status());
+  }
+
   /**
    * Finalize the delete of a tenant resource from the cluster.
    *
@@ -154,9 +357,11 @@ public class NodeRangeManager {
             LOGGER.trace("finalizeDelete: Deleting: {}", nodeRange);
             nodeRangeDao.useTransaction(transDao -> {
               final int deletes = transDao.delete(nodeUuid, tenant, resource);
-              LOGGER.trace("finalizeDelete: Deleted: {}", deletes);
+              final int tokenDeletes = transDao.deleteTokens(nodeUuid, tenant, resource);
+              LOGGER.trace("finalizeDelete: Deleted: {},{}", deletes, tokenDeletes);
               nodeConfigurationEngine.deleteNodeTenantResourceRange(nodeUuid, tenant, resource);
               transDao.commit();
+              nodeRangeCache.invalidate(key(tenant, resource));
               LOGGER.trace("finalizeDelete: Delete complete: ({},{},{})", nodeUuid, tenant, resource);
             });
           } else {
@@ -183,7 +388,7 @@ public class NodeRangeManager {
 
   /**
    * Gets the node range list, if it exists. This will include all node in a tenant resource.
-   * As seen by the proxies.
+   * As seen by the proxies. Served from the cache when present.
    *
    * @param tenant   to get.
    * @param resource to get.
@@ -192,13 +397,30 @@ public class NodeRangeManager {
   public List<NodeRange> getNodeRange(final String tenant,
                                       final String resource) {
     LOGGER.trace("getNodeRange({},{})", tenant, resource);
-    return metrics.time("NodeRangeManager.getNodeRange",
-        () -> nodeRangeDao.nodeRanges(tenant, resource));
+    return metrics.time("NodeRangeManager.getNodeRange", () -> {
+      final String key = key(tenant, resource);
+      final List<NodeRange> cached = nodeRangeCache.getIfPresent(key);
+      if (cached != null) {
+        metrics.increment("NodeRangeManager.cache.hit");
+        return cached;
+      }
+      metrics.increment("NodeRangeManager.cache.miss");
+      final List<NodeRange> nodeRanges = List.copyOf(nodeRangeDao.nodeRanges(tenant, resource));
+      if (!nodeRanges.isEmpty()) {
+        nodeRangeCache.put(key, nodeRanges);
+      }
+      return nodeRanges;
+    });
+  }
+
+  private String key(final String tenant, final String resource) {
+    return tenant + "/" + resource;
   }
 
   /**
    * Updates the configuration service (like etcd) with the list of node ranges from the tenant resource namespace.
-   * Used by the proxy.
+   * Used by the proxy. Every range (virtual node) a node owns maps to the same node range, so the ranges a node owns
+   * are the keys that map to it.
    *
    * @param tenant   to get.
    * @param resource to get.
@@ -209,8 +431,12 @@ public class NodeRangeManager {
     metrics.time("NodeRangeManager.updateConfiguration", () -> {
       final List<org.svarm.common.config.api.NodeRange> nodeRanges =
           nodeRangeDao.apiNodeRanges(tenant, resource);
-      final Map<Integer, org.svarm.common.config.api.NodeRange> map = nodeRanges.stream()
-          .collect(Collectors.toMap(org.svarm.common.config.api.NodeRange::hash, nr -> nr));
+      final Map<String, List<Integer>> tokens = tokens(tenant, resource);
+      final Map<Integer, org.svarm.common.config.api.NodeRange> map = new HashMap<>();
+      for (org.svarm.common.config.api.NodeRange nodeRange : nodeRanges) {
+        tokens.getOrDefault(nodeRange.uuid(), List.of(nodeRange.hash()))
+            .forEach(hash -> map.put(hash, nodeRange));
+      }
       final TenantResourceRange tenantResourceRange = ImmutableTenantResourceRange.builder()
           .tenant(tenant).resource(resource).hashToNodeRange(map).build();
       nodeConfigurationEngine.write(tenantResourceRange);
@@ -218,6 +444,34 @@ public class NodeRangeManager {
     });
   }
 
+  /**
+   * The low hashes of the ranges (virtual nodes) each node owns for the tenant resource.
+   *
+   * @param tenant   to get.
+   * @param resource to get.
+   * @return node uuid to its hashes, in order.
+   */
+  private Map<String, List<Integer>> tokens(final String tenant, final String resource) {
+    return nodeRangeDao.apiTokenRanges(tenant, resource).stream()
+        .collect(Collectors.groupingBy(org.svarm.common.config.api.NodeRange::uuid,
+            Collectors.mapping(org.svarm.common.config.api.NodeRange::hash,
+                Collectors.collectingAndThen(Collectors.toList(), list -> list.stream().sorted().toList()))));
+  }
+
+  /**
+   * Return back created node ranges that are being used, with the default virtual node count.
+   *
+   * @param tenant          the tenant.
+   * @param resource        the resource.
+   * @param tableDefinition the table definition.
+   * @return the list.
+   */
+  public List<NodeRange> createTenantResource(final String tenant,
+                                              final String resource,
+                                              final TableDefinition tableDefinition) {
+    return createTenantResource(tenant, resource, tableDefinition, defaultVirtualNodes);
+  }
+
   /**
    * Return back created node ranges that are being used. This creates the database entries and the etcd entries
    * on the node side. It will not update the tenant/proxy side, meaning the proxies won't see them yet.
@@ -226,16 +480,18 @@ public class NodeRangeManager {
    * @param tenant          the tenant.
    * @param resource        the resource.
    * @param tableDefinition the table definition.
+   * @param virtualNodes    how many ranges each node owns.
    * @return the list.
    */
   public List<NodeRange> createTenantResource(final String tenant,
                                               final String resource,
-                                              final TableDefinition tableDefinition) {
-    LOGGER.info("createTenantResource({},{})", tenant, resource);
+                                              final TableDefinition tableDefinition,
+                                              final int virtualNodes) {
+    LOGGER.info("createTenantResource({},{},{})", tenant, resource, virtualNodes);
     return metrics.time("NodeRangeManager.resources", () -> {
-      final List<NodeRange> nodeRange = getOrCreateNodeRangeList(tenant, resource, tableDefinition);
+      final List<NodeRange> nodeRange = getOrCreateNodeRangeList(tenant, resource, tableDefinition, virtualNodes);
       final List<NodeTenantResourceRange> nodeTenantResourceRanges = nodeRangeConverter
-          .toNodeTenantResourceRanges(tenant, resource, nodeRange);
+          .toNodeTenantResourceRanges(tenant, resource, nodeRange, tokens(tenant, resource));
       nodeConfigurationEngine.write(nodeTenantResourceRanges);
       LOGGER.info("Create for now resource, results: {},{},{}", tenant, resource, nodeRange);
       return nodeRange;
@@ -244,29 +500,38 @@ public class NodeRangeManager {
 
   private List<NodeRange> getOrCreateNodeRangeList(final String tenant,
                                                    final String resource,
-                                                   final TableDefinition tableDefinition) {
+                                                   final TableDefinition tableDefinition,
+                                                   final int virtualNodes) {
     final List<NodeRange> currentList = nodeRangeDao.nodeRanges(tenant, resource);
     if (currentList.size() > 0) {
       LOGGER.info("Create called on existing resource, using what we have: {},{},{}", tenant, resource, currentList);
       return currentList;
     }
-    final List<Integer> hashes = ringHashSplitEngine.evenSplitHashes(DEFAULT_CLUSTER_SIZE);
-    final List<NodeRange> nodeRange = nodeAvailabilityEngine.getAvailableNodes(DEFAULT_CLUSTER_SIZE)
-        .stream().map(nodeUuid -> ImmutableNodeRange.builder()
-            .nodeUuid(nodeUuid).tenant(tenant).resource(resource).tableVersion(tableDefinition.name())
-            .createDate(clock.instant()).status(NodeRange.STATUS_INIT).ready(false)
-            .hash(hashes.remove(0))
-            .build())
-        .collect(Collectors.toList());
+    final List<String> nodeUuids = nodeAvailabilityEngine.getAvailableNodes(tenant, clusterSize);
+    final List<List<Integer>> hashes = ringHashSplitEngine.virtualNodeHashes(nodeUuids.size(), virtualNodes);
+    final Map<NodeRange, List<Integer>> nodeRangeHashes = new LinkedHashMap<>();
+    for (int i = 0; i < nodeUuids.size(); i++) {
+      final NodeRange nodeRange = ImmutableNodeRange.builder()
+          .nodeUuid(nodeUuids.get(i)).tenant(tenant).resource(resource).tableVersion(tableDefinition.name())
+          .createDate(clock.instant()).status(NodeRange.STATUS_INIT).ready(false)
+          .hash(hashes.get(i).get(0))
+          .build();
+      nodeRangeHashes.put(nodeRange, hashes.get(i));
+    }
     nodeRangeDao.useTransaction(transDao -> {
-      nodeRange.forEach(transDao::insert);
+      nodeRangeHashes.forEach((nodeRange, tokens) -> {
+        transDao.insert(nodeRange);
+        tokens.forEach(token -> transDao.insertToken(nodeRange.nodeUuid(), tenant, resource, token));
+      });
       transDao.commit();
     });
-    return nodeRange;
+    nodeRangeCache.invalidate(key(tenant, resource));
+    return new ArrayList<>(nodeRangeHashes.keySet());
   }
 
   /**
-   * Deletes the tenant resource.
+   * Deletes the tenant resource. The node ranges are marked for delete while the proxy view is read and removed,
+   * with both etcd requests in flight together.
    *
    * @param tenantId who owns the resource.
    * @param resource the resource to delete.
@@ -280,14 +545,16 @@ public class NodeRangeManager {
           transDao.update(ImmutableNodeRange.copyOf(nr).withStatus(NodeRange.STATUS_DELETING)));
       transDao.commit();
     });
+    nodeRangeCache.invalidate(key(tenantId, resource));
     final List<NodeTenantResourceRange> nodeTenantResourceRanges = nodeRangeConverter
         .toNodeTenantResourceRanges(tenantId, resource, nodeRange).stream().map(range -> {
           final MetaData updatedMetaData = ImmutableMetaData.copyOf(range.metaData()).withAction(MetaData.ACTION_DELETE);
           return ImmutableNodeTenantResourceRange.copyOf(range).withMetaData(updatedMetaData);
         }).collect(Collectors.toList());
-    nodeConfigurationEngine.write(nodeTenantResourceRanges);
-    nodeConfigurationEngine
-        .readTenantResourceRange(ImmutableTenantResource.builder().tenant(tenantId).resource(resource).build())
-        .ifPresent(nodeConfigurationEngine::delete);
+    final TenantResource tenantResource = ImmutableTenantResource.builder().tenant(tenantId).resource(resource).build();
+    CompletableFuture.allOf(
+        nodeConfigurationEngine.writeAsync(nodeTenantResourceRanges),
+        nodeConfigurationEngine.deleteAsync(tenantResource)
+    ).orTimeout(ETCD_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).join();
   }
 }
@@ -61,4 +61,25 @@ public interface Node {
    */
   String status();
 
+  /**
+   * The zone the node runs in, used to spread a tenant resource's replicas apart.
+   *
+   * @return value. optional
+   */
+  Optional<String> zone();
+
+  /**
+   * Bytes of disk the node reported as used by its stores.
+   *
+   * @return value. optional
+   */
+  Optional<Long> diskUsedBytes();
+
+  /**
+   * Requests per second the node last reported.
+   *
+   * @return value. optional
+   */
+  Optional<Double> requestRate();
+
 }
@@ -19,6 +19,8 @@ package org.svarm.control.module;
 import dagger.Binds;
 import dagger.Module;
 import dagger.multibindings.IntoSet;
+import io.dropwizard.lifecycle.Managed;
+import org.svarm.control.manager.HotRangeManager;
 import org.svarm.control.resource.NodeResource;
 import org.svarm.control.resource.NodeTenantTableResource;
 import org.svarm.control.resource.NotEnoughNodesExceptionMapper;
@@ -60,4 +62,14 @@ public interface ResourceModule {
   @IntoSet
   JerseyResource notEnoughNodesMapper(final NotEnoughNodesExceptionMapper resource);
 
+  /**
+   * Managed resource: hot range splits.
+   *
+   * @param resource hot range manager.
+   * @return managed resources.
+   */
+  @Binds
+  @IntoSet
+  Managed hotRangeManager(final HotRangeManager resource);
+
 }
@@ -19,16 +19,23 @@ package org.svarm.control.resource;
 import com.codahale.metrics.annotation.ExceptionMetered;
 import com.codahale.metrics.annotation.ResponseMetered;
 import com.codahale.metrics.annotation.Timed;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.svarm.control.common.api.ControlNodeService;
+import org.svarm.control.common.api.ImmutableNodeBootstrap;
 import org.svarm.control.common.api.KeyInfo;
+import org.svarm.control.common.api.NodeBootstrap;
 import org.svarm.control.common.api.NodeInfo;
+import org.svarm.control.common.api.NodeLoad;
 import org.svarm.control.common.api.NodeMetaData;
 import org.svarm.control.converter.KeyInfoConverter;
 import org.svarm.control.converter.NodeInfoConverter;
+import org.svarm.control.manager.HotRangeManager;
 import org.svarm.control.manager.NodeManager;
 import org.svarm.control.manager.NodeRangeManager;
 import org.svarm.control.model.Node;
@@ -47,6 +54,7 @@ public class NodeResource implements JerseyResource, ControlNodeService {
   private final NodeRangeManager nodeRangeManager;
   private final NodeInfoConverter nodeInfoConverter;
   private final KeyInfoConverter keyInfoConverter;
+  private final HotRangeManager hotRangeManager;
 
   /**
    * The constructor.
@@ -55,13 +63,16 @@ public class NodeResource implements JerseyResource, ControlNodeService {
    * @param nodeRangeManager  for node ranges.
    * @param nodeInfoConverter converter.
    * @param keyInfoConverter  converter.
+   * @param hotRangeManager   for the reported per range traffic.
    */
   @Inject
   public NodeResource(final NodeManager nodeManager,
                       final NodeRangeManager nodeRangeManager,
                       final NodeInfoConverter nodeInfoConverter,
-                      final KeyInfoConverter keyInfoConverter) {
+                      final KeyInfoConverter keyInfoConverter,
+                      final HotRangeManager hotRangeManager) {
     this.nodeRangeManager = nodeRangeManager;
+    this.hotRangeManager = hotRangeManager;
     LOGGER.info("NodeResource({},{})", nodeManager, nodeInfoConverter);
     this.nodeManager = nodeManager;
     this.nodeInfoConverter = nodeInfoConverter;
@@ -77,6 +88,24 @@ public class NodeResource implements JerseyResource, ControlNodeService {
     return nodeInfoConverter.from(nodeManager.create(nodeUuid, metaData));
   }
 
+  @Override
+  @Timed
+  @ExceptionMetered
+  @ResponseMetered
+  public NodeBootstrap bootstrap(final String nodeUuid, final NodeMetaData metaData) {
+    LOGGER.trace("bootstrap({},{})", nodeUuid, metaData);
+    nodeManager.create(nodeUuid, metaData);
+    final Node node = nodeManager.enable(nodeUuid);
+    final Map<String, KeyInfo> tenantKeys = nodeRangeManager.tenants(nodeUuid).stream()
+        .collect(Collectors.toMap(Function.identity(),
+            tenant -> keyInfoConverter.from(nodeManager.key(nodeUuid, tenant))));
+    return ImmutableNodeBootstrap.builder()
+        .nodeInfo(nodeInfoConverter.from(node))
+        .nodeKey(keyInfoConverter.from(nodeManager.key(nodeUuid)))
+        .tenantKeys(tenantKeys)
+        .build();
+  }
+
   @Override
   @Timed
   @ExceptionMetered
@@ -167,4 +196,16 @@ public class NodeResource implements JerseyResource, ControlNodeService {
     LOGGER.trace("nodeKey({},{})", nodeUuid, reference);
     return keyInfoConverter.from(nodeManager.key(nodeUuid, reference));
   }
+
+  @Override
+  @Timed
+  @ExceptionMetered
+  @ResponseMetered
+  public NodeInfo load(final String nodeUuid, final NodeLoad nodeLoad) {
+    LOGGER.trace("load({},{})", nodeUuid, nodeLoad);
+    final Node node = nodeManager.load(nodeUuid, nodeLoad);
+    hotRangeManager.review(nodeUuid, nodeLoad.resources());
+    return nodeInfoConverter.from(node);
+  }
+
 }
@@ -19,7 +19,9 @@ package org.svarm.control.resource;
 import com.codahale.metrics.annotation.ExceptionMetered;
 import com.codahale.metrics.annotation.ResponseMetered;
 import com.codahale.metrics.annotation.Timed;
+import jakarta.ws.rs.ClientErrorException;
 import jakarta.ws.rs.NotAcceptableException;
+import jakarta.ws.rs.core.Response;
 import java.util.List;
 import java.util.Optional;
 import javax.inject.Inject;
@@ -31,6 +33,7 @@ import org.svarm.control.common.api.ResourceMetaData;
 import org.svarm.control.common.api.TableMetaData;
 import org.svarm.control.common.api.TenantResourceInfo;
 import org.svarm.control.converter.TenantResourceInfoConverter;
+import org.svarm.control.exception.RebalanceInProgressException;
 import org.svarm.control.manager.NodeRangeManager;
 import org.svarm.control.model.NodeRange;
 import org.svarm.server.resource.JerseyResource;
@@ -95,11 +98,27 @@ public class NodeTenantTableResource implements ControlTenantResourceService, Je
     if (!(resourceMetaData instanceof final TableMetaData tableMetaData)) {
       throw new NotAcceptableException("Only tables suppoerted");
     }
-    final List<NodeRange> nodeRanges = nodeRangeManager
-        .createTenantResource(tenantId, table, tableMetaData.tableDefinition());
+    final List<NodeRange> nodeRanges = tableMetaData.virtualNodes()
+        .map(virtualNodes -> nodeRangeManager
+            .createTenantResource(tenantId, table, tableMetaData.tableDefinition(), virtualNodes))
+        .orElseGet(() -> nodeRangeManager.createTenantResource(tenantId, table, tableMetaData.tableDefinition()));
     return tenantResourceInfoConverter.from(nodeRanges);
   }
 
+  @Override
+  @Timed
+  @ExceptionMetered
+  @ResponseMetered
+  public TenantResourceInfo addNodes(final String tenantId, final String table, final int count) {
+    LOGGER.trace("addNodes({},{},{})", tenantId, table, count);
+    try {
+      nodeRangeManager.addNodes(tenantId, table, count);
+    } catch (RebalanceInProgressException e) {
+      throw new ClientErrorException(e.getMessage(), Response.Status.CONFLICT);
+    }
+    return tenantResourceInfoConverter.from(nodeRangeManager.getNodeRange(tenantId, table));
+  }
+
   @Override
   @Timed
   @ExceptionMetered
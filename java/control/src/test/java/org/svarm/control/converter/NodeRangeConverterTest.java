@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -42,6 +43,13 @@ class NodeRangeConverterTest {
         .hasFieldOrPropertyWithValue("hash", Integer.MIN_VALUE);
   }
 
+  @Test
+  void conversion_withTokens() {
+    mockIt(nodeRange, true);
+    final List<NodeTenantResourceRange> result = converter.toNodeTenantResourceRanges(TENANT, TABLE,
+        List.of(nodeRange), Map.of(UUID, List.of(Integer.MIN_VALUE, 0)));
+    assertThat(result.get(0).metaData().hashes()).containsExactly(Integer.MIN_VALUE, 0);
+  }
 
   private void mockIt(final NodeRange nodeRange, final boolean ready) {
     when(nodeRange.nodeUuid()).thenReturn(UUID);
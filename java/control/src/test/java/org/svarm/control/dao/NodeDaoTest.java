@@ -71,4 +71,19 @@ class NodeDaoTest extends JdbiDaoTest<NodeDao> {
     assertThat(result2).isNotEqualTo(result);
   }
 
+  @Test
+  public void updateLoad() {
+    final Node node = ImmutableNode.copyOf(generateNode()).withStatus(NodeInfo.Status.ENABLED.name()).withZone("zone");
+    dao.insert(node);
+    final Instant updateDate = Instant.ofEpochMilli(System.currentTimeMillis() + 1000);
+
+    assertThat(dao.updateLoad(node.uuid(), 100L, 2.5, updateDate)).isEqualTo(1);
+    assertThat(dao.updateLoad("unknown", 100L, 2.5, updateDate)).isZero();
+
+    final Node expected = ImmutableNode.copyOf(node).withDiskUsedBytes(100L).withRequestRate(2.5)
+        .withUpdateDate(updateDate);
+    assertThat(dao.read(node.uuid())).isEqualTo(expected);
+    assertThat(dao.enabledNodes()).contains(expected);
+  }
+
 }
\ No newline at end of file
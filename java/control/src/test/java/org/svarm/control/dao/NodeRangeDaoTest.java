@@ -19,6 +19,7 @@ package org.svarm.control.dao;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Instant;
+import java.util.Map;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.svarm.control.model.ImmutableNodeRange;
@@ -79,4 +80,29 @@ class NodeRangeDaoTest extends JdbiDaoTest<NodeRangeDao> {
         .hasSize(1)
         .contains(nr2);
   }
-}
\ No newline at end of file
+
+  @Test
+  void tokens() {
+    dao.insertToken(UUID1, TENANT, RESOURCE1, 0);
+    dao.insertToken(UUID1, TENANT, RESOURCE1, Integer.MIN_VALUE);
+    dao.insertToken(UUID2, TENANT, RESOURCE1, 10);
+    assertThat(dao.tokens(UUID1, TENANT, RESOURCE1)).containsExactly(Integer.MIN_VALUE, 0);
+
+    assertThat(dao.deleteTokens(UUID1, TENANT, RESOURCE1)).isEqualTo(2);
+    assertThat(dao.tokens(UUID1, TENANT, RESOURCE1)).isEmpty();
+    assertThat(dao.tokens(UUID2, TENANT, RESOURCE1)).containsExactly(10);
+  }
+  @Test
+  void rangeCountsAndTenantNodes() {
+    dao.insert(ImmutableNodeRange.builder().nodeUuid(UUID1).tenant(TENANT).resource(RESOURCE1)
+        .createDate(instant()).ready(false).status(STATUS).hash(10).tableVersion(TABLE_VERSION).build());
+    dao.insert(ImmutableNodeRange.builder().nodeUuid(UUID1).tenant("other").resource(RESOURCE2)
+        .createDate(instant()).ready(false).status(STATUS).hash(10).tableVersion(TABLE_VERSION).build());
+    dao.insert(ImmutableNodeRange.builder().nodeUuid(UUID2).tenant("other").resource(RESOURCE1)
+        .createDate(instant()).ready(false).status(STATUS).hash(10).tableVersion(TABLE_VERSION).build());
+
+    assertThat(dao.rangeCounts()).containsOnly(Map.entry(UUID1, 2L), Map.entry(UUID2, 1L));
+    assertThat(dao.tenantNodes(TENANT)).containsExactly(UUID1);
+  }
+
+}
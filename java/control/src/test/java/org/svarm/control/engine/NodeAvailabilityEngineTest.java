@@ -0,0 +1,128 @@
+package org.svarm.control.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.when;
+
+import com.codeheadsystems.metrics.test.BaseMetricTest;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.control.common.api.NodeInfo;
+import org.svarm.control.dao.NodeDao;
+import org.svarm.control.dao.NodeRangeDao;
+import org.svarm.control.exception.NotEnoughNodesException;
+import org.svarm.control.model.ImmutableNode;
+import org.svarm.control.model.Node;
+
+@ExtendWith(MockitoExtension.class)
+class NodeAvailabilityEngineTest extends BaseMetricTest {
+
+  private static final String TENANT = "tenant";
+
+  @Mock private NodeDao nodeDao;
+  @Mock private NodeRangeDao nodeRangeDao;
+
+  private NodeAvailabilityEngine engine;
+
+  private static Node node(final String uuid, final String zone, final long disk, final double rate) {
+    return ImmutableNode.builder().uuid(uuid).uri("uri").createDate(Instant.EPOCH)
+        .status(NodeInfo.Status.ENABLED.name()).zone(zone).diskUsedBytes(disk).requestRate(rate).build();
+  }
+
+  @BeforeEach
+  void setup() {
+    engine = new NodeAvailabilityEngine(nodeDao, nodeRangeDao, metrics);
+  }
+
+  @Test
+  void getAvailableNodes_invalidCount() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> engine.getAvailableNodes(TENANT, 0));
+  }
+
+  @Test
+  void getAvailableNodes_notEnough() {
+    when(nodeDao.enabledNodes()).thenReturn(List.of(node("a", "z1", 0, 0)));
+    assertThatExceptionOfType(NotEnoughNodesException.class)
+        .isThrownBy(() -> engine.getAvailableNodes(TENANT, 2));
+  }
+
+  @Test
+  void getAvailableNodes_leastLoaded() {
+    when(nodeDao.enabledNodes()).thenReturn(List.of(
+        node("a", "z1", 1000, 10.0),
+        node("b", "z2", 100, 1.0),
+        node("c", "z3", 500, 5.0)));
+    when(nodeRangeDao.rangeCounts()).thenReturn(Map.of("a", 4L, "c", 2L));
+    when(nodeRangeDao.tenantNodes(TENANT)).thenReturn(List.of());
+
+    assertThat(engine.getAvailableNodes(TENANT, 2)).containsExactly("b", "c");
+  }
+
+  @Test
+  void getAvailableNodes_penalizesTenantPlacements() {
+    when(nodeDao.enabledNodes()).thenReturn(List.of(
+        node("a", "z1", 100, 1.0),
+        node("b", "z2", 200, 2.0)));
+    when(nodeRangeDao.rangeCounts()).thenReturn(Map.of("a", 1L, "b", 1L));
+    when(nodeRangeDao.tenantNodes(TENANT)).thenReturn(List.of("a"));
+
+    assertThat(engine.getAvailableNodes(TENANT, 1)).containsExactly("b");
+  }
+
+  @Test
+  void getAvailableNodes_spreadsAcrossZones() {
+    when(nodeDao.enabledNodes()).thenReturn(List.of(
+        node("a", "z1", 0, 0.0),
+        node("b", "z1", 0, 0.0),
+        node("c", "z2", 900, 9.0)));
+    when(nodeRangeDao.rangeCounts()).thenReturn(Map.of());
+    when(nodeRangeDao.tenantNodes(TENANT)).thenReturn(List.of());
+
+    assertThat(engine.getAvailableNodes(TENANT, 2)).containsExactly("a", "c");
+    assertThat(engine.getAvailableNodes(TENANT, 3)).containsExactly("a", "c", "b");
+  }
+
+  @Test
+  void getAvailableNodes_noReportedLoad() {
+    when(nodeDao.enabledNodes()).thenReturn(List.of(
+        ImmutableNode.builder().uuid("b").uri("uri").createDate(Instant.EPOCH).status("ENABLED").build(),
+        ImmutableNode.builder().uuid("a").uri("uri").createDate(Instant.EPOCH).status("ENABLED").build()));
+    when(nodeRangeDao.rangeCounts()).thenReturn(Map.of());
+
+    assertThat(engine.getAvailableNodes(2)).containsExactly("a", "b");
+  }
+
+  @Test
+  void getAvailableNodes_missingZonesShareOneZone() {
+    when(nodeDao.enabledNodes()).thenReturn(List.of(
+        ImmutableNode.builder().uuid("a").uri("uri").createDate(Instant.EPOCH).status("ENABLED").build(),
+        ImmutableNode.builder().uuid("b").uri("uri").createDate(Instant.EPOCH).status("ENABLED").build(),
+        node("c", "z1", 900, 9.0)));
+    when(nodeRangeDao.rangeCounts()).thenReturn(Map.of());
+    when(nodeRangeDao.tenantNodes(TENANT)).thenReturn(List.of());
+
+    assertThat(engine.getAvailableNodes(TENANT, 2)).containsExactly("a", "c");
+  }
+
+  @Test
+  void getAvailableNodes_excluded() {
+    when(nodeDao.enabledNodes()).thenReturn(List.of(
+        node("a", "z1", 0, 0.0),
+        node("b", "z2", 900, 9.0)));
+    when(nodeRangeDao.rangeCounts()).thenReturn(Map.of());
+    when(nodeRangeDao.tenantNodes(TENANT)).thenReturn(List.of());
+
+    assertThat(engine.getAvailableNodes(TENANT, 1, Set.of("a"))).containsExactly("b");
+    assertThatExceptionOfType(NotEnoughNodesException.class)
+        .isThrownBy(() -> engine.getAvailableNodes(TENANT, 2, Set.of("a")));
+  }
+
+}
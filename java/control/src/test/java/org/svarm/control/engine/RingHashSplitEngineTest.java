@@ -3,7 +3,9 @@ package org.svarm.control.engine;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -29,4 +31,37 @@ class RingHashSplitEngineTest {
     assertThat(engine.evenSplitHashes(repFactor)).isEqualTo(lowHashHash).hasSize(repFactor);
   }
 
-}
\ No newline at end of file
+  @Test
+  void evenSplitHashes_remainderAddsARange() {
+    assertThat(engine.evenSplitHashes(7)).hasSize(8).endsWith(2147483644);
+  }
+
+  @Test
+  void virtualNodeHashes_remainderGoesToLastRange() {
+    assertThat(engine.virtualNodeHashes(7, 1))
+        .hasSize(7)
+        .allSatisfy(hashes -> assertThat(hashes).hasSize(1));
+  }
+
+  @Test
+  void virtualNodeHashes() {
+    assertThat(engine.virtualNodeHashes(2, 4))
+        .containsExactly(
+            List.of(Integer.MIN_VALUE, -1073741824, 0, 1073741824),
+            List.of(-1610612736, -536870912, 536870912, 1610612736));
+  }
+
+  @Test
+  void newNodeHashes_takesSlicesFromEveryNode() {
+    final List<List<Integer>> current = engine.virtualNodeHashes(2, 4);
+    assertThat(engine.newNodeHashes(Map.of("a", current.get(0), "b", current.get(1)), 4))
+        .containsExactly(-1968526677, -1431655765, -894784853, -357913941);
+  }
+
+  @Test
+  void newNodeHashes_singleNode() {
+    assertThat(engine.newNodeHashes(Map.of("a", List.of(Integer.MIN_VALUE)), 2))
+        .containsExactly(0, 1073741824);
+  }
+
+}
@@ -0,0 +1,104 @@
+package org.svarm.control.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codeheadsystems.metrics.test.BaseMetricTest;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.control.ControlConfiguration;
+import org.svarm.control.common.api.ImmutableTenantResourceLoad;
+import org.svarm.control.common.api.TenantResourceLoad;
+
+@ExtendWith(MockitoExtension.class)
+class HotRangeManagerTest extends BaseMetricTest {
+
+  private static final String NODE = "node";
+  private static final String TENANT = "tenant";
+  private static final String RESOURCE = "resource";
+
+  @Mock private NodeRangeManager nodeRangeManager;
+  @Mock private ControlConfiguration controlConfiguration;
+  @Mock private ExecutorService executorService;
+  @Captor private ArgumentCaptor<Runnable> runnableArgumentCaptor;
+
+  private static TenantResourceLoad load(final int bucket, final long requests, final long bytes) {
+    final List<Long> requestList = new ArrayList<>(Collections.nCopies(TenantResourceLoad.BUCKETS, 0L));
+    final List<Long> byteList = new ArrayList<>(Collections.nCopies(TenantResourceLoad.BUCKETS, 0L));
+    requestList.set(bucket, requests);
+    byteList.set(bucket, bytes);
+    return ImmutableTenantResourceLoad.builder().tenant(TENANT).resource(RESOURCE).periodMillis(10_000L)
+        .requests(requestList).bytes(byteList).build();
+  }
+
+  private HotRangeManager manager(final boolean split) {
+    return manager(split, MoreExecutors.newDirectExecutorService());
+  }
+
+  private HotRangeManager manager(final boolean split, final ExecutorService executorService) {
+    when(controlConfiguration.getHotBucketRequestsPerSecond()).thenReturn(100.0);
+    when(controlConfiguration.getHotBucketBytesPerSecond()).thenReturn(1000.0);
+    when(controlConfiguration.isSplitHotRanges()).thenReturn(split);
+    return new HotRangeManager(nodeRangeManager, metrics, controlConfiguration, executorService);
+  }
+
+  @Test
+  void hotHash_belowThreshold() {
+    assertThat(manager(false).hotHash(load(3, 999L, 9_999L))).isEmpty();
+  }
+
+  @Test
+  void hotHash_requests() {
+    assertThat(manager(false).hotHash(load(32, 1001L, 0L))).contains(1 << 25);
+  }
+
+  @Test
+  void hotHash_bytes() {
+    assertThat(manager(false).hotHash(load(0, 1L, 10_001L))).contains(Integer.MIN_VALUE + (1 << 25));
+  }
+
+  @Test
+  void review_proposeOnly() {
+    manager(false).review(NODE, List.of(load(32, 5000L, 0L)));
+    verify(nodeRangeManager, never()).splitRange(anyString(), anyString(), anyInt());
+  }
+
+  @Test
+  void review_split() {
+    manager(true).review(NODE, List.of(load(32, 5000L, 0L)));
+    verify(nodeRangeManager).splitRange(TENANT, RESOURCE, 1 << 25);
+  }
+
+  @Test
+  void review_splitQueuedOncePerResource() {
+    final HotRangeManager manager = manager(true, executorService);
+    manager.review(NODE, List.of(load(32, 5000L, 0L)));
+    manager.review("other", List.of(load(32, 5000L, 0L)));
+
+    verify(executorService).execute(runnableArgumentCaptor.capture());
+    verify(nodeRangeManager, never()).splitRange(anyString(), anyString(), anyInt());
+    runnableArgumentCaptor.getValue().run();
+    verify(nodeRangeManager).splitRange(TENANT, RESOURCE, 1 << 25);
+  }
+
+  @Test
+  void review_splitSkipped() {
+    when(nodeRangeManager.splitRange(TENANT, RESOURCE, 1 << 25)).thenThrow(new IllegalStateException("busy"));
+    manager(true).review(NODE, List.of(load(32, 5000L, 0L)));
+    verify(nodeRangeManager).splitRange(TENANT, RESOURCE, 1 << 25);
+  }
+}
@@ -17,7 +17,9 @@
 package org.svarm.control.manager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
+import com.codeheadsystems.metrics.Metrics;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.Random;
@@ -25,6 +27,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.svarm.common.crypt.AesGcmSivManager;
 import org.svarm.common.crypt.CryptUtils;
+import org.svarm.control.ControlConfiguration;
 import org.svarm.control.dao.JdbiDaoTest;
 import org.svarm.control.dao.KeyDao;
 import org.svarm.control.model.ImmutableKey;
@@ -45,7 +48,8 @@ class KeyManagerTest extends JdbiDaoTest<KeyDao> {
   @BeforeEach
   void setupManager() {
     final AesGcmSivManager aesGcmSivManager = new AesGcmSivManager(new CryptUtils(new Random()));
-    manager = new KeyManager(dao, aesGcmSivManager, Clock.systemUTC());
+    manager = new KeyManager(dao, aesGcmSivManager, Clock.systemUTC(), mock(Metrics.class),
+        new ControlConfiguration());
   }
 
   @Test
@@ -73,4 +77,12 @@ class KeyManagerTest extends JdbiDaoTest<KeyDao> {
         .isEqualTo(key);
   }
 
-}
\ No newline at end of file
+  @Test
+  void testKeyCached_node() {
+    final Key result = manager.getNodeKey(NODE);
+    dao.delete("node:" + NODE);
+    assertThat(manager.getNodeKey(NODE))
+        .isEqualTo(result);
+  }
+
+}
@@ -33,7 +33,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.control.ControlConfiguration;
+import org.svarm.control.common.api.ImmutableNodeLoad;
 import org.svarm.control.common.api.NodeInfo;
+import org.svarm.control.common.api.NodeLoad;
 import org.svarm.control.common.api.NodeMetaData;
 import org.svarm.control.dao.NodeDao;
 import org.svarm.control.model.ImmutableNode;
@@ -61,7 +64,7 @@ class NodeManagerTest extends BaseMetricTest {
 
   @BeforeEach
   void setup() {
-    nodeManager = new NodeManager(nodeDao, keyManager, clock, metrics);
+    nodeManager = new NodeManager(nodeDao, keyManager, clock, metrics, new ControlConfiguration());
   }
 
   @Test
@@ -79,6 +82,15 @@ class NodeManagerTest extends BaseMetricTest {
         .contains(STATUS);
   }
 
+  @Test
+  public void read_cached() {
+    when(node.status()).thenReturn(STATUS);
+    when(nodeDao.read(UUID)).thenReturn(node);
+    assertThat(nodeManager.read(UUID)).contains(node);
+    assertThat(nodeManager.read(UUID)).contains(node);
+    verify(nodeDao, times(1)).read(UUID);
+  }
+
   @Test
   public void create_found() {
     when(nodeDao.read(UUID)).thenReturn(node);
@@ -214,4 +226,25 @@ class NodeManagerTest extends BaseMetricTest {
         .createDate(Instant.ofEpochMilli(System.currentTimeMillis()))
         .status(status).uri(URI).build();
   }
+  @Test
+  public void load() {
+    final NodeLoad nodeLoad = ImmutableNodeLoad.builder().diskUsedBytes(10L).requestRate(1.5).build();
+    final Instant now = Instant.now();
+    when(clock.instant()).thenReturn(now);
+    when(nodeDao.updateLoad(UUID, 10L, 1.5, now)).thenReturn(1);
+    when(node.status()).thenReturn(STATUS);
+    when(nodeDao.read(UUID)).thenReturn(node);
+    assertThat(nodeManager.load(UUID, nodeLoad)).isEqualTo(node);
+  }
+
+  @Test
+  public void load_notFound() {
+    final NodeLoad nodeLoad = ImmutableNodeLoad.builder().diskUsedBytes(10L).requestRate(1.5).build();
+    final Instant now = Instant.now();
+    when(clock.instant()).thenReturn(now);
+    when(nodeDao.updateLoad(UUID, 10L, 1.5, now)).thenReturn(0);
+    assertThatExceptionOfType(NotFoundException.class)
+        .isThrownBy(() -> nodeManager.load(UUID, nodeLoad));
+  }
+
 }
\ No newline at end of file
@@ -18,7 +18,10 @@ package org.svarm.control.manager;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,9 +29,13 @@ import com.codeheadsystems.metrics.test.BaseMetricTest;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.HandleCallback;
 import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
+import org.jdbi.v3.sqlobject.transaction.TransactionalCallback;
 import org.jdbi.v3.sqlobject.transaction.TransactionalConsumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,12 +44,20 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.common.config.api.ImmutableNodeRange;
+import org.svarm.common.config.api.ImmutableTenantResource;
+import org.svarm.common.config.api.NodeTenantResourceRange;
+import org.svarm.common.config.api.TenantResource;
+import org.svarm.common.config.api.TenantResourceRange;
 import org.svarm.common.config.engine.NodeConfigurationEngine;
+import org.svarm.control.ControlConfiguration;
 import org.svarm.control.converter.NodeRangeConverter;
 import org.svarm.control.dao.NodeRangeDao;
 import org.svarm.control.engine.NodeAvailabilityEngine;
 import org.svarm.control.engine.RingHashSplitEngine;
+import org.svarm.control.exception.RebalanceInProgressException;
 import org.svarm.control.model.NodeRange;
+import org.svarm.datastore.common.TableDefinition;
 import org.svarm.server.exception.NotFoundException;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,6 +68,8 @@ class NodeRangeManagerTest extends BaseMetricTest {
   private static final String UUID = "uuid";
   private static final String STATUS = "status";
   private static final String VERSION = "version";
+  private static final TenantResource TENANT_RESOURCE =
+      ImmutableTenantResource.builder().tenant(TENANT).resource(TABLE).build();
   @Mock private NodeRangeDao nodeRangeDao;
   @Mock private Clock clock;
   @Mock private List<String> list;
@@ -61,14 +78,83 @@ class NodeRangeManagerTest extends BaseMetricTest {
   @Mock private NodeRange nodeRange;
   @Mock private RingHashSplitEngine ringHashSplitEngine;
   @Mock private NodeRangeConverter nodeRangeConverter;
+  @Mock private ControlConfiguration controlConfiguration;
+  @Mock private NodeTenantResourceRange nodeTenantResourceRange;
+  @Captor private ArgumentCaptor<TenantResourceRange> tenantResourceRangeArgumentCaptor;
   @Captor private ArgumentCaptor<NodeRange> nodeRangeArgumentCaptor;
 
   private NodeRangeManager nodeRangeManager;
 
   @BeforeEach
   void setup() {
+    when(controlConfiguration.getDefaultClusterSize()).thenReturn(1);
     nodeRangeManager = new NodeRangeManager(new FakeNodeRangeDao(nodeRangeDao), clock, metrics, nodeAvailabilityEngine,
-        nodeConfigurationEngine, ringHashSplitEngine, nodeRangeConverter);
+        nodeConfigurationEngine, ringHashSplitEngine, nodeRangeConverter, controlConfiguration);
+  }
+
+  @Test
+  void createTenantResource_insertsVirtualNodes() {
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE)).thenReturn(List.of());
+    when(nodeAvailabilityEngine.getAvailableNodes(TENANT, 1)).thenReturn(List.of(UUID));
+    when(ringHashSplitEngine.virtualNodeHashes(1, 2)).thenReturn(List.of(List.of(Integer.MIN_VALUE, 0)));
+    when(clock.instant()).thenReturn(Instant.now());
+
+    assertThat(nodeRangeManager.createTenantResource(TENANT, TABLE, TableDefinition.V1SingleEntryEngine, 2))
+        .hasSize(1)
+        .first()
+        .hasFieldOrPropertyWithValue("hash", Integer.MIN_VALUE);
+    verify(nodeRangeDao).insertToken(UUID, TENANT, TABLE, Integer.MIN_VALUE);
+    verify(nodeRangeDao).insertToken(UUID, TENANT, TABLE, 0);
+  }
+
+  @Test
+  void createTenantResource_sendsEveryVirtualNodeToTheNode() {
+    final NodeRange existing = org.svarm.control.model.ImmutableNodeRange.builder()
+        .nodeUuid(UUID).tenant(TENANT).resource(TABLE).tableVersion(VERSION).createDate(Instant.now())
+        .status(NodeRange.STATUS_INIT).ready(false).hash(Integer.MIN_VALUE).build();
+    final org.svarm.common.config.api.NodeRange apiNodeRange = ImmutableNodeRange.builder()
+        .uuid(UUID).uri("uri").hash(Integer.MIN_VALUE).build();
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE)).thenReturn(List.of(existing));
+    when(nodeRangeDao.apiTokenRanges(TENANT, TABLE)).thenReturn(List.of(
+        ImmutableNodeRange.copyOf(apiNodeRange).withHash(0), apiNodeRange));
+
+    nodeRangeManager.createTenantResource(TENANT, TABLE, TableDefinition.V1SingleEntryEngine, 2);
+
+    verify(nodeRangeConverter).toNodeTenantResourceRanges(
+        TENANT, TABLE, List.of(existing), Map.of(UUID, List.of(Integer.MIN_VALUE, 0)));
+  }
+
+  @Test
+  void updateTenantResourceConfiguration_mapsEveryVirtualNode() {
+    final org.svarm.common.config.api.NodeRange apiNodeRange = ImmutableNodeRange.builder()
+        .uuid(UUID).uri("uri").hash(Integer.MIN_VALUE).build();
+    when(nodeRangeDao.apiNodeRanges(TENANT, TABLE)).thenReturn(List.of(apiNodeRange));
+    when(nodeRangeDao.apiTokenRanges(TENANT, TABLE)).thenReturn(List.of(
+        apiNodeRange, ImmutableNodeRange.copyOf(apiNodeRange).withHash(0)));
+
+    nodeRangeManager.updateTenantResourceConfiguration(TENANT, TABLE);
+
+    verify(nodeConfigurationEngine).write(tenantResourceRangeArgumentCaptor.capture());
+    assertThat(tenantResourceRangeArgumentCaptor.getValue().hashToNodeRange())
+        .containsExactlyInAnyOrderEntriesOf(Map.of(Integer.MIN_VALUE, apiNodeRange, 0, apiNodeRange));
+  }
+
+  @Test
+  void deleteTenantResource_composesEtcdRequests() {
+    final NodeRange existing = org.svarm.control.model.ImmutableNodeRange.builder()
+        .nodeUuid(UUID).tenant(TENANT).resource(TABLE).tableVersion(VERSION).createDate(Instant.now())
+        .status(NodeRange.STATUS_STABLE).ready(true).hash(0).build();
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE)).thenReturn(List.of(existing));
+    when(nodeRangeConverter.toNodeTenantResourceRanges(TENANT, TABLE, List.of(existing))).thenReturn(List.of());
+    when(nodeConfigurationEngine.writeAsync(List.of())).thenReturn(CompletableFuture.completedFuture(null));
+    when(nodeConfigurationEngine.deleteAsync(TENANT_RESOURCE)).thenReturn(CompletableFuture.completedFuture(null));
+
+    nodeRangeManager.deleteTenantResource(TENANT, TABLE);
+
+    verify(nodeRangeDao).update(nodeRangeArgumentCaptor.capture());
+    assertThat(nodeRangeArgumentCaptor.getValue().status()).isEqualTo(NodeRange.STATUS_DELETING);
+    verify(nodeConfigurationEngine).deleteAsync(TENANT_RESOURCE);
+    verify(nodeConfigurationEngine, never()).readTenantResourceRangeAsync(any());
   }
 
   @Test
@@ -77,6 +163,17 @@ class NodeRangeManagerTest extends BaseMetricTest {
     assertThat(nodeRangeManager.resources(TENANT)).isEqualTo(list);
   }
 
+  @Test
+  void tenants() {
+    final NodeRange other = org.svarm.control.model.ImmutableNodeRange.builder()
+        .nodeUuid(UUID).tenant("other").resource(TABLE).tableVersion(VERSION).createDate(Instant.now())
+        .status(NodeRange.STATUS_INIT).ready(true).hash(0).build();
+    when(nodeRangeDao.nodeRanges(UUID)).thenReturn(List.of(other,
+        org.svarm.control.model.ImmutableNodeRange.copyOf(other).withTenant(TENANT),
+        org.svarm.control.model.ImmutableNodeRange.copyOf(other).withResource("second")));
+    assertThat(nodeRangeManager.tenants(UUID)).containsExactlyInAnyOrder(TENANT, "other");
+  }
+
   @Test
   void finalizeDelete() {
     when(nodeRange.status()).thenReturn(NodeRange.STATUS_DELETING);
@@ -132,6 +229,163 @@ class NodeRangeManagerTest extends BaseMetricTest {
         .hasFieldOrPropertyWithValue("ready", true);
   }
 
+  @Test
+  void setReady_allReady_completesRebalance() {
+    final NodeRange rebalancing = org.svarm.control.model.ImmutableNodeRange.builder()
+        .nodeUuid(UUID).tenant(TENANT).resource(TABLE).tableVersion(VERSION).createDate(Instant.now())
+        .status(NodeRange.STATUS_REBALANCING).ready(false).hash(0).build();
+    when(nodeRangeDao.read(UUID, TENANT, TABLE)).thenReturn(rebalancing);
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE))
+        .thenReturn(List.of(org.svarm.control.model.ImmutableNodeRange.copyOf(rebalancing).withReady(true)));
+
+    final NodeRange stable = org.svarm.control.model.ImmutableNodeRange.copyOf(rebalancing)
+        .withReady(true).withStatus(NodeRange.STATUS_STABLE);
+    when(nodeRangeConverter.toNodeTenantResourceRanges(TENANT, TABLE, List.of(stable), Map.of()))
+        .thenReturn(List.of(nodeTenantResourceRange));
+
+    nodeRangeManager.setReady(UUID, TENANT, TABLE, true);
+
+    verify(nodeConfigurationEngine).write(tenantResourceRangeArgumentCaptor.capture());
+    verify(nodeRangeDao, times(2)).update(nodeRangeArgumentCaptor.capture());
+    assertThat(nodeRangeArgumentCaptor.getAllValues().get(1))
+        .hasFieldOrPropertyWithValue("status", NodeRange.STATUS_STABLE)
+        .hasFieldOrPropertyWithValue("ready", true);
+    verify(nodeConfigurationEngine).write(List.of(nodeTenantResourceRange)); // the rebalance action is cleared.
+  }
+
+  @Test
+  void addNodes() {
+    final NodeRange existing = org.svarm.control.model.ImmutableNodeRange.builder()
+        .nodeUuid(UUID).tenant(TENANT).resource(TABLE).tableVersion(VERSION).createDate(Instant.now())
+        .status(NodeRange.STATUS_INIT).ready(true).hash(Integer.MIN_VALUE).build();
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE)).thenReturn(List.of(existing));
+    when(nodeRangeDao.tokens(UUID, TENANT, TABLE)).thenReturn(List.of(Integer.MIN_VALUE, 0));
+    when(nodeAvailabilityEngine.getAvailableNodes(TENANT, 1, Set.of(UUID))).thenReturn(List.of("new"));
+    when(ringHashSplitEngine.newNodeHashes(Map.of(UUID, List.of(Integer.MIN_VALUE, 0)), 2))
+        .thenReturn(List.of(-1073741824, 1073741824));
+    when(clock.instant()).thenReturn(Instant.now());
+
+    assertThat(nodeRangeManager.addNodes(TENANT, TABLE, 1))
+        .hasSize(1)
+        .first()
+        .hasFieldOrPropertyWithValue("nodeUuid", "new")
+        .hasFieldOrPropertyWithValue("status", NodeRange.STATUS_REBALANCING)
+        .hasFieldOrPropertyWithValue("ready", false)
+        .hasFieldOrPropertyWithValue("hash", -1073741824);
+    verify(nodeRangeDao).insertToken("new", TENANT, TABLE, -1073741824);
+    verify(nodeRangeDao).insertToken("new", TENANT, TABLE, 1073741824);
+    verify(nodeConfigurationEngine).write(anyList());
+    verify(nodeConfigurationEngine, never()).write(any(TenantResourceRange.class));
+  }
+
+  @Test
+  void addNodes_virtualNodesAveragedOverNodes() {
+    final NodeRange legacy = org.svarm.control.model.ImmutableNodeRange.builder()
+        .nodeUuid("legacy").tenant(TENANT).resource(TABLE).tableVersion(VERSION).createDate(Instant.now())
+        .status(NodeRange.STATUS_STABLE).ready(true).hash(Integer.MIN_VALUE).build();
+    final NodeRange existing = org.svarm.control.model.ImmutableNodeRange.copyOf(legacy)
+        .withNodeUuid(UUID).withHash(-1000);
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE)).thenReturn(List.of(legacy, existing));
+    when(nodeRangeDao.tokens("legacy", TENANT, TABLE)).thenReturn(List.of());
+    when(nodeRangeDao.tokens(UUID, TENANT, TABLE)).thenReturn(List.of(-1000, 0, 1000));
+    when(nodeAvailabilityEngine.getAvailableNodes(TENANT, 1, Set.of("legacy", UUID))).thenReturn(List.of("new"));
+    when(ringHashSplitEngine.newNodeHashes(
+        Map.of("legacy", List.of(Integer.MIN_VALUE), UUID, List.of(-1000, 0, 1000)), 2))
+        .thenReturn(List.of(-500, 500));
+    when(clock.instant()).thenReturn(Instant.now());
+
+    assertThat(nodeRangeManager.addNodes(TENANT, TABLE, 1)).hasSize(1);
+    verify(nodeRangeDao).insertToken("new", TENANT, TABLE, -500);
+    verify(nodeRangeDao).insertToken("new", TENANT, TABLE, 500);
+  }
+
+  @Test
+  void splitRange() {
+    final NodeRange existing = org.svarm.control.model.ImmutableNodeRange.builder()
+        .nodeUuid(UUID).tenant(TENANT).resource(TABLE).tableVersion(VERSION).createDate(Instant.now())
+        .status(NodeRange.STATUS_STABLE).ready(true).hash(Integer.MIN_VALUE).build();
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE)).thenReturn(List.of(existing));
+    when(nodeRangeDao.tokens(UUID, TENANT, TABLE)).thenReturn(List.of(Integer.MIN_VALUE, 0));
+    when(nodeAvailabilityEngine.getAvailableNodes(TENANT, 1, Set.of(UUID))).thenReturn(List.of("new"));
+    when(clock.instant()).thenReturn(Instant.now());
+
+    assertThat(nodeRangeManager.splitRange(TENANT, TABLE, 100))
+        .hasFieldOrPropertyWithValue("nodeUuid", "new")
+        .hasFieldOrPropertyWithValue("status", NodeRange.STATUS_REBALANCING)
+        .hasFieldOrPropertyWithValue("hash", 100);
+    verify(nodeRangeDao).insertToken("new", TENANT, TABLE, 100);
+  }
+
+  @Test
+  void splitRange_existingToken() {
+    final NodeRange existing = org.svarm.control.model.ImmutableNodeRange.builder()
+        .nodeUuid(UUID).tenant(TENANT).resource(TABLE).tableVersion(VERSION).createDate(Instant.now())
+        .status(NodeRange.STATUS_STABLE).ready(true).hash(Integer.MIN_VALUE).build();
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE)).thenReturn(List.of(existing));
+    when(nodeRangeDao.tokens(UUID, TENANT, TABLE)).thenReturn(List.of(Integer.MIN_VALUE, 0));
+    when(nodeAvailabilityEngine.getAvailableNodes(TENANT, 1, Set.of(UUID))).thenReturn(List.of("new"));
+
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> nodeRangeManager.splitRange(TENANT, TABLE, 0));
+    verify(nodeRangeDao, never()).insert(any(NodeRange.class));
+  }
+
+  @Test
+  void addNodes_notSettled() {
+    when(nodeRange.ready()).thenReturn(false);
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE)).thenReturn(List.of(nodeRange));
+
+    assertThatExceptionOfType(RebalanceInProgressException.class)
+        .isThrownBy(() -> nodeRangeManager.addNodes(TENANT, TABLE, 1));
+  }
+
+  @Test
+  void addNodes_notFound() {
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE)).thenReturn(List.of());
+
+    assertThatExceptionOfType(NotFoundException.class)
+        .isThrownBy(() -> nodeRangeManager.addNodes(TENANT, TABLE, 1));
+  }
+
+  @Test
+  void getNodeRange_cachedAndInvalidatedBySetReady() {
+    when(controlConfiguration.getCacheMaximumSize()).thenReturn(10L);
+    when(controlConfiguration.getCacheExpirySeconds()).thenReturn(60);
+    nodeRangeManager = new NodeRangeManager(new FakeNodeRangeDao(nodeRangeDao), clock, metrics, nodeAvailabilityEngine,
+        nodeConfigurationEngine, ringHashSplitEngine, nodeRangeConverter, controlConfiguration);
+    final NodeRange notReady = org.svarm.control.model.ImmutableNodeRange.builder()
+        .nodeUuid(UUID).tenant(TENANT).resource(TABLE).tableVersion(VERSION).createDate(Instant.now())
+        .status(NodeRange.STATUS_INIT).ready(false).hash(0).build();
+    final NodeRange ready = org.svarm.control.model.ImmutableNodeRange.copyOf(notReady).withReady(true);
+    final NodeRange other = org.svarm.control.model.ImmutableNodeRange.copyOf(notReady).withNodeUuid("other");
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE)).thenReturn(List.of(notReady, other), List.of(ready, other));
+    when(nodeRangeDao.read(UUID, TENANT, TABLE)).thenReturn(notReady);
+
+    assertThat(nodeRangeManager.getNodeRange(TENANT, TABLE)).containsExactly(notReady, other);
+    assertThat(nodeRangeManager.getNodeRange(TENANT, TABLE)).containsExactly(notReady, other);
+    nodeRangeManager.setReady(UUID, TENANT, TABLE, true);
+
+    assertThat(nodeRangeManager.getNodeRange(TENANT, TABLE)).containsExactly(ready, other);
+    verify(nodeRangeDao, times(3)).nodeRanges(TENANT, TABLE);
+  }
+
+  @Test
+  void setReady_readsOtherNodesFromTheDatabase() {
+    final NodeRange notReady = org.svarm.control.model.ImmutableNodeRange.builder()
+        .nodeUuid(UUID).tenant(TENANT).resource(TABLE).tableVersion(VERSION).createDate(Instant.now())
+        .status(NodeRange.STATUS_INIT).ready(false).hash(0).build();
+    final NodeRange ready = org.svarm.control.model.ImmutableNodeRange.copyOf(notReady).withReady(true);
+    final NodeRange other = org.svarm.control.model.ImmutableNodeRange.copyOf(ready).withNodeUuid("other");
+    when(nodeRangeDao.read(UUID, TENANT, TABLE)).thenReturn(notReady);
+    // the other node was set ready by another call after this list was cached.
+    when(nodeRangeDao.nodeRanges(TENANT, TABLE)).thenReturn(List.of(ready, other));
+    when(nodeRangeDao.apiNodeRanges(TENANT, TABLE)).thenReturn(List.of());
+
+    nodeRangeManager.setReady(UUID, TENANT, TABLE, true);
+
+    verify(nodeConfigurationEngine).write(any(TenantResourceRange.class));
+  }
+
   private void mockIt(final NodeRange nodeRange, final boolean ready) {
     when(nodeRange.nodeUuid()).thenReturn(UUID);
     when(nodeRange.createDate()).thenReturn(Instant.now());
@@ -156,6 +410,13 @@ class NodeRangeManagerTest extends BaseMetricTest {
       callback.useTransaction(dao);
     }
 
+    @Override
+    public <R, X extends Exception> R inTransaction(final TransactionIsolationLevel level,
+                                                    final TransactionalCallback<R, NodeRangeDao, X> callback)
+        throws X {
+      return callback.inTransaction(dao);
+    }
+
     @Override
     public void insert(final NodeRange instance) {
       dao.insert(instance);
@@ -196,11 +457,41 @@ class NodeRangeManagerTest extends BaseMetricTest {
       return dao.resources(tenant);
     }
 
+    @Override
+    public Map<String, Long> rangeCounts() {
+      return dao.rangeCounts();
+    }
+
+    @Override
+    public List<String> tenantNodes(final String tenant) {
+      return dao.tenantNodes(tenant);
+    }
+
     @Override
     public int delete(final String nodeUuid, final String tenant, final String resource) {
       return dao.delete(nodeUuid, tenant, resource);
     }
 
+    @Override
+    public void insertToken(final String nodeUuid, final String tenant, final String resource, final int hash) {
+      dao.insertToken(nodeUuid, tenant, resource, hash);
+    }
+
+    @Override
+    public List<Integer> tokens(final String nodeUuid, final String tenant, final String resource) {
+      return dao.tokens(nodeUuid, tenant, resource);
+    }
+
+    @Override
+    public List<org.svarm.common.config.api.NodeRange> apiTokenRanges(final String tenant, final String resource) {
+      return dao.apiTokenRanges(tenant, resource);
+    }
+
+    @Override
+    public int deleteTokens(final String nodeUuid, final String tenant, final String resource) {
+      return dao.deleteTokens(nodeUuid, tenant, resource);
+    }
+
     @Override
     public Handle getHandle() {
       return dao.getHandle();
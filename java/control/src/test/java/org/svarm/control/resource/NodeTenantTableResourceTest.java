@@ -16,8 +16,10 @@
 
 package org.svarm.control.resource;
 
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.when;
 
+import jakarta.ws.rs.ClientErrorException;
 import java.util.List;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.control.exception.RebalanceInProgressException;
 import org.svarm.control.manager.NodeRangeManager;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,4 +45,19 @@ class NodeTenantTableResourceTest {
     Assertions.assertThat(nodeTenantTableResource.listResources(TENANT)).isEqualTo(list);
   }
 
+  @Test
+  public void addNodes_rebalanceInProgress() {
+    when(nodeRangeManager.addNodes(TENANT, "table", 1)).thenThrow(new RebalanceInProgressException("busy"));
+    assertThatExceptionOfType(ClientErrorException.class)
+        .isThrownBy(() -> nodeTenantTableResource.addNodes(TENANT, "table", 1))
+        .satisfies(e -> Assertions.assertThat(e.getResponse().getStatus()).isEqualTo(409));
+  }
+
+  @Test
+  public void addNodes_otherFailure() {
+    when(nodeRangeManager.addNodes(TENANT, "table", 1)).thenThrow(new IllegalStateException("broken"));
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> nodeTenantTableResource.addNodes(TENANT, "table", 1));
+  }
+
 }
\ No newline at end of file
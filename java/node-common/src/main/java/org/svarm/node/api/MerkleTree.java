@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.List;
+import org.immutables.value.Value;
+
+/**
+ * A Merkle tree over the entries a node stores in a hash range of a table. Leaves are picked by the hash of the entry
+ * id, not the location hash, so replicas of an entry land in the same leaf on every node.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableMerkleTree.class)
+@JsonDeserialize(builder = ImmutableMerkleTree.Builder.class)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public interface MerkleTree {
+
+  /**
+   * The lowest location hash covered, inclusive.
+   *
+   * @return value integer
+   */
+  @JsonProperty("hashLow")
+  Integer hashLow();
+
+  /**
+   * The highest location hash covered, inclusive.
+   *
+   * @return value integer
+   */
+  @JsonProperty("hashHigh")
+  Integer hashHigh();
+
+  /**
+   * The node digests in heap order. The root is at index one, the children of node i are at 2i and 2i + 1, and the
+   * leaves fill the second half of the list. Index zero is unused.
+   *
+   * @return value list
+   */
+  @JsonProperty("nodes")
+  List<Long> nodes();
+
+}
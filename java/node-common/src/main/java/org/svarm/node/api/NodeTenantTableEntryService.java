@@ -21,15 +21,19 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
+import java.util.List;
 import java.util.Optional;
+import org.svarm.common.util.MediaTypes;
 
 /**
- * All the ways to connect to the node service for tenant table entry calls.
+ * All the ways to connect to the node service for tenant table entry calls. Every call also speaks Smile, which the
+ * proxy can use in place of JSON. JSON is listed first, so clients that do not ask for Smile get JSON.
  */
 @Path("/v1/tenant/{tenant}/table/{table}/entry")
 public interface NodeTenantTableEntryService {
@@ -44,11 +48,27 @@ public interface NodeTenantTableEntryService {
    */
   @GET
   @Path("/{entry}")
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_SMILE})
   Optional<EntryInfo> readTenantTableEntry(@PathParam("tenant") final String tenantId,
                                            @PathParam("table") final String table,
                                            @PathParam("entry") final String entry);
 
+  /**
+   * Gets the entry with its data left encoded, along with a digest of the data. Lets the proxy choose between
+   * replicas and pass the data on without building a tree.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param entry    the entry.
+   * @return response. optional
+   */
+  @GET
+  @Path("/{entry}/raw")
+  @Produces({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_SMILE})
+  Optional<RawEntryInfo> readTenantTableEntryRaw(@PathParam("tenant") final String tenantId,
+                                                 @PathParam("table") final String table,
+                                                 @PathParam("entry") final String entry);
+
   /**
    * Create the tenant table entry.
    *
@@ -59,7 +79,7 @@ public interface NodeTenantTableEntryService {
    */
   @PUT
   @Path("/{entry}")
-  @Consumes(MediaType.APPLICATION_JSON)
+  @Consumes({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_SMILE})
   void createTenantTableEntry(@PathParam("tenant") final String tenantId,
                               @PathParam("table") final String table,
                               @PathParam("entry") final String entry,
@@ -77,4 +97,48 @@ public interface NodeTenantTableEntryService {
   void deleteTenantTableEntry(@PathParam("tenant") final String tenantId,
                               @PathParam("table") final String table,
                               @PathParam("entry") final String entry);
-}
\ No newline at end of file
+
+  /**
+   * Gets many entries in one call. Entries that are not found are left out of the result.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param entries  the entries.
+   * @return the entries found.
+   */
+  @POST
+  @Path("/batch/read")
+  @Consumes({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_SMILE})
+  @Produces({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_SMILE})
+  List<EntryInfo> readTenantTableEntries(@PathParam("tenant") final String tenantId,
+                                         @PathParam("table") final String table,
+                                         @NotNull final List<String> entries);
+
+  /**
+   * Create or update many entries in one call.
+   *
+   * @param tenantId    that owns the table.
+   * @param table       the table.
+   * @param entryInfos the entries to write.
+   */
+  @POST
+  @Path("/batch/write")
+  @Consumes({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_SMILE})
+  void createTenantTableEntries(@PathParam("tenant") final String tenantId,
+                                @PathParam("table") final String table,
+                                @NotNull @Valid final List<EntryInfo> entryInfos);
+
+  /**
+   * Delete many entries in one call. Entries that do not exist are ignored.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param entries  to delete.
+   */
+  @POST
+  @Path("/batch/delete")
+  @Consumes({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_SMILE})
+  void deleteTenantTableEntries(@PathParam("tenant") final String tenantId,
+                                @PathParam("table") final String table,
+                                @NotNull final List<String> entries);
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.api;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Node to node calls used to find and repair differences between replicas.
+ */
+@Path("/v1/tenant/{tenant}/table/{table}/merkle")
+public interface NodeTenantTableRepairService {
+
+  /**
+   * Gets the Merkle tree for the entries stored in the hash range.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param hashLow  lowest location hash, inclusive.
+   * @param hashHigh highest location hash, inclusive.
+   * @return the tree.
+   */
+  @GET
+  @Path("/")
+  @Produces(MediaType.APPLICATION_JSON)
+  MerkleTree merkleTree(@PathParam("tenant") final String tenantId,
+                        @PathParam("table") final String table,
+                        @QueryParam("low") final int hashLow,
+                        @QueryParam("high") final int hashHigh);
+
+  /**
+   * Gets the entry versions that make up the leaves of the tree, read in one pass over the range.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param leaves   the leaves, zero based.
+   * @param hashLow  lowest location hash, inclusive.
+   * @param hashHigh highest location hash, inclusive.
+   * @return map of leaf to the map of entry id to its timestamp. Empty leaves are left out.
+   */
+  @GET
+  @Path("/leaves")
+  @Produces(MediaType.APPLICATION_JSON)
+  Map<Integer, Map<String, Long>> merkleLeaves(@PathParam("tenant") final String tenantId,
+                                               @PathParam("table") final String table,
+                                               @QueryParam("leaf") final List<Integer> leaves,
+                                               @QueryParam("low") final int hashLow,
+                                               @QueryParam("high") final int hashHigh);
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A JSON value kept as its encoded bytes, so it can be passed along without building a tree. Reading copies the
+ * tokens from the parser into the bytes and writing copies them back out, which also works for Smile.
+ */
+@JsonSerialize(using = RawJson.Serializer.class)
+@JsonDeserialize(using = RawJson.Deserializer.class)
+public final class RawJson {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final byte[] bytes;
+
+  private RawJson(final byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  /**
+   * Wraps JSON that is already encoded. The bytes are not copied, so do not change them afterwards.
+   *
+   * @param bytes the UTF-8 JSON.
+   * @return the raw json.
+   */
+  public static RawJson of(final byte[] bytes) {
+    return new RawJson(bytes);
+  }
+
+  /**
+   * The encoded JSON. This is the internal array, so do not change it.
+   *
+   * @return the UTF-8 JSON.
+   */
+  public byte[] bytes() {
+    return bytes;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    return this == o || (o instanceof RawJson other && Arrays.equals(bytes, other.bytes));
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(bytes);
+  }
+
+  @Override
+  public String toString() {
+    return "RawJson{" + bytes.length + " bytes}"; // Do NOT log the data.
+  }
+
+  /**
+   * Writes the bytes as they are for JSON, and copies the tokens for any other format.
+   */
+  public static class Serializer extends StdSerializer<RawJson> {
+
+    /**
+     * Constructor.
+     */
+    public Serializer() {
+      super(RawJson.class);
+    }
+
+    @Override
+    public void serialize(final RawJson value,
+                          final JsonGenerator gen,
+                          final SerializerProvider provider) throws IOException {
+      if (gen instanceof JsonGeneratorImpl) {
+        gen.writeRawValue(new String(value.bytes, StandardCharsets.UTF_8));
+      } else {
+        try (JsonParser parser = JSON_FACTORY.createParser(value.bytes)) {
+          parser.nextToken();
+          gen.copyCurrentStructure(parser);
+        }
+      }
+    }
+  }
+
+  /**
+   * Copies the tokens of the current value into JSON bytes.
+   */
+  public static class Deserializer extends StdDeserializer<RawJson> {
+
+    /**
+     * Constructor.
+     */
+    public Deserializer() {
+      super(RawJson.class);
+    }
+
+    @Override
+    public RawJson deserialize(final JsonParser parser,
+                               final DeserializationContext context) throws IOException {
+      final ByteArrayBuilder builder = new ByteArrayBuilder();
+      try (JsonGenerator generator = JSON_FACTORY.createGenerator(builder)) {
+        generator.copyCurrentStructure(parser);
+      }
+      return new RawJson(builder.toByteArray());
+    }
+  }
+
+}
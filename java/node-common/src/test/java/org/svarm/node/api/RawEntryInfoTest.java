@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.api;
+
+import com.codeheadsystems.test.model.BaseJacksonTest;
+import java.nio.charset.StandardCharsets;
+
+class RawEntryInfoTest extends BaseJacksonTest<RawEntryInfo> {
+
+  @Override
+  protected Class<RawEntryInfo> getBaseClass() {
+    return RawEntryInfo.class;
+  }
+
+  @Override
+  protected RawEntryInfo getInstance() {
+    return ImmutableRawEntryInfo.builder()
+        .id("id")
+        .locationHash(2)
+        .timestamp(3L)
+        .digest("digest")
+        .data(RawJson.of("{\"a\":2,\"b\":[\"c\",{\"d\":null}]}".getBytes(StandardCharsets.UTF_8)))
+        .build();
+  }
+}
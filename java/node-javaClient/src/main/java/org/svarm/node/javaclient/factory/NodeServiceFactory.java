@@ -19,40 +19,52 @@ package org.svarm.node.javaclient.factory;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import feign.Feign;
+import feign.Retryer;
 import io.github.resilience4j.feign.FeignDecorators;
 import io.github.resilience4j.feign.Resilience4jFeign;
 import io.github.resilience4j.retry.Retry;
+import java.util.Optional;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.svarm.common.javaclient.FeignBuilderInstrumentator;
+import org.svarm.common.javaclient.JavaClientConfig;
 import org.svarm.node.api.NodeTenantTableEntryService;
+import org.svarm.node.api.NodeTenantTableRepairService;
 
 /**
- * Creates instances of the node service based on the uri. No caching here.
+ * Creates instances of the node service based on the uri. No caching here. The entry service uses Smile when the
+ * java client config asks for it.
  */
 @Singleton
 public class NodeServiceFactory {
 
   private static final Logger LOGGER = getLogger(NodeServiceFactory.class);
 
+  private final FeignBuilderInstrumentator instrumentator;
+  private final boolean smile;
   private final Feign.Builder builder;
-
+  private final Feign.Builder entryBuilder;
 
   /**
    * Constructor.
    *
    * @param instrumentator to instrument.
    * @param retry          default retry policy.
+   * @param config         the java client config, if set.
    */
   @Inject
   public NodeServiceFactory(final FeignBuilderInstrumentator instrumentator,
-                            @Named("DEFAULT") final Retry retry) {
+                            @Named("DEFAULT") final Retry retry,
+                            final Optional<JavaClientConfig> config) {
     final FeignDecorators decorators = FeignDecorators.builder().withRetry(retry).build();
+    this.instrumentator = instrumentator;
     this.builder = Resilience4jFeign.builder(decorators);
     instrumentator.instrument(builder);
-    LOGGER.info("NodeServiceFactory({})", builder);
+    this.smile = config.map(JavaClientConfig::smile).orElse(false);
+    this.entryBuilder = smile ? entryBuilder(decorators) : builder;
+    LOGGER.info("NodeServiceFactory({},{})", builder, smile);
   }
 
   /**
@@ -63,7 +75,42 @@ public class NodeServiceFactory {
    */
   public NodeTenantTableEntryService nodeService(final String uri) {
     LOGGER.info("nodeService({})", uri);
-    return builder.target(NodeTenantTableEntryService.class, uri);
+    return entryBuilder.target(NodeTenantTableEntryService.class, uri);
+  }
+
+  /**
+   * Get a usable node service with its own decorators, in place of the default retry. Lets the caller give each
+   * node its own circuit breaker and bulkhead.
+   *
+   * @param uri        the url of the node service.
+   * @param decorators for this node.
+   * @return a node service.
+   */
+  public NodeTenantTableEntryService nodeService(final String uri, final FeignDecorators decorators) {
+    LOGGER.info("nodeService({},{})", uri, decorators);
+    return entryBuilder(decorators).target(NodeTenantTableEntryService.class, uri);
+  }
+
+  /**
+   * Get a usable node repair service.
+   *
+   * @param uri the url of the node service.
+   * @return a node repair service.
+   */
+  public NodeTenantTableRepairService repairService(final String uri) {
+    LOGGER.info("repairService({})", uri);
+    return builder.target(NodeTenantTableRepairService.class, uri);
+  }
+
+  private Feign.Builder entryBuilder(final FeignDecorators decorators) {
+    // the decorators do the retrying, so Feign's own retryer must not multiply the attempts.
+    final Feign.Builder result = Resilience4jFeign.builder(decorators).retryer(Retryer.NEVER_RETRY);
+    if (smile) {
+      instrumentator.instrumentSmile(result);
+    } else {
+      instrumentator.instrument(result);
+    }
+    return result;
   }
 
 }
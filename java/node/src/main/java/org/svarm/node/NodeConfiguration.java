@@ -33,7 +33,12 @@ public class NodeConfiguration extends ServerConfiguration {
   private String nodeHost;
   private Integer nodePort = 8080;
   private int watchEngineThreads = 5;
+  private int startupThreads = 8;
   private String nodeScheme = "http";
+  private String nodeZone;
+  private int loadReportSeconds = 60;
+  private int antiEntropyRepairSeconds = 600;
+  private boolean antiEntropyCopyMissing = false;
   private TombstoneConfiguration tombstoneConfiguration = ImmutableTombstoneConfiguration.builder().build();
 
   /**
@@ -171,6 +176,24 @@ public class NodeConfiguration extends ServerConfiguration {
     this.watchEngineThreads = watchEngineThreads;
   }
 
+  /**
+   * Gets how many tenant tables are opened at once on startup.
+   *
+   * @return the thread count.
+   */
+  public int getStartupThreads() {
+    return startupThreads;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param startupThreads to set.
+   */
+  public void setStartupThreads(final int startupThreads) {
+    this.startupThreads = startupThreads;
+  }
+
   /**
    * Gets node scheme.
    *
@@ -189,6 +212,80 @@ public class NodeConfiguration extends ServerConfiguration {
     this.nodeScheme = nodeScheme;
   }
 
+  /**
+   * Gets the zone this node runs in. The control plane spreads a resource's replicas across zones. Optional.
+   *
+   * @return the node zone
+   */
+  public String getNodeZone() {
+    return nodeZone;
+  }
+
+  /**
+   * Sets the zone this node runs in.
+   *
+   * @param nodeZone the node zone
+   */
+  public void setNodeZone(final String nodeZone) {
+    this.nodeZone = nodeZone;
+  }
+
+  /**
+   * Gets how often, in seconds, the node reports its load to the control plane.
+   *
+   * @return the seconds.
+   */
+  public int getLoadReportSeconds() {
+    return loadReportSeconds;
+  }
+
+  /**
+   * Sets how often, in seconds, the node reports its load to the control plane.
+   *
+   * @param loadReportSeconds the seconds.
+   */
+  public void setLoadReportSeconds(final int loadReportSeconds) {
+    this.loadReportSeconds = loadReportSeconds;
+  }
+
+  /**
+   * Gets how often, in seconds, the node compares its ranges with the other replicas and repairs them. Zero or less
+   * turns the repair off.
+   *
+   * @return the seconds.
+   */
+  public int getAntiEntropyRepairSeconds() {
+    return antiEntropyRepairSeconds;
+  }
+
+  /**
+   * Sets how often, in seconds, the node compares its ranges with the other replicas and repairs them.
+   *
+   * @param antiEntropyRepairSeconds the seconds.
+   */
+  public void setAntiEntropyRepairSeconds(final int antiEntropyRepairSeconds) {
+    this.antiEntropyRepairSeconds = antiEntropyRepairSeconds;
+  }
+
+  /**
+   * If the repair copies entries this node does not have at all. Deletes remove the entry outright, so a replica
+   * that missed a delete would bring the entry back. Off by default, when only newer versions are copied.
+   *
+   * @return true if missing entries are copied.
+   */
+  public boolean isAntiEntropyCopyMissing() {
+    return antiEntropyCopyMissing;
+  }
+
+  /**
+   * Sets if the repair copies entries this node does not have at all.
+   *
+   * @param antiEntropyCopyMissing true if missing entries are copied.
+   */
+  public void setAntiEntropyCopyMissing(final boolean antiEntropyCopyMissing) {
+    this.antiEntropyCopyMissing = antiEntropyCopyMissing;
+  }
+
   /**
    * Gets tombstone configuration.
    *
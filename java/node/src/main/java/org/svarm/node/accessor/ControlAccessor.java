@@ -26,7 +26,9 @@ import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.svarm.control.common.api.ControlNodeService;
 import org.svarm.control.common.api.ImmutableNodeMetaData;
+import org.svarm.control.common.api.NodeBootstrap;
 import org.svarm.control.common.api.NodeInfo;
+import org.svarm.control.common.api.NodeLoad;
 import org.svarm.control.common.api.NodeMetaData;
 import org.svarm.node.model.TenantTableIdentifier;
 
@@ -141,17 +143,51 @@ public class ControlAccessor {
    *
    * @param uuid to register.
    * @param uri  the uri.
+   * @param zone the zone the node runs in, if known.
    */
-  public void register(final String uuid, final String uri) {
-    LOGGER.trace("register({},{})", uuid, uri);
+  public void register(final String uuid, final String uri, final Optional<String> zone) {
+    LOGGER.trace("register({},{},{})", uuid, uri, zone);
     metrics.time("ControlAccessor.register", () -> {
-      final NodeMetaData metaData = ImmutableNodeMetaData.builder().uri(uri).build();
+      final NodeMetaData metaData = ImmutableNodeMetaData.builder().uri(uri).zone(zone).build();
       final NodeInfo info = controlNodeService.register(uuid, metaData);
       LOGGER.info("register result:{}", info);
       return null;
     });
   }
 
+  /**
+   * Registers if needed and enables this node, getting its status and keys back in one call.
+   *
+   * @param uuid to bootstrap.
+   * @param uri  the uri.
+   * @param zone the zone the node runs in, if known.
+   * @return the bootstrap details.
+   */
+  public NodeBootstrap bootstrap(final String uuid, final String uri, final Optional<String> zone) {
+    LOGGER.trace("bootstrap({},{},{})", uuid, uri, zone);
+    return metrics.time("ControlAccessor.bootstrap", () -> {
+      final NodeMetaData metaData = ImmutableNodeMetaData.builder().uri(uri).zone(zone).build();
+      final NodeBootstrap bootstrap = controlNodeService.bootstrap(uuid, metaData);
+      LOGGER.info("bootstrap result:{},{} tenant keys", bootstrap.nodeInfo(), bootstrap.tenantKeys().size());
+      return bootstrap;
+    });
+  }
+
+  /**
+   * Reports the load of the node.
+   *
+   * @param uuid     of the node.
+   * @param nodeLoad the load.
+   */
+  public void load(final String uuid, final NodeLoad nodeLoad) {
+    LOGGER.trace("load({},{})", uuid, nodeLoad);
+    metrics.time("ControlAccessor.load", () -> {
+      final NodeInfo info = controlNodeService.load(uuid, nodeLoad);
+      LOGGER.trace("result:{}", info);
+      return null;
+    });
+  }
+
   /**
    * Returns the key for the node.
    *
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.svarm.node.api.ImmutableRawEntryInfo;
+import org.svarm.node.api.RawEntryInfo;
+import org.svarm.node.api.RawJson;
+
+/**
+ * Converter for raw entry info objects.
+ */
+@Singleton
+public class RawEntryInfoConverter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RawEntryInfoConverter.class);
+  private static final HashFunction DIGEST = Hashing.murmur3_128();
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Default constructor.
+   *
+   * @param objectMapper to encode the data.
+   */
+  @Inject
+  public RawEntryInfoConverter(final ObjectMapper objectMapper) {
+    LOGGER.info("RawEntryInfoConverter({})", objectMapper);
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Creates a raw entry info from data that writes itself, encoding it and digesting the bytes.
+   *
+   * @param id           of the entry.
+   * @param locationHash of the entry.
+   * @param timestamp    of the entry.
+   * @param data         to encode.
+   * @return result. raw entry info
+   */
+  public RawEntryInfo from(final String id,
+                           final Integer locationHash,
+                           final Long timestamp,
+                           final JsonSerializable data) {
+    LOGGER.trace("from({})", id);
+    try {
+      return from(id, locationHash, timestamp, objectMapper.writeValueAsBytes(data));
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Unable to encode entry: " + id, e);
+    }
+  }
+
+  /**
+   * Creates a raw entry info from data that is already encoded.
+   *
+   * @param id           of the entry.
+   * @param locationHash of the entry.
+   * @param timestamp    of the entry.
+   * @param data         the encoded JSON.
+   * @return result. raw entry info
+   */
+  public RawEntryInfo from(final String id,
+                           final Integer locationHash,
+                           final Long timestamp,
+                           final byte[] data) {
+    return ImmutableRawEntryInfo.builder()
+        .id(id)
+        .locationHash(locationHash)
+        .timestamp(timestamp)
+        .digest(DIGEST.hashBytes(data).toString())
+        .data(RawJson.of(data))
+        .build();
+  }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.engine;
+
+import static org.svarm.control.common.api.TenantResourceLoad.BUCKETS;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.svarm.control.common.api.ImmutableTenantResourceLoad;
+import org.svarm.control.common.api.TenantResourceLoad;
+import org.svarm.node.api.EntryInfo;
+import org.svarm.node.model.TenantTableIdentifier;
+
+/**
+ * Counts requests and bytes per tenant table and per hash bucket, so the control plane can see which ranges are
+ * hot. Recording is a couple of LongAdder increments. Counts are drained when they are reported, by swapping in a
+ * new map rather than resetting counters that requests may still be adding to.
+ */
+@Singleton
+public class HashBucketCounterEngine {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(HashBucketCounterEngine.class);
+  private static final long NUMBER_BYTES = 8L;
+
+  private final AtomicReference<Map<TenantTableIdentifier, Counters>> counters =
+      new AtomicReference<>(new ConcurrentHashMap<>());
+  private volatile long lastDrainNanos;
+
+  /**
+   * Constructor.
+   */
+  @Inject
+  public HashBucketCounterEngine() {
+    this.lastDrainNanos = System.nanoTime();
+    LOGGER.info("HashBucketCounterEngine()");
+  }
+
+  /**
+   * Records one request for the entry.
+   *
+   * @param identifier the table.
+   * @param entryInfo  the entry read or written.
+   */
+  public void record(final TenantTableIdentifier identifier, final EntryInfo entryInfo) {
+    record(identifier, entryInfo.locationHash(), estimateBytes(entryInfo.data()));
+  }
+
+  /**
+   * Records one request at the hash.
+   *
+   * @param identifier the table.
+   * @param hash       the location hash of the entry.
+   * @param bytes      the bytes read or written.
+   */
+  public void record(final TenantTableIdentifier identifier, final int hash, final long bytes) {
+    final Counters tableCounters = counters.get().computeIfAbsent(identifier, k -> new Counters());
+    final int bucket = TenantResourceLoad.bucket(hash);
+    tableCounters.requests[bucket].increment();
+    tableCounters.bytes[bucket].add(bytes);
+  }
+
+  /**
+   * Returns the counts since the last drain and starts over. Tables with no traffic since then are left out.
+   *
+   * @return the loads.
+   */
+  public List<TenantResourceLoad> drain() {
+    final long now = System.nanoTime();
+    final long periodMillis = Math.max(1L, (now - lastDrainNanos) / 1_000_000L);
+    lastDrainNanos = now;
+    final Map<TenantTableIdentifier, Counters> drained = counters.getAndSet(new ConcurrentHashMap<>());
+    final List<TenantResourceLoad> result = new ArrayList<>();
+    for (Map.Entry<TenantTableIdentifier, Counters> entry : drained.entrySet()) {
+      final List<Long> requests = new ArrayList<>(BUCKETS);
+      final List<Long> bytes = new ArrayList<>(BUCKETS);
+      for (int i = 0; i < BUCKETS; i++) {
+        requests.add(entry.getValue().requests[i].sum());
+        bytes.add(entry.getValue().bytes[i].sum());
+      }
+      result.add(ImmutableTenantResourceLoad.builder()
+          .tenant(entry.getKey().tenantId())
+          .resource(entry.getKey().tableName())
+          .periodMillis(periodMillis)
+          .requests(requests)
+          .bytes(bytes)
+          .build());
+    }
+    LOGGER.trace("drain(): {} tables", result.size());
+    return result;
+  }
+
+  /**
+   * Rough size of the entry as stored. Text counts its length, numbers a fixed size. Avoids serializing the data.
+   */
+  private long estimateBytes(final JsonNode data) {
+    long bytes = 0;
+    final Iterator<Map.Entry<String, JsonNode>> fields = data.fields();
+    while (fields.hasNext()) {
+      final Map.Entry<String, JsonNode> field = fields.next();
+      final JsonNode value = field.getValue();
+      bytes += field.getKey().length() + (value.isTextual() ? value.textValue().length() : NUMBER_BYTES);
+    }
+    return bytes;
+  }
+
+  private static class Counters {
+    private final LongAdder[] requests = newAdders();
+    private final LongAdder[] bytes = newAdders();
+
+    private static LongAdder[] newAdders() {
+      final LongAdder[] adders = new LongAdder[BUCKETS];
+      for (int i = 0; i < BUCKETS; i++) {
+        adders[i] = new LongAdder();
+      }
+      return adders;
+    }
+  }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.engine;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Longs;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.svarm.common.engine.HashingEngine;
+import org.svarm.node.api.ImmutableMerkleTree;
+import org.svarm.node.api.MerkleTree;
+import org.svarm.node.model.TenantTableIdentifier;
+
+/**
+ * Keeps a Merkle tree per table and location hash range that has been asked for. A leaf is the XOR of the digests of
+ * (id, timestamp) for the entries in it, so it can be rebuilt in any order. The leaf is picked from the hash of the
+ * entry id, which is the same on every replica, while the location hash only decides which tree the entry is in. The
+ * location hash is the top of the same id hash, so the leaf uses the low bits, which stay spread within a range.
+ *
+ * <p>Writes only mark the leaf dirty. The next request for the tree reads the versions of the range once and
+ * recomputes the dirty leaves and the inner nodes, so a write costs a hash and a bit set.
+ *
+ * <p>The ranges are picked by the callers, so each table keeps a bounded number of trees, and a tree not asked for
+ * in a while is dropped. A dropped tree is rebuilt in full when next asked for.
+ */
+@Singleton
+public class MerkleTreeEngine {
+
+  /**
+   * How many low bits of the id hash pick the leaf.
+   */
+  public static final int LEAF_BITS = 8;
+
+  /**
+   * How many leaves each tree has.
+   */
+  public static final int LEAVES = 1 << LEAF_BITS;
+
+  /**
+   * How many trees each table keeps.
+   */
+  public static final int MAX_TREES_PER_TABLE = 1024;
+
+  /**
+   * How long a tree is kept after it was last asked for.
+   */
+  public static final Duration TREE_EXPIRY = Duration.ofHours(1);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MerkleTreeEngine.class);
+  private static final HashFunction DIGEST = Hashing.murmur3_128();
+
+  private final HashingEngine hashingEngine;
+  private final Map<TenantTableIdentifier, Cache<Long, Tree>> trees = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param hashingEngine to hash the entry ids the same way the proxy does.
+   */
+  @Inject
+  public MerkleTreeEngine(final HashingEngine hashingEngine) {
+    this.hashingEngine = hashingEngine;
+    LOGGER.info("MerkleTreeEngine({})", hashingEngine);
+  }
+
+  /**
+   * The leaf the entry belongs in.
+   *
+   * @param id of the entry.
+   * @return the leaf, zero based.
+   */
+  public int leaf(final String id) {
+    return hashingEngine.murmur3Fast(id) & (LEAVES - 1);
+  }
+
+  /**
+   * Marks the leaf of a written entry dirty in the trees that cover its location hash.
+   *
+   * @param identifier   the table.
+   * @param id           of the entry.
+   * @param locationHash where the entry is stored.
+   */
+  public void mark(final TenantTableIdentifier identifier, final String id, final int locationHash) {
+    final Cache<Long, Tree> tableTrees = trees.get(identifier);
+    if (tableTrees == null) {
+      return;
+    }
+    final int leaf = leaf(id);
+    tableTrees.asMap().values().stream()
+        .filter(tree -> tree.covers(locationHash))
+        .forEach(tree -> tree.mark(leaf));
+  }
+
+  /**
+   * Marks the leaf of a deleted entry dirty in every tree of the table, as the location hash is not known.
+   *
+   * @param identifier the table.
+   * @param id         of the entry.
+   */
+  public void mark(final TenantTableIdentifier identifier, final String id) {
+    final Cache<Long, Tree> tableTrees = trees.get(identifier);
+    if (tableTrees == null) {
+      return;
+    }
+    final int leaf = leaf(id);
+    tableTrees.asMap().values().forEach(tree -> tree.mark(leaf));
+  }
+
+  /**
+   * Drops the trees of the table. They are rebuilt in full when next asked for.
+   *
+   * @param identifier the table.
+   */
+  public void invalidate(final TenantTableIdentifier identifier) {
+    LOGGER.trace("invalidate({})", identifier);
+    trees.remove(identifier);
+  }
+
+  /**
+   * Returns the tree for the range, recomputing the dirty leaves first.
+   *
+   * @param identifier the table.
+   * @param hashLow    lowest location hash, inclusive.
+   * @param hashHigh   highest location hash, inclusive.
+   * @param versions   reads the entry versions in the range. Only called if a leaf is dirty.
+   * @return the tree.
+   */
+  public MerkleTree tree(final TenantTableIdentifier identifier,
+                         final int hashLow,
+                         final int hashHigh,
+                         final Supplier<Map<String, Long>> versions) {
+    LOGGER.trace("tree({},{},{})", identifier, hashLow, hashHigh);
+    final Tree tree = trees.computeIfAbsent(identifier, k -> newTableTrees()).asMap()
+        .computeIfAbsent(key(hashLow, hashHigh), k -> new Tree(hashLow, hashHigh));
+    final BitSet dirty = tree.takeDirty();
+    if (!dirty.isEmpty()) {
+      try {
+        tree.rebuild(dirty, digests(dirty, versions.get()));
+      } catch (RuntimeException e) {
+        tree.mark(dirty);
+        throw e;
+      }
+    }
+    return ImmutableMerkleTree.builder()
+        .hashLow(hashLow)
+        .hashHigh(hashHigh)
+        .nodes(Longs.asList(tree.nodes()))
+        .build();
+  }
+
+  /**
+   * The versions that belong in the leaves, grouped by leaf. Leaves with no versions are left out.
+   *
+   * @param leaves   the leaves, zero based.
+   * @param versions of the range.
+   * @return map of leaf to the versions in it.
+   */
+  public Map<Integer, Map<String, Long>> leafVersions(final Collection<Integer> leaves,
+                                                      final Map<String, Long> versions) {
+    final BitSet wanted = new BitSet(LEAVES);
+    leaves.forEach(wanted::set);
+    final Map<Integer, Map<String, Long>> result = new HashMap<>();
+    versions.forEach((id, timestamp) -> {
+      final int leaf = leaf(id);
+      if (wanted.get(leaf)) {
+        result.computeIfAbsent(leaf, k -> new HashMap<>()).put(id, timestamp);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Compares two trees from the root down and returns the leaves that differ. Identical subtrees are skipped.
+   *
+   * @param local  one tree.
+   * @param remote the other tree.
+   * @return the differing leaves, zero based.
+   */
+  public List<Integer> differingLeaves(final MerkleTree local, final MerkleTree remote) {
+    final List<Long> localNodes = local.nodes();
+    final List<Long> remoteNodes = remote.nodes();
+    if (localNodes.size() != 2 * LEAVES || remoteNodes.size() != 2 * LEAVES) {
+      throw new IllegalArgumentException("Trees must have " + LEAVES + " leaves");
+    }
+    final List<Integer> result = new ArrayList<>();
+    final Deque<Integer> pending = new ArrayDeque<>();
+    pending.push(1);
+    while (!pending.isEmpty()) {
+      final int index = pending.pop();
+      if (localNodes.get(index).equals(remoteNodes.get(index))) {
+        continue;
+      }
+      if (index >= LEAVES) {
+        result.add(index - LEAVES);
+      } else {
+        pending.push(2 * index + 1);
+        pending.push(2 * index);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Folds the trees of two ranges into one. A leaf is the XOR of its entry digests, so the leaves of two ranges with
+   * no entries in common fold into the leaves of both.
+   *
+   * @param one   tree of a range.
+   * @param other tree of another range.
+   * @return the tree of both, with the range of the first.
+   */
+  public MerkleTree fold(final MerkleTree one, final MerkleTree other) {
+    final List<Long> oneNodes = one.nodes();
+    final List<Long> otherNodes = other.nodes();
+    if (oneNodes.size() != 2 * LEAVES || otherNodes.size() != 2 * LEAVES) {
+      throw new IllegalArgumentException("Trees must have " + LEAVES + " leaves");
+    }
+    final long[] nodes = new long[2 * LEAVES];
+    for (int i = LEAVES; i < 2 * LEAVES; i++) {
+      nodes[i] = oneNodes.get(i) ^ otherNodes.get(i);
+    }
+    combineInnerNodes(nodes);
+    return ImmutableMerkleTree.builder()
+        .hashLow(one.hashLow())
+        .hashHigh(one.hashHigh())
+        .nodes(Longs.asList(nodes))
+        .build();
+  }
+
+  private static Cache<Long, Tree> newTableTrees() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(MAX_TREES_PER_TABLE)
+        .expireAfterAccess(TREE_EXPIRY)
+        .build();
+  }
+
+  private long[] digests(final BitSet dirty, final Map<String, Long> versions) {
+    final long[] leaves = new long[LEAVES];
+    versions.forEach((id, timestamp) -> {
+      final int leaf = leaf(id);
+      if (dirty.get(leaf)) {
+        leaves[leaf] ^= DIGEST.newHasher()
+            .putString(id, StandardCharsets.UTF_8)
+            .putLong(timestamp)
+            .hash().asLong();
+      }
+    });
+    return leaves;
+  }
+
+  private static long key(final int hashLow, final int hashHigh) {
+    return ((long) hashLow << Integer.SIZE) | (hashHigh & 0xFFFFFFFFL);
+  }
+
+  private static void combineInnerNodes(final long[] nodes) {
+    for (int i = LEAVES - 1; i > 0; i--) {
+      nodes[i] = combine(nodes[2 * i], nodes[2 * i + 1]);
+    }
+  }
+
+  private static long combine(final long left, final long right) {
+    long result = Long.rotateLeft(left, 1) ^ right;
+    result = (result ^ (result >>> 30)) * 0xBF58476D1CE4E5B9L;
+    result = (result ^ (result >>> 27)) * 0x94D049BB133111EBL;
+    return result ^ (result >>> 31);
+  }
+
+  /**
+   * One tree. The dirty leaves are taken before the versions are read, so a write that lands during a rebuild marks
+   * its leaf again and is picked up next time.
+   */
+  private static class Tree {
+
+    private final int hashLow;
+    private final int hashHigh;
+    private final long[] nodes = new long[2 * LEAVES];
+    private final BitSet dirty = new BitSet(LEAVES);
+
+    private Tree(final int hashLow, final int hashHigh) {
+      this.hashLow = hashLow;
+      this.hashHigh = hashHigh;
+      dirty.set(0, LEAVES);
+    }
+
+    private boolean covers(final int hash) {
+      return hash >= hashLow && hash <= hashHigh;
+    }
+
+    private synchronized void mark(final int leaf) {
+      dirty.set(leaf);
+    }
+
+    private synchronized void mark(final BitSet leaves) {
+      dirty.or(leaves);
+    }
+
+    private synchronized BitSet takeDirty() {
+      final BitSet result = (BitSet) dirty.clone();
+      dirty.clear();
+      return result;
+    }
+
+    private synchronized void rebuild(final BitSet leaves, final long[] digests) {
+      leaves.stream().forEach(leaf -> nodes[LEAVES + leaf] = digests[leaf]);
+      combineInnerNodes(nodes);
+    }
+
+    private synchronized long[] nodes() {
+      return nodes.clone();
+    }
+  }
+}
@@ -16,8 +16,11 @@
 
 package org.svarm.node.engine;
 
+import java.util.Map;
 import java.util.Optional;
 import org.svarm.node.api.EntryInfo;
+import org.svarm.node.api.RawEntryInfo;
+import org.svarm.node.model.StreamingEntryInfo;
 import org.svarm.node.model.TenantTable;
 
 /**
@@ -34,6 +37,25 @@ public interface TableDefinitionEngine {
    */
   Optional<EntryInfo> read(TenantTable tenantTable, String entity);
 
+  /**
+   * Reads the entity from the table with its data already encoded, without building the JsonNode.
+   *
+   * @param tenantTable table to read from.
+   * @param entity      the entity id.
+   * @return a RawEntryInfo if found.
+   */
+  Optional<RawEntryInfo> readRaw(TenantTable tenantTable, String entity);
+
+  /**
+   * Reads the entity from the table for a response. The data is written from storage when the response is sent, so
+   * the JsonNode is only built if asked for.
+   *
+   * @param tenantTable table to read from.
+   * @param entity      the entity id.
+   * @return a StreamingEntryInfo if found.
+   */
+  Optional<StreamingEntryInfo> readStreaming(TenantTable tenantTable, String entity);
+
   /**
    * Writes the entity to the table.
    *
@@ -58,4 +80,15 @@ public interface TableDefinitionEngine {
    * @return int number of tombstones cleared.
    */
   int clearTombstones(TenantTable tenantTable);
+
+  /**
+   * The versions of the live entries stored in the location hash range. Entries that only have tombstones left are
+   * not included.
+   *
+   * @param tenantTable table to read from.
+   * @param hashLow     lowest location hash, inclusive.
+   * @param hashHigh    highest location hash, inclusive.
+   * @return map of entry id to its timestamp.
+   */
+  Map<String, Long> versions(TenantTable tenantTable, int hashLow, int hashHigh);
 }
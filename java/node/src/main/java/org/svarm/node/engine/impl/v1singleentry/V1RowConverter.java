@@ -3,8 +3,15 @@ package org.svarm.node.engine.impl.v1singleentry;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BigIntegerNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.NumericNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableList;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -12,28 +19,36 @@ import org.slf4j.Logger;
 import org.svarm.common.engine.JsonEngine;
 import org.svarm.node.api.EntryInfo;
 import org.svarm.node.api.ImmutableEntryInfo;
+import org.svarm.node.api.RawEntryInfo;
+import org.svarm.node.converter.RawEntryInfoConverter;
+import org.svarm.node.model.StreamingEntryInfo;
 
 /**
  * Converts between rows and json.
  */
 @Singleton
 public class V1RowConverter {
-  private static final String INTEGER_TYPE = "INTEGER";
-  private static final String STRING_TYPE = "STRING";
+  static final String INTEGER_TYPE = "INTEGER";
+  static final String STRING_TYPE = "STRING";
+  private static final int LONG_DIGITS = 18; // any integer this short fits in a long.
 
   private static final Logger LOGGER = getLogger(V1RowConverter.class);
 
   private final JsonEngine jsonEngine;
+  private final RawEntryInfoConverter rawEntryInfoConverter;
 
   /**
    * Constructor.
    *
-   * @param jsonEngine for reading/writing json.
+   * @param jsonEngine            for reading/writing json.
+   * @param rawEntryInfoConverter for encoding raw reads.
    */
   @Inject
-  public V1RowConverter(final JsonEngine jsonEngine) {
+  public V1RowConverter(final JsonEngine jsonEngine,
+                        final RawEntryInfoConverter rawEntryInfoConverter) {
     this.jsonEngine = jsonEngine;
-    LOGGER.info("V1RowConverter({})", jsonEngine);
+    this.rawEntryInfoConverter = rawEntryInfoConverter;
+    LOGGER.info("V1RowConverter({},{})", jsonEngine, rawEntryInfoConverter);
   }
 
   /**
@@ -53,7 +68,7 @@ public class V1RowConverter {
         builder.locationHash(row.hash());
         builder.timestamp(row.timestamp());
         switch (row.cDataType()) {
-          case INTEGER_TYPE -> node.put(row.cCol(), Integer.valueOf(data));
+          case INTEGER_TYPE -> node.set(row.cCol(), number(data));
           case STRING_TYPE -> node.put(row.cCol(), data);
           default -> throw new IllegalArgumentException("Unknown type: " + row.cDataType());
         }
@@ -63,6 +78,77 @@ public class V1RowConverter {
     return builder.build();
   }
 
+  /**
+   * Converts a list of rows to a raw entry info. The data is encoded straight from the rows, without building a tree.
+   *
+   * @param list of rows.
+   * @return the raw entry info.
+   */
+  public RawEntryInfo toRawEntryInfo(final List<V1Row> list) {
+    LOGGER.trace("toRawEntryInfo({})", list.size());
+    final List<V1Row> live = live(list);
+    final V1Row last = live.get(live.size() - 1);
+    return rawEntryInfoConverter.from(last.id(), last.hash(), last.timestamp(), new V1RowData(live));
+  }
+
+  /**
+   * Converts a list of rows to an entry info for a response. The data is written straight from the rows when the
+   * response is sent; the tree is only built if something asks for it.
+   *
+   * @param list of rows.
+   * @return the entry info.
+   */
+  public StreamingEntryInfo toStreamingEntryInfo(final List<V1Row> list) {
+    LOGGER.trace("toStreamingEntryInfo({})", list.size());
+    final List<V1Row> live = live(list);
+    final V1Row last = live.get(live.size() - 1);
+    final long bytes = live.stream()
+        .mapToLong(row -> row.cCol().length() + row.cData().orElseThrow().length())
+        .sum();
+    return new StreamingEntryInfo(last.id(), last.hash(), last.timestamp(), new V1RowData(live), bytes,
+        () -> toEntryInfo(live).data());
+  }
+
+  /**
+   * The rows that still hold data, with their types checked.
+   *
+   * @param list of rows.
+   * @return the live rows.
+   */
+  private List<V1Row> live(final List<V1Row> list) {
+    final List<V1Row> live = list.stream().filter(row -> row.cData().isPresent()).toList();
+    if (live.isEmpty()) {
+      throw new IllegalArgumentException("No live rows for entry");
+    }
+    for (V1Row row : live) {
+      if (!INTEGER_TYPE.equals(row.cDataType()) && !STRING_TYPE.equals(row.cDataType())) {
+        throw new IllegalArgumentException("Unknown type: " + row.cDataType());
+      }
+    }
+    return live;
+  }
+
+  /**
+   * Reads a stored number. Every JSON number is stored as its text, so this accepts whole numbers of any size and
+   * decimals, returning the smallest node that holds the value. Both the tree and the streamed reads use this, so they
+   * always agree.
+   *
+   * @param data the stored text.
+   * @return the number.
+   * @throws NumberFormatException (an IllegalArgumentException) if the text is not a number.
+   */
+  static NumericNode number(final String data) {
+    if (data.indexOf('.') >= 0 || data.indexOf('e') >= 0 || data.indexOf('E') >= 0) {
+      return DecimalNode.valueOf(new BigDecimal(data));
+    }
+    if (data.length() <= LONG_DIGITS) {
+      final long value = Long.parseLong(data);
+      return value == (int) value ? IntNode.valueOf((int) value) : LongNode.valueOf(value);
+    }
+    final BigInteger value = new BigInteger(data);
+    return value.bitLength() < Long.SIZE ? LongNode.valueOf(value.longValue()) : BigIntegerNode.valueOf(value);
+  }
+
   /**
    * Converts an entryInfo to a list of rows.
    *
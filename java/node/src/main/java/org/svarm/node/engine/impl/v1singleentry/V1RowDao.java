@@ -2,6 +2,9 @@ package org.svarm.node.engine.impl.v1singleentry;
 
 
 import java.util.List;
+import java.util.Map;
+import org.jdbi.v3.sqlobject.config.KeyColumn;
+import org.jdbi.v3.sqlobject.config.ValueColumn;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindPojo;
 import org.jdbi.v3.sqlobject.statement.SqlBatch;
@@ -60,13 +63,26 @@ public interface V1RowDao extends Transactional<V1RowDao> {
   @SqlQuery("select * from TENANT_DATA where hash between :hashLow and :hashHigh order by hash")
   List<V1Row> read(@Bind("hashLow") Integer hashLow, @Bind("hashHigh") Integer hashHigh);
 
+  /**
+   * The newest timestamp of each live entry in the hash range. Tombstoned columns have no data and are skipped.
+   *
+   * @param hashLow  the hash low
+   * @param hashHigh the hash high
+   * @return map of entry id to timestamp.
+   */
+  @SqlQuery("select ID, max(TIMESTAMP) as LATEST from TENANT_DATA "
+      + "where HASH between :hashLow and :hashHigh and C_DATA is not null group by ID")
+  @KeyColumn("ID")
+  @ValueColumn("LATEST")
+  Map<String, Long> versions(@Bind("hashLow") Integer hashLow, @Bind("hashHigh") Integer hashHigh);
+
   /**
    * Read list.
    *
    * @param id the entry id.
    * @return the list
    */
-  @SqlQuery("select * from TENANT_DATA where id = :id")
+  @SqlQuery("select * from TENANT_DATA where id = :id order by C_COL")
   List<V1Row> readEntry(@Bind("id") String id);
 
   /**
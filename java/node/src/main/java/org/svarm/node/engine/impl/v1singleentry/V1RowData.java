@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.engine.impl.v1singleentry;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The data of an entry, written from its rows as they were stored. Numbers are read the same way the tree read does,
+ * so both paths write the same value. Used for raw reads and streamed responses, so no tree is built for them.
+ */
+class V1RowData extends JsonSerializable.Base {
+
+  private final List<V1Row> rows;
+
+  /**
+   * Constructor.
+   *
+   * @param rows the live rows of the entry, with their types already checked.
+   */
+  V1RowData(final List<V1Row> rows) {
+    this.rows = rows;
+  }
+
+  @Override
+  public void serialize(final JsonGenerator gen, final SerializerProvider serializers) throws IOException {
+    gen.writeStartObject();
+    for (V1Row row : rows) {
+      gen.writeFieldName(row.cCol());
+      final String data = row.cData().orElseThrow();
+      if (V1RowConverter.INTEGER_TYPE.equals(row.cDataType())) {
+        V1RowConverter.number(data).serialize(gen, serializers);
+      } else {
+        gen.writeString(data);
+      }
+    }
+    gen.writeEndObject();
+  }
+
+  @Override
+  public void serializeWithType(final JsonGenerator gen,
+                                final SerializerProvider serializers,
+                                final TypeSerializer typeSer) throws IOException {
+    serialize(gen, serializers); // entry data never carries type information.
+  }
+
+  @Override
+  public String toString() {
+    return "V1RowData{" + rows.size() + " columns}"; // Do NOT log the data.
+  }
+}
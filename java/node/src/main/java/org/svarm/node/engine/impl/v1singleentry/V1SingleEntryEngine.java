@@ -29,10 +29,12 @@ import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.svarm.node.api.EntryInfo;
+import org.svarm.node.api.RawEntryInfo;
 import org.svarm.node.engine.TableDefinitionEngine;
 import org.svarm.node.manager.TenantTableJdbiManager;
 import org.svarm.node.model.DataStoreActions;
 import org.svarm.node.model.ImmutableDataStoreActions;
+import org.svarm.node.model.StreamingEntryInfo;
 import org.svarm.node.model.TenantTable;
 import org.svarm.node.model.TombstoneConfiguration;
 
@@ -87,6 +89,44 @@ public class V1SingleEntryEngine implements TableDefinitionEngine {
     }
   }
 
+  /**
+   * Reads the entity from the table, encoding the data straight from the rows.
+   *
+   * @param tenantTable table to read from.
+   * @param entity      the entity id.
+   * @return an entry if found.
+   */
+  @Override
+  public Optional<RawEntryInfo> readRaw(final TenantTable tenantTable, final String entity) {
+    LOGGER.trace("readRaw({},{})", tenantTable, entity);
+    final List<V1Row> rows = dataSourceManager.getV1RowDao(tenantTable)
+        .readEntry(entity);
+    if (rows.isEmpty()) {
+      return Optional.empty();
+    } else {
+      return Optional.of(converter.toRawEntryInfo(rows));
+    }
+  }
+
+  /**
+   * Reads the entity from the table for a response, writing the data straight from the rows.
+   *
+   * @param tenantTable table to read from.
+   * @param entity      the entity id.
+   * @return an entry if found.
+   */
+  @Override
+  public Optional<StreamingEntryInfo> readStreaming(final TenantTable tenantTable, final String entity) {
+    LOGGER.trace("readStreaming({},{})", tenantTable, entity);
+    final List<V1Row> rows = dataSourceManager.getV1RowDao(tenantTable)
+        .readEntry(entity);
+    if (rows.isEmpty()) {
+      return Optional.empty();
+    } else {
+      return Optional.of(converter.toStreamingEntryInfo(rows));
+    }
+  }
+
   /**
    * Writes the entity to the table.
    *
@@ -177,5 +217,11 @@ public class V1SingleEntryEngine implements TableDefinitionEngine {
     return count;
   }
 
+  @Override
+  public Map<String, Long> versions(final TenantTable tenantTable, final int hashLow, final int hashHigh) {
+    LOGGER.trace("versions({},{},{})", tenantTable, hashLow, hashHigh);
+    return dataSourceManager.getV1RowDao(tenantTable).versions(hashLow, hashHigh);
+  }
+
 
 }
@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.manager;
+
+import com.codeheadsystems.metrics.Metrics;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import io.dropwizard.lifecycle.Managed;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.svarm.common.config.api.ImmutableTenantResource;
+import org.svarm.common.config.api.NodeRange;
+import org.svarm.common.config.api.TenantResource;
+import org.svarm.common.config.api.TenantResourceRange;
+import org.svarm.common.config.engine.NodeConfigurationEngine;
+import org.svarm.common.engine.RingEngine;
+import org.svarm.common.util.ShutdownUtility;
+import org.svarm.node.NodeConfiguration;
+import org.svarm.node.api.EntryInfo;
+import org.svarm.node.api.ImmutableEntryInfo;
+import org.svarm.node.api.MerkleTree;
+import org.svarm.node.api.NodeTenantTableEntryService;
+import org.svarm.node.api.NodeTenantTableRepairService;
+import org.svarm.node.dao.TenantDao;
+import org.svarm.node.engine.MerkleTreeEngine;
+import org.svarm.node.javaclient.factory.NodeServiceFactory;
+import org.svarm.node.model.ImmutableRepairSegment;
+import org.svarm.node.model.NodeInternalConfiguration;
+import org.svarm.node.model.RepairSegment;
+import org.svarm.node.model.TenantTableIdentifier;
+
+/**
+ * Anti-entropy repair. For each range this node owns, the other replicas of the same entries are one replication
+ * step away on the ring, in both directions. The Merkle trees of the two ranges are compared, and only the leaves
+ * that differ have their entry versions fetched. Entries the peer has a newer version of are read from the peer
+ * and written here. Every node pulls, so changes spread to all replicas. A node joining a resource uses the same
+ * steps to backfill the ranges it takes over from their current owners.
+ *
+ * <p>Like the proxy's placement, a node stores one copy of an entry even when more than one of its replica positions
+ * land on it, at the first of them. Those ranges are folded together before they are compared.
+ */
+@Singleton
+public class AntiEntropyManager implements Managed {
+
+  /**
+   * Same replication factor the proxy writes with.
+   */
+  static final int REPLICATION_FACTOR = 3;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AntiEntropyManager.class);
+  private static final int BATCH_SIZE = 100;
+
+  private final String uuid;
+  private final TenantDao tenantDao;
+  private final TenantTableManager tenantTableManager;
+  private final TenantTableEntryManager tenantTableEntryManager;
+  private final NodeConfigurationEngine nodeConfigurationEngine;
+  private final MerkleTreeEngine merkleTreeEngine;
+  private final RingEngine ringEngine;
+  private final Metrics metrics;
+  private final LoadingCache<String, NodeTenantTableRepairService> repairServices;
+  private final LoadingCache<String, NodeTenantTableEntryService> entryServices;
+  private final int repairSeconds;
+  private final boolean copyMissing;
+  private final long replicationStep;
+  private final ScheduledExecutorService scheduler;
+  private final Map<TenantTableIdentifier, Runnable> catchUps = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param internalConfiguration   to get the uuid.
+   * @param nodeConfiguration       for the repair interval.
+   * @param tenantDao               to find the tenants.
+   * @param tenantTableManager      to find the tables.
+   * @param tenantTableEntryManager to read and write the local entries.
+   * @param nodeConfigurationEngine to read the ranges of a table.
+   * @param merkleTreeEngine        to compare trees.
+   * @param ringEngine              to place repaired entries.
+   * @param nodeServiceFactory      to talk to the peers.
+   * @param metrics                 for metrics.
+   */
+  @Inject
+  public AntiEntropyManager(final NodeInternalConfiguration internalConfiguration,
+                            final NodeConfiguration nodeConfiguration,
+                            final TenantDao tenantDao,
+                            final TenantTableManager tenantTableManager,
+                            final TenantTableEntryManager tenantTableEntryManager,
+                            final NodeConfigurationEngine nodeConfigurationEngine,
+                            final MerkleTreeEngine merkleTreeEngine,
+                            final RingEngine ringEngine,
+                            final NodeServiceFactory nodeServiceFactory,
+                            final Metrics metrics) {
+    this.uuid = internalConfiguration.uuid();
+    this.tenantDao = tenantDao;
+    this.tenantTableManager = tenantTableManager;
+    this.tenantTableEntryManager = tenantTableEntryManager;
+    this.nodeConfigurationEngine = nodeConfigurationEngine;
+    this.merkleTreeEngine = merkleTreeEngine;
+    this.ringEngine = ringEngine;
+    this.metrics = metrics;
+    this.repairServices = CacheBuilder.newBuilder().maximumSize(100)
+        .build(CacheLoader.from(nodeServiceFactory::repairService));
+    this.entryServices = CacheBuilder.newBuilder().maximumSize(100)
+        .build(CacheLoader.from(nodeServiceFactory::nodeService));
+    this.repairSeconds = nodeConfiguration.getAntiEntropyRepairSeconds();
+    this.copyMissing = nodeConfiguration.isAntiEntropyCopyMissing();
+    this.replicationStep = ringEngine.replicationStep(REPLICATION_FACTOR);
+    this.scheduler = Executors.newSingleThreadScheduledExecutor();
+    LOGGER.info("AntiEntropyManager({},{},{})", uuid, repairSeconds, copyMissing);
+  }
+
+  @Override
+  public void start() throws Exception {
+    LOGGER.info("start()");
+    if (repairSeconds <= 0) {
+      LOGGER.info("Anti-entropy repair is off");
+      return;
+    }
+    scheduler.scheduleWithFixedDelay(this::repair, repairSeconds, repairSeconds, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void stop() throws Exception {
+    LOGGER.info("stop()");
+    ShutdownUtility.shutdown(LOGGER, "Anti-entropy scheduler", scheduler);
+  }
+
+  /**
+   * Repairs every table on this node. Failures are logged and retried on the next run.
+   */
+  public void repair() {
+    LOGGER.trace("repair()");
+    tenantDao.allTenants().forEach(tenant ->
+        tenantTableManager.tables(tenant).forEach(table -> {
+          final TenantTableIdentifier identifier = TenantTableIdentifier.from(tenant, table);
+          try {
+            repair(identifier);
+          } catch (RuntimeException e) {
+            LOGGER.warn("repair({}): failed: {}", identifier, e.getMessage());
+            metrics.increment("AntiEntropyManager.failure");
+          }
+        }));
+  }
+
+  /**
+   * Repairs one table against the other replicas.
+   *
+   * @param identifier the table.
+   */
+  public void repair(final TenantTableIdentifier identifier) {
+    LOGGER.trace("repair({})", identifier);
+    final Optional<TenantResourceRange> range = readTenantResourceRange(identifier);
+    if (range.isEmpty()) {
+      LOGGER.trace("repair({}): no ranges", identifier);
+      return;
+    }
+    final NavigableMap<Integer, String> owners = owners(range.get());
+    segments(range.get()).forEach(segment -> repair(identifier, segment, copyMissing, owners));
+  }
+
+  /**
+   * Copies the ranges this node is taking over from the nodes that own them now. Called by a node joining a
+   * resource before it reports ready, so the proxies never switch over to a node that is missing the data. The
+   * owners are kept for {@link #catchUp(TenantTableIdentifier)}.
+   *
+   * @param identifier the table.
+   * @param tokens     the low hashes of the ranges this node will own.
+   */
+  public void backfill(final TenantTableIdentifier identifier, final List<Integer> tokens) {
+    LOGGER.info("backfill({},{})", identifier, tokens);
+    final Optional<TenantResourceRange> range = readTenantResourceRange(identifier);
+    if (range.isEmpty()) {
+      LOGGER.info("backfill({}): no ranges, nothing to copy", identifier);
+      return;
+    }
+    final Runnable copy = () -> copy(identifier, range.get(), tokens);
+    copy.run();
+    catchUps.put(identifier, copy);
+    metrics.increment("AntiEntropyManager.backfill");
+  }
+
+  /**
+   * Copies again from the owners the last backfill of the table used, picking up what they took in while this node
+   * was joining. Called once the proxies switched over to this node, so nothing written to the previous owners is
+   * missed. The ranges from before the switch are used, as the current ones already point at this node. Does
+   * nothing if the table was not backfilled since this node started.
+   *
+   * @param identifier the table.
+   */
+  public void catchUp(final TenantTableIdentifier identifier) {
+    final Runnable copy = catchUps.get(identifier);
+    if (copy == null) {
+      LOGGER.trace("catchUp({}): no backfill to catch up", identifier);
+      return;
+    }
+    LOGGER.info("catchUp({})", identifier);
+    copy.run();
+    catchUps.remove(identifier, copy); // kept on failure, so the next switch over tries again.
+    metrics.increment("AntiEntropyManager.catchUp");
+  }
+
+  private void copy(final TenantTableIdentifier identifier,
+                    final TenantResourceRange range,
+                    final List<Integer> tokens) {
+    final NavigableMap<Integer, String> owners = owners(range);
+    tokens.forEach(token -> owners.put(token, uuid)); // where the entries will be once this node is ready.
+    backfillSegments(range, tokens).forEach(segment -> repair(identifier, segment, true, owners));
+  }
+
+  private static NavigableMap<Integer, String> owners(final TenantResourceRange range) {
+    final NavigableMap<Integer, String> owners = new TreeMap<>();
+    range.hashToNodeRange().forEach((hash, nodeRange) -> owners.put(hash, nodeRange.uuid()));
+    return owners;
+  }
+
+  private Optional<TenantResourceRange> readTenantResourceRange(final TenantTableIdentifier identifier) {
+    final TenantResource tenantResource = ImmutableTenantResource.builder()
+        .tenant(identifier.tenantId()).resource(identifier.tableName()).build();
+    return nodeConfigurationEngine.readTenantResourceRange(tenantResource);
+  }
+
+  /**
+   * Lines up the ranges this node will own with the current owners. The current ranges are the ones the proxies
+   * use, so the owner of a token is the node whose range it falls in. Each copied range ends where the next current
+   * range or the next token of this node starts.
+   *
+   * @param range  of the table, as the proxies see it.
+   * @param tokens the low hashes of the ranges this node will own.
+   * @return the segments to copy.
+   */
+  @VisibleForTesting
+  List<RepairSegment> backfillSegments(final TenantResourceRange range, final List<Integer> tokens) {
+    final NavigableMap<Integer, NodeRange> ring = new TreeMap<>(range.hashToNodeRange());
+    final NavigableSet<Integer> owned = new TreeSet<>(tokens);
+    final ImmutableList.Builder<RepairSegment> builder = ImmutableList.builder();
+    if (ring.isEmpty()) {
+      return builder.build();
+    }
+    for (Integer token : owned) {
+      final Map.Entry<Integer, NodeRange> owner = Optional.ofNullable(ring.floorEntry(token))
+          .orElseGet(ring::lastEntry); // wraps around the ring.
+      if (owner.getValue().uuid().equals(uuid)) {
+        continue;
+      }
+      final Integer ringNext = ring.higherKey(token);
+      final Integer ownedNext = owned.higher(token);
+      final long high = Math.min(
+          ringNext == null ? Integer.MAX_VALUE : ringNext - 1L,
+          ownedNext == null ? Integer.MAX_VALUE : ownedNext - 1L);
+      builder.add(ImmutableRepairSegment.builder()
+          .hashLow(token)
+          .hashHigh((int) high)
+          .peer(owner.getValue())
+          .peerHashLow(token)
+          .peerHashHigh((int) high)
+          .build());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Lines up the ranges this node owns with the ranges one replication step away on either side. A range is split
+   * where the shifted range, or the third replica position, crosses from one node to the next. Ranges that line up
+   * with this node are skipped. When the third position is on this node or the peer as well, it is folded into that
+   * side, and only the forward step is kept as the backward step compares the same entries.
+   *
+   * @param range of the table.
+   * @return the segments to compare.
+   */
+  @VisibleForTesting
+  List<RepairSegment> segments(final TenantResourceRange range) {
+    final NavigableMap<Integer, NodeRange> ring = new TreeMap<>(range.hashToNodeRange());
+    final ImmutableList.Builder<RepairSegment> builder = ImmutableList.builder();
+    ring.forEach((low, nodeRange) -> {
+      if (!nodeRange.uuid().equals(uuid)) {
+        return;
+      }
+      final Integer next = ring.higherKey(low);
+      final long high = next == null ? Integer.MAX_VALUE : next - 1L;
+      for (long shift : new long[]{replicationStep, -replicationStep}) {
+        long current = low;
+        while (current <= high) {
+          final int peerLow = (int) (current + shift); // wraps around the ring.
+          final int thirdLow = (int) (current - shift);
+          final NodeRange peer = owner(ring, peerLow);
+          final String thirdUuid = owner(ring, thirdLow).uuid();
+          final long length = Math.min(high - current,
+              Math.min(end(ring, peerLow) - peerLow, end(ring, thirdLow) - thirdLow));
+          final boolean foldMine = thirdUuid.equals(uuid);
+          final boolean foldPeer = thirdUuid.equals(peer.uuid());
+          if (!peer.uuid().equals(uuid) && (shift > 0 || !(foldMine || foldPeer))) {
+            final ImmutableRepairSegment.Builder segment = ImmutableRepairSegment.builder()
+                .hashLow((int) current)
+                .hashHigh((int) (current + length))
+                .peer(peer)
+                .peerHashLow(peerLow)
+                .peerHashHigh((int) (peerLow + length));
+            if (foldMine) {
+              segment.foldHashLow(thirdLow).foldHashHigh((int) (thirdLow + length));
+            } else if (foldPeer) {
+              segment.peerFoldHashLow(thirdLow).peerFoldHashHigh((int) (thirdLow + length));
+            }
+            builder.add(segment.build());
+          }
+          current += length + 1;
+        }
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * The value of the range the hash falls in. Below the first range is the last range.
+   */
+  private static <T> T owner(final NavigableMap<Integer, T> ring, final int hash) {
+    return Optional.ofNullable(ring.floorEntry(hash)).orElseGet(ring::lastEntry).getValue();
+  }
+
+  /**
+   * The last hash of the range the hash falls in.
+   */
+  private static long end(final NavigableMap<Integer, ?> ring, final int hash) {
+    final Integer next = ring.higherKey(hash);
+    return next == null ? Integer.MAX_VALUE : next - 1L;
+  }
+
+  private void repair(final TenantTableIdentifier identifier,
+                      final RepairSegment segment,
+                      final boolean copyMissing,
+                      final NavigableMap<Integer, String> owners) {
+    LOGGER.trace("repair({},{},{})", identifier, segment, copyMissing);
+    final String tenant = identifier.tenantId();
+    final String table = identifier.tableName();
+    final NodeTenantTableRepairService repairService = repairServices.getUnchecked(segment.peer().uri());
+    MerkleTree local = tenantTableEntryManager.merkleTree(identifier, segment.hashLow(), segment.hashHigh());
+    if (segment.foldHashLow().isPresent()) {
+      local = merkleTreeEngine.fold(local, tenantTableEntryManager.merkleTree(
+          identifier, segment.foldHashLow().orElseThrow(), segment.foldHashHigh().orElseThrow()));
+    }
+    MerkleTree remote = repairService.merkleTree(tenant, table, segment.peerHashLow(), segment.peerHashHigh());
+    if (segment.peerFoldHashLow().isPresent()) {
+      remote = merkleTreeEngine.fold(remote, repairService.merkleTree(
+          tenant, table, segment.peerFoldHashLow().orElseThrow(), segment.peerFoldHashHigh().orElseThrow()));
+    }
+    final List<Integer> leaves = merkleTreeEngine.differingLeaves(local, remote);
+    if (leaves.isEmpty()) {
+      metrics.increment("AntiEntropyManager.inSync");
+      return;
+    }
+    leaves.forEach(leaf -> metrics.increment("AntiEntropyManager.leafMismatch"));
+    final Map<Integer, Map<String, Long>> mine = new HashMap<>(tenantTableEntryManager.merkleLeaves(
+        identifier, leaves, segment.hashLow(), segment.hashHigh()));
+    segment.foldHashLow().ifPresent(foldLow -> merge(mine, tenantTableEntryManager.merkleLeaves(
+        identifier, leaves, foldLow, segment.foldHashHigh().orElseThrow())));
+    final Map<Integer, Map<String, Long>> theirs = new HashMap<>(repairService.merkleLeaves(
+        tenant, table, leaves, segment.peerHashLow(), segment.peerHashHigh()));
+    segment.peerFoldHashLow().ifPresent(foldLow -> merge(theirs, repairService.merkleLeaves(
+        tenant, table, leaves, foldLow, segment.peerFoldHashHigh().orElseThrow())));
+    final List<String> wanted = new ArrayList<>();
+    theirs.forEach((leaf, versions) -> {
+      final Map<String, Long> mineInLeaf = mine.getOrDefault(leaf, Map.of());
+      versions.forEach((id, timestamp) -> {
+        final Long version = mineInLeaf.get(id);
+        if (version == null ? copyMissing : version < timestamp) {
+          wanted.add(id);
+        }
+      });
+    });
+    LOGGER.debug("repair({},{}): {} leaves differ, {} entries to copy", identifier, segment, leaves.size(),
+        wanted.size());
+    final NodeTenantTableEntryService entryService = entryServices.getUnchecked(segment.peer().uri());
+    for (List<String> batch : Lists.partition(wanted, BATCH_SIZE)) {
+      final List<EntryInfo> entries = entryService.readTenantTableEntries(tenant, table, batch).stream()
+          .map(entryInfo -> relocate(entryInfo, segment, owners))
+          .flatMap(Optional::stream)
+          .toList();
+      tenantTableEntryManager.writeAll(identifier, entries);
+      entries.forEach(entryInfo -> metrics.increment("AntiEntropyManager.repaired"));
+    }
+  }
+
+  /**
+   * Leaves of the two ranges of a folded side. An entry is stored once per node, so the ids do not overlap.
+   */
+  private static void merge(final Map<Integer, Map<String, Long>> into,
+                            final Map<Integer, Map<String, Long>> from) {
+    from.forEach((leaf, versions) -> into.merge(leaf, versions, (one, other) -> {
+      final Map<String, Long> result = new HashMap<>(one);
+      result.putAll(other);
+      return result;
+    }));
+  }
+
+  /**
+   * The peer stores the entry at its own location hash. Finds where this node stores it, which is the first of the
+   * replica locations this node owns, and keeps it if that is in the segment.
+   */
+  private Optional<EntryInfo> relocate(final EntryInfo entryInfo,
+                                       final RepairSegment segment,
+                                       final NavigableMap<Integer, String> owners) {
+    final int[] locationHashes = new int[REPLICATION_FACTOR];
+    ringEngine.locationHashes(entryInfo.id(), locationHashes);
+    for (int locationHash : locationHashes) {
+      if (!owner(owners, locationHash).equals(uuid)) {
+        continue;
+      }
+      if (contains(segment.hashLow(), segment.hashHigh(), locationHash)
+          || (segment.foldHashLow().isPresent()
+          && contains(segment.foldHashLow().orElseThrow(), segment.foldHashHigh().orElseThrow(), locationHash))) {
+        return Optional.of(ImmutableEntryInfo.copyOf(entryInfo).withLocationHash(locationHash));
+      }
+      break;
+    }
+    LOGGER.debug("relocate({}): not in {}", entryInfo.id(), segment);
+    return Optional.empty();
+  }
+
+  private static boolean contains(final int low, final int high, final int hash) {
+    return hash >= low && hash <= high;
+  }
+}
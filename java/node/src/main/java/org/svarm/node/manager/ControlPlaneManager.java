@@ -17,6 +17,7 @@
 package org.svarm.node.manager;
 
 import io.dropwizard.lifecycle.Managed;
+import org.svarm.control.common.api.NodeLoad;
 import org.svarm.node.model.TenantTableIdentifier;
 
 /**
@@ -60,4 +61,11 @@ public interface ControlPlaneManager extends Managed {
    */
   void delete(TenantTableIdentifier identifier);
 
+  /**
+   * Reports the load of this node to the control plane.
+   *
+   * @param nodeLoad the load.
+   */
+  void load(NodeLoad nodeLoad);
+
 }
@@ -22,23 +22,33 @@ import static org.svarm.common.config.api.MetaData.ACTION_REBALANCE;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.dropwizard.lifecycle.Managed;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
+import org.svarm.common.config.api.MetaData;
 import org.svarm.common.config.api.NodeTenantResourceRange;
 import org.svarm.common.config.api.TenantResource;
 import org.svarm.common.config.converter.NodeTenantResourceRangeConverter;
 import org.svarm.common.config.engine.Event;
+import org.svarm.common.config.engine.NodeConfigurationEngine;
+import org.svarm.common.config.engine.NodeResources;
 import org.svarm.common.config.engine.WatchEngine;
 import org.svarm.common.config.factory.WatchEngineFactory;
 import org.svarm.datastore.common.TableDefinition;
+import org.svarm.node.NodeConfiguration;
 import org.svarm.node.model.ImmutableTenantTableIdentifier;
 import org.svarm.node.model.NodeInternalConfiguration;
 import org.svarm.node.model.TenantTable;
 import org.svarm.node.model.TenantTableIdentifier;
 
 /**
- * This class manages the control plane watcher. Which is how we get directions of what to do.
+ * This class manages the control plane watcher. Which is how we get directions of what to do. On start the
+ * current assignments are read in one go and the watch picks up right after that read, so nothing made while
+ * the node was down is missed and nothing is handled twice.
  */
 @Singleton
 public class ControlPlaneWatcherManager implements Managed {
@@ -50,6 +60,9 @@ public class ControlPlaneWatcherManager implements Managed {
   private final TenantTableManager tenantTableManager;
   private final NodeTenantResourceRangeConverter nodeTenantResourceRangeConverter;
   private final ControlPlaneManager controlPlaneManager;
+  private final AntiEntropyManager antiEntropyManager;
+  private final NodeConfigurationEngine nodeConfigurationEngine;
+  private final int startupThreads;
   private volatile WatchEngine engine;
 
   /**
@@ -60,18 +73,27 @@ public class ControlPlaneWatcherManager implements Managed {
    * @param tenantTableManager               to create tenant tables.
    * @param nodeTenantResourceRangeConverter to convert into tenant tables.
    * @param controlPlaneManager              for enablement.
+   * @param nodeConfigurationEngine          to read the current assignments.
+   * @param nodeConfiguration                for the startup thread count.
+   * @param antiEntropyManager               to backfill ranges taken over in a rebalance.
    */
   @Inject
   public ControlPlaneWatcherManager(final NodeInternalConfiguration configuration,
                                     final WatchEngineFactory factory,
                                     final TenantTableManager tenantTableManager,
                                     final NodeTenantResourceRangeConverter nodeTenantResourceRangeConverter,
-                                    final ControlPlaneManager controlPlaneManager) {
+                                    final ControlPlaneManager controlPlaneManager,
+                                    final NodeConfigurationEngine nodeConfigurationEngine,
+                                    final NodeConfiguration nodeConfiguration,
+                                    final AntiEntropyManager antiEntropyManager) {
     this.tenantTableManager = tenantTableManager;
     this.watchEngineFactory = factory;
     this.uuid = configuration.uuid();
     this.nodeTenantResourceRangeConverter = nodeTenantResourceRangeConverter;
     this.controlPlaneManager = controlPlaneManager;
+    this.nodeConfigurationEngine = nodeConfigurationEngine;
+    this.antiEntropyManager = antiEntropyManager;
+    this.startupThreads = nodeConfiguration.getStartupThreads();
     LOGGER.info("ControlPlaneWatcherManager({},{})", factory, tenantTableManager);
   }
 
@@ -94,11 +116,14 @@ public class ControlPlaneWatcherManager implements Managed {
 
   private void handlePutEvent(final String key, final String value) {
     LOGGER.trace("handlePutEvent({},{})", key, value);
-    final NodeTenantResourceRange range = nodeTenantResourceRangeConverter.fromKeyValue(key, value);
+    handleRange(nodeTenantResourceRangeConverter.fromKeyValue(key, value));
+  }
+
+  private void handleRange(final NodeTenantResourceRange range) {
     range.metaData().action().ifPresentOrElse(action -> {
       switch (action) {
         case (ACTION_DELETE) -> handleDelete(range);
-        case (ACTION_REBALANCE) -> LOGGER.warn("REBALACING not implemented."); // TODO: Implement.
+        case (ACTION_REBALANCE) -> handleRebalance(range);
         default -> LOGGER.warn("Not configured to handle other actions: {} : {}", action, range);
         // TODO: Metric failure pls.
       }
@@ -118,28 +143,74 @@ public class ControlPlaneWatcherManager implements Managed {
     controlPlaneManager.delete(identifier); // self healing
   }
 
+  /**
+   * This node is joining an existing resource. The table is created, the ranges it takes over are copied from
+   * their current owners, and only then is it reported ready. The control plane switches the proxies over to the
+   * new ranges once every joining node has done the same. If the copy fails the node stays not ready, and the
+   * rebalance is picked up again on the next start. Once the proxies switched, the control plane rewrites the range
+   * without the action, and {@link #handleNewTable(NodeTenantResourceRange)} copies what the previous owners took in
+   * meanwhile.
+   */
+  private void handleRebalance(final NodeTenantResourceRange range) {
+    LOGGER.info("handleRebalance({})", range);
+    final TenantTableIdentifier identifier = createTable(range);
+    final MetaData metaData = range.metaData();
+    antiEntropyManager.backfill(identifier,
+        metaData.hashes().isEmpty() ? List.of(metaData.hash()) : metaData.hashes());
+    controlPlaneManager.enable(identifier);
+  }
+
   private void handleNewTable(final NodeTenantResourceRange range) {
     LOGGER.info("handleNewTable({})", range);
+    final TenantTableIdentifier identifier = createTable(range);
+    antiEntropyManager.catchUp(identifier); // only does something when the range was rebalanced onto this node.
+    controlPlaneManager.enable(identifier);
+  }
+
+  private TenantTableIdentifier createTable(final NodeTenantResourceRange range) {
     final TenantResource tenantResource = range.nodeTenantResource().tenantResource();
     final TenantTableIdentifier identifier = ImmutableTenantTableIdentifier.builder()
         .tenantId(tenantResource.tenant()).tableName(tenantResource.resource()).build();
     // TODO: Get this table definition from the request!
     final TenantTable tenantTable = tenantTableManager.create(identifier, TableDefinition.V1SingleEntryEngine);
-    controlPlaneManager.enable(identifier);
-    LOGGER.info("handleNewTable({}) : {}", range, tenantTable);
+    LOGGER.info("createTable({}) : {}", range, tenantTable);
+    return identifier;
   }
 
   @Override
   public void start() throws Exception {
     if (engine == null) {
       LOGGER.info("start()");
-      engine = watchEngineFactory.watchEngine("node", uuid, this::handle);
-      // TODO: after we start watching, read what we have and handle those entries one by one.
+      final NodeResources nodeResources = nodeConfigurationEngine.readNodeResourcesWithRevision(uuid);
+      LOGGER.info("start(): {} resources at revision {}", nodeResources.ranges().size(), nodeResources.revision());
+      handleAll(nodeResources.ranges());
+      engine = watchEngineFactory.watchEngine("node", uuid, nodeResources.revision() + 1, this::handle);
     } else {
       LOGGER.warn("start(): already have an engine");
     }
   }
 
+  /**
+   * Handles the ranges in parallel, waiting for all of them. A failure is logged and does not stop the others.
+   */
+  private void handleAll(final List<NodeTenantResourceRange> ranges) {
+    if (ranges.isEmpty()) {
+      return;
+    }
+    final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(startupThreads, ranges.size()));
+    try {
+      CompletableFuture.allOf(ranges.stream()
+          .map(range -> CompletableFuture.runAsync(() -> handleRange(range), executorService)
+              .exceptionally(throwable -> {
+                LOGGER.error("Unable to handle {} on start", range, throwable);
+                return null;
+              }))
+          .toArray(CompletableFuture[]::new)).join();
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
   @Override
   public void stop() throws Exception {
     if (engine != null) {
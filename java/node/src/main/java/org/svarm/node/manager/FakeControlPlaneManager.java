@@ -23,6 +23,7 @@ import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.svarm.common.crypt.CryptUtils;
+import org.svarm.control.common.api.NodeLoad;
 import org.svarm.node.model.NodeInternalConfiguration;
 import org.svarm.node.model.TenantTableIdentifier;
 
@@ -90,4 +91,9 @@ public class FakeControlPlaneManager implements ControlPlaneManager {
   public void delete(final TenantTableIdentifier identifier) {
     // Nothing to do.
   }
+
+  @Override
+  public void load(final NodeLoad nodeLoad) {
+    // Nothing to do.
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.manager;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.lifecycle.Managed;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.svarm.common.util.ShutdownUtility;
+import org.svarm.control.common.api.ImmutableNodeLoad;
+import org.svarm.control.common.api.NodeLoad;
+import org.svarm.node.NodeConfiguration;
+import org.svarm.node.engine.HashBucketCounterEngine;
+import org.svarm.node.resource.TenantTableEntryResource;
+
+/**
+ * Periodically reports the load of this node to the control plane, so new resources land on the least loaded nodes.
+ * Disk usage is the size of the database directory, and the request rate is the one minute rate of the entry
+ * resource timers. Each report also carries the per hash bucket traffic since the last one, so the control plane
+ * can split hot ranges.
+ */
+@Singleton
+public class NodeLoadManager implements Managed {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NodeLoadManager.class);
+  private static final String ENTRY_TIMER_PREFIX = TenantTableEntryResource.class.getName() + ".";
+
+  private final ControlPlaneManager controlPlaneManager;
+  private final MetricRegistry metricRegistry;
+  private final HashBucketCounterEngine hashBucketCounterEngine;
+  private final Optional<Path> databaseDirectory;
+  private final int loadReportSeconds;
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * Constructor.
+   *
+   * @param controlPlaneManager     to report to.
+   * @param metricRegistry          where the request timers live.
+   * @param nodeConfiguration       for the database directory and the report interval.
+   * @param hashBucketCounterEngine for the per hash bucket traffic.
+   */
+  @Inject
+  public NodeLoadManager(final ControlPlaneManager controlPlaneManager,
+                         final MetricRegistry metricRegistry,
+                         final NodeConfiguration nodeConfiguration,
+                         final HashBucketCounterEngine hashBucketCounterEngine) {
+    this.controlPlaneManager = controlPlaneManager;
+    this.metricRegistry = metricRegistry;
+    this.hashBucketCounterEngine = hashBucketCounterEngine;
+    this.databaseDirectory = Optional.ofNullable(nodeConfiguration.getDatabaseDirectory()).map(Paths::get);
+    this.loadReportSeconds = nodeConfiguration.getLoadReportSeconds();
+    this.scheduler = Executors.newSingleThreadScheduledExecutor();
+    LOGGER.info("NodeLoadManager({},{},{})", controlPlaneManager, databaseDirectory, loadReportSeconds);
+  }
+
+  @Override
+  public void start() throws Exception {
+    LOGGER.info("start()");
+    scheduler.scheduleAtFixedRate(this::report, loadReportSeconds, loadReportSeconds, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void stop() throws Exception {
+    LOGGER.info("stop()");
+    ShutdownUtility.shutdown(LOGGER, "Load report scheduler", scheduler);
+  }
+
+  /**
+   * Sends the current load. Failures are logged and retried on the next run.
+   */
+  public void report() {
+    LOGGER.trace("report()");
+    try {
+      controlPlaneManager.load(nodeLoad());
+    } catch (RuntimeException e) {
+      LOGGER.warn("report(): Unable to report load: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * The current load of the node. Drains the hash bucket counts.
+   *
+   * @return the load.
+   */
+  public NodeLoad nodeLoad() {
+    final double requestRate = metricRegistry.getTimers((name, metric) -> name.startsWith(ENTRY_TIMER_PREFIX))
+        .values().stream()
+        .mapToDouble(Timer::getOneMinuteRate)
+        .sum();
+    return ImmutableNodeLoad.builder()
+        .diskUsedBytes(databaseDirectory.map(this::diskUsedBytes).orElse(0L))
+        .requestRate(requestRate)
+        .resources(hashBucketCounterEngine.drain())
+        .build();
+  }
+
+  private long diskUsedBytes(final Path directory) {
+    if (!Files.isDirectory(directory)) {
+      return 0L;
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      return paths.filter(Files::isRegularFile).mapToLong(this::size).sum();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private long size(final Path path) {
+    try {
+      return Files.size(path);
+    } catch (IOException e) {
+      return 0L; // the file went away while walking.
+    }
+  }
+}
@@ -21,18 +21,22 @@ import static org.slf4j.LoggerFactory.getLogger;
 import com.codeheadsystems.metrics.Metrics;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
+import org.svarm.control.common.api.NodeBootstrap;
 import org.svarm.control.common.api.NodeInfo;
+import org.svarm.control.common.api.NodeLoad;
 import org.svarm.node.NodeConfiguration;
 import org.svarm.node.accessor.ControlAccessor;
 import org.svarm.node.model.NodeInternalConfiguration;
 import org.svarm.node.model.TenantTableIdentifier;
 
 /**
- * Manager for the control plane.
+ * Manager for the control plane. Tenant keys never change, so they are kept for the life of the process.
  */
 @Singleton
 public class RealControlPlaneManager implements ControlPlaneManager {
@@ -45,6 +49,8 @@ public class RealControlPlaneManager implements ControlPlaneManager {
   private final String host;
   private final Integer port;
   private final String uri;
+  private final Optional<String> zone;
+  private final Map<String, String> tenantKeys;
 
   /**
    * Constructor.
@@ -71,6 +77,8 @@ public class RealControlPlaneManager implements ControlPlaneManager {
     }
     this.port = nodeConfiguration.getNodePort();
     this.uri = String.format("%s://%s:%d", nodeConfiguration.getNodeScheme(), host, port);
+    this.zone = Optional.ofNullable(nodeConfiguration.getNodeZone());
+    this.tenantKeys = new ConcurrentHashMap<>();
     LOGGER.info("RealControlPlaneManager({},{},{},{})", nodeUuid, controlAccessor, this.host, port);
   }
 
@@ -94,7 +102,7 @@ public class RealControlPlaneManager implements ControlPlaneManager {
         return true;
       } // we are enabled. If it was not enabled, we will force enablement below.
     } else { // not present, better register.
-      controlAccessor.register(nodeUuid, uri);
+      controlAccessor.register(nodeUuid, uri, zone);
     }
     controlAccessor.enable(nodeUuid);
     final String newStatus = controlAccessor.status(nodeUuid)
@@ -106,10 +114,12 @@ public class RealControlPlaneManager implements ControlPlaneManager {
   public String keyForNode() {
     LOGGER.trace("keyForNode()");
     return metrics.time("RealControlPlaneManager.keyForNode", () -> {
-      if (!verifyRegistration()) {
+      final NodeBootstrap bootstrap = controlAccessor.bootstrap(nodeUuid, uri, zone);
+      if (!NodeInfo.Status.ENABLED.name().equals(bootstrap.nodeInfo().status())) {
         throw new IllegalStateException("Unable to verify registration");
       }
-      return controlAccessor.keyForNode(nodeUuid);
+      bootstrap.tenantKeys().forEach((tenantId, keyInfo) -> tenantKeys.put(tenantId, keyInfo.key()));
+      return bootstrap.nodeKey().key();
     });
   }
 
@@ -117,7 +127,7 @@ public class RealControlPlaneManager implements ControlPlaneManager {
   public String keyForTenant(final String tenantId) {
     LOGGER.trace("keyForTenant({})", tenantId);
     return metrics.time("RealControlPlaneManager.keyForTenant",
-        () -> controlAccessor.keyForResource(nodeUuid, tenantId));
+        () -> tenantKeys.computeIfAbsent(tenantId, id -> controlAccessor.keyForResource(nodeUuid, id)));
   }
 
   @Override
@@ -140,9 +150,15 @@ public class RealControlPlaneManager implements ControlPlaneManager {
         });
   }
 
+  @Override
+  public void load(final NodeLoad nodeLoad) {
+    LOGGER.trace("load({})", nodeLoad);
+    controlAccessor.load(nodeUuid, nodeLoad);
+  }
+
   @Override
   public void start() throws Exception {
     LOGGER.trace("start()");
-    controlAccessor.register(nodeUuid, uri);
+    controlAccessor.register(nodeUuid, uri, zone);
   }
 }
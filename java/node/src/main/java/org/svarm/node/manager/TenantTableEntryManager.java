@@ -16,6 +16,8 @@
 
 package org.svarm.node.manager;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import javax.inject.Inject;
@@ -24,7 +26,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.svarm.datastore.common.TableDefinition;
 import org.svarm.node.api.EntryInfo;
+import org.svarm.node.api.MerkleTree;
+import org.svarm.node.api.RawEntryInfo;
+import org.svarm.node.engine.HashBucketCounterEngine;
+import org.svarm.node.engine.MerkleTreeEngine;
 import org.svarm.node.engine.TableDefinitionEngine;
+import org.svarm.node.model.StreamingEntryInfo;
 import org.svarm.node.model.TenantTable;
 import org.svarm.node.model.TenantTableIdentifier;
 import org.svarm.server.exception.NotFoundException;
@@ -39,19 +46,27 @@ public class TenantTableEntryManager {
 
   private final Map<TableDefinition, TableDefinitionEngine> tableDefinitionEngineMap;
   private final TenantTableManager tenantTableManager;
+  private final HashBucketCounterEngine hashBucketCounterEngine;
+  private final MerkleTreeEngine merkleTreeEngine;
 
   /**
    * Constructor.
    *
    * @param tableDefinitionEngineMap the map of who does the hard work.
    * @param tenantTableManager       to get the tenant table.
+   * @param hashBucketCounterEngine  to count traffic per hash bucket.
+   * @param merkleTreeEngine         to keep the repair trees up to date.
    */
   @Inject
   public TenantTableEntryManager(final Map<TableDefinition, TableDefinitionEngine> tableDefinitionEngineMap,
-                                 final TenantTableManager tenantTableManager) {
+                                 final TenantTableManager tenantTableManager,
+                                 final HashBucketCounterEngine hashBucketCounterEngine,
+                                 final MerkleTreeEngine merkleTreeEngine) {
     LOGGER.info("TenantTableEntryManager({},{})", tableDefinitionEngineMap, tenantTableManager);
     this.tableDefinitionEngineMap = tableDefinitionEngineMap;
     this.tenantTableManager = tenantTableManager;
+    this.hashBucketCounterEngine = hashBucketCounterEngine;
+    this.merkleTreeEngine = merkleTreeEngine;
   }
 
   /**
@@ -66,7 +81,45 @@ public class TenantTableEntryManager {
     LOGGER.trace("read({},{})", identifier, entity);
     final TenantTable tenantTable = tenantTableManager.get(identifier)
         .orElseThrow(() -> new NotFoundException("No such table:" + identifier));
-    return engine(tenantTable).read(tenantTable, entity);
+    final Optional<EntryInfo> result = engine(tenantTable).read(tenantTable, entity);
+    result.ifPresent(entryInfo -> hashBucketCounterEngine.record(identifier, entryInfo));
+    return result;
+  }
+
+  /**
+   * Reads the entry with its data already encoded.
+   *
+   * @param identifier of the table.
+   * @param entity     to read.
+   * @return the raw entry, if found.
+   */
+  public Optional<RawEntryInfo> readRaw(final TenantTableIdentifier identifier,
+                                        final String entity) {
+    LOGGER.trace("readRaw({},{})", identifier, entity);
+    final TenantTable tenantTable = tenantTableManager.get(identifier)
+        .orElseThrow(() -> new NotFoundException("No such table:" + identifier));
+    final Optional<RawEntryInfo> result = engine(tenantTable).readRaw(tenantTable, entity);
+    result.ifPresent(rawEntryInfo -> hashBucketCounterEngine.record(identifier, rawEntryInfo.locationHash(),
+        rawEntryInfo.data().bytes().length));
+    return result;
+  }
+
+  /**
+   * Reads the entry for a response, without building its data tree.
+   *
+   * @param identifier of the table.
+   * @param entity     to read.
+   * @return the entry, if found.
+   */
+  public Optional<StreamingEntryInfo> readStreaming(final TenantTableIdentifier identifier,
+                                                    final String entity) {
+    LOGGER.trace("readStreaming({},{})", identifier, entity);
+    final TenantTable tenantTable = tenantTableManager.get(identifier)
+        .orElseThrow(() -> new NotFoundException("No such table:" + identifier));
+    final Optional<StreamingEntryInfo> result = engine(tenantTable).readStreaming(tenantTable, entity);
+    result.ifPresent(entryInfo -> hashBucketCounterEngine.record(identifier, entryInfo.locationHash(),
+        entryInfo.estimatedBytes()));
+    return result;
   }
 
   /**
@@ -81,6 +134,8 @@ public class TenantTableEntryManager {
     final TenantTable tenantTable = tenantTableManager.get(identifier)
         .orElseThrow(() -> new NotFoundException("No such table:" + identifier));
     engine(tenantTable).write(tenantTable, entryInfo);
+    hashBucketCounterEngine.record(identifier, entryInfo);
+    merkleTreeEngine.mark(identifier, entryInfo.id(), entryInfo.locationHash());
   }
 
   /**
@@ -95,7 +150,67 @@ public class TenantTableEntryManager {
     LOGGER.trace("delete({},{})", identifier, entity);
     final TenantTable tenantTable = tenantTableManager.get(identifier)
         .orElseThrow(() -> new NotFoundException("No such table:" + identifier));
-    return engine(tenantTable).delete(tenantTable, entity);
+    final boolean result = engine(tenantTable).delete(tenantTable, entity);
+    merkleTreeEngine.mark(identifier, entity);
+    return result;
+  }
+
+  /**
+   * Reads many entries from the same table. Entries not found are left out.
+   *
+   * @param identifier of the table.
+   * @param entities   to read.
+   * @return the entries found.
+   */
+  public List<EntryInfo> readAll(final TenantTableIdentifier identifier,
+                                 final List<String> entities) {
+    LOGGER.trace("readAll({},{})", identifier, entities.size());
+    final TenantTable tenantTable = tenantTableManager.get(identifier)
+        .orElseThrow(() -> new NotFoundException("No such table:" + identifier));
+    final TableDefinitionEngine engine = engine(tenantTable);
+    final List<EntryInfo> result = entities.stream()
+        .map(entity -> engine.read(tenantTable, entity))
+        .flatMap(Optional::stream)
+        .toList();
+    result.forEach(entryInfo -> hashBucketCounterEngine.record(identifier, entryInfo));
+    return result;
+  }
+
+  /**
+   * Writes many entries to the same table.
+   *
+   * @param identifier of the table.
+   * @param entryInfos to write.
+   */
+  public void writeAll(final TenantTableIdentifier identifier,
+                       final List<EntryInfo> entryInfos) {
+    LOGGER.trace("writeAll({},{})", identifier, entryInfos.size());
+    final TenantTable tenantTable = tenantTableManager.get(identifier)
+        .orElseThrow(() -> new NotFoundException("No such table:" + identifier));
+    final TableDefinitionEngine engine = engine(tenantTable);
+    entryInfos.forEach(entryInfo -> {
+      engine.write(tenantTable, entryInfo);
+      hashBucketCounterEngine.record(identifier, entryInfo);
+      merkleTreeEngine.mark(identifier, entryInfo.id(), entryInfo.locationHash());
+    });
+  }
+
+  /**
+   * Deletes many entries from the same table.
+   *
+   * @param identifier of the table.
+   * @param entities   to delete.
+   */
+  public void deleteAll(final TenantTableIdentifier identifier,
+                        final List<String> entities) {
+    LOGGER.trace("deleteAll({},{})", identifier, entities.size());
+    final TenantTable tenantTable = tenantTableManager.get(identifier)
+        .orElseThrow(() -> new NotFoundException("No such table:" + identifier));
+    final TableDefinitionEngine engine = engine(tenantTable);
+    entities.forEach(entity -> {
+      engine.delete(tenantTable, entity);
+      merkleTreeEngine.mark(identifier, entity);
+    });
   }
 
   /**
@@ -110,6 +225,44 @@ public class TenantTableEntryManager {
     engine(tenantTable).clearTombstones(tenantTable);
   }
 
+  /**
+   * The Merkle tree of the entries stored in the location hash range.
+   *
+   * @param identifier of the table.
+   * @param hashLow    lowest location hash, inclusive.
+   * @param hashHigh   highest location hash, inclusive.
+   * @return the tree.
+   */
+  public MerkleTree merkleTree(final TenantTableIdentifier identifier,
+                               final int hashLow,
+                               final int hashHigh) {
+    LOGGER.trace("merkleTree({},{},{})", identifier, hashLow, hashHigh);
+    final TenantTable tenantTable = tenantTableManager.get(identifier)
+        .orElseThrow(() -> new NotFoundException("No such table:" + identifier));
+    return merkleTreeEngine.tree(identifier, hashLow, hashHigh,
+        () -> engine(tenantTable).versions(tenantTable, hashLow, hashHigh));
+  }
+
+  /**
+   * The versions of the entries in the leaves of the Merkle tree for the location hash range. The range is read
+   * once for all the leaves. Leaves are picked by the id hash, so they cannot be read as smaller hash ranges.
+   *
+   * @param identifier of the table.
+   * @param leaves     the leaves, zero based.
+   * @param hashLow    lowest location hash, inclusive.
+   * @param hashHigh   highest location hash, inclusive.
+   * @return map of leaf to the map of entry id to its timestamp.
+   */
+  public Map<Integer, Map<String, Long>> merkleLeaves(final TenantTableIdentifier identifier,
+                                                      final Collection<Integer> leaves,
+                                                      final int hashLow,
+                                                      final int hashHigh) {
+    LOGGER.trace("merkleLeaves({},{},{},{})", identifier, leaves.size(), hashLow, hashHigh);
+    final TenantTable tenantTable = tenantTableManager.get(identifier)
+        .orElseThrow(() -> new NotFoundException("No such table:" + identifier));
+    return merkleTreeEngine.leafVersions(leaves, engine(tenantTable).versions(tenantTable, hashLow, hashHigh));
+  }
+
   private TableDefinitionEngine engine(final TenantTable tenantTable) {
     final String tableVersion = tenantTable.tableVersion();
     LOGGER.trace("engine({})", tableVersion);
@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import org.svarm.common.crypt.AesGcmSivManager;
 import org.svarm.datastore.common.TableDefinition;
 import org.svarm.node.dao.TenantTableDao;
+import org.svarm.node.engine.MerkleTreeEngine;
 import org.svarm.node.engine.TableDefinitionEngine;
 import org.svarm.node.model.ImmutableTenantTable;
 import org.svarm.node.model.TenantTable;
@@ -52,6 +53,7 @@ public class TenantTableManager {
   private final LoadingCache<TenantTableIdentifier, TenantTable> tenantTableCacheLoader;
   private final TenantTableJdbiManager tenantTableJdbiManager;
   private final ExceptionUtils exceptionUtils;
+  private final MerkleTreeEngine merkleTreeEngine;
 
   /**
    * Default constructor.
@@ -62,6 +64,7 @@ public class TenantTableManager {
    * @param tableDefinitionEngineMap map of available engines.
    * @param tenantTableJdbiManager   to ensure the data source exists.
    * @param exceptionUtils           for exception processing.
+   * @param merkleTreeEngine         to drop the repair trees of deleted tables.
    */
   @Inject
   public TenantTableManager(final Metrics metrics,
@@ -69,9 +72,11 @@ public class TenantTableManager {
                             final AesGcmSivManager aesGcmSivManager,
                             final Map<TableDefinition, TableDefinitionEngine> tableDefinitionEngineMap,
                             final TenantTableJdbiManager tenantTableJdbiManager,
-                            final ExceptionUtils exceptionUtils) {
+                            final ExceptionUtils exceptionUtils,
+                            final MerkleTreeEngine merkleTreeEngine) {
     LOGGER.info("TenantManager({},{},{},{})", metrics, dao, aesGcmSivManager, tableDefinitionEngineMap);
     this.exceptionUtils = exceptionUtils;
+    this.merkleTreeEngine = merkleTreeEngine;
     this.tenantTableJdbiManager = tenantTableJdbiManager;
     this.metrics = metrics;
     this.dao = dao;
@@ -166,6 +171,7 @@ public class TenantTableManager {
           }
           dao.delete(identifier.tenantId(), identifier.tableName());
           tenantTableJdbiManager.deleteEverything(tenantTable.get());
+          merkleTreeEngine.invalidate(identifier);
           return true;
         });
   }
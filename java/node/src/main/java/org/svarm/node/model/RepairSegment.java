@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.model;
+
+import java.util.Optional;
+import org.immutables.value.Value;
+import org.svarm.common.config.api.NodeRange;
+
+/**
+ * Part of a range this node owns, lined up with the range on another node that holds the other replicas of the same
+ * entries. When the third replica position of the entries lands on one of the two nodes as well, that node stores
+ * one copy at whichever of its positions comes first, so its two ranges are folded together and compared as one.
+ */
+@Value.Immutable
+public interface RepairSegment {
+
+  /**
+   * Lowest location hash on this node, inclusive.
+   *
+   * @return value. integer
+   */
+  int hashLow();
+
+  /**
+   * Highest location hash on this node, inclusive.
+   *
+   * @return value. integer
+   */
+  int hashHigh();
+
+  /**
+   * The node holding the other replicas.
+   *
+   * @return value. node range
+   */
+  NodeRange peer();
+
+  /**
+   * Lowest location hash on the peer, inclusive.
+   *
+   * @return value. integer
+   */
+  int peerHashLow();
+
+  /**
+   * Highest location hash on the peer, inclusive.
+   *
+   * @return value. integer
+   */
+  int peerHashHigh();
+
+  /**
+   * Lowest location hash of the third replica position, inclusive, when it is on this node too.
+   *
+   * @return value. integer
+   */
+  Optional<Integer> foldHashLow();
+
+  /**
+   * Highest location hash of the third replica position, inclusive, when it is on this node too.
+   *
+   * @return value. integer
+   */
+  Optional<Integer> foldHashHigh();
+
+  /**
+   * Lowest location hash of the third replica position, inclusive, when it is on the peer too.
+   *
+   * @return value. integer
+   */
+  Optional<Integer> peerFoldHashLow();
+
+  /**
+   * Highest location hash of the third replica position, inclusive, when it is on the peer too.
+   *
+   * @return value. integer
+   */
+  Optional<Integer> peerFoldHashHigh();
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.svarm.node.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.google.common.base.Suppliers;
+import java.io.IOException;
+import java.util.function.Supplier;
+import org.svarm.node.api.EntryInfo;
+
+/**
+ * An entry read for a response. The data is written straight from storage when the response is sent, so no tree is
+ * built for it. Callers that ask for {@link #data()} still get the tree, built once on first use.
+ */
+public final class StreamingEntryInfo implements EntryInfo {
+
+  private final String id;
+  private final Integer locationHash;
+  private final Long timestamp;
+  private final JsonSerializable content;
+  private final long estimatedBytes;
+  private final Supplier<JsonNode> tree;
+
+  /**
+   * Constructor.
+   *
+   * @param id             of the entry.
+   * @param locationHash   of the entry.
+   * @param timestamp      of the entry.
+   * @param content        writes the data of the entry.
+   * @param estimatedBytes rough size of the data, for load tracking.
+   * @param tree           builds the data as a tree, if asked for.
+   */
+  public StreamingEntryInfo(final String id,
+                            final Integer locationHash,
+                            final Long timestamp,
+                            final JsonSerializable content,
+                            final long estimatedBytes,
+                            final Supplier<JsonNode> tree) {
+    this.id = id;
+    this.locationHash = locationHash;
+    this.timestamp = timestamp;
+    this.content = content;
+    this.estimatedBytes = estimatedBytes;
+    this.tree = Suppliers.memoize(tree::get);
+  }
+
+  @Override
+  public String id() {
+    return id;
+  }
+
+  @Override
+  public Integer locationHash() {
+    return locationHash;
+  }
+
+  @Override
+  public Long timestamp() {
+    return timestamp;
+  }
+
+  @Override
+  public JsonNode data() {
+    return tree.get();
+  }
+
+  /**
+   * Rough size of the data, without building the tree.
+   *
+   * @return the bytes.
+   */
+  public long estimatedBytes() {
+    return estimatedBytes;
+  }
+
+  /**
+   * Writes the entry with the same fields as {@link EntryInfo}, the data taken straight from storage.
+   *
+   * @param gen      to write to.
+   * @param provider for the data.
+   * @throws IOException if the write fails.
+   */
+  public void write(final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+    gen.writeStartObject();
+    gen.writeStringField("id", id);
+    gen.writeNumberField("locationHash", locationHash);
+    gen.writeNumberField("timestamp", timestamp);
+    gen.writeFieldName("data");
+    content.serialize(gen, provider);
+    gen.writeEndObject();
+  }
+
+  @Override
+  public String toString() {
+    return "StreamingEntryInfo{id=" + id + ", locationHash=" + locationHash + ", timestamp=" + timestamp + "}";
+  }
+}
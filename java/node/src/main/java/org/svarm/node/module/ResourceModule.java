@@ -20,13 +20,18 @@ import dagger.Binds;
 import dagger.Module;
 import dagger.multibindings.IntoSet;
 import io.dropwizard.lifecycle.Managed;
+import org.svarm.node.manager.AntiEntropyManager;
 import org.svarm.node.manager.ControlPlaneManager;
 import org.svarm.node.manager.ControlPlaneWatcherManager;
+import org.svarm.node.manager.NodeLoadManager;
 import org.svarm.node.manager.TombstoneManager;
+import org.svarm.node.resource.StreamingEntryInfoWriter;
 import org.svarm.node.resource.TenantResource;
 import org.svarm.node.resource.TenantTableEntryResource;
+import org.svarm.node.resource.TenantTableRepairResource;
 import org.svarm.node.resource.TenantTableResource;
 import org.svarm.server.resource.JerseyResource;
+import org.svarm.server.resource.SmileProvider;
 
 /**
  * List of resource implementations we support.
@@ -64,6 +69,36 @@ public interface ResourceModule {
   @IntoSet
   JerseyResource tenantTableEntryResource(TenantTableEntryResource resource);
 
+  /**
+   * Tenant table repair resource.
+   *
+   * @param resource the resource
+   * @return JerseyResource. jersey resource
+   */
+  @Binds
+  @IntoSet
+  JerseyResource tenantTableRepairResource(TenantTableRepairResource resource);
+
+  /**
+   * Smile bodies for the entry calls from the proxy.
+   *
+   * @param resource the provider
+   * @return JerseyResource. jersey resource
+   */
+  @Binds
+  @IntoSet
+  JerseyResource smileProvider(SmileProvider resource);
+
+  /**
+   * Writes entry reads straight from storage.
+   *
+   * @param resource the writer
+   * @return JerseyResource. jersey resource
+   */
+  @Binds
+  @IntoSet
+  JerseyResource streamingEntryInfoWriter(StreamingEntryInfoWriter resource);
+
   /**
    * Managed resource: control plane watcher.
    *
@@ -94,4 +129,24 @@ public interface ResourceModule {
   @IntoSet
   Managed tombstoneManager(TombstoneManager resource);
 
+  /**
+   * Managed resource: load reporting.
+   *
+   * @param resource node load manager.
+   * @return managed resources.
+   */
+  @Binds
+  @IntoSet
+  Managed nodeLoadManager(NodeLoadManager resource);
+
+  /**
+   * Managed resource: anti-entropy repair.
+   *
+   * @param resource anti-entropy manager.
+   * @return managed resources.
+   */
+  @Binds
+  @IntoSet
+  Managed antiEntropyManager(AntiEntropyManager resource);
+
 }
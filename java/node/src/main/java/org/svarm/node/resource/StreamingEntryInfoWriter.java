@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.svarm.node.resource;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.svarm.common.util.MediaTypes;
+import org.svarm.node.model.StreamingEntryInfo;
+import org.svarm.server.resource.JerseyResource;
+
+/**
+ * Writes entries read for a response as JSON or Smile, straight from storage. Only picked for
+ * {@link StreamingEntryInfo}; every other body still goes through the Jackson providers.
+ */
+@Singleton
+@Provider
+@Produces({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_SMILE})
+public class StreamingEntryInfoWriter implements MessageBodyWriter<StreamingEntryInfo>, JerseyResource {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StreamingEntryInfoWriter.class);
+  private static final MediaType SMILE = MediaType.valueOf(MediaTypes.APPLICATION_SMILE);
+
+  private final ObjectMapper jsonMapper;
+  private final ObjectMapper smileMapper;
+
+  /**
+   * Constructor.
+   *
+   * @param objectMapper the server object mapper.
+   */
+  @Inject
+  public StreamingEntryInfoWriter(final ObjectMapper objectMapper) {
+    LOGGER.info("StreamingEntryInfoWriter()");
+    this.jsonMapper = objectMapper;
+    this.smileMapper = objectMapper.copyWith(new SmileFactory());
+  }
+
+  @Override
+  public boolean isWriteable(final Class<?> type,
+                             final Type genericType,
+                             final Annotation[] annotations,
+                             final MediaType mediaType) {
+    return StreamingEntryInfo.class.isAssignableFrom(type);
+  }
+
+  @Override
+  public void writeTo(final StreamingEntryInfo entryInfo,
+                      final Class<?> type,
+                      final Type genericType,
+                      final Annotation[] annotations,
+                      final MediaType mediaType,
+                      final MultivaluedMap<String, Object> httpHeaders,
+                      final OutputStream entityStream) throws IOException {
+    final ObjectMapper mapper = SMILE.isCompatible(mediaType) ? smileMapper : jsonMapper;
+    // Not closed: the container owns the stream.
+    final JsonGenerator gen = mapper.getFactory().createGenerator(entityStream);
+    entryInfo.write(gen, mapper.getSerializerProviderInstance());
+    gen.flush();
+  }
+}
@@ -19,6 +19,7 @@ package org.svarm.node.resource;
 import com.codahale.metrics.annotation.ExceptionMetered;
 import com.codahale.metrics.annotation.ResponseMetered;
 import com.codahale.metrics.annotation.Timed;
+import java.util.List;
 import java.util.Optional;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -26,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.svarm.node.api.EntryInfo;
 import org.svarm.node.api.NodeTenantTableEntryService;
+import org.svarm.node.api.RawEntryInfo;
 import org.svarm.node.manager.TenantTableEntryManager;
 import org.svarm.node.model.TenantTableIdentifier;
 import org.svarm.server.exception.NotFoundException;
@@ -68,7 +70,27 @@ public class TenantTableEntryResource implements NodeTenantTableEntryService, Je
                                                   final String table,
                                                   final String entry) {
     LOGGER.debug("readTenantTableEntry({},{},{})", tenantId, table, entry);
-    return tenantTableEntryManager.read(TenantTableIdentifier.from(tenantId, table), entry);
+    return tenantTableEntryManager.readStreaming(TenantTableIdentifier.from(tenantId, table), entry)
+        .map(EntryInfo.class::cast);
+  }
+
+  /**
+   * Gets the entry with its data encoded and digested.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param entry    the entry.
+   * @return response.
+   */
+  @Timed
+  @ExceptionMetered
+  @ResponseMetered
+  @Override
+  public Optional<RawEntryInfo> readTenantTableEntryRaw(final String tenantId,
+                                                        final String table,
+                                                        final String entry) {
+    LOGGER.debug("readTenantTableEntryRaw({},{},{})", tenantId, table, entry);
+    return tenantTableEntryManager.readRaw(TenantTableIdentifier.from(tenantId, table), entry);
   }
 
   /**
@@ -111,4 +133,59 @@ public class TenantTableEntryResource implements NodeTenantTableEntryService, Je
     }
   }
 
+  /**
+   * Gets many entries.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param entries  the entries.
+   * @return the entries found.
+   */
+  @Timed
+  @ExceptionMetered
+  @ResponseMetered
+  @Override
+  public List<EntryInfo> readTenantTableEntries(final String tenantId,
+                                                final String table,
+                                                final List<String> entries) {
+    LOGGER.debug("readTenantTableEntries({},{},{})", tenantId, table, entries.size());
+    return tenantTableEntryManager.readAll(TenantTableIdentifier.from(tenantId, table), entries);
+  }
+
+  /**
+   * Create many tenant table entries.
+   *
+   * @param tenantId   that owns the table.
+   * @param table      the table.
+   * @param entryInfos the entries.
+   */
+  @Timed
+  @ExceptionMetered
+  @ResponseMetered
+  @Override
+  public void createTenantTableEntries(final String tenantId,
+                                       final String table,
+                                       final List<EntryInfo> entryInfos) { // Do NOT log this data!
+    LOGGER.debug("createTenantTableEntries({},{},{})", tenantId, table, entryInfos.size());
+    tenantTableEntryManager.writeAll(TenantTableIdentifier.from(tenantId, table), entryInfos);
+  }
+
+  /**
+   * Delete many tenant table entries.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param entries  to delete.
+   */
+  @Timed
+  @ExceptionMetered
+  @ResponseMetered
+  @Override
+  public void deleteTenantTableEntries(final String tenantId,
+                                       final String table,
+                                       final List<String> entries) {
+    LOGGER.debug("deleteTenantTableEntries({},{},{})", tenantId, table, entries.size());
+    tenantTableEntryManager.deleteAll(TenantTableIdentifier.from(tenantId, table), entries);
+  }
+
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.node.resource;
+
+import com.codahale.metrics.annotation.ExceptionMetered;
+import com.codahale.metrics.annotation.ResponseMetered;
+import com.codahale.metrics.annotation.Timed;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.svarm.node.api.MerkleTree;
+import org.svarm.node.api.NodeTenantTableRepairService;
+import org.svarm.node.manager.TenantTableEntryManager;
+import org.svarm.node.model.TenantTableIdentifier;
+import org.svarm.server.resource.JerseyResource;
+
+/**
+ * Resource for the repair requests between replicas. (Node to node)
+ */
+@Singleton
+public class TenantTableRepairResource implements NodeTenantTableRepairService, JerseyResource {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TenantTableRepairResource.class);
+
+  private final TenantTableEntryManager tenantTableEntryManager;
+
+  /**
+   * Default constructor.
+   *
+   * @param tenantTableEntryManager to manage the tenant table.
+   */
+  @Inject
+  public TenantTableRepairResource(final TenantTableEntryManager tenantTableEntryManager) {
+    LOGGER.info("TenantTableRepairResource({})", tenantTableEntryManager);
+    this.tenantTableEntryManager = tenantTableEntryManager;
+  }
+
+  /**
+   * Gets the Merkle tree for the entries stored in the hash range.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param hashLow  lowest location hash, inclusive.
+   * @param hashHigh highest location hash, inclusive.
+   * @return the tree.
+   */
+  @Timed
+  @ExceptionMetered
+  @ResponseMetered
+  @Override
+  public MerkleTree merkleTree(final String tenantId,
+                               final String table,
+                               final int hashLow,
+                               final int hashHigh) {
+    LOGGER.debug("merkleTree({},{},{},{})", tenantId, table, hashLow, hashHigh);
+    return tenantTableEntryManager.merkleTree(TenantTableIdentifier.from(tenantId, table), hashLow, hashHigh);
+  }
+
+  /**
+   * Gets the entry versions that make up the leaves of the tree, read in one pass over the range.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param leaves   the leaves, zero based.
+   * @param hashLow  lowest location hash, inclusive.
+   * @param hashHigh highest location hash, inclusive.
+   * @return map of leaf to the map of entry id to its timestamp.
+   */
+  @Timed
+  @ExceptionMetered
+  @ResponseMetered
+  @Override
+  public Map<Integer, Map<String, Long>> merkleLeaves(final String tenantId,
+                                                      final String table,
+                                                      final List<Integer> leaves,
+                                                      final int hashLow,
+                                                      final int hashHigh) {
+    LOGGER.debug("merkleLeaves({},{},{},{},{})", tenantId, table, leaves.size(), hashLow, hashHigh);
+    return tenantTableEntryManager.merkleLeaves(
+        TenantTableIdentifier.from(tenantId, table), leaves, hashLow, hashHigh);
+  }
+
+}
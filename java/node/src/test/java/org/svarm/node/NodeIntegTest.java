@@ -51,6 +51,7 @@ import org.svarm.node.api.ImmutableTableMetaData;
 import org.svarm.node.api.NodeTenantService;
 import org.svarm.node.api.NodeTenantTableEntryService;
 import org.svarm.node.api.NodeTenantTableService;
+import org.svarm.node.api.RawEntryInfo;
 import org.svarm.node.api.TableMetaData;
 import org.svarm.node.javaclient.NodeServiceComponent;
 
@@ -208,4 +209,25 @@ public class NodeIntegTest {
     NODE_TENANT.deleteTenant(tenant);
     assertThat(NODE_TENANT.listTenants()).doesNotContain(tenant);
   }
+
+  @Test
+  void readRaw() throws IOException {
+    final String tenant = "readRaw";
+    final String table = "tableName";
+    NODE_TENANT.createTenant(tenant);
+    NODE_TABLE.createTenantTable(tenant, table, TABLE_META_DATA);
+    final EntryInfo e1 = randomData(1).values().stream().findFirst().get();
+    NODE_ENTRY.createTenantTableEntry(tenant, table, e1.id(), e1);
+
+    final RawEntryInfo raw = NODE_ENTRY.readTenantTableEntryRaw(tenant, table, e1.id()).orElseThrow();
+
+    assertThat(raw.timestamp()).isEqualTo(e1.timestamp());
+    assertThat(raw.locationHash()).isEqualTo(e1.locationHash());
+    assertThat(OBJECT_MAPPER.readTree(raw.data().bytes())).isEqualTo(e1.data());
+    assertThat(NODE_ENTRY.readTenantTableEntryRaw(tenant, table, e1.id()))
+        .get().extracting(RawEntryInfo::digest).isEqualTo(raw.digest());
+
+    NODE_TABLE.deleteTenantTable(tenant, table);
+    NODE_TENANT.deleteTenant(tenant);
+  }
 }
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.when;
 
 import com.codeheadsystems.metrics.test.BaseMetricTest;
 import feign.FeignException;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,6 +32,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.svarm.control.common.api.ControlNodeService;
 import org.svarm.control.common.api.KeyInfo;
+import org.svarm.control.common.api.NodeBootstrap;
 import org.svarm.control.common.api.NodeInfo;
 import org.svarm.control.common.api.NodeMetaData;
 import org.svarm.node.model.ImmutableTenantTableIdentifier;
@@ -44,12 +46,14 @@ class ControlAccessorTest extends BaseMetricTest {
   private static final String HOST = "host";
   private static final int PORT = 90;
   private static final String URI = "uri";
+  private static final String ZONE = "zone";
   private static final String KEY = "KEY";
   private static final String TENANT = "tenant";
   private static final String TABLE = "table";
   @Mock private ControlNodeService controlNodeService;
   @Mock private NodeInfo nodeInfo;
   @Mock private KeyInfo keyInfo;
+  @Mock private NodeBootstrap nodeBootstrap;
   @Captor private ArgumentCaptor<String> stringArgumentCaptor;
   @Captor private ArgumentCaptor<NodeMetaData> metaDataArgumentCaptor;
 
@@ -103,11 +107,23 @@ class ControlAccessorTest extends BaseMetricTest {
 
   @Test
   void register() {
-    accessor.register(UUID, URI);
+    accessor.register(UUID, URI, Optional.of(ZONE));
     verify(controlNodeService).register(stringArgumentCaptor.capture(), metaDataArgumentCaptor.capture());
     assertThat(stringArgumentCaptor.getValue()).isEqualTo(UUID);
     assertThat(metaDataArgumentCaptor.getValue())
-        .hasFieldOrPropertyWithValue("uri", URI);
+        .hasFieldOrPropertyWithValue("uri", URI)
+        .hasFieldOrPropertyWithValue("zone", Optional.of(ZONE));
+  }
+
+  @Test
+  void bootstrap() {
+    when(controlNodeService.bootstrap(stringArgumentCaptor.capture(), metaDataArgumentCaptor.capture()))
+        .thenReturn(nodeBootstrap);
+    assertThat(accessor.bootstrap(UUID, URI, Optional.of(ZONE))).isEqualTo(nodeBootstrap);
+    assertThat(stringArgumentCaptor.getValue()).isEqualTo(UUID);
+    assertThat(metaDataArgumentCaptor.getValue())
+        .hasFieldOrPropertyWithValue("uri", URI)
+        .hasFieldOrPropertyWithValue("zone", Optional.of(ZONE));
   }
 
   @Test
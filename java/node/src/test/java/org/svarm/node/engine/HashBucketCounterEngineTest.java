@@ -0,0 +1,51 @@
+package org.svarm.node.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.svarm.control.common.api.TenantResourceLoad;
+import org.svarm.node.api.ImmutableEntryInfo;
+import org.svarm.node.model.TenantTableIdentifier;
+
+class HashBucketCounterEngineTest {
+
+  private static final TenantTableIdentifier IDENTIFIER = TenantTableIdentifier.from("tenant", "table");
+
+  private final HashBucketCounterEngine engine = new HashBucketCounterEngine();
+
+  @Test
+  void record_drain() {
+    engine.record(IDENTIFIER, Integer.MIN_VALUE, 10L);
+    engine.record(IDENTIFIER, Integer.MIN_VALUE + 1, 5L);
+    engine.record(IDENTIFIER, Integer.MAX_VALUE, 1L);
+
+    assertThat(engine.drain())
+        .singleElement()
+        .satisfies(load -> {
+          assertThat(load.tenant()).isEqualTo("tenant");
+          assertThat(load.resource()).isEqualTo("table");
+          assertThat(load.requests()).hasSize(TenantResourceLoad.BUCKETS);
+          assertThat(load.requests().get(0)).isEqualTo(2L);
+          assertThat(load.bytes().get(0)).isEqualTo(15L);
+          assertThat(load.requests().get(TenantResourceLoad.BUCKETS - 1)).isEqualTo(1L);
+          assertThat(load.requests().stream().mapToLong(Long::longValue).sum()).isEqualTo(3L);
+        });
+    assertThat(engine.drain()).isEmpty();
+  }
+
+  @Test
+  void record_entryInfo() {
+    engine.record(IDENTIFIER, ImmutableEntryInfo.builder()
+        .id("id").locationHash(0).timestamp(1L)
+        .data(new ObjectMapper().createObjectNode().put("name", "value").put("count", 1))
+        .build());
+
+    assertThat(engine.drain())
+        .singleElement()
+        .satisfies(load -> {
+          assertThat(load.requests().get(TenantResourceLoad.bucket(0))).isEqualTo(1L);
+          assertThat(load.bytes().get(TenantResourceLoad.bucket(0))).isEqualTo(4L + 5L + 5L + 8L);
+        });
+  }
+}
@@ -0,0 +1,120 @@
+package org.svarm.node.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.svarm.common.engine.HashingEngine;
+import org.svarm.node.api.MerkleTree;
+import org.svarm.node.model.TenantTableIdentifier;
+
+class MerkleTreeEngineTest {
+
+  private static final TenantTableIdentifier IDENTIFIER = TenantTableIdentifier.from("tenant", "table");
+
+  private final MerkleTreeEngine engine = new MerkleTreeEngine(new HashingEngine());
+
+  @Test
+  void tree_sameEntries_sameTree() {
+    final Map<String, Long> versions = Map.of("a", 1L, "b", 2L, "c", 3L);
+    final MerkleTree one = engine.tree(IDENTIFIER, 0, 10, () -> versions);
+    final MerkleTree two = engine.tree(TenantTableIdentifier.from("tenant", "other"), 20, 30, () -> versions);
+
+    assertThat(one.nodes()).hasSize(2 * MerkleTreeEngine.LEAVES).isEqualTo(two.nodes());
+    assertThat(engine.differingLeaves(one, two)).isEmpty();
+  }
+
+  @Test
+  void leaf_spreadWithinALocationRange() {
+    final HashingEngine hashingEngine = new HashingEngine();
+    final Set<Integer> leaves = IntStream.range(0, 100_000)
+        .mapToObj(i -> "id" + i)
+        .filter(id -> hashingEngine.murmur3Fast(id) >>> (Integer.SIZE - MerkleTreeEngine.LEAF_BITS) == 0)
+        .map(engine::leaf)
+        .collect(Collectors.toSet());
+
+    assertThat(leaves).hasSizeGreaterThan(MerkleTreeEngine.LEAVES / 2);
+  }
+
+  @Test
+  void fold_sameAsTheTreeOfBothRanges() {
+    final MerkleTree one = engine.tree(IDENTIFIER, 0, 10, () -> Map.of("a", 1L, "b", 2L));
+    final MerkleTree other = engine.tree(IDENTIFIER, 11, 20, () -> Map.of("c", 3L));
+    final MerkleTree both = engine.tree(IDENTIFIER, 0, 20, () -> Map.of("a", 1L, "b", 2L, "c", 3L));
+
+    assertThat(engine.fold(one, other))
+        .hasFieldOrPropertyWithValue("hashLow", 0)
+        .hasFieldOrPropertyWithValue("hashHigh", 10)
+        .extracting(MerkleTree::nodes)
+        .isEqualTo(both.nodes());
+  }
+
+  @Test
+  void differingLeaves() {
+    final MerkleTree one = engine.tree(IDENTIFIER, 0, 10, () -> Map.of("a", 1L, "b", 2L));
+    final MerkleTree two = engine.tree(IDENTIFIER, 11, 20, () -> Map.of("a", 1L, "b", 3L));
+
+    assertThat(engine.differingLeaves(one, two)).containsExactly(engine.leaf("b"));
+  }
+
+  @Test
+  void tree_onlyRebuiltWhenMarked() {
+    final Map<String, Long> versions = new HashMap<>(Map.of("a", 1L));
+    final AtomicInteger reads = new AtomicInteger();
+    final MerkleTree first = engine.tree(IDENTIFIER, 0, 10, () -> {
+      reads.incrementAndGet();
+      return versions;
+    });
+    versions.put("a", 2L);
+    assertThat(engine.tree(IDENTIFIER, 0, 10, () -> {
+      reads.incrementAndGet();
+      return versions;
+    })).isEqualTo(first);
+
+    engine.mark(IDENTIFIER, "a", 20); // outside the range.
+    engine.tree(IDENTIFIER, 0, 10, () -> {
+      reads.incrementAndGet();
+      return versions;
+    });
+    assertThat(reads).hasValue(1);
+
+    engine.mark(IDENTIFIER, "a", 5);
+    final MerkleTree updated = engine.tree(IDENTIFIER, 0, 10, () -> {
+      reads.incrementAndGet();
+      return versions;
+    });
+    assertThat(reads).hasValue(2);
+    assertThat(engine.differingLeaves(first, updated)).containsExactly(engine.leaf("a"));
+  }
+
+  @Test
+  void leafVersions() {
+    final Map<String, Long> versions = Map.of("a", 1L, "b", 2L);
+    assertThat(engine.leafVersions(List.of(engine.leaf("a")), versions))
+        .containsOnlyKeys(engine.leaf("a"))
+        .extractingByKey(engine.leaf("a"))
+        .satisfies(leaf -> assertThat(leaf).containsEntry("a", 1L));
+  }
+
+  @Test
+  void leafVersions_groupedByLeaf() {
+    final Map<String, Long> versions = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      versions.put("id" + i, (long) i);
+    }
+    final List<Integer> leaves = List.of(engine.leaf("id1"), engine.leaf("id2"));
+
+    final Map<Integer, Map<String, Long>> result = engine.leafVersions(leaves, versions);
+
+    assertThat(result.keySet()).containsExactlyInAnyOrderElementsOf(Set.copyOf(leaves));
+    result.forEach((leaf, leafVersions) ->
+        assertThat(leafVersions.keySet()).allSatisfy(id -> assertThat(engine.leaf(id)).isEqualTo(leaf)));
+    assertThat(result.get(engine.leaf("id1"))).containsEntry("id1", 1L);
+  }
+}
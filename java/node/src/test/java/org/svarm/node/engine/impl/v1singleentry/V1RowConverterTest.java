@@ -1,9 +1,13 @@
 package org.svarm.node.engine.impl.v1singleentry;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +15,9 @@ import org.svarm.common.engine.JsonEngine;
 import org.svarm.common.factory.ObjectMapperFactory;
 import org.svarm.node.api.EntryInfo;
 import org.svarm.node.api.ImmutableEntryInfo;
+import org.svarm.node.api.RawEntryInfo;
+import org.svarm.node.converter.RawEntryInfoConverter;
+import org.svarm.node.model.StreamingEntryInfo;
 
 class V1RowConverterTest {
 
@@ -22,7 +29,7 @@ class V1RowConverterTest {
   void setup() {
     objectMapper = new ObjectMapperFactory().generate();
     jsonEngine = new JsonEngine(objectMapper);
-    converter = new V1RowConverter(jsonEngine);
+    converter = new V1RowConverter(jsonEngine, new RawEntryInfoConverter(objectMapper));
   }
 
   @Test
@@ -40,4 +47,89 @@ class V1RowConverterTest {
     Assertions.assertThat(result).isEqualTo(info);
   }
 
+  @Test
+  void toRawEntryInfo_matchesTree() throws JsonProcessingException {
+    final JsonNode node = objectMapper.readValue("{\"a\":1,\"b\":\"c\"}", JsonNode.class);
+    final EntryInfo info = ImmutableEntryInfo.builder()
+        .id("an id").timestamp(554323L).locationHash(3245).data(node).build();
+
+    final RawEntryInfo result = converter.toRawEntryInfo(converter.toV1Rows(info));
+
+    Assertions.assertThat(result)
+        .hasFieldOrPropertyWithValue("id", "an id")
+        .hasFieldOrPropertyWithValue("locationHash", 3245)
+        .hasFieldOrPropertyWithValue("timestamp", 554323L);
+    Assertions.assertThat(result.data().bytes()).isEqualTo(objectMapper.writeValueAsBytes(node));
+  }
+
+  @Test
+  void toRawEntryInfo_writesStoredNumbers() {
+    final V1Row row = ImmutableV1Row.builder()
+        .id("an id").hash(1).timestamp(2L).cCol("big").cDataType("INTEGER").cData("12345678901").build();
+    final V1Row tombstone = ImmutableV1Row.copyOf(row).withCCol("gone").withCData(Optional.empty());
+
+    final RawEntryInfo result = converter.toRawEntryInfo(List.of(row, tombstone));
+
+    Assertions.assertThat(new String(result.data().bytes(), StandardCharsets.UTF_8)).isEqualTo("{\"big\":12345678901}");
+  }
+
+  @Test
+  void numbers_sameOnEveryPath() throws Exception {
+    final List<V1Row> rows = List.of(
+        number("int", "-5"),
+        number("long", "12345678901"),
+        number("big", "123456789012345678901234567890"),
+        number("decimal", "1.50"),
+        number("exponent", "2E+3"));
+    final String expected = "{\"int\":-5,\"long\":12345678901,\"big\":123456789012345678901234567890,"
+        + "\"decimal\":1.50,\"exponent\":2E+3}";
+
+    final EntryInfo tree = converter.toEntryInfo(rows);
+    final RawEntryInfo raw = converter.toRawEntryInfo(rows);
+    final StreamingEntryInfo streaming = converter.toStreamingEntryInfo(rows);
+    final StringWriter writer = new StringWriter();
+    try (JsonGenerator gen = objectMapper.createGenerator(writer)) {
+      streaming.write(gen, objectMapper.getSerializerProviderInstance());
+    }
+
+    Assertions.assertThat(objectMapper.writeValueAsString(tree.data())).isEqualTo(expected);
+    Assertions.assertThat(new String(raw.data().bytes(), StandardCharsets.UTF_8)).isEqualTo(expected);
+    Assertions.assertThat(writer.toString()).endsWith("\"data\":" + expected + "}");
+    Assertions.assertThat(streaming.data()).isEqualTo(tree.data());
+  }
+
+  @Test
+  void toStreamingEntryInfo_matchesTree() throws Exception {
+    final JsonNode node = objectMapper.readValue("{\"a\":1,\"b\":\"c\"}", JsonNode.class);
+    final EntryInfo info = ImmutableEntryInfo.builder()
+        .id("an id").timestamp(554323L).locationHash(3245).data(node).build();
+
+    final StreamingEntryInfo result = converter.toStreamingEntryInfo(converter.toV1Rows(info));
+    final StringWriter writer = new StringWriter();
+    try (JsonGenerator gen = objectMapper.createGenerator(writer)) {
+      result.write(gen, objectMapper.getSerializerProviderInstance());
+    }
+
+    Assertions.assertThat(objectMapper.readValue(writer.toString(), EntryInfo.class)).isEqualTo(info);
+    Assertions.assertThat(result.estimatedBytes()).isEqualTo(4L);
+  }
+
+  @Test
+  void toEntryInfo_unknownType() {
+    final V1Row row = ImmutableV1Row.builder()
+        .id("an id").hash(1).timestamp(2L).cCol("col").cDataType("BLOB").cData("data").build();
+
+    Assertions.assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> converter.toEntryInfo(List.of(row)));
+    Assertions.assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> converter.toRawEntryInfo(List.of(row)));
+    Assertions.assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> converter.toStreamingEntryInfo(List.of(row)));
+  }
+
+  private V1Row number(final String col, final String data) {
+    return ImmutableV1Row.builder()
+        .id("an id").hash(1).timestamp(2L).cCol(col).cDataType("INTEGER").cData(data).build();
+  }
+
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package org.svarm.node.engine.impl.v1singleentry;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
@@ -57,6 +58,19 @@ class V1RowDaoTest extends BaseSQLTest {
     assertThat(result).hasNoNullFieldsOrPropertiesExcept("expiry").isEqualTo(row);
   }
 
+  @Test
+  void versions() {
+    final V1Row row = ImmutableV1Row.builder().from(randomRow()).hash(10).timestamp(5L).build();
+    final V1Row newer = ImmutableV1Row.builder().from(row).cCol("newer").timestamp(6L).build();
+    final V1Row tombstone = ImmutableV1Row.builder().from(randomRow()).hash(11).cData(Optional.empty()).build();
+    final V1Row outside = ImmutableV1Row.builder().from(randomRow()).hash(20).build();
+    dao.insert(List.of(row, newer, tombstone, outside));
+
+    assertThat(dao.versions(10, 19))
+        .hasSize(1)
+        .containsEntry(row.id(), 6L);
+  }
+
   private V1Row randomRow() {
     return ImmutableV1Row.builder()
         .id(UUID.randomUUID().toString())
@@ -2,7 +2,10 @@ package org.svarm.node.engine.impl.v1singleentry;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +17,7 @@ import org.svarm.node.BaseSQLTest;
 import org.svarm.node.NodeConfiguration;
 import org.svarm.node.api.EntryInfo;
 import org.svarm.node.api.ImmutableEntryInfo;
+import org.svarm.node.converter.RawEntryInfoConverter;
 import org.svarm.node.model.ImmutableTenantTable;
 import org.svarm.node.model.ImmutableTenantTableIdentifier;
 import org.svarm.node.model.ImmutableTombstoneConfiguration;
@@ -38,8 +42,9 @@ class V1SingleEntryEngineTest extends BaseSQLTest {
 
   @BeforeEach
   void setup() {
-    jsonEngine = new JsonEngine(new ObjectMapperFactory().generate());
-    converter = new V1RowConverter(jsonEngine);
+    final ObjectMapper objectMapper = new ObjectMapperFactory().generate();
+    jsonEngine = new JsonEngine(objectMapper);
+    converter = new V1RowConverter(jsonEngine, new RawEntryInfoConverter(objectMapper));
     final TombstoneConfiguration tombstoneConfiguration = ImmutableTombstoneConfiguration.builder().expiryDuration(java.time.Duration.ofSeconds(0)).build();
     engine = new V1SingleEntryEngine(metrics, tenantTableJdbiManager, converter, tombstoneConfiguration);
   }
@@ -80,4 +85,24 @@ class V1SingleEntryEngineTest extends BaseSQLTest {
         .isEmpty();
   }
 
+  @Test
+  void readRaw() {
+    final ObjectNode objectNode = jsonEngine.createObjectNode()
+        .put("something", "else")
+        .put("number", 5);
+    final EntryInfo info = ImmutableEntryInfo.builder().id("ID").locationHash(2).timestamp(System.currentTimeMillis())
+        .data(objectNode).build();
+    engine.write(TENANT_TABLE, info);
+    assertThat(engine.readRaw(TENANT_TABLE, info.id()))
+        .hasValueSatisfying(raw -> {
+          assertThat(raw.locationHash()).isEqualTo(2);
+          assertThat(raw.timestamp()).isEqualTo(info.timestamp());
+          assertThat(jsonEngine.readValue(new String(raw.data().bytes(), StandardCharsets.UTF_8), JsonNode.class))
+              .isEqualTo(objectNode);
+        });
+    engine.delete(TENANT_TABLE, info.id());
+    assertThat(engine.readRaw(TENANT_TABLE, info.id()))
+        .isEmpty();
+  }
+
 }
\ No newline at end of file
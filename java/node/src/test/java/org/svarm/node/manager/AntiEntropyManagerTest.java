@@ -0,0 +1,326 @@
+package org.svarm.node.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codeheadsystems.metrics.test.BaseMetricTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.common.config.api.ImmutableNodeRange;
+import org.svarm.common.config.api.ImmutableTenantResource;
+import org.svarm.common.config.api.ImmutableTenantResourceRange;
+import org.svarm.common.config.api.NodeRange;
+import org.svarm.common.config.api.TenantResource;
+import org.svarm.common.config.api.TenantResourceRange;
+import org.svarm.common.config.engine.NodeConfigurationEngine;
+import org.svarm.common.engine.HashingEngine;
+import org.svarm.common.engine.RingEngine;
+import org.svarm.node.NodeConfiguration;
+import org.svarm.node.api.ImmutableEntryInfo;
+import org.svarm.node.api.MerkleTree;
+import org.svarm.node.api.NodeTenantTableEntryService;
+import org.svarm.node.api.NodeTenantTableRepairService;
+import org.svarm.node.dao.TenantDao;
+import org.svarm.node.engine.MerkleTreeEngine;
+import org.svarm.node.javaclient.factory.NodeServiceFactory;
+import org.svarm.node.model.ImmutableNodeInternalConfiguration;
+import org.svarm.node.model.RepairSegment;
+import org.svarm.node.model.TenantTableIdentifier;
+
+@ExtendWith(MockitoExtension.class)
+class AntiEntropyManagerTest extends BaseMetricTest {
+
+  private static final String TENANT = "tenant";
+  private static final String TABLE = "table";
+  private static final TenantTableIdentifier IDENTIFIER = TenantTableIdentifier.from(TENANT, TABLE);
+  private static final ImmutableNodeRange ME = node("me");
+  private static final ImmutableNodeRange PEER = node("peer");
+  private static final ImmutableNodeRange OTHER = node("other");
+
+  @Mock private TenantDao tenantDao;
+  @Mock private TenantTableManager tenantTableManager;
+  @Mock private TenantTableEntryManager tenantTableEntryManager;
+  @Mock private NodeConfigurationEngine nodeConfigurationEngine;
+  @Mock private NodeServiceFactory nodeServiceFactory;
+  @Mock private NodeTenantTableRepairService repairService;
+  @Mock private NodeTenantTableRepairService otherRepairService;
+  @Mock private NodeTenantTableEntryService entryService;
+
+  private final MerkleTreeEngine merkleTreeEngine = new MerkleTreeEngine(new HashingEngine());
+  private final RingEngine ringEngine = new RingEngine(new HashingEngine());
+  private AntiEntropyManager manager;
+
+  @BeforeEach
+  void setup() {
+    manager = new AntiEntropyManager(
+        ImmutableNodeInternalConfiguration.builder().uuid("me").key("key").nonce("nonce").build(),
+        new NodeConfiguration(), tenantDao, tenantTableManager, tenantTableEntryManager, nodeConfigurationEngine,
+        merkleTreeEngine, ringEngine, nodeServiceFactory, metrics);
+  }
+
+  @Test
+  void segments_oneRangeEach() {
+    final long step = ringEngine.replicationStep(AntiEntropyManager.REPLICATION_FACTOR);
+    final int split = Integer.MIN_VALUE + (int) step;
+    final TenantResourceRange range = range(Map.of(Integer.MIN_VALUE, ME, split, PEER));
+
+    // Forward lines up exactly with the peer. Backward wraps to the top of the ring, which is the peer too, so the
+    // peer has two positions of each entry and stores one: both are folded into the forward segment.
+    assertThat(manager.segments(range))
+        .singleElement()
+        .satisfies(segment -> {
+          assertThat(segment.hashLow()).isEqualTo(Integer.MIN_VALUE);
+          assertThat(segment.hashHigh()).isEqualTo(split - 1);
+          assertThat(segment.peer()).isEqualTo(PEER);
+          assertThat(segment.peerHashLow()).isEqualTo(split);
+          assertThat(segment.peerFoldHashLow()).contains((int) (Integer.MIN_VALUE - step));
+          assertThat(segment.foldHashLow()).isEmpty();
+        });
+  }
+
+  @Test
+  void segments_twoPositionsOnThisNode() {
+    final long step = ringEngine.replicationStep(AntiEntropyManager.REPLICATION_FACTOR);
+    final int split = Integer.MIN_VALUE + (int) step;
+    final int peerSplit = split + (int) step;
+    final TenantResourceRange range = range(Map.of(Integer.MIN_VALUE, ME, split, ME.withHash(1), peerSplit, PEER));
+
+    assertThat(manager.segments(range))
+        .singleElement()
+        .satisfies(segment -> {
+          assertThat(segment.hashLow()).isEqualTo(split);
+          assertThat(segment.hashHigh()).isEqualTo(peerSplit - 1);
+          assertThat(segment.foldHashLow()).contains(Integer.MIN_VALUE);
+          assertThat(segment.foldHashHigh()).contains(split - 1);
+          assertThat(segment.peerHashLow()).isEqualTo(peerSplit);
+          assertThat(segment.peerFoldHashLow()).isEmpty();
+        });
+  }
+
+  @Test
+  void segments_splitAtPeerBoundary() {
+    final long step = ringEngine.replicationStep(AntiEntropyManager.REPLICATION_FACTOR);
+    final int peerStart = Integer.MIN_VALUE + (int) step;
+    final TenantResourceRange range = range(Map.of(
+        Integer.MIN_VALUE, ME, -1000, ME.withHash(1), peerStart, PEER, peerStart + 10, OTHER));
+
+    assertThat(manager.segments(range))
+        .filteredOn(segment -> segment.hashLow() == Integer.MIN_VALUE)
+        .extracting(segment -> segment.peer().uuid())
+        .contains("peer");
+    assertThat(manager.segments(range))
+        .filteredOn(segment -> segment.hashLow() == Integer.MIN_VALUE + 10)
+        .extracting(segment -> segment.peer().uuid())
+        .containsExactly("other");
+  }
+
+  @Test
+  void segments_wrapBelowTheFirstRange() {
+    final long step = ringEngine.replicationStep(AntiEntropyManager.REPLICATION_FACTOR);
+    final TenantResourceRange range = range(Map.of(0, ME, (int) step, PEER));
+
+    // Backward from 0 lands below the first range, which belongs to the last range, so it is the peer's second
+    // position.
+    assertThat(manager.segments(range))
+        .singleElement()
+        .satisfies(segment -> {
+          assertThat(segment.peer()).isEqualTo(PEER);
+          assertThat(segment.hashLow()).isEqualTo(0);
+          assertThat(segment.peerFoldHashLow()).contains((int) -step);
+        });
+  }
+
+  @Test
+  void backfillSegments_copiesFromCurrentOwners() {
+    final TenantResourceRange range = range(Map.of(Integer.MIN_VALUE, PEER, 0, OTHER));
+
+    final List<RepairSegment> segments = manager.backfillSegments(range, List.of(-100, 100, 200));
+
+    assertThat(segments).extracting(RepairSegment::hashLow).containsExactly(-100, 100, 200);
+    assertThat(segments).extracting(RepairSegment::hashHigh).containsExactly(-1, 199, Integer.MAX_VALUE);
+    assertThat(segments).extracting(segment -> segment.peer().uuid()).containsExactly("peer", "other", "other");
+    assertThat(segments).allSatisfy(segment -> {
+      assertThat(segment.peerHashLow()).isEqualTo(segment.hashLow());
+      assertThat(segment.peerHashHigh()).isEqualTo(segment.hashHigh());
+    });
+  }
+
+  @Test
+  void backfillSegments_wrapsBelowTheFirstRange() {
+    final TenantResourceRange range = range(Map.of(0, PEER, 1000, OTHER));
+
+    assertThat(manager.backfillSegments(range, List.of(Integer.MIN_VALUE)))
+        .singleElement()
+        .satisfies(segment -> {
+          assertThat(segment.peer().uuid()).isEqualTo("other");
+          assertThat(segment.hashHigh()).isEqualTo(-1);
+        });
+  }
+
+  @Test
+  void backfill_noRanges() {
+    when(nodeConfigurationEngine.readTenantResourceRange(ImmutableTenantResource.builder()
+        .tenant(TENANT).resource(TABLE).build())).thenReturn(Optional.empty());
+
+    manager.backfill(IDENTIFIER, List.of(0));
+
+    verify(nodeServiceFactory, never()).repairService(anyString());
+  }
+
+  @Test
+  void catchUp_copiesAgainFromTheOwnersOfTheBackfill() {
+    final TenantResource tenantResource = ImmutableTenantResource.builder().tenant(TENANT).resource(TABLE).build();
+    when(nodeConfigurationEngine.readTenantResourceRange(tenantResource))
+        .thenReturn(Optional.of(range(Map.of(Integer.MIN_VALUE, PEER))));
+    when(nodeServiceFactory.repairService("http://peer")).thenReturn(repairService);
+    final MerkleTree empty = merkleTreeEngine.tree(IDENTIFIER, 0, 0, Map::of);
+    when(tenantTableEntryManager.merkleTree(IDENTIFIER, 0, Integer.MAX_VALUE)).thenReturn(empty);
+    when(repairService.merkleTree(TENANT, TABLE, 0, Integer.MAX_VALUE)).thenReturn(empty);
+
+    manager.backfill(IDENTIFIER, List.of(0));
+    manager.catchUp(IDENTIFIER);
+    manager.catchUp(IDENTIFIER); // once per backfill.
+
+    verify(nodeConfigurationEngine).readTenantResourceRange(tenantResource); // the ranges from before the switch.
+    verify(repairService, times(2)).merkleTree(TENANT, TABLE, 0, Integer.MAX_VALUE);
+  }
+
+  @Test
+  void catchUp_noBackfill() {
+    manager.catchUp(IDENTIFIER);
+
+    verify(nodeServiceFactory, never()).repairService(anyString());
+  }
+
+  @Test
+  void repair_copiesNewerEntries() {
+    final long step = ringEngine.replicationStep(AntiEntropyManager.REPLICATION_FACTOR);
+    final int split = Integer.MIN_VALUE + (int) step;
+    final int otherSplit = split + (int) step;
+    when(nodeConfigurationEngine.readTenantResourceRange(ImmutableTenantResource.builder()
+        .tenant(TENANT).resource(TABLE).build()))
+        .thenReturn(Optional.of(range(Map.of(Integer.MIN_VALUE, ME, split, PEER, otherSplit, OTHER))));
+    when(nodeServiceFactory.repairService("http://peer")).thenReturn(repairService);
+    when(nodeServiceFactory.repairService("http://other")).thenReturn(otherRepairService);
+    when(nodeServiceFactory.nodeService("http://peer")).thenReturn(entryService);
+    final String id = idWithPositionsBelow(split, 1);
+    final Map<String, Long> mine = Map.of(id, 1L);
+    final Map<String, Long> theirs = Map.of(id, 2L);
+    final MerkleTree mineTree = merkleTreeEngine.tree(IDENTIFIER, 0, 0, () -> mine);
+    when(tenantTableEntryManager.merkleTree(eq(IDENTIFIER), anyInt(), anyInt())).thenReturn(mineTree);
+    when(otherRepairService.merkleTree(eq(TENANT), eq(TABLE), anyInt(), anyInt())).thenReturn(mineTree);
+    when(repairService.merkleTree(eq(TENANT), eq(TABLE), anyInt(), anyInt()))
+        .thenReturn(merkleTreeEngine.tree(IDENTIFIER, 1, 1, () -> theirs));
+    final int leaf = merkleTreeEngine.leaf(id);
+    when(tenantTableEntryManager.merkleLeaves(eq(IDENTIFIER), eq(List.of(leaf)), anyInt(), anyInt()))
+        .thenReturn(Map.of(leaf, mine));
+    when(repairService.merkleLeaves(eq(TENANT), eq(TABLE), eq(List.of(leaf)), anyInt(), anyInt()))
+        .thenReturn(Map.of(leaf, theirs));
+    final ImmutableEntryInfo remote = ImmutableEntryInfo.builder().id(id).locationHash(12345).timestamp(2L)
+        .data(new ObjectMapper().createObjectNode().put("a", 1)).build();
+    when(entryService.readTenantTableEntries(TENANT, TABLE, List.of(id))).thenReturn(List.of(remote));
+
+    manager.repair(IDENTIFIER);
+
+    final int[] locationHashes = new int[AntiEntropyManager.REPLICATION_FACTOR];
+    ringEngine.locationHashes(id, locationHashes);
+    final int local = Arrays.stream(locationHashes).filter(hash -> hash < split).findFirst().orElseThrow();
+    verify(tenantTableEntryManager).writeAll(IDENTIFIER, List.of(remote.withLocationHash(local)));
+  }
+
+  @Test
+  void repair_twoNodes_inSyncWhenThePeerStoresOneCopy() {
+    final long step = ringEngine.replicationStep(AntiEntropyManager.REPLICATION_FACTOR);
+    final int split = Integer.MIN_VALUE + (int) step;
+    when(nodeConfigurationEngine.readTenantResourceRange(ImmutableTenantResource.builder()
+        .tenant(TENANT).resource(TABLE).build()))
+        .thenReturn(Optional.of(range(Map.of(Integer.MIN_VALUE, ME, split, PEER))));
+    when(nodeServiceFactory.repairService("http://peer")).thenReturn(repairService);
+    final Map<String, Long> versions = Map.of(idWithPositionsBelow(split, 1), 1L);
+    when(tenantTableEntryManager.merkleTree(IDENTIFIER, Integer.MIN_VALUE, split - 1))
+        .thenReturn(merkleTreeEngine.tree(IDENTIFIER, 1, 1, () -> versions));
+    when(repairService.merkleTree(eq(TENANT), eq(TABLE), eq(split), anyInt()))
+        .thenReturn(merkleTreeEngine.tree(IDENTIFIER, 2, 2, Map::of));
+    when(repairService.merkleTree(eq(TENANT), eq(TABLE), eq((int) (Integer.MIN_VALUE - step)), anyInt()))
+        .thenReturn(merkleTreeEngine.tree(IDENTIFIER, 3, 3, () -> versions));
+
+    manager.repair(IDENTIFIER);
+
+    verify(repairService, never()).merkleLeaves(anyString(), anyString(), anyList(), anyInt(), anyInt());
+    verify(tenantTableEntryManager, never()).writeAll(eq(IDENTIFIER), anyList());
+  }
+
+  @Test
+  void repair_writesWhereThisNodeStoresTheEntry() {
+    final long step = ringEngine.replicationStep(AntiEntropyManager.REPLICATION_FACTOR);
+    final int split = Integer.MIN_VALUE + (int) step;
+    final int peerSplit = split + (int) step;
+    when(nodeConfigurationEngine.readTenantResourceRange(ImmutableTenantResource.builder()
+        .tenant(TENANT).resource(TABLE).build()))
+        .thenReturn(Optional.of(range(Map.of(Integer.MIN_VALUE, ME, split, ME.withHash(1), peerSplit, PEER))));
+    when(nodeServiceFactory.repairService("http://peer")).thenReturn(repairService);
+    when(nodeServiceFactory.nodeService("http://peer")).thenReturn(entryService);
+    final String id = idWithPositionsBelow(peerSplit, 2);
+    final Map<String, Long> mine = Map.of(id, 1L);
+    final Map<String, Long> theirs = Map.of(id, 2L);
+    when(tenantTableEntryManager.merkleTree(eq(IDENTIFIER), anyInt(), anyInt()))
+        .thenReturn(merkleTreeEngine.tree(IDENTIFIER, 0, 0, () -> mine));
+    when(repairService.merkleTree(eq(TENANT), eq(TABLE), anyInt(), anyInt()))
+        .thenReturn(merkleTreeEngine.tree(IDENTIFIER, 1, 1, () -> theirs));
+    final int leaf = merkleTreeEngine.leaf(id);
+    when(tenantTableEntryManager.merkleLeaves(eq(IDENTIFIER), eq(List.of(leaf)), anyInt(), anyInt()))
+        .thenReturn(Map.of(leaf, mine));
+    when(repairService.merkleLeaves(eq(TENANT), eq(TABLE), eq(List.of(leaf)), anyInt(), anyInt()))
+        .thenReturn(Map.of(leaf, theirs));
+    final ImmutableEntryInfo remote = ImmutableEntryInfo.builder().id(id).locationHash(12345).timestamp(2L)
+        .data(new ObjectMapper().createObjectNode().put("a", 1)).build();
+    when(entryService.readTenantTableEntries(TENANT, TABLE, List.of(id))).thenReturn(List.of(remote));
+
+    manager.repair(IDENTIFIER);
+
+    // Both of this node's ranges are in the segment, and the entry goes to the first of its positions here.
+    final int[] locationHashes = new int[AntiEntropyManager.REPLICATION_FACTOR];
+    ringEngine.locationHashes(id, locationHashes);
+    final int local = Arrays.stream(locationHashes).filter(hash -> hash < peerSplit).findFirst().orElseThrow();
+    verify(tenantTableEntryManager).writeAll(IDENTIFIER, List.of(remote.withLocationHash(local)));
+  }
+
+  private String idWithPositionsBelow(final int split, final long count) {
+    final int[] locationHashes = new int[AntiEntropyManager.REPLICATION_FACTOR];
+    for (int i = 0; ; i++) {
+      final String id = "id" + i;
+      try {
+        ringEngine.locationHashes(id, locationHashes);
+      } catch (ArithmeticException e) {
+        continue; // the ring cannot place every hash yet.
+      }
+      if (Arrays.stream(locationHashes).filter(hash -> hash < split).count() == count) {
+        return id;
+      }
+    }
+  }
+
+  private static ImmutableNodeRange node(final String uuid) {
+    return ImmutableNodeRange.builder().uuid(uuid).uri("http://" + uuid).hash(0).build();
+  }
+
+  private TenantResourceRange range(final Map<Integer, ? extends NodeRange> hashToNodeRange) {
+    return ImmutableTenantResourceRange.builder().tenant(TENANT).resource(TABLE)
+        .hashToNodeRange(hashToNodeRange).build();
+  }
+}
@@ -1,11 +1,17 @@
 package org.svarm.node.manager;
 
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.svarm.common.config.api.MetaData.ACTION_DELETE;
+import static org.svarm.common.config.api.MetaData.ACTION_REBALANCE;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.svarm.common.config.api.MetaData;
@@ -21,9 +28,12 @@ import org.svarm.common.config.api.NodeTenantResourceRange;
 import org.svarm.common.config.api.TenantResource;
 import org.svarm.common.config.converter.NodeTenantResourceRangeConverter;
 import org.svarm.common.config.engine.Event;
+import org.svarm.common.config.engine.ImmutableNodeResources;
+import org.svarm.common.config.engine.NodeConfigurationEngine;
 import org.svarm.common.config.engine.WatchEngine;
 import org.svarm.common.config.factory.WatchEngineFactory;
 import org.svarm.datastore.common.TableDefinition;
+import org.svarm.node.NodeConfiguration;
 import org.svarm.node.model.ImmutableTenantTableIdentifier;
 import org.svarm.node.model.NodeInternalConfiguration;
 import org.svarm.node.model.TenantTable;
@@ -37,6 +47,7 @@ class ControlPlaneWatcherManagerTest {
   private static final String VALUE = "value";
   private static final String TENANT = "tenant";
   private static final String TABLE = "table";
+  private static final long REVISION = 42L;
   private static final TenantTableIdentifier IDENTIFIER = ImmutableTenantTableIdentifier.builder()
       .tenantId(TENANT).tableName(TABLE).build();
 
@@ -44,6 +55,8 @@ class ControlPlaneWatcherManagerTest {
   @Mock private TenantTableManager tenantTableManager;
   @Mock private NodeTenantResourceRangeConverter nodeTenantResourceRangeConverter;
   @Mock private ControlPlaneManager controlPlaneManager;
+  @Mock private AntiEntropyManager antiEntropyManager;
+  @Mock private NodeConfigurationEngine nodeConfigurationEngine;
   @Mock private NodeInternalConfiguration nodeInternalConfiguration;
   @Mock private WatchEngine watchEngine;
   @Mock private Event event;
@@ -61,7 +74,9 @@ class ControlPlaneWatcherManagerTest {
   @BeforeEach
   void setup() {
     when(nodeInternalConfiguration.uuid()).thenReturn(UUID);
-    manager = new ControlPlaneWatcherManager(nodeInternalConfiguration, watchEngineFactory, tenantTableManager, nodeTenantResourceRangeConverter, controlPlaneManager);
+    manager = new ControlPlaneWatcherManager(nodeInternalConfiguration, watchEngineFactory, tenantTableManager,
+        nodeTenantResourceRangeConverter, controlPlaneManager, nodeConfigurationEngine, new NodeConfiguration(),
+        antiEntropyManager);
   }
 
   @Test
@@ -79,7 +94,9 @@ class ControlPlaneWatcherManagerTest {
     when(tenantTableManager.create(IDENTIFIER, TableDefinition.V1SingleEntryEngine)).thenReturn(tenantTable);
 
     manager.handle(event);
-    verify(controlPlaneManager).enable(IDENTIFIER);
+    final InOrder inOrder = inOrder(antiEntropyManager, controlPlaneManager);
+    inOrder.verify(antiEntropyManager).catchUp(IDENTIFIER);
+    inOrder.verify(controlPlaneManager).enable(IDENTIFIER);
   }
 
   @Test
@@ -118,9 +135,53 @@ class ControlPlaneWatcherManagerTest {
     verify(controlPlaneManager).delete(IDENTIFIER);
   }
 
+  @Test
+  void putEvent_rebalance() {
+    when(event.type()).thenReturn(Event.Type.PUT);
+    when(event.key()).thenReturn(KEY);
+    when(event.value()).thenReturn(Optional.of(VALUE));
+    when(nodeTenantResourceRangeConverter.fromKeyValue(KEY, VALUE)).thenReturn(nodeTenantResourceRange);
+    when(nodeTenantResourceRange.metaData()).thenReturn(metaData);
+    when(metaData.action()).thenReturn(Optional.of(ACTION_REBALANCE));
+    when(metaData.hashes()).thenReturn(List.of(1, 2));
+    when(nodeTenantResourceRange.nodeTenantResource()).thenReturn(nodeTenantResource);
+    when(nodeTenantResource.tenantResource()).thenReturn(tenantResource);
+    when(tenantResource.tenant()).thenReturn(TENANT);
+    when(tenantResource.resource()).thenReturn(TABLE);
+    when(tenantTableManager.create(IDENTIFIER, TableDefinition.V1SingleEntryEngine)).thenReturn(tenantTable);
+
+    manager.handle(event);
+    final InOrder inOrder = inOrder(antiEntropyManager, controlPlaneManager);
+    inOrder.verify(antiEntropyManager).backfill(IDENTIFIER, List.of(1, 2));
+    inOrder.verify(controlPlaneManager).enable(IDENTIFIER);
+  }
+
+  @Test
+  void putEvent_rebalance_backfillFails() {
+    when(event.type()).thenReturn(Event.Type.PUT);
+    when(event.key()).thenReturn(KEY);
+    when(event.value()).thenReturn(Optional.of(VALUE));
+    when(nodeTenantResourceRangeConverter.fromKeyValue(KEY, VALUE)).thenReturn(nodeTenantResourceRange);
+    when(nodeTenantResourceRange.metaData()).thenReturn(metaData);
+    when(metaData.action()).thenReturn(Optional.of(ACTION_REBALANCE));
+    when(metaData.hashes()).thenReturn(List.of());
+    when(metaData.hash()).thenReturn(1);
+    when(nodeTenantResourceRange.nodeTenantResource()).thenReturn(nodeTenantResource);
+    when(nodeTenantResource.tenantResource()).thenReturn(tenantResource);
+    when(tenantResource.tenant()).thenReturn(TENANT);
+    when(tenantResource.resource()).thenReturn(TABLE);
+    when(tenantTableManager.create(IDENTIFIER, TableDefinition.V1SingleEntryEngine)).thenReturn(tenantTable);
+    doThrow(new IllegalStateException("peer down")).when(antiEntropyManager).backfill(IDENTIFIER, List.of(1));
+
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> manager.handle(event));
+    verify(controlPlaneManager, never()).enable(IDENTIFIER);
+  }
+
   @Test
   void startStop() throws Exception {
-    when(watchEngineFactory.watchEngine(eq("node"), eq(UUID), consumerArgumentCaptor.capture()))
+    when(nodeConfigurationEngine.readNodeResourcesWithRevision(UUID))
+        .thenReturn(ImmutableNodeResources.builder().revision(REVISION).build());
+    when(watchEngineFactory.watchEngine(eq("node"), eq(UUID), eq(REVISION + 1), consumerArgumentCaptor.capture()))
         .thenReturn(watchEngine);
     manager.start();
     manager.start();
@@ -129,4 +190,22 @@ class ControlPlaneWatcherManagerTest {
     verify(watchEngine, times(1)).close();
   }
 
-}
\ No newline at end of file
+  @Test
+  void start_handlesExistingRanges() throws Exception {
+    when(nodeTenantResourceRange.nodeTenantResource()).thenReturn(nodeTenantResource);
+    when(nodeTenantResourceRange.metaData()).thenReturn(metaData);
+    when(nodeTenantResource.tenantResource()).thenReturn(tenantResource);
+    when(tenantResource.tenant()).thenReturn(TENANT);
+    when(tenantResource.resource()).thenReturn(TABLE);
+    when(tenantTableManager.create(IDENTIFIER, TableDefinition.V1SingleEntryEngine)).thenReturn(tenantTable);
+    when(nodeConfigurationEngine.readNodeResourcesWithRevision(UUID))
+        .thenReturn(ImmutableNodeResources.builder().revision(REVISION).addRanges(nodeTenantResourceRange).build());
+    when(watchEngineFactory.watchEngine(eq("node"), eq(UUID), eq(REVISION + 1), consumerArgumentCaptor.capture()))
+        .thenReturn(watchEngine);
+
+    manager.start();
+
+    verify(controlPlaneManager).enable(IDENTIFIER);
+  }
+
+}
@@ -18,6 +18,9 @@ package org.svarm.node.manager;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,7 +33,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.control.common.api.ImmutableKeyInfo;
+import org.svarm.control.common.api.ImmutableNodeBootstrap;
+import org.svarm.control.common.api.ImmutableNodeInfo;
+import org.svarm.control.common.api.ImmutableNodeLoad;
+import org.svarm.control.common.api.NodeBootstrap;
 import org.svarm.control.common.api.NodeInfo;
+import org.svarm.control.common.api.NodeLoad;
 import org.svarm.node.NodeConfiguration;
 import org.svarm.node.accessor.ControlAccessor;
 import org.svarm.node.model.NodeInternalConfiguration;
@@ -40,6 +49,7 @@ class RealControlPlaneManagerTest extends BaseMetricTest {
   private static final String UUID = "uuid";
   private static final String TENANT = "tenant";
   private static final String KEY = "key";
+  private static final String TENANT_KEY = "tenantKey";
   private static final String HOST = "host";
   private static final Integer PORT = 99999;
   private static final String SCHEME = "scheme";
@@ -65,39 +75,71 @@ class RealControlPlaneManagerTest extends BaseMetricTest {
   void keyForTenant() {
     when(controlAccessor.keyForResource(UUID, TENANT)).thenReturn(KEY);
     assertThat(manager.keyForTenant(TENANT)).isEqualTo(KEY);
+    assertThat(manager.keyForTenant(TENANT)).isEqualTo(KEY);
+    verify(controlAccessor, times(1)).keyForResource(UUID, TENANT);
   }
 
   @Test
-  void keyForNode_statusEnabled() {
-    when(controlAccessor.status(UUID)).thenReturn(Optional.of(NodeInfo.Status.ENABLED.name()));
-    when(controlAccessor.keyForNode(UUID)).thenReturn(KEY);
+  void keyForNode_enabled() {
+    when(controlAccessor.bootstrap(UUID, SCHEME + "://" + HOST + ":" + PORT, Optional.empty()))
+        .thenReturn(bootstrap(NodeInfo.Status.ENABLED));
     assertThat(manager.keyForNode()).isEqualTo(KEY);
   }
 
   @Test
-  void keyForNode_statusDisabled() {
+  void keyForNode_cachesTenantKeys() {
+    when(controlAccessor.bootstrap(UUID, SCHEME + "://" + HOST + ":" + PORT, Optional.empty()))
+        .thenReturn(bootstrap(NodeInfo.Status.ENABLED));
+    manager.keyForNode();
+    assertThat(manager.keyForTenant(TENANT)).isEqualTo(TENANT_KEY);
+    verify(controlAccessor, never()).keyForResource(UUID, TENANT);
+  }
+
+  @Test
+  void keyForNode_notEnabled() {
+    when(controlAccessor.bootstrap(UUID, SCHEME + "://" + HOST + ":" + PORT, Optional.empty()))
+        .thenReturn(bootstrap(NodeInfo.Status.DISABLED));
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> manager.keyForNode());
+  }
+
+  @Test
+  void verifyRegistration_statusDisabled() {
     when(controlAccessor.status(UUID)).thenReturn(Optional.of(NodeInfo.Status.DISABLED.name())).thenReturn(Optional.of(NodeInfo.Status.ENABLED.name()));
-    when(controlAccessor.keyForNode(UUID)).thenReturn(KEY);
-    assertThat(manager.keyForNode()).isEqualTo(KEY);
+    assertThat(manager.verifyRegistration()).isTrue();
     verify(controlAccessor).enable(stringArgumentCaptor.capture());
     assertThat(stringArgumentCaptor.getValue()).isEqualTo(UUID);
   }
 
   @Test
-  void keyForNode_registered() {
-    when(controlAccessor.status(UUID)).thenReturn(Optional.empty()).thenReturn(Optional.of(NodeInfo.Status.ENABLED.name())).thenReturn(Optional.of(NodeInfo.Status.ENABLED.name()));
-    when(controlAccessor.keyForNode(UUID)).thenReturn(KEY);
-    assertThat(manager.keyForNode()).isEqualTo(KEY);
+  void verifyRegistration_registered() {
+    when(controlAccessor.status(UUID)).thenReturn(Optional.empty()).thenReturn(Optional.of(NodeInfo.Status.ENABLED.name()));
+    assertThat(manager.verifyRegistration()).isTrue();
     verify(controlAccessor).enable(stringArgumentCaptor.capture());
-    verify(controlAccessor).register(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
+    verify(controlAccessor).register(stringArgumentCaptor.capture(), stringArgumentCaptor.capture(), eq(Optional.empty()));
     assertThat(stringArgumentCaptor.getAllValues()).contains(UUID, SCHEME + "://" + HOST + ":" + PORT);
   }
 
   @Test
-  void keyForNode_registeredFailed() {
+  void verifyRegistration_registeredFailed() {
     when(controlAccessor.status(UUID)).thenReturn(Optional.empty()).thenReturn(Optional.empty());
-    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> manager.keyForNode());
-    verify(controlAccessor).register(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> manager.verifyRegistration());
+    verify(controlAccessor).register(stringArgumentCaptor.capture(), stringArgumentCaptor.capture(), eq(Optional.empty()));
     assertThat(stringArgumentCaptor.getAllValues()).contains(UUID, SCHEME + "://" + HOST + ":" + PORT);
   }
+
+  @Test
+  void load() {
+    final NodeLoad nodeLoad = ImmutableNodeLoad.builder().diskUsedBytes(10L).requestRate(1.5).build();
+    manager.load(nodeLoad);
+    verify(controlAccessor).load(UUID, nodeLoad);
+  }
+
+  private NodeBootstrap bootstrap(final NodeInfo.Status status) {
+    return ImmutableNodeBootstrap.builder()
+        .nodeInfo(ImmutableNodeInfo.builder().uuid(UUID).status(status.name()).build())
+        .nodeKey(ImmutableKeyInfo.builder().key(KEY).build())
+        .putTenantKeys(TENANT, ImmutableKeyInfo.builder().key(TENANT_KEY).build())
+        .build();
+  }
+
 }
\ No newline at end of file
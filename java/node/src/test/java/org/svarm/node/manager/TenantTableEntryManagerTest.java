@@ -23,6 +23,7 @@ import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,7 +35,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.svarm.datastore.common.TableDefinition;
 import org.svarm.node.api.EntryInfo;
+import org.svarm.node.api.ImmutableRawEntryInfo;
+import org.svarm.node.api.RawEntryInfo;
+import org.svarm.node.api.RawJson;
+import org.svarm.node.engine.HashBucketCounterEngine;
+import org.svarm.node.engine.MerkleTreeEngine;
 import org.svarm.node.engine.TableDefinitionEngine;
+import org.svarm.node.model.StreamingEntryInfo;
 import org.svarm.node.model.TenantTable;
 import org.svarm.node.model.TenantTableIdentifier;
 import org.svarm.server.exception.NotFoundException;
@@ -46,6 +53,8 @@ class TenantTableEntryManagerTest {
   private static final String ENTITY = "entity";
   @Mock private TableDefinitionEngine tableDefinitionEngine;
   @Mock private TenantTableManager tenantTableManager;
+  @Mock private HashBucketCounterEngine hashBucketCounterEngine;
+  @Mock private MerkleTreeEngine merkleTreeEngine;
   @Mock private JsonNode jsonNode;
   @Mock private TenantTableIdentifier identifier;
   @Mock private TenantTable tenantTable;
@@ -59,7 +68,7 @@ class TenantTableEntryManagerTest {
   @BeforeEach
   void setup() {
     final Map<TableDefinition, TableDefinitionEngine> map = ImmutableMap.of(TableDefinition.V1SingleEntryEngine, tableDefinitionEngine);
-    manager = new TenantTableEntryManager(map, tenantTableManager);
+    manager = new TenantTableEntryManager(map, tenantTableManager, hashBucketCounterEngine, merkleTreeEngine);
   }
 
   @Test
@@ -71,6 +80,32 @@ class TenantTableEntryManagerTest {
     assertThat(manager.read(identifier, ENTITY))
         .isPresent()
         .contains(entryInfo);
+    verify(hashBucketCounterEngine).record(identifier, entryInfo);
+  }
+
+  @Test
+  void readRaw_tableFound() {
+    final RawEntryInfo rawEntryInfo = ImmutableRawEntryInfo.builder().id(ENTITY).locationHash(3).timestamp(4L)
+        .digest("digest").data(RawJson.of(new byte[]{'{', '}'})).build();
+    when(tenantTableManager.get(identifier)).thenReturn(Optional.of(tenantTable));
+    when(tenantTable.tableVersion()).thenReturn(TABLE_VERSION);
+    when(tableDefinitionEngine.readRaw(tenantTable, ENTITY)).thenReturn(Optional.of(rawEntryInfo));
+
+    assertThat(manager.readRaw(identifier, ENTITY))
+        .contains(rawEntryInfo);
+    verify(hashBucketCounterEngine).record(identifier, 3, 2L);
+  }
+
+  @Test
+  void readStreaming_tableFound() {
+    final StreamingEntryInfo streaming = new StreamingEntryInfo(ENTITY, 3, 4L, null, 7L, () -> jsonNode);
+    when(tenantTableManager.get(identifier)).thenReturn(Optional.of(tenantTable));
+    when(tenantTable.tableVersion()).thenReturn(TABLE_VERSION);
+    when(tableDefinitionEngine.readStreaming(tenantTable, ENTITY)).thenReturn(Optional.of(streaming));
+
+    assertThat(manager.readStreaming(identifier, ENTITY))
+        .contains(streaming);
+    verify(hashBucketCounterEngine).record(identifier, 3, 7L);
   }
 
   @Test
@@ -93,11 +128,14 @@ class TenantTableEntryManagerTest {
   void write_tableFound() {
     when(tenantTableManager.get(identifier)).thenReturn(Optional.of(tenantTable));
     when(tenantTable.tableVersion()).thenReturn(TABLE_VERSION);
+    when(entryInfo.id()).thenReturn(ENTITY);
+    when(entryInfo.locationHash()).thenReturn(1);
 
     manager.write(identifier, entryInfo);
     verify(tableDefinitionEngine).write(tableArgumentCaptor.capture(), entryInfoArgumentCaptor.capture());
     assertThat(tableArgumentCaptor.getValue()).isEqualTo(tenantTable);
     assertThat(entryInfoArgumentCaptor.getValue()).isEqualTo(entryInfo);
+    verify(merkleTreeEngine).mark(identifier, ENTITY, 1);
   }
 
   @Test
@@ -123,6 +161,7 @@ class TenantTableEntryManagerTest {
     when(tableDefinitionEngine.delete(tenantTable, ENTITY)).thenReturn(true);
 
     assertThat(manager.delete(identifier, ENTITY)).isTrue();
+    verify(merkleTreeEngine).mark(identifier, ENTITY);
   }
 
   @Test
@@ -140,4 +179,45 @@ class TenantTableEntryManagerTest {
     assertThatExceptionOfType(NotFoundException.class)
         .isThrownBy(() -> manager.delete(identifier, ENTITY));
   }
-}
\ No newline at end of file
+
+  @Test
+  void readAll_skipsMissing() {
+    when(tenantTableManager.get(identifier)).thenReturn(Optional.of(tenantTable));
+    when(tenantTable.tableVersion()).thenReturn(TABLE_VERSION);
+    when(tableDefinitionEngine.read(tenantTable, ENTITY)).thenReturn(Optional.of(entryInfo));
+    when(tableDefinitionEngine.read(tenantTable, "missing")).thenReturn(Optional.empty());
+
+    assertThat(manager.readAll(identifier, List.of(ENTITY, "missing")))
+        .containsExactly(entryInfo);
+  }
+
+  @Test
+  void writeAll_tableFound() {
+    when(tenantTableManager.get(identifier)).thenReturn(Optional.of(tenantTable));
+    when(tenantTable.tableVersion()).thenReturn(TABLE_VERSION);
+    when(entryInfo.id()).thenReturn(ENTITY);
+    when(entryInfo.locationHash()).thenReturn(1);
+
+    manager.writeAll(identifier, List.of(entryInfo));
+    verify(tableDefinitionEngine).write(tenantTable, entryInfo);
+  }
+
+  @Test
+  void merkleLeaves() {
+    when(tenantTableManager.get(identifier)).thenReturn(Optional.of(tenantTable));
+    when(tenantTable.tableVersion()).thenReturn(TABLE_VERSION);
+    final Map<String, Long> versions = Map.of(ENTITY, 1L);
+    when(tableDefinitionEngine.versions(tenantTable, 1, 2)).thenReturn(versions);
+    when(merkleTreeEngine.leafVersions(List.of(3, 4), versions)).thenReturn(Map.of(3, versions));
+
+    assertThat(manager.merkleLeaves(identifier, List.of(3, 4), 1, 2)).containsExactly(Map.entry(3, versions));
+    verify(tableDefinitionEngine).versions(tenantTable, 1, 2);
+  }
+
+  @Test
+  void deleteAll_tableNotFound() {
+    when(tenantTableManager.get(identifier)).thenReturn(Optional.empty());
+    assertThatExceptionOfType(NotFoundException.class)
+        .isThrownBy(() -> manager.deleteAll(identifier, List.of(ENTITY)));
+  }
+}
@@ -35,6 +35,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.svarm.common.crypt.AesGcmSivManager;
 import org.svarm.datastore.common.TableDefinition;
 import org.svarm.node.dao.TenantTableDao;
+import org.svarm.node.engine.MerkleTreeEngine;
 import org.svarm.node.engine.TableDefinitionEngine;
 import org.svarm.node.model.TenantTable;
 import org.svarm.node.model.TenantTableIdentifier;
@@ -55,6 +56,7 @@ class TenantTableManagerTest extends BaseMetricTest {
   @Mock private TenantTable tenantTable;
   @Mock private List<String> list;
   @Mock private TenantTableJdbiManager tenantTableJdbiManager;
+  @Mock private MerkleTreeEngine merkleTreeEngine;
   @Captor private ArgumentCaptor<TenantTable> tenantTableArgumentCaptor;
   @Captor private ArgumentCaptor<String> stringArgumentCaptor;
 
@@ -64,7 +66,8 @@ class TenantTableManagerTest extends BaseMetricTest {
   @BeforeEach
   void setup() {
     tableDefinitionEngineMap = Map.of(ENGINE, engine);
-    manager = new TenantTableManager(metrics, dao, aesManager, tableDefinitionEngineMap, tenantTableJdbiManager, new ExceptionUtils());
+    manager = new TenantTableManager(metrics, dao, aesManager, tableDefinitionEngineMap, tenantTableJdbiManager, new ExceptionUtils(),
+        merkleTreeEngine);
   }
 
   @Test
@@ -102,5 +105,6 @@ class TenantTableManagerTest extends BaseMetricTest {
     verify(dao).delete(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
     assertThat(stringArgumentCaptor.getAllValues())
         .containsExactly(TENANT_ID, TABLE_NAME);
+    verify(merkleTreeEngine).invalidate(IDENTIFIER);
   }
 }
\ No newline at end of file
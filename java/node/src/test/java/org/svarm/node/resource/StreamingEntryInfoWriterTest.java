@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.svarm.node.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.svarm.common.factory.ObjectMapperFactory;
+import org.svarm.common.util.MediaTypes;
+import org.svarm.node.api.EntryInfo;
+import org.svarm.node.api.ImmutableEntryInfo;
+import org.svarm.node.model.StreamingEntryInfo;
+
+class StreamingEntryInfoWriterTest {
+
+  private ObjectMapper objectMapper;
+  private ObjectNode data;
+  private StreamingEntryInfo streaming;
+  private StreamingEntryInfoWriter writer;
+
+  @BeforeEach
+  void setup() {
+    objectMapper = new ObjectMapperFactory().generate();
+    data = objectMapper.createObjectNode().put("a", 1).put("b", "c");
+    streaming = new StreamingEntryInfo("id", 2, 3L, data, 4L, () -> {
+      throw new IllegalStateException("tree built");
+    });
+    writer = new StreamingEntryInfoWriter(objectMapper);
+  }
+
+  @Test
+  void isWriteable() {
+    assertThat(writer.isWriteable(StreamingEntryInfo.class, EntryInfo.class, null, MediaType.APPLICATION_JSON_TYPE))
+        .isTrue();
+    assertThat(writer.isWriteable(ImmutableEntryInfo.class, EntryInfo.class, null, MediaType.APPLICATION_JSON_TYPE))
+        .isFalse();
+  }
+
+  @Test
+  void writeTo_json() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    writer.writeTo(streaming, StreamingEntryInfo.class, EntryInfo.class, null, MediaType.APPLICATION_JSON_TYPE,
+        null, out);
+
+    assertThat(objectMapper.readValue(out.toByteArray(), EntryInfo.class)).isEqualTo(expected());
+  }
+
+  @Test
+  void writeTo_smile() throws IOException {
+    final ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    writer.writeTo(streaming, StreamingEntryInfo.class, EntryInfo.class, null,
+        MediaType.valueOf(MediaTypes.APPLICATION_SMILE), null, out);
+
+    assertThat(smileMapper.readValue(out.toByteArray(), EntryInfo.class)).isEqualTo(expected());
+  }
+
+  private EntryInfo expected() {
+    return ImmutableEntryInfo.builder().id("id").locationHash(2).timestamp(3L).data(data).build();
+  }
+}
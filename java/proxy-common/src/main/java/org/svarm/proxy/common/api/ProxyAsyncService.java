@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.proxy.common.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Server side view of the {@link ProxyService}, with the same paths. The request is suspended while the nodes are
+ * called so no server thread is held for the round trip. Clients should use the ProxyService.
+ */
+@Path("/v1/tenant/{tenant}/table/{table}/entry")
+public interface ProxyAsyncService {
+
+  /**
+   * Gets the entry. Resumes with the JsonNode, or a 404 if not found.
+   *
+   * @param tenantId      that owns the table.
+   * @param table         the table.
+   * @param entry         the entry.
+   * @param asyncResponse to resume.
+   */
+  @GET
+  @Path("/{entry}")
+  @Produces(MediaType.APPLICATION_JSON)
+  void readTenantTableEntry(@PathParam("tenant") final String tenantId,
+                            @PathParam("table") final String table,
+                            @PathParam("entry") final String entry,
+                            @Suspended final AsyncResponse asyncResponse);
+
+  /**
+   * Create the tenant table entry. Resumes with no content.
+   *
+   * @param tenantId      that owns the table.
+   * @param table         the table.
+   * @param entry         for the table.
+   * @param data          the data we care about in JSON form.
+   * @param asyncResponse to resume.
+   */
+  @PUT
+  @Path("/{entry}")
+  @Consumes(MediaType.APPLICATION_JSON)
+  void createTenantTableEntry(@PathParam("tenant") final String tenantId,
+                              @PathParam("table") final String table,
+                              @PathParam("entry") final String entry,
+                              @NotNull @Valid final JsonNode data,
+                              @Suspended final AsyncResponse asyncResponse);
+
+  /**
+   * Delete the tenant table entry. Resumes with no content.
+   *
+   * @param tenantId      that owns the table.
+   * @param table         the table.
+   * @param entry         to delete.
+   * @param asyncResponse to resume.
+   */
+  @DELETE
+  @Path("/{entry}")
+  void deleteTenantTableEntry(@PathParam("tenant") final String tenantId,
+                              @PathParam("table") final String table,
+                              @PathParam("entry") final String entry,
+                              @Suspended final AsyncResponse asyncResponse);
+
+  /**
+   * Gets many entries. Resumes with a map of entry to JsonNode; entries not found are left out. Batches over the
+   * proxy's limit get a 400.
+   *
+   * @param tenantId      that owns the table.
+   * @param table         the table.
+   * @param entries       the entries.
+   * @param asyncResponse to resume.
+   */
+  @POST
+  @Path("/batch/read")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  void readTenantTableEntries(@PathParam("tenant") final String tenantId,
+                              @PathParam("table") final String table,
+                              @NotNull final List<String> entries,
+                              @Suspended final AsyncResponse asyncResponse);
+
+  /**
+   * Create many tenant table entries. Resumes with no content, or a 400 if the batch is over the proxy's limit.
+   *
+   * @param tenantId      that owns the table.
+   * @param table         the table.
+   * @param entries       map of entry to the data in JSON form.
+   * @param asyncResponse to resume.
+   */
+  @POST
+  @Path("/batch/write")
+  @Consumes(MediaType.APPLICATION_JSON)
+  void createTenantTableEntries(@PathParam("tenant") final String tenantId,
+                                @PathParam("table") final String table,
+                                @NotNull @Valid final Map<String, JsonNode> entries,
+                                @Suspended final AsyncResponse asyncResponse);
+
+  /**
+   * Delete many tenant table entries. Resumes with no content, or a 400 if the batch is over the proxy's limit.
+   *
+   * @param tenantId      that owns the table.
+   * @param table         the table.
+   * @param entries       to delete.
+   * @param asyncResponse to resume.
+   */
+  @POST
+  @Path("/batch/delete")
+  @Consumes(MediaType.APPLICATION_JSON)
+  void deleteTenantTableEntries(@PathParam("tenant") final String tenantId,
+                                @PathParam("table") final String table,
+                                @NotNull final List<String> entries,
+                                @Suspended final AsyncResponse asyncResponse);
+}
@@ -22,11 +22,14 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -78,4 +81,48 @@ public interface ProxyService {
   void deleteTenantTableEntry(@PathParam("tenant") final String tenantId,
                               @PathParam("table") final String table,
                               @PathParam("entry") final String entry);
-}
\ No newline at end of file
+
+  /**
+   * Gets many entries in one call. Entries not found are left out of the result.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param entries  the entries.
+   * @return map of entry to data.
+   */
+  @POST
+  @Path("/batch/read")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  Map<String, JsonNode> readTenantTableEntries(@PathParam("tenant") final String tenantId,
+                                               @PathParam("table") final String table,
+                                               @NotNull final List<String> entries);
+
+  /**
+   * Create many tenant table entries in one call.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param entries  map of entry to the data in JSON form.
+   */
+  @POST
+  @Path("/batch/write")
+  @Consumes(MediaType.APPLICATION_JSON)
+  void createTenantTableEntries(@PathParam("tenant") final String tenantId,
+                                @PathParam("table") final String table,
+                                @NotNull @Valid final Map<String, JsonNode> entries);
+
+  /**
+   * Delete many tenant table entries in one call.
+   *
+   * @param tenantId that owns the table.
+   * @param table    the table.
+   * @param entries  to delete.
+   */
+  @POST
+  @Path("/batch/delete")
+  @Consumes(MediaType.APPLICATION_JSON)
+  void deleteTenantTableEntries(@PathParam("tenant") final String tenantId,
+                                @PathParam("table") final String table,
+                                @NotNull final List<String> entries);
+}
@@ -26,8 +26,26 @@ public class ProxyConfiguration extends ServerConfiguration {
   private int replicationFactor = 3;
   private int watchEngineThreads = 5;
   private int nodeServiceThreads = 20;
-  private int tenantResourceRangeCacheSize = 100;
   private int nodeTenantServiceCacheSize = 100;
+  private boolean nodeServiceVirtualThreads = true;
+  private long nodeRequestTimeoutMillis = 5000;
+  private boolean entryCacheEnabled = false;
+  private int entryCacheTables = 100;
+  private int entryCacheSize = 1000;
+  private long entryCacheTtlMillis = 1000;
+  private long tenantResourceRangeRetryMillis = 100;
+  private long tenantResourceRangeRetryMaxMillis = 30000;
+  private boolean nodeSmile = false;
+  private boolean readPassThrough = false;
+  private boolean nodeHttp2 = false;
+  private int nodeMaxIdleConnections = 32;
+  private long nodeKeepAliveMillis = 300_000;
+  private int nodeBulkheadMaxConcurrentCalls = 16;
+  private float nodeCircuitBreakerFailureRatePercent = 50;
+  private long nodeCircuitBreakerOpenMillis = 10_000;
+  private int nodeRetryBudgetPercent = 10;
+  private int nodeRetryBudgetMax = 10;
+  private int maxBatchSize = 1000;
 
   /**
    * Instantiates a new Proxy configuration.
@@ -93,36 +111,366 @@ public class ProxyConfiguration extends ServerConfiguration {
   /**
    * Getter.
    *
-   * @return value. tenant resource range cache size
+   * @return value. node tenant service cache size
+   */
+  public int getNodeTenantServiceCacheSize() {
+    return nodeTenantServiceCacheSize;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param nodeTenantServiceCacheSize the value.
+   */
+  public void setNodeTenantServiceCacheSize(final int nodeTenantServiceCacheSize) {
+    this.nodeTenantServiceCacheSize = nodeTenantServiceCacheSize;
+  }
+
+  /**
+   * If true, requests to the nodes are made on virtual threads instead of the fixed node service thread pool. Node
+   * service threads are ignored when this is set.
+   *
+   * @return value. node service virtual threads
+   */
+  public boolean isNodeServiceVirtualThreads() {
+    return nodeServiceVirtualThreads;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param nodeServiceVirtualThreads the value.
+   */
+  public void setNodeServiceVirtualThreads(final boolean nodeServiceVirtualThreads) {
+    this.nodeServiceVirtualThreads = nodeServiceVirtualThreads;
+  }
+
+  /**
+   * The deadline for all node requests made on behalf of a single proxy request.
+   *
+   * @return value. node request timeout millis
+   */
+  public long getNodeRequestTimeoutMillis() {
+    return nodeRequestTimeoutMillis;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param nodeRequestTimeoutMillis the value.
+   */
+  public void setNodeRequestTimeoutMillis(final long nodeRequestTimeoutMillis) {
+    this.nodeRequestTimeoutMillis = nodeRequestTimeoutMillis;
+  }
+
+  /**
+   * If true, the proxy caches entries it reads or writes so repeat reads do not go to the nodes.
+   *
+   * @return value. entry cache enabled
+   */
+  public boolean isEntryCacheEnabled() {
+    return entryCacheEnabled;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param entryCacheEnabled the value.
+   */
+  public void setEntryCacheEnabled(final boolean entryCacheEnabled) {
+    this.entryCacheEnabled = entryCacheEnabled;
+  }
+
+  /**
+   * The number of tenant tables that can have an entry cache at once.
+   *
+   * @return value. entry cache tables
+   */
+  public int getEntryCacheTables() {
+    return entryCacheTables;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param entryCacheTables the value.
+   */
+  public void setEntryCacheTables(final int entryCacheTables) {
+    this.entryCacheTables = entryCacheTables;
+  }
+
+  /**
+   * The number of entries cached per tenant table.
+   *
+   * @return value. entry cache size
    */
-  public int getTenantResourceRangeCacheSize() {
-    return tenantResourceRangeCacheSize;
+  public int getEntryCacheSize() {
+    return entryCacheSize;
   }
 
   /**
    * Setter.
    *
-   * @param tenantResourceRangeCacheSize the value.
+   * @param entryCacheSize the value.
    */
-  public void setTenantResourceRangeCacheSize(final int tenantResourceRangeCacheSize) {
-    this.tenantResourceRangeCacheSize = tenantResourceRangeCacheSize;
+  public void setEntryCacheSize(final int entryCacheSize) {
+    this.entryCacheSize = entryCacheSize;
+  }
+
+  /**
+   * How long a cached entry can be served before it is read from the nodes again. This bounds staleness from
+   * writes made through other proxies.
+   *
+   * @return value. entry cache ttl millis
+   */
+  public long getEntryCacheTtlMillis() {
+    return entryCacheTtlMillis;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param entryCacheTtlMillis the value.
+   */
+  public void setEntryCacheTtlMillis(final long entryCacheTtlMillis) {
+    this.entryCacheTtlMillis = entryCacheTtlMillis;
+  }
+
+  /**
+   * How long to wait before re-reading the tenant resource ranges after the watch fails. Doubles on each failed
+   * attempt.
+   *
+   * @return value. tenant resource range retry millis
+   */
+  public long getTenantResourceRangeRetryMillis() {
+    return tenantResourceRangeRetryMillis;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param tenantResourceRangeRetryMillis the value.
+   */
+  public void setTenantResourceRangeRetryMillis(final long tenantResourceRangeRetryMillis) {
+    this.tenantResourceRangeRetryMillis = tenantResourceRangeRetryMillis;
+  }
+
+  /**
+   * The most to wait between attempts to re-read the tenant resource ranges.
+   *
+   * @return value. tenant resource range retry max millis
+   */
+  public long getTenantResourceRangeRetryMaxMillis() {
+    return tenantResourceRangeRetryMaxMillis;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param tenantResourceRangeRetryMaxMillis the value.
+   */
+  public void setTenantResourceRangeRetryMaxMillis(final long tenantResourceRangeRetryMaxMillis) {
+    this.tenantResourceRangeRetryMaxMillis = tenantResourceRangeRetryMaxMillis;
+  }
+
+  /**
+   * Use Smile rather than JSON for entry calls to the nodes. Nodes that do not support it answer in JSON, but
+   * writes to them fail, so only turn this on once every node has been upgraded.
+   *
+   * @return value. node smile
+   */
+  public boolean isNodeSmile() {
+    return nodeSmile;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param nodeSmile the value.
+   */
+  public void setNodeSmile(final boolean nodeSmile) {
+    this.nodeSmile = nodeSmile;
+  }
+
+  /**
+   * Pass entry data from the nodes to the client without decoding it. The most common replica wins, as with
+   * decoded reads, but reads do not fill the entry cache.
+   *
+   * @return value. read pass through
+   */
+  public boolean isReadPassThrough() {
+    return readPassThrough;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param readPassThrough the value.
+   */
+  public void setReadPassThrough(final boolean readPassThrough) {
+    this.readPassThrough = readPassThrough;
+  }
+
+  /**
+   * Talk HTTP/2 over plain text (h2c) to the nodes, so all the calls to a node share one multiplexed connection.
+   * The nodes need an h2c application connector.
+   *
+   * @return value. node http 2
+   */
+  public boolean isNodeHttp2() {
+    return nodeHttp2;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param nodeHttp2 the value.
+   */
+  public void setNodeHttp2(final boolean nodeHttp2) {
+    this.nodeHttp2 = nodeHttp2;
   }
 
   /**
    * Getter.
    *
-   * @return value. node tenant service cache size
+   * @return value. node max idle connections
    */
-  public int getNodeTenantServiceCacheSize() {
-    return nodeTenantServiceCacheSize;
+  public int getNodeMaxIdleConnections() {
+    return nodeMaxIdleConnections;
   }
 
   /**
    * Setter.
    *
-   * @param nodeTenantServiceCacheSize the value.
+   * @param nodeMaxIdleConnections the value.
    */
-  public void setNodeTenantServiceCacheSize(final int nodeTenantServiceCacheSize) {
-    this.nodeTenantServiceCacheSize = nodeTenantServiceCacheSize;
+  public void setNodeMaxIdleConnections(final int nodeMaxIdleConnections) {
+    this.nodeMaxIdleConnections = nodeMaxIdleConnections;
+  }
+
+  /**
+   * Getter.
+   *
+   * @return value. node keep alive millis
+   */
+  public long getNodeKeepAliveMillis() {
+    return nodeKeepAliveMillis;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param nodeKeepAliveMillis the value.
+   */
+  public void setNodeKeepAliveMillis(final long nodeKeepAliveMillis) {
+    this.nodeKeepAliveMillis = nodeKeepAliveMillis;
+  }
+
+  /**
+   * How many calls can be made to one node at the same time. Calls past that fail at once.
+   *
+   * @return value. node bulkhead max concurrent calls
+   */
+  public int getNodeBulkheadMaxConcurrentCalls() {
+    return nodeBulkheadMaxConcurrentCalls;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param nodeBulkheadMaxConcurrentCalls the value.
+   */
+  public void setNodeBulkheadMaxConcurrentCalls(final int nodeBulkheadMaxConcurrentCalls) {
+    this.nodeBulkheadMaxConcurrentCalls = nodeBulkheadMaxConcurrentCalls;
+  }
+
+  /**
+   * The failure rate of calls to a node that opens its circuit breaker.
+   *
+   * @return value. node circuit breaker failure rate percent
+   */
+  public float getNodeCircuitBreakerFailureRatePercent() {
+    return nodeCircuitBreakerFailureRatePercent;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param nodeCircuitBreakerFailureRatePercent the value.
+   */
+  public void setNodeCircuitBreakerFailureRatePercent(final float nodeCircuitBreakerFailureRatePercent) {
+    this.nodeCircuitBreakerFailureRatePercent = nodeCircuitBreakerFailureRatePercent;
+  }
+
+  /**
+   * How long a node's circuit breaker stays open before letting calls through to test it.
+   *
+   * @return value. node circuit breaker open millis
+   */
+  public long getNodeCircuitBreakerOpenMillis() {
+    return nodeCircuitBreakerOpenMillis;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param nodeCircuitBreakerOpenMillis the value.
+   */
+  public void setNodeCircuitBreakerOpenMillis(final long nodeCircuitBreakerOpenMillis) {
+    this.nodeCircuitBreakerOpenMillis = nodeCircuitBreakerOpenMillis;
+  }
+
+  /**
+   * Retries to a node, as a percent of the requests to it.
+   *
+   * @return value. node retry budget percent
+   */
+  public int getNodeRetryBudgetPercent() {
+    return nodeRetryBudgetPercent;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param nodeRetryBudgetPercent the value.
+   */
+  public void setNodeRetryBudgetPercent(final int nodeRetryBudgetPercent) {
+    this.nodeRetryBudgetPercent = nodeRetryBudgetPercent;
+  }
+
+  /**
+   * How many retries to a node can be saved up while it is healthy.
+   *
+   * @return value. node retry budget max
+   */
+  public int getNodeRetryBudgetMax() {
+    return nodeRetryBudgetMax;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param nodeRetryBudgetMax the value.
+   */
+  public void setNodeRetryBudgetMax(final int nodeRetryBudgetMax) {
+    this.nodeRetryBudgetMax = nodeRetryBudgetMax;
+  }
+
+  /**
+   * The most entries a batch request may name. Larger batches are rejected with a 400.
+   *
+   * @return value. max batch size
+   */
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /**
+   * Setter.
+   *
+   * @param maxBatchSize the value.
+   */
+  public void setMaxBatchSize(final int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
   }
 }
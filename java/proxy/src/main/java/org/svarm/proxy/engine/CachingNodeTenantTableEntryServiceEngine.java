@@ -31,44 +31,53 @@ import org.svarm.node.javaclient.factory.NodeServiceFactory;
 import org.svarm.proxy.ProxyConfiguration;
 
 /**
- * Provides a caching accessor to the node.
+ * Provides a caching accessor to the node. Each node's client has its own bulkhead, circuit breaker and retry
+ * budget from the node resilience engine.
  */
 @Singleton
 public class CachingNodeTenantTableEntryServiceEngine {
 
   private static final Logger LOGGER = getLogger(CachingNodeTenantTableEntryServiceEngine.class);
 
+  private final NodeResilienceEngine nodeResilienceEngine;
   private final LoadingCache<String, NodeTenantTableEntryService> cache;
 
   /**
    * Constructor.
    *
-   * @param nodeServiceFactory for getting node instances.
-   * @param configuration      the proxy configuration.
+   * @param nodeServiceFactory   for getting node instances.
+   * @param configuration        the proxy configuration.
+   * @param nodeResilienceEngine for the per node decorators.
    */
   @Inject
   public CachingNodeTenantTableEntryServiceEngine(final NodeServiceFactory nodeServiceFactory,
-                                                  final ProxyConfiguration configuration) {
+                                                  final ProxyConfiguration configuration,
+                                                  final NodeResilienceEngine nodeResilienceEngine) {
+    this.nodeResilienceEngine = nodeResilienceEngine;
     cache = CacheBuilder.newBuilder()
         .maximumSize(configuration.getNodeTenantServiceCacheSize())
         .removalListener(this::onRemoval)
-        .build(CacheLoader.from(nodeServiceFactory::nodeService));
+        .build(CacheLoader.from(uri -> nodeServiceFactory.nodeService(uri, nodeResilienceEngine.decorators(uri))));
     LOGGER.info("CachingNodeTenantTableEntryServiceEngine()");
   }
 
   private void onRemoval(final RemovalNotification<String, NodeTenantTableEntryService> removalNotification) {
     LOGGER.info("Removing {} reason {}", removalNotification.getKey(), removalNotification.getCause().name());
+    nodeResilienceEngine.remove(removalNotification.getKey());
   }
 
   /**
-   * Returns the node tenant table entry service.
+   * Returns the node tenant table entry service. Call once per request to the node, as it counts towards the node's
+   * retry budget.
    *
    * @param nodeRange that has the uri.
    * @return the service.
    */
   public NodeTenantTableEntryService get(final NodeRange nodeRange) {
     LOGGER.trace("get({})", nodeRange);
-    return cache.getUnchecked(nodeRange.uri());
+    final String uri = nodeRange.uri();
+    nodeResilienceEngine.request(uri);
+    return cache.getUnchecked(uri);
   }
 
 }
@@ -18,81 +18,190 @@ package org.svarm.proxy.engine;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.cache.RemovalNotification;
+import com.codeheadsystems.metrics.Metrics;
+import com.google.common.annotations.VisibleForTesting;
+import io.dropwizard.lifecycle.Managed;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import org.immutables.value.Value;
 import org.slf4j.Logger;
 import org.svarm.common.config.api.TenantResource;
 import org.svarm.common.config.api.TenantResourceRange;
+import org.svarm.common.config.engine.Event;
 import org.svarm.common.config.engine.NodeConfigurationEngine;
+import org.svarm.common.config.engine.TenantResourceRanges;
 import org.svarm.common.config.engine.WatchEngine;
 import org.svarm.common.config.factory.WatchEngineFactory;
+import org.svarm.common.util.ShutdownUtility;
 import org.svarm.proxy.ProxyConfiguration;
-import org.svarm.server.exception.NotFoundException;
+import org.svarm.proxy.model.NodeRangeTable;
 
 /**
- * This will cache the tenant resource range.
+ * Holds every tenant resource range in memory, compiled into node range tables for lookups. The whole tenant
+ * namespace is read once on start, and a single prefix watch from that revision on keeps it current, so lookups
+ * never go to etcd. Each table is immutable; a change swaps in a new one.
+ *
+ * <p>If the watch fails the tables are kept and served as stale while the namespace is re-read in the background,
+ * backing off between failed attempts. Once a re-read succeeds the tables are replaced and a new watch is started.
  */
 @Singleton
-public class CachingTenantResourceRangeEngine {
+public class CachingTenantResourceRangeEngine implements Managed {
 
   private static final Logger LOGGER = getLogger(CachingTenantResourceRangeEngine.class);
 
   private final NodeConfigurationEngine nodeConfigurationEngine;
   private final WatchEngineFactory watchEngineFactory;
-  private final LoadingCache<TenantResource, CacheHolder> cache;
+  private final Metrics metrics;
+  private final long retryMillis;
+  private final long retryMaxMillis;
+  private final Map<TenantResource, NodeRangeTable> tables;
+  private final ScheduledExecutorService scheduler;
+  private final AtomicBoolean stale;
+  private final AtomicInteger attempts;
+  private volatile WatchEngine watchEngine;
 
   /**
    * Constructor.
    *
    * @param nodeConfigurationEngine to get the configuration.
    * @param watchEngineFactory      to watch for changes.
-   * @param proxyConfiguration      for configuration.
+   * @param metrics                 to record stale reads and resyncs.
+   * @param configuration           for the retry backoff.
    */
   @Inject
   public CachingTenantResourceRangeEngine(final NodeConfigurationEngine nodeConfigurationEngine,
                                           final WatchEngineFactory watchEngineFactory,
-                                          final ProxyConfiguration proxyConfiguration) {
+                                          final Metrics metrics,
+                                          final ProxyConfiguration configuration) {
     this.nodeConfigurationEngine = nodeConfigurationEngine;
     this.watchEngineFactory = watchEngineFactory;
-    this.cache = CacheBuilder.newBuilder()
-        .maximumSize(proxyConfiguration.getTenantResourceRangeCacheSize())
-        .removalListener(this::onRemoval)
-        .build(CacheLoader.from(this::generate));
-    LOGGER.info("CachingTenantResourceRangeEngine()");
+    this.metrics = metrics;
+    this.retryMillis = configuration.getTenantResourceRangeRetryMillis();
+    this.retryMaxMillis = configuration.getTenantResourceRangeRetryMaxMillis();
+    this.tables = new ConcurrentHashMap<>();
+    final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    this.scheduler = executor;
+    this.stale = new AtomicBoolean(false);
+    this.attempts = new AtomicInteger(0);
+    LOGGER.info("CachingTenantResourceRangeEngine({},{})", retryMillis, retryMaxMillis);
+  }
+
+  @Override
+  public void start() throws Exception {
+    if (watchEngine != null) {
+      LOGGER.warn("start(): already watching");
+      return;
+    }
+    load();
+  }
+
+  @Override
+  public void stop() throws Exception {
+    closeWatch();
+    ShutdownUtility.shutdown(LOGGER, "CachingTenantResourceRangeEngine", scheduler);
+  }
+
+  /**
+   * Reads the whole namespace, replaces the tables with it, and watches for changes after its revision.
+   */
+  private void load() {
+    final TenantResourceRanges ranges = nodeConfigurationEngine.readTenantResourceRanges();
+    tables.keySet().retainAll(ranges.ranges().keySet());
+    ranges.ranges().forEach((tenantResource, range) -> tables.put(tenantResource, NodeRangeTable.from(range)));
+    LOGGER.info("load(): {} tenant resources at revision {}", tables.size(), ranges.revision());
+    watchEngine = watchEngineFactory.watchEngine(
+        NodeConfigurationEngine.TENANT_NAMESPACE, "", ranges.revision() + 1, this::handle, this::watchFailed);
   }
 
-  private CacheHolder generate(final TenantResource tenantResource) {
-    final TenantResourceRange range = nodeConfigurationEngine.readTenantResourceRange(tenantResource)
-        .orElseThrow(NotFoundException::new);
-    final WatchEngine watchEngine = watchEngineFactory.watchEngine(
-        NodeConfigurationEngine.TENANT_NAMESPACE,
-        nodeConfigurationEngine.getTenantResourceKey(tenantResource),
-        (e) -> clear(tenantResource));
-    return ImmutableCacheHolder.builder().tenantResourceRange(range).watchEngine(watchEngine).build();
+  private void closeWatch() {
+    final WatchEngine current = watchEngine;
+    if (current != null) {
+      LOGGER.info("closeWatch(): closing");
+      watchEngine = null;
+      current.close();
+    }
+  }
+
+  /**
+   * Called when the watch fails. The tables are now stale until a resync succeeds.
+   *
+   * @param throwable the failure.
+   */
+  @VisibleForTesting
+  void watchFailed(final Throwable throwable) {
+    LOGGER.warn("watchFailed(): serving stale ranges until resynced", throwable);
+    metrics.increment("CachingTenantResourceRangeEngine.watch.error");
+    if (stale.compareAndSet(false, true)) {
+      scheduler.schedule(this::resync, retryMillis, TimeUnit.MILLISECONDS);
+    }
   }
 
-  private void clear(final TenantResource tenantResource) {
-    LOGGER.trace("clear({})", tenantResource);
-    final CacheHolder cacheHolder = cache.getIfPresent(tenantResource);
-    if (cacheHolder != null) {
-      cacheHolder.watchEngine().close();
-      cache.invalidate(tenantResource);
-    } else {
-      LOGGER.warn("Got a watcher with no value: {}", tenantResource);
+  /**
+   * Re-reads the namespace and restarts the watch. On failure it is tried again with exponential backoff.
+   */
+  @VisibleForTesting
+  void resync() {
+    LOGGER.trace("resync()");
+    try {
+      closeWatch();
+      load();
+      stale.set(false);
+      attempts.set(0);
+      metrics.increment("CachingTenantResourceRangeEngine.resync.success");
+    } catch (RuntimeException e) {
+      final long delay = backoffMillis(attempts.getAndIncrement());
+      LOGGER.warn("resync(): failed, retrying in {}ms", delay, e);
+      metrics.increment("CachingTenantResourceRangeEngine.resync.failure");
+      if (!scheduler.isShutdown()) {
+        scheduler.schedule(this::resync, delay, TimeUnit.MILLISECONDS);
+      }
     }
   }
 
-  private void onRemoval(
-      final RemovalNotification<TenantResource, CachingTenantResourceRangeEngine.CacheHolder> notification) {
-    LOGGER.trace("removed {} because {}", notification.getKey(), notification.getCause().name());
-    notification.getValue().watchEngine().close();
+  /**
+   * The delay before the next resync, doubling from the configured retry up to the max.
+   *
+   * @param attempt the number of failed attempts so far.
+   * @return the delay.
+   */
+  @VisibleForTesting
+  long backoffMillis(final int attempt) {
+    final long delay = retryMillis << Math.min(attempt + 1, 20);
+    return Math.min(delay, retryMaxMillis);
+  }
+
+  /**
+   * If the tables are being served while the watch is down.
+   *
+   * @return true if stale.
+   */
+  public boolean isStale() {
+    return stale.get();
+  }
+
+  /**
+   * Applies a change from the watch.
+   *
+   * @param event the change.
+   */
+  @VisibleForTesting
+  void handle(final Event event) {
+    LOGGER.trace("handle({})", event);
+    final TenantResource tenantResource = nodeConfigurationEngine.tenantResourceFromKey(event.key());
+    switch (event.type()) {
+      case PUT -> event.value().ifPresent(json -> tables.put(tenantResource,
+          NodeRangeTable.from(nodeConfigurationEngine.tenantResourceRange(tenantResource, json))));
+      case DELETE -> tables.remove(tenantResource);
+      default -> LOGGER.warn("Unknown event: {}", event);
+    }
   }
 
   /**
@@ -102,35 +211,22 @@ public class CachingTenantResourceRangeEngine {
    * @return the list of resource ranges.
    */
   public Optional<TenantResourceRange> readTenantResourceRange(final TenantResource tenantResource) {
-    LOGGER.trace("readTenantResourceRange", tenantResource);
-    try {
-      return Optional.of(cache.get(tenantResource).tenantResourceRange());
-    } catch (ExecutionException e) {
-      LOGGER.trace("Not found {}", tenantResource);
-      return Optional.empty();
-    }
+    LOGGER.trace("readTenantResourceRange({})", tenantResource);
+    return readNodeRangeTable(tenantResource).map(NodeRangeTable::tenantResourceRange);
   }
 
   /**
-   * Holds the various components for the cache.
+   * Reads the compiled node range table for the tenant resource. The table is built once when the range is loaded.
+   *
+   * @param tenantResource of the node.
+   * @return the table.
    */
-  @Value.Immutable
-  interface CacheHolder {
-
-    /**
-     * The range itself.
-     *
-     * @return the range.
-     */
-    TenantResourceRange tenantResourceRange();
-
-    /**
-     * The watcher.
-     *
-     * @return watcher. watch engine
-     */
-    WatchEngine watchEngine();
-
+  public Optional<NodeRangeTable> readNodeRangeTable(final TenantResource tenantResource) {
+    LOGGER.trace("readNodeRangeTable({})", tenantResource);
+    if (stale.get()) {
+      metrics.increment("CachingTenantResourceRangeEngine.stale");
+    }
+    return Optional.ofNullable(tables.get(tenantResource));
   }
 
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.svarm.proxy.engine;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.svarm.common.config.api.TenantResource;
+import org.svarm.node.api.EntryInfo;
+import org.svarm.proxy.ProxyConfiguration;
+
+/**
+ * An optional cache of entries, one LRU cache per tenant table so a busy table cannot evict the hot set of another.
+ * Entries expire after the configured TTL, which bounds how stale a read can be when the entry was changed through
+ * a different proxy. Writes through this proxy replace the cached value as long as they are newer. The hit and miss
+ * counters are looked up once per table, when its cache is made, rather than on every read.
+ *
+ * <p>Every invalidate moves the entry to a new write generation. Reads and writes take the generation when they
+ * start and fill the cache with it, so one that finishes after a later write or delete of the same entry does not put
+ * back what it had. Generations are kept per stripe rather than per entry, so the memory is fixed; an unrelated
+ * invalidate in the same stripe only costs a skipped fill.
+ */
+@Singleton
+public class EntryCacheEngine {
+
+  private static final Logger LOGGER = getLogger(EntryCacheEngine.class);
+  private static final int GENERATION_STRIPES = 1024;
+
+  private final boolean enabled;
+  private final MeterRegistry meterRegistry;
+  private final int entryCacheSize;
+  private final Duration ttl;
+  private final LoadingCache<TenantResource, TableCache> caches;
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+  /**
+   * Constructor.
+   *
+   * @param configuration the proxy configuration.
+   * @param meterRegistry for hit rates.
+   */
+  @Inject
+  public EntryCacheEngine(final ProxyConfiguration configuration,
+                          final MeterRegistry meterRegistry) {
+    this.enabled = configuration.isEntryCacheEnabled();
+    this.meterRegistry = meterRegistry;
+    this.entryCacheSize = configuration.getEntryCacheSize();
+    this.ttl = Duration.ofMillis(configuration.getEntryCacheTtlMillis());
+    this.caches = CacheBuilder.newBuilder()
+        .maximumSize(configuration.getEntryCacheTables())
+        .build(CacheLoader.from(this::entryCache));
+    LOGGER.info("EntryCacheEngine({},{},{})", enabled, entryCacheSize, ttl);
+  }
+
+  /**
+   * Gets the cached entry, if we have one.
+   *
+   * @param tenantResource the table.
+   * @param entry          the entry id.
+   * @return the entry if cached.
+   */
+  public Optional<EntryInfo> get(final TenantResource tenantResource, final String entry) {
+    LOGGER.trace("get({},{})", tenantResource, entry);
+    if (!enabled) {
+      return Optional.empty();
+    }
+    final TableCache tableCache = caches.getUnchecked(tenantResource);
+    final Optional<EntryInfo> result = Optional.ofNullable(tableCache.entries().getIfPresent(entry));
+    (result.isPresent() ? tableCache.hits() : tableCache.misses()).increment();
+    return result;
+  }
+
+  /**
+   * Caches the entry, unless we already have a newer version of it.
+   *
+   * @param tenantResource the table.
+   * @param entryInfo      the entry.
+   */
+  public void put(final TenantResource tenantResource, final EntryInfo entryInfo) {
+    LOGGER.trace("put({},{})", tenantResource, entryInfo.id());
+    if (enabled) {
+      caches.getUnchecked(tenantResource).entries().asMap().merge(entryInfo.id(), entryInfo,
+          (existing, update) -> update.timestamp() >= existing.timestamp() ? update : existing);
+    }
+  }
+
+  /**
+   * Caches the entry if it has not been invalidated since the generation was taken, unless we already have a newer
+   * version of it.
+   *
+   * @param tenantResource the table.
+   * @param entryInfo      the entry.
+   * @param generation     from {@link #generation(TenantResource, String)} when the read or write started.
+   */
+  public void put(final TenantResource tenantResource, final EntryInfo entryInfo, final long generation) {
+    LOGGER.trace("put({},{},{})", tenantResource, entryInfo.id(), generation);
+    if (!enabled) {
+      return;
+    }
+    final int stripe = stripe(tenantResource, entryInfo.id());
+    if (generations.get(stripe) != generation) {
+      LOGGER.trace("put({},{}): invalidated since", tenantResource, entryInfo.id());
+      return;
+    }
+    put(tenantResource, entryInfo);
+    if (generations.get(stripe) != generation) {
+      // an invalidate raced the fill, and may have run before it.
+      caches.getUnchecked(tenantResource).entries().asMap().remove(entryInfo.id(), entryInfo);
+    }
+  }
+
+  /**
+   * The current write generation of the entry.
+   *
+   * @param tenantResource the table.
+   * @param entry          the entry id.
+   * @return the generation.
+   */
+  public long generation(final TenantResource tenantResource, final String entry) {
+    return generations.get(stripe(tenantResource, entry));
+  }
+
+  /**
+   * Removes the entry from the cache, and moves it to a new write generation.
+   *
+   * @param tenantResource the table.
+   * @param entry          the entry id.
+   */
+  public void invalidate(final TenantResource tenantResource, final String entry) {
+    LOGGER.trace("invalidate({},{})", tenantResource, entry);
+    if (enabled) {
+      generations.incrementAndGet(stripe(tenantResource, entry));
+      caches.getUnchecked(tenantResource).entries().invalidate(entry);
+    }
+  }
+
+  private static int stripe(final TenantResource tenantResource, final String entry) {
+    return (31 * tenantResource.hashCode() + entry.hashCode()) & (GENERATION_STRIPES - 1);
+  }
+
+  private TableCache entryCache(final TenantResource tenantResource) {
+    LOGGER.debug("entryCache({})", tenantResource);
+    final Tags tags = Tags.of("tenant", tenantResource.tenant(), "resource", tenantResource.resource());
+    return new TableCache(
+        CacheBuilder.newBuilder()
+            .maximumSize(entryCacheSize)
+            .expireAfterWrite(ttl)
+            .build(),
+        meterRegistry.counter("EntryCacheEngine.hit", tags),
+        meterRegistry.counter("EntryCacheEngine.miss", tags));
+  }
+
+  /**
+   * The cache for one table, with its counters.
+   *
+   * @param entries the cached entries.
+   * @param hits    counter for reads found in the cache.
+   * @param misses  counter for reads not found in the cache.
+   */
+  private record TableCache(Cache<String, EntryInfo> entries, Counter hits, Counter misses) {
+  }
+
+}
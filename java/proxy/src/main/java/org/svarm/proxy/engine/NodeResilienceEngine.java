@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.proxy.engine;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.codeheadsystems.metrics.Metrics;
+import com.google.common.annotations.VisibleForTesting;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.feign.FeignDecorators;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.svarm.proxy.ProxyConfiguration;
+import org.svarm.proxy.model.RetryBudget;
+
+/**
+ * Gives every node its own bulkhead, circuit breaker and retry, so a slow or failing node only uses its share of
+ * the proxy and stops being called until it recovers. Retries come out of a per node budget so they cannot add more
+ * than a set percent to the load on a node that is already in trouble.
+ */
+@Singleton
+public class NodeResilienceEngine {
+
+  private static final Logger LOGGER = getLogger(NodeResilienceEngine.class);
+  private static final int MAX_ATTEMPTS = 3;
+  private static final long INITIAL_BACKOFF_MILLIS = 100L;
+
+  private final Metrics metrics;
+  private final BulkheadRegistry bulkheadRegistry;
+  private final CircuitBreakerRegistry circuitBreakerRegistry;
+  private final RetryRegistry retryRegistry;
+  private final RetryConfig retryConfig;
+  private final int retryBudgetPercent;
+  private final int retryBudgetMax;
+  private final ConcurrentMap<String, RetryBudget> budgets;
+
+  /**
+   * Constructor.
+   *
+   * @param configuration the proxy configuration.
+   * @param meterRegistry for the resilience4j metrics.
+   * @param metrics       for the retry budget.
+   */
+  @Inject
+  public NodeResilienceEngine(final ProxyConfiguration configuration,
+                              final MeterRegistry meterRegistry,
+                              final Metrics metrics) {
+    this.metrics = metrics;
+    this.bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+        .maxConcurrentCalls(configuration.getNodeBulkheadMaxConcurrentCalls())
+        .maxWaitDuration(Duration.ZERO) // fail fast, so waiting callers do not hold threads either.
+        .build());
+    this.circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+        .failureRateThreshold(configuration.getNodeCircuitBreakerFailureRatePercent())
+        .waitDurationInOpenState(Duration.ofMillis(configuration.getNodeCircuitBreakerOpenMillis()))
+        // not found and friends are not the node failing, and a full bulkhead is the proxy's own limit.
+        .ignoreExceptions(FeignException.FeignClientException.class, BulkheadFullException.class)
+        .build());
+    this.retryRegistry = RetryRegistry.ofDefaults();
+    this.retryConfig = RetryConfig.custom()
+        .maxAttempts(MAX_ATTEMPTS)
+        .intervalFunction(IntervalFunction.ofExponentialBackoff(INITIAL_BACKOFF_MILLIS, 2))
+        .failAfterMaxAttempts(true)
+        .build();
+    this.retryBudgetPercent = configuration.getNodeRetryBudgetPercent();
+    this.retryBudgetMax = configuration.getNodeRetryBudgetMax();
+    this.budgets = new ConcurrentHashMap<>();
+    // Spent when the retry happens, so the last failed attempt does not spend one it never uses.
+    retryRegistry.getEventPublisher().onEntryAdded(added -> added.getAddedEntry().getEventPublisher()
+        .onRetry(event -> budget(event.getName()).withdraw()));
+    TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+    TaggedRetryMetrics.ofRetryRegistry(retryRegistry).bindTo(meterRegistry);
+    LOGGER.info("NodeResilienceEngine({},{},{})", bulkheadRegistry.getDefaultConfig().getMaxConcurrentCalls(),
+        retryBudgetPercent, retryBudgetMax);
+  }
+
+  /**
+   * The decorators for the node. The retry is outermost, so a call the circuit breaker or bulkhead turns away is not
+   * retried.
+   *
+   * @param uri of the node.
+   * @return the decorators.
+   */
+  public FeignDecorators decorators(final String uri) {
+    LOGGER.trace("decorators({})", uri);
+    final Retry retry = retryRegistry.retry(uri, RetryConfig.from(retryConfig)
+        .retryOnException(e -> e instanceof FeignException.FeignServerException && retryAllowed(uri))
+        .build());
+    return FeignDecorators.builder()
+        .withBulkhead(bulkheadRegistry.bulkhead(uri))
+        .withCircuitBreaker(circuitBreakerRegistry.circuitBreaker(uri))
+        .withRetry(retry)
+        .build();
+  }
+
+  /**
+   * Forgets the node's bulkhead, circuit breaker, retry and budget, and their metrics. Call when the node's client
+   * is dropped.
+   *
+   * @param uri of the node.
+   */
+  public void remove(final String uri) {
+    LOGGER.trace("remove({})", uri);
+    bulkheadRegistry.remove(uri);
+    circuitBreakerRegistry.remove(uri);
+    retryRegistry.remove(uri);
+    budgets.remove(uri);
+  }
+
+  /**
+   * Records a request to the node, adding to its retry budget.
+   *
+   * @param uri of the node.
+   */
+  public void request(final String uri) {
+    budget(uri).deposit();
+  }
+
+  /**
+   * Checks the node's budget has a retry to spend.
+   *
+   * @param uri of the node.
+   * @return true if the retry may go ahead.
+   */
+  @VisibleForTesting
+  boolean retryAllowed(final String uri) {
+    if (budget(uri).hasRetry()) {
+      return true;
+    }
+    LOGGER.debug("retry budget exhausted: {}", uri);
+    metrics.increment("NodeResilienceEngine.retryBudgetExhausted", "node", uri);
+    return false;
+  }
+
+  /**
+   * The node's circuit breaker.
+   *
+   * @param uri of the node.
+   * @return the circuit breaker.
+   */
+  @VisibleForTesting
+  CircuitBreaker circuitBreaker(final String uri) {
+    return circuitBreakerRegistry.circuitBreaker(uri);
+  }
+
+  private RetryBudget budget(final String uri) {
+    return budgets.computeIfAbsent(uri, k -> new RetryBudget(retryBudgetPercent, retryBudgetMax));
+  }
+
+}
@@ -20,28 +20,46 @@ import static org.slf4j.LoggerFactory.getLogger;
 import static org.svarm.proxy.module.ProxyModule.NODE_SERVICE_EXECUTOR;
 
 import com.codeheadsystems.metrics.Metrics;
+import com.codeheadsystems.metrics.Tags;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import feign.FeignException;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import org.immutables.value.Value;
 import org.slf4j.Logger;
 import org.svarm.common.config.api.NodeRange;
 import org.svarm.common.config.api.TenantResource;
 import org.svarm.node.api.EntryInfo;
 import org.svarm.node.api.ImmutableEntryInfo;
+import org.svarm.node.api.RawEntryInfo;
+import org.svarm.node.api.RawJson;
+import org.svarm.proxy.ProxyConfiguration;
 import org.svarm.proxy.engine.CachingNodeTenantTableEntryServiceEngine;
+import org.svarm.proxy.engine.EntryCacheEngine;
 import org.svarm.proxy.engine.NodeRangeResolverEngine;
+import org.svarm.proxy.model.NodeRangePlacement;
 
 /**
  * Handles the requests to the various nodes for a single entry.
@@ -56,7 +74,10 @@ public class TableEntryManager {
   private final Metrics metrics;
   private final ExecutorService nodeServiceExecutor;
   private final NodeRangeResolverEngine nodeRangeResolverEngine;
-
+  private final Duration nodeRequestTimeout;
+  private final EntryCacheEngine entryCacheEngine;
+  private final ConcurrentMap<ReadKey, CompletableFuture<Optional<EntryInfo>>> inFlightReads;
+  private final ConcurrentMap<ReadKey, CompletableFuture<Optional<RawJson>>> inFlightRawReads;
 
   /**
    * Constructor.
@@ -66,19 +87,27 @@ public class TableEntryManager {
    * @param metrics                                  for processing.
    * @param nodeServiceExecutor                      for making requests.
    * @param nodeRangeResolverEngine                  to get the node ranges.
+   * @param proxyConfiguration                       for the node request deadline.
+   * @param entryCacheEngine                         for the hot entries.
    */
   @Inject
   public TableEntryManager(final CachingNodeTenantTableEntryServiceEngine cachingNodeTenantTableEntryServiceEngine,
                            final Clock clock,
                            final Metrics metrics,
                            final @Named(NODE_SERVICE_EXECUTOR) ExecutorService nodeServiceExecutor,
-                           final NodeRangeResolverEngine nodeRangeResolverEngine) {
+                           final NodeRangeResolverEngine nodeRangeResolverEngine,
+                           final ProxyConfiguration proxyConfiguration,
+                           final EntryCacheEngine entryCacheEngine) {
     this.cachingNodeTenantTableEntryServiceEngine = cachingNodeTenantTableEntryServiceEngine;
     this.clock = clock;
     this.metrics = metrics;
     this.nodeServiceExecutor = nodeServiceExecutor;
     this.nodeRangeResolverEngine = nodeRangeResolverEngine;
-    LOGGER.info("TableEntryManager()");
+    this.nodeRequestTimeout = Duration.ofMillis(proxyConfiguration.getNodeRequestTimeoutMillis());
+    this.entryCacheEngine = entryCacheEngine;
+    this.inFlightReads = new ConcurrentHashMap<>();
+    this.inFlightRawReads = new ConcurrentHashMap<>();
+    LOGGER.info("TableEntryManager({})", nodeRequestTimeout);
   }
 
   /**
@@ -91,12 +120,107 @@ public class TableEntryManager {
   public Optional<EntryInfo> getTenantTableEntry(final TenantResource tenantResource,
                                                  final String entry) {
     LOGGER.trace("getTenantTableEntry({},{})", tenantResource, entry);
-    final Map<NodeRange, Integer> rangeHashMap = nodeRangeResolverEngine.nodeRangeToHash(tenantResource, entry);
+    return join(getTenantTableEntryAsync(tenantResource, entry));
+  }
+
+  /**
+   * Gets the entry from the data stores without blocking the caller. The future completes when every replica has
+   * answered, or fails once the node request deadline passes. Concurrent reads of the same entry share a single
+   * set of node requests.
+   *
+   * @param tenantResource tenantResource to lookup.
+   * @param entry          the actual entry.
+   * @return the future value.
+   */
+  public CompletableFuture<Optional<EntryInfo>> getTenantTableEntryAsync(final TenantResource tenantResource,
+                                                                         final String entry) {
+    LOGGER.trace("getTenantTableEntryAsync({},{})", tenantResource, entry);
+    final Optional<EntryInfo> cached = entryCacheEngine.get(tenantResource, entry);
+    if (cached.isPresent()) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return coalesce(inFlightReads, tenantResource, entry, () -> readFromNodes(tenantResource, entry));
+  }
 
-    final Map<JsonNode, List<EntryInfo>> map = rangeHashMap.keySet().stream()
-        .map(nodeRange -> (Callable<Optional<EntryInfo>>) () -> getEntryFromNode(tenantResource, entry, nodeRange))
-        .map(nodeServiceExecutor::submit)
-        .map(this::get)
+  /**
+   * Gets the entry data from the data stores as encoded JSON, without decoding it. The newest replica wins, using
+   * the timestamp and digest the nodes send, so the data is never turned into a tree. Reads are coalesced like
+   * {@link #getTenantTableEntryAsync(TenantResource, String)}, and use the entry cache but do not fill it.
+   *
+   * @param tenantResource tenantResource to lookup.
+   * @param entry          the actual entry.
+   * @return the future data.
+   */
+  public CompletableFuture<Optional<RawJson>> getTenantTableEntryRawAsync(final TenantResource tenantResource,
+                                                                          final String entry) {
+    LOGGER.trace("getTenantTableEntryRawAsync({},{})", tenantResource, entry);
+    final Optional<EntryInfo> cached = entryCacheEngine.get(tenantResource, entry);
+    if (cached.isPresent()) {
+      return CompletableFuture.completedFuture(cached.map(entryInfo ->
+          RawJson.of(entryInfo.data().toString().getBytes(StandardCharsets.UTF_8))));
+    }
+    return coalesce(inFlightRawReads, tenantResource, entry, () -> readRawFromNodes(tenantResource, entry));
+  }
+
+  /**
+   * Shares one read between the callers asking for the same entry at the same time.
+   *
+   * @param inFlight       the reads in flight.
+   * @param tenantResource the table.
+   * @param entry          the entry.
+   * @param reader         starts the read.
+   * @param <T>            the result type.
+   * @return a future for this caller.
+   */
+  private <T> CompletableFuture<T> coalesce(final ConcurrentMap<ReadKey, CompletableFuture<T>> inFlight,
+                                            final TenantResource tenantResource,
+                                            final String entry,
+                                            final Supplier<CompletableFuture<T>> reader) {
+    final ReadKey key = ImmutableReadKey.builder().tenantResource(tenantResource).entry(entry).build();
+    final CompletableFuture<T> leader = new CompletableFuture<>();
+    final CompletableFuture<T> existing = inFlight.putIfAbsent(key, leader);
+    if (existing != null) {
+      LOGGER.trace("coalesced({},{})", tenantResource, entry);
+      metrics.increment("TableEntryManager.coalescedRead",
+          Tags.of("tenant", tenantResource.tenant(), "resource", tenantResource.resource()));
+      return existing.copy(); // so a waiter cancelling does not cancel the others.
+    }
+    try {
+      reader.get().whenComplete((result, throwable) -> {
+        inFlight.remove(key, leader);
+        if (throwable != null) {
+          leader.completeExceptionally(throwable);
+        } else {
+          leader.complete(result);
+        }
+      });
+    } catch (RuntimeException e) {
+      inFlight.remove(key, leader);
+      leader.completeExceptionally(e);
+    }
+    return leader.copy();
+  }
+
+  private CompletableFuture<Optional<EntryInfo>> readFromNodes(final TenantResource tenantResource,
+                                                               final String entry) {
+    final NodeRangePlacement placement = nodeRangeResolverEngine.nodeRangeToHash(tenantResource, entry);
+    final long generation = entryCacheEngine.generation(tenantResource, entry);
+
+    final List<CompletableFuture<Optional<EntryInfo>>> futures = placement.nodeRanges().stream()
+        .map(nodeRange -> CompletableFuture.supplyAsync(
+            () -> getEntryFromNode(tenantResource, entry, nodeRange), nodeServiceExecutor))
+        .toList();
+    return allOf("getTenantTableEntry", futures)
+        .thenApply(this::mostCommonEntry)
+        .whenComplete((result, throwable) -> {
+          if (result != null) {
+            result.ifPresent(entryInfo -> entryCacheEngine.put(tenantResource, entryInfo, generation));
+          }
+        });
+  }
+
+  private Optional<EntryInfo> mostCommonEntry(final List<Optional<EntryInfo>> results) {
+    final Map<JsonNode, List<EntryInfo>> map = results.stream()
         .filter(Optional::isPresent)
         .map(Optional::get)
         .collect(Collectors.groupingBy(EntryInfo::data));
@@ -111,8 +235,44 @@ public class TableEntryManager {
     }
   }
 
+  private CompletableFuture<Optional<RawJson>> readRawFromNodes(final TenantResource tenantResource,
+                                                                final String entry) {
+    final NodeRangePlacement placement = nodeRangeResolverEngine.nodeRangeToHash(tenantResource, entry);
+
+    final List<CompletableFuture<Optional<RawEntryInfo>>> futures = placement.nodeRanges().stream()
+        .map(nodeRange -> CompletableFuture.supplyAsync(
+            () -> getRawEntryFromNode(tenantResource, entry, nodeRange), nodeServiceExecutor))
+        .toList();
+    return allOf("getTenantTableEntryRaw", futures)
+        .thenApply(results -> mostCommonRawEntry(tenantResource, results).map(RawEntryInfo::data));
+  }
+
   /**
-   * Largest list first int.
+   * Picks the most common data among the replicas, the same way tree reads do. Ties go to the newest timestamp, then
+   * to the digest itself so every proxy picks the same one.
+   *
+   * @param tenantResource the table, for metrics.
+   * @param results        from the replicas.
+   * @return the winner, if any replica had the entry.
+   */
+  @VisibleForTesting
+  Optional<RawEntryInfo> mostCommonRawEntry(final TenantResource tenantResource,
+                                            final List<Optional<RawEntryInfo>> results) {
+    final List<RawEntryInfo> found = results.stream().flatMap(Optional::stream).toList();
+    final Map<String, Long> digests = found.stream()
+        .collect(Collectors.groupingBy(RawEntryInfo::digest, Collectors.counting()));
+    if (digests.size() > 1) {
+      metrics.increment("TableEntryManager.divergentRead",
+          Tags.of("tenant", tenantResource.tenant(), "resource", tenantResource.resource()));
+    }
+    return found.stream()
+        .max(Comparator.<RawEntryInfo, Long>comparing(rawEntryInfo -> digests.get(rawEntryInfo.digest()))
+        .thenComparing(RawEntryInfo::timestamp)
+        .thenComparing(RawEntryInfo::digest));
+  }
+
+  /**
+   * Largest list first int. Lists of the same size are ordered by their newest timestamp.
    *
    * @param entry1 the entry 1
    * @param entry2 the entry 2
@@ -121,15 +281,54 @@ public class TableEntryManager {
   @VisibleForTesting
   int largestListFirst(final Map.Entry<JsonNode, List<EntryInfo>> entry1,
                        final Map.Entry<JsonNode, List<EntryInfo>> entry2) {
-    return entry2.getValue().size() - entry1.getValue().size();
+    final int bySize = entry2.getValue().size() - entry1.getValue().size();
+    if (bySize != 0) {
+      return bySize;
+    }
+    return Long.compare(newestTimestamp(entry2.getValue()), newestTimestamp(entry1.getValue()));
+  }
+
+  private long newestTimestamp(final List<EntryInfo> entries) {
+    return entries.stream().mapToLong(EntryInfo::timestamp).max().orElse(0L);
+  }
+
+  /**
+   * Combines all the node requests into one future, bounded by the node request deadline. When the deadline passes
+   * the combined future fails with a TimeoutException and the requests still running are abandoned. Cancelling them
+   * does not interrupt a node call already in progress; the node client's call timeout, set to the same deadline,
+   * is what ends it and frees its connection.
+   *
+   * @param method  the calling method, for metrics.
+   * @param futures the node requests.
+   * @param <T>     the result type.
+   * @return the results, in the same order as the futures.
+   */
+  private <T> CompletableFuture<List<T>> allOf(final String method, final List<CompletableFuture<T>> futures) {
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .orTimeout(nodeRequestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete((v, throwable) -> {
+          if (throwable instanceof TimeoutException) {
+            LOGGER.error("Deadline of {} exceeded for {}", nodeRequestTimeout, method);
+            metrics.increment("TableEntryManager.deadlineExceeded", "method", method);
+            futures.forEach(future -> future.cancel(true));
+          }
+        })
+        .thenApply(v -> futures.stream().map(CompletableFuture::join).toList());
   }
 
-  private <T> T get(final Future<T> future) {
+  /**
+   * Blocks on the future for the synchronous callers.
+   *
+   * @param future to wait on.
+   * @param <T>    the result type.
+   * @return the result.
+   */
+  private <T> T join(final CompletableFuture<T> future) {
     try {
-      return future.get();
-    } catch (InterruptedException | ExecutionException e) {
+      return future.join();
+    } catch (CompletionException | CancellationException e) {
       LOGGER.error("Unable to get value", e);
-      throw new IllegalStateException("Unable to get value", e);
+      throw new IllegalStateException("Unable to get value", e.getCause());
     }
   }
 
@@ -146,6 +345,21 @@ public class TableEntryManager {
     return Optional.empty();
   }
 
+  private Optional<RawEntryInfo> getRawEntryFromNode(final TenantResource tenantResource,
+                                                     final String entry,
+                                                     final NodeRange nodeRange) {
+    try {
+      return cachingNodeTenantTableEntryServiceEngine.get(nodeRange)
+          .readTenantTableEntryRaw(
+              tenantResource.tenant(),
+              tenantResource.resource(),
+              entry);
+    } catch (FeignException.NotFound e) {
+      LOGGER.trace("Not found for {}", nodeRange);
+    }
+    return Optional.empty();
+  }
+
   /**
    * Writes the value to all the nodes in the set.
    *
@@ -157,24 +371,47 @@ public class TableEntryManager {
                                   final String entry,
                                   final JsonNode data) {
     LOGGER.trace("putTenantTableEntry({},{},{})", tenantResource, entry, data);
+    join(putTenantTableEntryAsync(tenantResource, entry, data)); // let the futures complete before we return.
+  }
+
+  /**
+   * Writes the value to all the nodes in the set without blocking the caller.
+   *
+   * @param tenantResource to write.
+   * @param entry          the entry.
+   * @param data           the data.
+   * @return a future that completes when all the nodes have the value.
+   */
+  public CompletableFuture<Void> putTenantTableEntryAsync(final TenantResource tenantResource,
+                                                          final String entry,
+                                                          final JsonNode data) {
+    LOGGER.trace("putTenantTableEntryAsync({},{},{})", tenantResource, entry, data);
     // get the node lists from etcd.
-    final Map<NodeRange, Integer> rangeHashMap = nodeRangeResolverEngine.nodeRangeToHash(tenantResource, entry);
+    final NodeRangePlacement placement = nodeRangeResolverEngine.nodeRangeToHash(tenantResource, entry);
     final Long timestamp = clock.millis();
 
-    rangeHashMap.entrySet().stream()
-        .map(tuple -> (Runnable) () -> {
-          final EntryInfo entryInfo = ImmutableEntryInfo.builder()
-              .id(entry).data(data).locationHash(tuple.getValue()).timestamp(timestamp)
-              .build();
-          cachingNodeTenantTableEntryServiceEngine.get(tuple.getKey())
-              .createTenantTableEntry(
-                  tenantResource.tenant(),
-                  tenantResource.resource(),
-                  entry,
-                  entryInfo);
-        })
-        .map(nodeServiceExecutor::submit)
-        .forEach(this::get); // let the future complete before we return.
+    final Map<NodeRange, EntryInfo> entryInfoMap = new LinkedHashMap<>();
+    placement.forEach((nodeRange, hash) -> entryInfoMap.put(nodeRange, ImmutableEntryInfo.builder()
+        .id(entry).data(data).locationHash(hash).timestamp(timestamp)
+        .build()));
+    entryCacheEngine.invalidate(tenantResource, entry); // stop serving the old value once the write starts.
+    forgetInFlightRead(tenantResource, entry);
+    final long generation = entryCacheEngine.generation(tenantResource, entry);
+    final List<CompletableFuture<Void>> futures = entryInfoMap.entrySet().stream()
+        .map(tuple -> CompletableFuture.runAsync(() ->
+            cachingNodeTenantTableEntryServiceEngine.get(tuple.getKey())
+                .createTenantTableEntry(
+                    tenantResource.tenant(),
+                    tenantResource.resource(),
+                    entry,
+                    tuple.getValue()), nodeServiceExecutor))
+        .toList();
+    return allOf("putTenantTableEntry", futures)
+        .thenApply(list -> {
+          entryInfoMap.values().stream().findFirst()
+              .ifPresent(entryInfo -> entryCacheEngine.put(tenantResource, entryInfo, generation));
+          return null;
+        });
   }
 
   /**
@@ -186,17 +423,193 @@ public class TableEntryManager {
   public void deleteTenantTableEntry(final TenantResource tenantResource,
                                      final String entry) {
     LOGGER.trace("deleteTenantTableEntry({},{})", tenantResource, entry);
+    join(deleteTenantTableEntryAsync(tenantResource, entry)); // let the futures complete before we return.
+  }
+
+  /**
+   * Deletes the entry from all the nodes in the set without blocking the caller.
+   *
+   * @param tenantResource to write.
+   * @param entry          the entry.
+   * @return a future that completes when all the nodes have deleted the entry.
+   */
+  public CompletableFuture<Void> deleteTenantTableEntryAsync(final TenantResource tenantResource,
+                                                             final String entry) {
+    LOGGER.trace("deleteTenantTableEntryAsync({},{})", tenantResource, entry);
     // get the node lists from etcd.
-    final Map<NodeRange, Integer> rangeHashMap = nodeRangeResolverEngine.nodeRangeToHash(tenantResource, entry);
-    rangeHashMap.keySet().stream()
+    final NodeRangePlacement placement = nodeRangeResolverEngine.nodeRangeToHash(tenantResource, entry);
+    entryCacheEngine.invalidate(tenantResource, entry);
+    forgetInFlightRead(tenantResource, entry);
+    final List<CompletableFuture<Void>> futures = placement.nodeRanges().stream()
         .map(cachingNodeTenantTableEntryServiceEngine::get)
-        .map((node) -> (Runnable) () -> node.deleteTenantTableEntry(
+        .map((node) -> CompletableFuture.runAsync(() -> node.deleteTenantTableEntry(
             tenantResource.tenant(),
             tenantResource.resource(),
-            entry))
-        .map(nodeServiceExecutor::submit)
-        .forEach(this::get); // let the future complete before we return.
+            entry), nodeServiceExecutor))
+        .toList();
+    return allOf("deleteTenantTableEntry", futures).thenApply(list -> null);
+  }
+
+  /**
+   * Gets many entries from the data stores without blocking the caller. The entries are grouped by the node ranges
+   * that own them so each node gets one request, and the nodes are called in parallel.
+   *
+   * @param tenantResource tenantResource to lookup.
+   * @param entries        the entries.
+   * @return the future map of entry to value. Entries not found are left out.
+   */
+  public CompletableFuture<Map<String, EntryInfo>> getTenantTableEntriesAsync(final TenantResource tenantResource,
+                                                                              final List<String> entries) {
+    LOGGER.trace("getTenantTableEntriesAsync({},{})", tenantResource, entries.size());
+    final Map<String, EntryInfo> found = new HashMap<>();
+    final Map<String, Long> generations = new HashMap<>();
+    final Map<NodeRange, List<String>> nodeEntries = new LinkedHashMap<>();
+    for (String entry : entries) {
+      final Optional<EntryInfo> cached = entryCacheEngine.get(tenantResource, entry);
+      if (cached.isPresent()) {
+        found.put(entry, cached.get());
+      } else {
+        generations.put(entry, entryCacheEngine.generation(tenantResource, entry));
+        nodeRangeResolverEngine.nodeRangeToHash(tenantResource, entry).nodeRanges()
+            .forEach(nodeRange -> nodeEntries.computeIfAbsent(nodeRange, k -> new ArrayList<>()).add(entry));
+      }
+    }
+    final List<CompletableFuture<List<EntryInfo>>> futures = nodeEntries.entrySet().stream()
+        .map(tuple -> CompletableFuture.supplyAsync(
+            () -> getEntriesFromNode(tenantResource, tuple.getValue(), tuple.getKey()), nodeServiceExecutor))
+        .toList();
+    return allOf("getTenantTableEntries", futures)
+        .thenApply(lists -> {
+          final Map<String, List<Optional<EntryInfo>>> byEntry = lists.stream()
+              .flatMap(List::stream)
+              .collect(Collectors.groupingBy(EntryInfo::id,
+                  Collectors.mapping(Optional::of, Collectors.toList())));
+          byEntry.forEach((entry, results) -> mostCommonEntry(results).ifPresent(entryInfo -> {
+            entryCacheEngine.put(tenantResource, entryInfo, generations.get(entry));
+            found.put(entry, entryInfo);
+          }));
+          return found;
+        });
+  }
+
+  private List<EntryInfo> getEntriesFromNode(final TenantResource tenantResource,
+                                             final List<String> entries,
+                                             final NodeRange nodeRange) {
+    try {
+      return cachingNodeTenantTableEntryServiceEngine.get(nodeRange)
+          .readTenantTableEntries(
+              tenantResource.tenant(),
+              tenantResource.resource(),
+              entries);
+    } catch (FeignException.NotFound e) {
+      LOGGER.trace("Not found for {}", nodeRange);
+    }
+    return List.of();
+  }
+
+  /**
+   * Writes many values without blocking the caller. Each node gets one request with all the entries it owns.
+   *
+   * @param tenantResource to write.
+   * @param entries        map of entry to data.
+   * @return a future that completes when all the nodes have the values.
+   */
+  public CompletableFuture<Void> putTenantTableEntriesAsync(final TenantResource tenantResource,
+                                                           final Map<String, JsonNode> entries) {
+    LOGGER.trace("putTenantTableEntriesAsync({},{})", tenantResource, entries.size());
+    final Long timestamp = clock.millis();
+    final Map<NodeRange, List<EntryInfo>> nodeEntries = new LinkedHashMap<>();
+    final Map<String, EntryInfo> written = new HashMap<>();
+    final Map<String, Long> generations = new HashMap<>();
+    entries.forEach((entry, data) -> {
+      nodeRangeResolverEngine.nodeRangeToHash(tenantResource, entry).forEach((nodeRange, hash) -> {
+        final EntryInfo entryInfo = ImmutableEntryInfo.builder()
+            .id(entry).data(data).locationHash(hash).timestamp(timestamp)
+            .build();
+        nodeEntries.computeIfAbsent(nodeRange, k -> new ArrayList<>()).add(entryInfo);
+        written.putIfAbsent(entry, entryInfo);
+      });
+      entryCacheEngine.invalidate(tenantResource, entry);
+      forgetInFlightRead(tenantResource, entry);
+      generations.put(entry, entryCacheEngine.generation(tenantResource, entry));
+    });
+    final List<CompletableFuture<Void>> futures = nodeEntries.entrySet().stream()
+        .map(tuple -> CompletableFuture.runAsync(() ->
+            cachingNodeTenantTableEntryServiceEngine.get(tuple.getKey())
+                .createTenantTableEntries(
+                    tenantResource.tenant(),
+                    tenantResource.resource(),
+                    tuple.getValue()), nodeServiceExecutor))
+        .toList();
+    return allOf("putTenantTableEntries", futures)
+        .thenApply(list -> {
+          written.values().forEach(entryInfo ->
+              entryCacheEngine.put(tenantResource, entryInfo, generations.get(entryInfo.id())));
+          return null;
+        });
+  }
+
+  /**
+   * Deletes many entries without blocking the caller. Each node gets one request with all the entries it owns.
+   *
+   * @param tenantResource to write.
+   * @param entries        the entries.
+   * @return a future that completes when all the nodes have deleted the entries.
+   */
+  public CompletableFuture<Void> deleteTenantTableEntriesAsync(final TenantResource tenantResource,
+                                                              final List<String> entries) {
+    LOGGER.trace("deleteTenantTableEntriesAsync({},{})", tenantResource, entries.size());
+    final Map<NodeRange, List<String>> nodeEntries = new LinkedHashMap<>();
+    for (String entry : entries) {
+      nodeRangeResolverEngine.nodeRangeToHash(tenantResource, entry).nodeRanges()
+          .forEach(nodeRange -> nodeEntries.computeIfAbsent(nodeRange, k -> new ArrayList<>()).add(entry));
+      entryCacheEngine.invalidate(tenantResource, entry);
+      forgetInFlightRead(tenantResource, entry);
+    }
+    final List<CompletableFuture<Void>> futures = nodeEntries.entrySet().stream()
+        .map(tuple -> CompletableFuture.runAsync(() ->
+            cachingNodeTenantTableEntryServiceEngine.get(tuple.getKey())
+                .deleteTenantTableEntries(
+                    tenantResource.tenant(),
+                    tenantResource.resource(),
+                    tuple.getValue()), nodeServiceExecutor))
+        .toList();
+    return allOf("deleteTenantTableEntries", futures).thenApply(list -> null);
   }
 
+  /**
+   * Reads that started before a write must not be shared with reads that start after it, so the write drops the
+   * in-flight read. Callers already waiting on it still get its result.
+   *
+   * @param tenantResource the table.
+   * @param entry          the entry.
+   */
+  private void forgetInFlightRead(final TenantResource tenantResource, final String entry) {
+    final ReadKey key = ImmutableReadKey.builder().tenantResource(tenantResource).entry(entry).build();
+    inFlightReads.remove(key);
+    inFlightRawReads.remove(key);
+  }
+
+  /**
+   * Identifies a read for coalescing.
+   */
+  @Value.Immutable
+  interface ReadKey {
+
+    /**
+     * The table.
+     *
+     * @return the tenant resource.
+     */
+    TenantResource tenantResource();
+
+    /**
+     * The entry.
+     *
+     * @return the entry id.
+     */
+    String entry();
+
+  }
 
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.proxy.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+import org.svarm.common.config.api.NodeRange;
+
+/**
+ * Where one entry lives: the node ranges that hold its replicas, each with the location hash the entry is stored
+ * under on that range. Kept in parallel arrays so resolving an entry does not box hashes or build a map. When two
+ * location hashes fall in the same range only the first is kept.
+ */
+public final class NodeRangePlacement {
+
+  private final NodeRange[] nodeRanges;
+  private final int[] hashes;
+  private final int size;
+
+  /**
+   * Constructor. The arrays are used as is, not copied.
+   *
+   * @param nodeRanges the ranges, with no duplicates in the first size elements.
+   * @param hashes     the location hash for each range.
+   * @param size       how many of the elements are in use.
+   */
+  public NodeRangePlacement(final NodeRange[] nodeRanges,
+                            final int[] hashes,
+                            final int size) {
+    this.nodeRanges = nodeRanges;
+    this.hashes = hashes;
+    this.size = size;
+  }
+
+  /**
+   * How many ranges hold the entry.
+   *
+   * @return the size.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * The node range at the index.
+   *
+   * @param index of the replica.
+   * @return the node range.
+   */
+  public NodeRange nodeRange(final int index) {
+    return nodeRanges[index];
+  }
+
+  /**
+   * The location hash the entry is stored under on the range at the index.
+   *
+   * @param index of the replica.
+   * @return the hash.
+   */
+  public int hash(final int index) {
+    return hashes[index];
+  }
+
+  /**
+   * The node ranges, as a view over the array.
+   *
+   * @return the node ranges.
+   */
+  public List<NodeRange> nodeRanges() {
+    return Arrays.asList(nodeRanges).subList(0, size);
+  }
+
+  /**
+   * Calls the consumer with each node range and its location hash.
+   *
+   * @param consumer to call.
+   */
+  public void forEach(final ObjIntConsumer<NodeRange> consumer) {
+    for (int i = 0; i < size; i++) {
+      consumer.accept(nodeRanges[i], hashes[i]);
+    }
+  }
+
+}
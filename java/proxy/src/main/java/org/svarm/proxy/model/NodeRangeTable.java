@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.proxy.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import org.svarm.common.config.api.NodeRange;
+import org.svarm.common.config.api.TenantResourceRange;
+
+/**
+ * A tenant resource range compiled for lookups. The low hashes are sorted into a primitive array with the node
+ * ranges in a parallel array, so finding the owner of a hash is a binary search with no boxing. Build it once when
+ * the range is loaded and share it; it is immutable.
+ */
+public final class NodeRangeTable {
+
+  private final TenantResourceRange tenantResourceRange;
+  private final int[] lowHashes;
+  private final NodeRange[] nodeRanges;
+
+  private NodeRangeTable(final TenantResourceRange tenantResourceRange,
+                         final int[] lowHashes,
+                         final NodeRange[] nodeRanges) {
+    this.tenantResourceRange = tenantResourceRange;
+    this.lowHashes = lowHashes;
+    this.nodeRanges = nodeRanges;
+  }
+
+  /**
+   * Compiles the range.
+   *
+   * @param tenantResourceRange to compile.
+   * @return the table.
+   */
+  public static NodeRangeTable from(final TenantResourceRange tenantResourceRange) {
+    final Map<Integer, NodeRange> hashToNodeRange = tenantResourceRange.hashToNodeRange();
+    final int[] lowHashes = new int[hashToNodeRange.size()];
+    int index = 0;
+    for (Integer lowHash : hashToNodeRange.keySet()) {
+      lowHashes[index++] = lowHash;
+    }
+    Arrays.sort(lowHashes);
+    final NodeRange[] nodeRanges = new NodeRange[lowHashes.length];
+    for (int i = 0; i < lowHashes.length; i++) {
+      nodeRanges[i] = hashToNodeRange.get(lowHashes[i]);
+    }
+    return new NodeRangeTable(tenantResourceRange, lowHashes, nodeRanges);
+  }
+
+  /**
+   * The range this table was compiled from.
+   *
+   * @return the tenant resource range.
+   */
+  public TenantResourceRange tenantResourceRange() {
+    return tenantResourceRange;
+  }
+
+  /**
+   * How many ranges are in the table.
+   *
+   * @return the size.
+   */
+  public int size() {
+    return lowHashes.length;
+  }
+
+  /**
+   * Return the node range with the largest low hash that is not greater than the hash.
+   *
+   * @param hash we are looking for.
+   * @return the node range that owns the hash.
+   */
+  public NodeRange nodeRangeForHash(final int hash) {
+    final int index = Arrays.binarySearch(lowHashes, hash);
+    if (index >= 0) {
+      return nodeRanges[index];
+    }
+    final int insertionPoint = -index - 1;
+    if (insertionPoint == 0) {
+      throw new IllegalStateException("Unable to find correct set!");
+    }
+    return nodeRanges[insertionPoint - 1];
+  }
+
+  /**
+   * Resolves the location hashes of an entry to the node ranges that own them. When two hashes land in the same
+   * range only the first is kept.
+   *
+   * @param locationHashes of the entry. The placement takes over the array, so do not reuse it.
+   * @return the placement.
+   */
+  public NodeRangePlacement placement(final int[] locationHashes) {
+    final NodeRange[] ranges = new NodeRange[locationHashes.length];
+    int size = 0;
+    for (int hash : locationHashes) {
+      final NodeRange nodeRange = nodeRangeForHash(hash);
+      if (indexOf(ranges, size, nodeRange) < 0) {
+        ranges[size] = nodeRange;
+        locationHashes[size++] = hash; // safe, as we never write past the hash being read.
+      }
+    }
+    return new NodeRangePlacement(ranges, locationHashes, size);
+  }
+
+  private static int indexOf(final NodeRange[] ranges, final int size, final NodeRange nodeRange) {
+    for (int i = 0; i < size; i++) {
+      if (ranges[i].equals(nodeRange)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+}
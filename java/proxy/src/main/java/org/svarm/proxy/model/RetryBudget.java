@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.proxy.model;
+
+/**
+ * Limits retries to a share of the requests. Every request banks a percent of a retry, every retry spends a whole
+ * one, and at most a few retries can be banked. A node that fails everything gets the banked retries and then one
+ * retry for every so many requests, rather than every request being sent again. Thread safe.
+ */
+public final class RetryBudget {
+
+  private static final long RETRY = 100L;
+
+  private final long percent;
+  private final long max;
+  private long balance;
+
+  /**
+   * Constructor. Starts full.
+   *
+   * @param percent    of the requests that may be retried.
+   * @param maxRetries that can be banked.
+   */
+  public RetryBudget(final int percent, final int maxRetries) {
+    this.percent = percent;
+    this.max = maxRetries * RETRY;
+    this.balance = max;
+  }
+
+  /**
+   * Records a request, banking its share of a retry.
+   */
+  public synchronized void deposit() {
+    balance = Math.min(max, balance + percent);
+  }
+
+  /**
+   * If there is a retry to spend.
+   *
+   * @return true if the retry may go ahead.
+   */
+  public synchronized boolean hasRetry() {
+    return balance >= RETRY;
+  }
+
+  /**
+   * Spends a retry. Concurrent retries that all saw one banked can take the balance to zero, but not below.
+   */
+  public synchronized void withdraw() {
+    balance = Math.max(0L, balance - RETRY);
+  }
+
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import org.svarm.common.javaclient.ImmutableJavaClientConfig;
 import org.svarm.common.javaclient.JavaClientConfig;
 import org.svarm.proxy.ProxyConfiguration;
 import org.svarm.server.ServerConfiguration;
@@ -65,8 +66,15 @@ public class ProxyModule {
    */
   @Provides
   @Singleton
-  public JavaClientConfig javaClientConfig(final ServerConfiguration configuration) {
-    return configuration.isUseTestJavaClient() ? JavaClientConfig.testConfig() : JavaClientConfig.defaultConfig();
+  public JavaClientConfig javaClientConfig(final ProxyConfiguration configuration) {
+    final JavaClientConfig config = configuration.isUseTestJavaClient()
+        ? JavaClientConfig.testConfig() : JavaClientConfig.defaultConfig();
+    return ImmutableJavaClientConfig.copyOf(config)
+        .withSmile(configuration.isNodeSmile())
+        .withHttp2(configuration.isNodeHttp2())
+        .withMaxIdleConnections(configuration.getNodeMaxIdleConnections())
+        .withKeepAliveMillis(configuration.getNodeKeepAliveMillis())
+        .withCallTimeoutMillis(configuration.getNodeRequestTimeoutMillis());
   }
 
   /**
@@ -83,7 +91,8 @@ public class ProxyModule {
   }
 
   /**
-   * Gets an executor service for the node service engine.
+   * Gets an executor service for the node service engine. Uses a virtual thread per request unless configured
+   * otherwise, so the number of in-flight node requests is not bound by a fixed pool.
    *
    * @param proxyConfiguration to get the count from.
    * @return the service.
@@ -92,7 +101,11 @@ public class ProxyModule {
   @Singleton
   @Named(NODE_SERVICE_EXECUTOR)
   public ExecutorService nodeServiceExecutor(final ProxyConfiguration proxyConfiguration) {
-    return Executors.newFixedThreadPool(proxyConfiguration.getNodeServiceThreads());
+    if (proxyConfiguration.isNodeServiceVirtualThreads()) {
+      return Executors.newVirtualThreadPerTaskExecutor();
+    } else {
+      return Executors.newFixedThreadPool(proxyConfiguration.getNodeServiceThreads());
+    }
   }
 
 }
@@ -19,6 +19,8 @@ package org.svarm.proxy.module;
 import dagger.Binds;
 import dagger.Module;
 import dagger.multibindings.IntoSet;
+import io.dropwizard.lifecycle.Managed;
+import org.svarm.proxy.engine.CachingTenantResourceRangeEngine;
 import org.svarm.proxy.resource.ProxyResource;
 import org.svarm.server.resource.JerseyResource;
 
@@ -38,4 +40,14 @@ public interface ResourceModule {
   @IntoSet
   JerseyResource proxyResource(final ProxyResource resource);
 
+  /**
+   * Managed resource: the in memory tenant resource ranges.
+   *
+   * @param engine to bind.
+   * @return managed.
+   */
+  @Binds
+  @IntoSet
+  Managed cachingTenantResourceRangeEngine(final CachingTenantResourceRangeEngine engine);
+
 }
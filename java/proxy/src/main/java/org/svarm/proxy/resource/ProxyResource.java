@@ -18,80 +18,232 @@ package org.svarm.proxy.resource;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-import com.codahale.metrics.annotation.ExceptionMetered;
-import com.codahale.metrics.annotation.ResponseMetered;
-import com.codahale.metrics.annotation.Timed;
 import com.fasterxml.jackson.databind.JsonNode;
-import java.util.Optional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.container.AsyncResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.svarm.common.config.api.ImmutableTenantResource;
 import org.svarm.common.config.api.TenantResource;
 import org.svarm.node.api.EntryInfo;
-import org.svarm.proxy.common.api.ProxyService;
+import org.svarm.node.api.RawJson;
+import org.svarm.proxy.ProxyConfiguration;
+import org.svarm.proxy.common.api.ProxyAsyncService;
 import org.svarm.proxy.manager.TableEntryManager;
+import org.svarm.server.exception.NotFoundException;
 import org.svarm.server.resource.JerseyResource;
 
 /**
- * Main proxy resource.
+ * Main proxy resource. Requests are timed from when they arrive until their suspended response is resumed, by
+ * method and outcome.
  */
 @Singleton
-public class ProxyResource implements ProxyService, JerseyResource {
+public class ProxyResource implements ProxyAsyncService, JerseyResource {
 
   private static final Logger LOGGER = getLogger(ProxyResource.class);
 
   private final TableEntryManager tableEntryManager;
+  private final boolean readPassThrough;
+  private final int maxBatchSize;
+  private final MeterRegistry meterRegistry;
+  private final ConcurrentMap<String, Timer> timers;
 
 
   /**
    * Constructor.
    *
-   * @param tableEntryManager to get the real data.
+   * @param tableEntryManager  to get the real data.
+   * @param proxyConfiguration for the read pass through and batch size.
+   * @param meterRegistry      for the request timers.
    */
   @Inject
-  public ProxyResource(final TableEntryManager tableEntryManager) {
+  public ProxyResource(final TableEntryManager tableEntryManager,
+                       final ProxyConfiguration proxyConfiguration,
+                       final MeterRegistry meterRegistry) {
     this.tableEntryManager = tableEntryManager;
-    LOGGER.info("ProxyResource()");
+    this.meterRegistry = meterRegistry;
+    this.timers = new ConcurrentHashMap<>();
+    this.readPassThrough = proxyConfiguration.isReadPassThrough();
+    this.maxBatchSize = proxyConfiguration.getMaxBatchSize();
+    LOGGER.info("ProxyResource({},{})", readPassThrough, maxBatchSize);
   }
 
   @Override
-  @Timed
-  @ExceptionMetered
-  @ResponseMetered
-  public Optional<JsonNode> readTenantTableEntry(final String tenantId,
-                                                 final String table,
-                                                 final String entry) {
+  public void readTenantTableEntry(final String tenantId,
+                                   final String table,
+                                   final String entry,
+                                   final AsyncResponse asyncResponse) {
     LOGGER.trace("readTenantTableEntry({},{},{})", tenantId, table, entry);
     final TenantResource tenantResource = ImmutableTenantResource.builder()
         .tenant(tenantId).resource(table).build();
-    return tableEntryManager.getTenantTableEntry(tenantResource, entry).map(EntryInfo::data);
+    if (readPassThrough) {
+      resume("readTenantTableEntry", asyncResponse,
+          () -> tableEntryManager.getTenantTableEntryRawAsync(tenantResource, entry),
+          result -> result.map(RawJson::bytes).orElseThrow(NotFoundException::new));
+    } else {
+      resume("readTenantTableEntry", asyncResponse,
+          () -> tableEntryManager.getTenantTableEntryAsync(tenantResource, entry),
+          result -> result.map(EntryInfo::data).orElseThrow(NotFoundException::new));
+    }
   }
 
   @Override
-  @Timed
-  @ExceptionMetered
-  @ResponseMetered
   public void createTenantTableEntry(final String tenantId,
                                      final String table,
                                      final String entry,
-                                     final JsonNode data) {
+                                     final JsonNode data,
+                                     final AsyncResponse asyncResponse) {
     LOGGER.trace("createTenantTableEntry({},{},{})", tenantId, table, entry);
     final TenantResource tenantResource = ImmutableTenantResource.builder()
         .tenant(tenantId).resource(table).build();
-    tableEntryManager.putTenantTableEntry(tenantResource, entry, data);
+    resume("createTenantTableEntry", asyncResponse,
+        () -> tableEntryManager.putTenantTableEntryAsync(tenantResource, entry, data),
+        result -> null);
   }
 
   @Override
-  @Timed
-  @ExceptionMetered
-  @ResponseMetered
   public void deleteTenantTableEntry(final String tenantId,
                                      final String table,
-                                     final String entry) {
+                                     final String entry,
+                                     final AsyncResponse asyncResponse) {
     LOGGER.trace("deleteTenantTableEntry({},{},{})", tenantId, table, entry);
     final TenantResource tenantResource = ImmutableTenantResource.builder()
         .tenant(tenantId).resource(table).build();
-    tableEntryManager.deleteTenantTableEntry(tenantResource, entry);
+    resume("deleteTenantTableEntry", asyncResponse,
+        () -> tableEntryManager.deleteTenantTableEntryAsync(tenantResource, entry),
+        result -> null);
+  }
+
+  @Override
+  public void readTenantTableEntries(final String tenantId,
+                                     final String table,
+                                     final List<String> entries,
+                                     final AsyncResponse asyncResponse) {
+    LOGGER.trace("readTenantTableEntries({},{},{})", tenantId, table, entries.size());
+    final TenantResource tenantResource = ImmutableTenantResource.builder()
+        .tenant(tenantId).resource(table).build();
+    resume("readTenantTableEntries", asyncResponse,
+        () -> {
+          checkBatchSize(entries.size());
+          return tableEntryManager.getTenantTableEntriesAsync(tenantResource, entries);
+        },
+        result -> result.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().data())));
+  }
+
+  @Override
+  public void createTenantTableEntries(final String tenantId,
+                                       final String table,
+                                       final Map<String, JsonNode> entries,
+                                       final AsyncResponse asyncResponse) {
+    LOGGER.trace("createTenantTableEntries({},{},{})", tenantId, table, entries.size());
+    final TenantResource tenantResource = ImmutableTenantResource.builder()
+        .tenant(tenantId).resource(table).build();
+    resume("createTenantTableEntries", asyncResponse,
+        () -> {
+          checkBatchSize(entries.size());
+          return tableEntryManager.putTenantTableEntriesAsync(tenantResource, entries);
+        },
+        result -> null);
+  }
+
+  @Override
+  public void deleteTenantTableEntries(final String tenantId,
+                                       final String table,
+                                       final List<String> entries,
+                                       final AsyncResponse asyncResponse) {
+    LOGGER.trace("deleteTenantTableEntries({},{},{})", tenantId, table, entries.size());
+    final TenantResource tenantResource = ImmutableTenantResource.builder()
+        .tenant(tenantId).resource(table).build();
+    resume("deleteTenantTableEntries", asyncResponse,
+        () -> {
+          checkBatchSize(entries.size());
+          return tableEntryManager.deleteTenantTableEntriesAsync(tenantResource, entries);
+        },
+        result -> null);
+  }
+
+  /**
+   * Resumes the suspended request once the future completes. Failures, including ones thrown before the future
+   * exists, resume the request with the underlying exception so the usual exception mappers apply.
+   *
+   * @param method        the calling method, for the timer.
+   * @param asyncResponse the suspended request.
+   * @param supplier      of the future to wait on.
+   * @param mapper        converts the result into the response entity.
+   * @param <T>           the result type.
+   */
+  private <T> void resume(final String method,
+                          final AsyncResponse asyncResponse,
+                          final Supplier<CompletableFuture<T>> supplier,
+                          final Function<T, Object> mapper) {
+    final long start = System.nanoTime();
+    final CompletableFuture<T> future;
+    try {
+      future = supplier.get();
+    } catch (RuntimeException e) {
+      resume(method, start, asyncResponse, e);
+      return;
+    }
+    future.whenComplete((result, throwable) -> {
+      if (throwable != null) {
+        resume(method, start, asyncResponse, unwrap(throwable));
+      } else {
+        try {
+          final Object entity = mapper.apply(result);
+          timer(method, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+          asyncResponse.resume(entity);
+        } catch (RuntimeException e) {
+          resume(method, start, asyncResponse, e);
+        }
+      }
+    });
+  }
+
+  private void resume(final String method,
+                      final long start,
+                      final AsyncResponse asyncResponse,
+                      final Throwable throwable) {
+    timer(method, throwable.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    asyncResponse.resume(throwable);
+  }
+
+  private Timer timer(final String method, final String outcome) {
+    return timers.computeIfAbsent(method + ":" + outcome, k -> Timer.builder("ProxyResource.request")
+        .tag("method", method)
+        .tag("outcome", outcome)
+        .register(meterRegistry));
+  }
+
+  /**
+   * Rejects batches larger than the configured maximum.
+   *
+   * @param size of the batch.
+   */
+  private void checkBatchSize(final int size) {
+    if (size > maxBatchSize) {
+      throw new BadRequestException("Batch of " + size + " is over the limit of " + maxBatchSize);
+    }
+  }
+
+  private Throwable unwrap(final Throwable throwable) {
+    Throwable result = throwable;
+    while (result instanceof CompletionException && result.getCause() != null) {
+      result = result.getCause();
+    }
+    return result;
   }
 }
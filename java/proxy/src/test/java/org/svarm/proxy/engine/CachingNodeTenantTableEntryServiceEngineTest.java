@@ -17,8 +17,10 @@
 package org.svarm.proxy.engine;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.github.resilience4j.feign.FeignDecorators;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -38,16 +40,32 @@ class CachingNodeTenantTableEntryServiceEngineTest {
   @Mock private NodeRange nodeRange;
   @Mock private NodeTenantTableEntryService service;
   @Mock private ProxyConfiguration proxyConfiguration;
+  @Mock private NodeResilienceEngine nodeResilienceEngine;
+  @Mock private FeignDecorators decorators;
 
   @InjectMocks private CachingNodeTenantTableEntryServiceEngine engine;
 
   @Test
   void get() {
     when(nodeRange.uri()).thenReturn(URL);
-    when(nodeServiceFactory.nodeService(URL)).thenReturn(service);
+    when(nodeResilienceEngine.decorators(URL)).thenReturn(decorators);
+    when(nodeServiceFactory.nodeService(URL, decorators)).thenReturn(service);
 
     assertThat(engine.get(nodeRange)).isEqualTo(service);
+    verify(nodeResilienceEngine).request(URL);
   }
 
+  @Test
+  void get_evictedNodeIsRemovedFromResilience() {
+    when(proxyConfiguration.getNodeTenantServiceCacheSize()).thenReturn(0);
+    when(nodeRange.uri()).thenReturn(URL);
+    when(nodeResilienceEngine.decorators(URL)).thenReturn(decorators);
+    when(nodeServiceFactory.nodeService(URL, decorators)).thenReturn(service);
+    final CachingNodeTenantTableEntryServiceEngine evicting =
+        new CachingNodeTenantTableEntryServiceEngine(nodeServiceFactory, proxyConfiguration, nodeResilienceEngine);
+
+    assertThat(evicting.get(nodeRange)).isEqualTo(service);
+    verify(nodeResilienceEngine).remove(URL);
+  }
 
 }
\ No newline at end of file
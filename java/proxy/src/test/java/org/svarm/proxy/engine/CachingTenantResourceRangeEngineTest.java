@@ -2,44 +2,228 @@ package org.svarm.proxy.engine;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.codeheadsystems.metrics.Metrics;
+import com.codeheadsystems.metrics.test.BaseMetricTest;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.KeyValue;
+import io.etcd.jetcd.Watch;
+import io.etcd.jetcd.watch.WatchEvent;
+import io.etcd.jetcd.watch.WatchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.common.config.accessor.EtcdAccessor;
+import org.svarm.common.config.api.ImmutableNodeRange;
+import org.svarm.common.config.api.ImmutableTenantResource;
+import org.svarm.common.config.api.ImmutableTenantResourceRange;
 import org.svarm.common.config.api.TenantResource;
 import org.svarm.common.config.api.TenantResourceRange;
+import org.svarm.common.config.engine.Event;
+import org.svarm.common.config.engine.ImmutableEvent;
+import org.svarm.common.config.engine.ImmutableTenantResourceRanges;
 import org.svarm.common.config.engine.NodeConfigurationEngine;
 import org.svarm.common.config.engine.WatchEngine;
 import org.svarm.common.config.factory.WatchEngineFactory;
 import org.svarm.proxy.ProxyConfiguration;
 
 @ExtendWith(MockitoExtension.class)
-class CachingTenantResourceRangeEngineTest {
+class CachingTenantResourceRangeEngineTest extends BaseMetricTest {
+
+  private static final long REVISION = 42L;
+  private static final String KEY = "p_tenant/tenant/resource";
+  private static final String JSON = "{}";
+  private static final TenantResource TENANT_RESOURCE = ImmutableTenantResource.builder()
+      .tenant("tenant").resource("resource").build();
+  private static final TenantResourceRange RANGE = range("uri");
 
-  private static final String TENANT_RESOURCE_KEY = "tenantResourceKey";
   @Mock private NodeConfigurationEngine nodeConfigurationEngine;
   @Mock private WatchEngineFactory watchEngineFactory;
-  @Mock private ProxyConfiguration proxyConfiguration;
-  @Mock private TenantResource tenantResource;
   @Mock private WatchEngine watchEngine;
-  @Mock private TenantResourceRange tenantResourceRange;
+  @Mock private WatchEngine resyncedWatchEngine;
+  @Mock private Metrics metrics;
+
+  private ProxyConfiguration configuration;
+  private CachingTenantResourceRangeEngine engine;
+
+  private static TenantResourceRange range(final String uri) {
+    return ImmutableTenantResourceRange.builder()
+        .tenant(TENANT_RESOURCE.tenant()).resource(TENANT_RESOURCE.resource())
+        .hashToNodeRange(Map.of(Integer.MIN_VALUE,
+            ImmutableNodeRange.builder().uuid("uuid").uri(uri).hash(Integer.MIN_VALUE).build()))
+        .build();
+  }
+
+  @BeforeEach
+  void setup() throws Exception {
+    configuration = new ProxyConfiguration();
+    configuration.setTenantResourceRangeRetryMillis(60_000); // resync is driven by the tests.
+    configuration.setTenantResourceRangeRetryMaxMillis(240_000);
+    engine = new CachingTenantResourceRangeEngine(nodeConfigurationEngine, watchEngineFactory, metrics, configuration);
+    when(nodeConfigurationEngine.readTenantResourceRanges()).thenReturn(ImmutableTenantResourceRanges.builder()
+        .putRanges(TENANT_RESOURCE, RANGE).revision(REVISION).build());
+    when(watchEngineFactory.watchEngine(
+        eq(NodeConfigurationEngine.TENANT_NAMESPACE), eq(""), eq(REVISION + 1), any(), any()))
+        .thenReturn(watchEngine);
+    engine.start();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    engine.stop();
+  }
+
+  @Test
+  void start_loadsSnapshot() {
+    assertThat(engine.readTenantResourceRange(TENANT_RESOURCE)).contains(RANGE);
+    assertThat(engine.readNodeRangeTable(ImmutableTenantResource.copyOf(TENANT_RESOURCE).withResource("other")))
+        .isEmpty();
+  }
+
+  @Test
+  void handle_put() {
+    final TenantResourceRange updated = range("updated");
+    when(nodeConfigurationEngine.tenantResourceFromKey(KEY)).thenReturn(TENANT_RESOURCE);
+    when(nodeConfigurationEngine.tenantResourceRange(TENANT_RESOURCE, JSON)).thenReturn(updated);
+
+    engine.handle(ImmutableEvent.builder().key(KEY).value(JSON).type(Event.Type.PUT).build());
+
+    assertThat(engine.readTenantResourceRange(TENANT_RESOURCE)).contains(updated);
+  }
+
+  @Test
+  void handle_delete() {
+    when(nodeConfigurationEngine.tenantResourceFromKey(KEY)).thenReturn(TENANT_RESOURCE);
+
+    engine.handle(ImmutableEvent.builder().key(KEY).type(Event.Type.DELETE).build());
+
+    assertThat(engine.readTenantResourceRange(TENANT_RESOURCE)).isEqualTo(Optional.empty());
+  }
 
+  @Test
+  void stop() throws Exception {
+    engine.stop();
+    verify(watchEngine).close();
+  }
+
+  @Test
+  void watchFailed_servesStale() {
+    engine.watchFailed(new IllegalStateException());
 
-  @InjectMocks private CachingTenantResourceRangeEngine engine;
+    assertThat(engine.isStale()).isTrue();
+    assertThat(engine.readTenantResourceRange(TENANT_RESOURCE)).contains(RANGE);
+    verify(metrics).increment("CachingTenantResourceRangeEngine.watch.error");
+    verify(metrics).increment("CachingTenantResourceRangeEngine.stale");
+  }
 
   @Test
-  void generateTest() {
-    when(nodeConfigurationEngine.readTenantResourceRange(tenantResource)).thenReturn(Optional.of(tenantResourceRange));
-    when(nodeConfigurationEngine.getTenantResourceKey(tenantResource)).thenReturn(TENANT_RESOURCE_KEY);
-    when(watchEngineFactory.watchEngine(eq(NodeConfigurationEngine.TENANT_NAMESPACE), eq(TENANT_RESOURCE_KEY), any())).thenReturn(watchEngine);
+  void resync_replacesTables() {
+    final TenantResource other = ImmutableTenantResource.copyOf(TENANT_RESOURCE).withResource("other");
+    final TenantResourceRange updated = range("updated");
+    when(nodeConfigurationEngine.readTenantResourceRanges()).thenReturn(ImmutableTenantResourceRanges.builder()
+        .putRanges(other, updated).revision(REVISION + 10).build());
+    when(watchEngineFactory.watchEngine(
+        eq(NodeConfigurationEngine.TENANT_NAMESPACE), eq(""), eq(REVISION + 11), any(), any()))
+        .thenReturn(resyncedWatchEngine);
+    engine.watchFailed(new IllegalStateException());
+
+    engine.resync();
+
+    assertThat(engine.isStale()).isFalse();
+    assertThat(engine.readTenantResourceRange(TENANT_RESOURCE)).isEmpty();
+    assertThat(engine.readTenantResourceRange(other)).contains(updated);
+    verify(watchEngine).close();
+    verify(metrics).increment("CachingTenantResourceRangeEngine.resync.success");
+  }
+
+  @Test
+  void resync_eventsStillArriveOnTheSharedExecutor() throws Exception {
+    final ExecutorService shared = Executors.newFixedThreadPool(1);
+    final Map<Long, Watch.Listener> listeners = new ConcurrentHashMap<>();
+    final EtcdAccessor accessor = mock(EtcdAccessor.class);
+    when(accessor.watch(eq(NodeConfigurationEngine.TENANT_NAMESPACE), eq(""), anyLong(), any()))
+        .thenAnswer(invocation -> {
+          listeners.put(invocation.getArgument(2), invocation.getArgument(3));
+          return mock(Watch.Watcher.class);
+        });
+    final WatchEngineFactory sharedFactory = (namespace, key, revision, eventConsumer, errorConsumer) ->
+        new WatchEngine(accessor, metricsFactory, new SimpleMeterRegistry(), shared,
+            namespace, key, revision, eventConsumer, errorConsumer);
+    final CachingTenantResourceRangeEngine watching =
+        new CachingTenantResourceRangeEngine(nodeConfigurationEngine, sharedFactory, metrics, configuration);
+    final TenantResourceRange updated = range("updated");
+    when(nodeConfigurationEngine.tenantResourceFromKey(KEY)).thenReturn(TENANT_RESOURCE);
+    when(nodeConfigurationEngine.tenantResourceRange(TENANT_RESOURCE, JSON)).thenReturn(updated);
+    try {
+      watching.start();
+      listeners.get(REVISION + 1).onError(new IllegalStateException("etcd blip"));
+      assertThat(watching.isStale()).isTrue();
+      when(nodeConfigurationEngine.readTenantResourceRanges()).thenReturn(ImmutableTenantResourceRanges.builder()
+          .putRanges(TENANT_RESOURCE, RANGE).revision(REVISION + 10).build());
+
+      watching.resync();
+      listeners.get(REVISION + 11).onNext(watchResponse(KEY, JSON));
+
+      final long deadline = System.currentTimeMillis() + 5_000;
+      while (!watching.readTenantResourceRange(TENANT_RESOURCE).contains(updated)
+          && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(watching.readTenantResourceRange(TENANT_RESOURCE)).contains(updated);
+      assertThat(watching.isStale()).isFalse();
+      assertThat(shared.isShutdown()).isFalse();
+    } finally {
+      watching.stop();
+      shared.shutdownNow();
+    }
+  }
+
+  @Test
+  void resync_failureKeepsServingStale() {
+    when(nodeConfigurationEngine.readTenantResourceRanges()).thenThrow(new IllegalArgumentException("timeout"));
+    engine.watchFailed(new IllegalStateException());
+
+    engine.resync();
+    engine.resync();
+
+    assertThat(engine.isStale()).isTrue();
+    assertThat(engine.readTenantResourceRange(TENANT_RESOURCE)).contains(RANGE);
+    verify(metrics, times(2)).increment("CachingTenantResourceRangeEngine.resync.failure");
+  }
+
+  @Test
+  void backoffMillis() {
+    assertThat(engine.backoffMillis(0)).isEqualTo(120_000);
+    assertThat(engine.backoffMillis(1)).isEqualTo(240_000);
+    assertThat(engine.backoffMillis(30)).isEqualTo(240_000);
+  }
 
-    assertThat(engine.readTenantResourceRange(tenantResource))
-        .contains(tenantResourceRange);
+  private WatchResponse watchResponse(final String key, final String value) {
+    final KeyValue keyValue = mock(KeyValue.class);
+    when(keyValue.getKey()).thenReturn(ByteSequence.from(key.getBytes()));
+    when(keyValue.getValue()).thenReturn(ByteSequence.from(value.getBytes()));
+    final WatchEvent watchEvent = mock(WatchEvent.class);
+    when(watchEvent.getKeyValue()).thenReturn(keyValue);
+    when(watchEvent.getEventType()).thenReturn(WatchEvent.EventType.PUT);
+    final WatchResponse response = mock(WatchResponse.class);
+    when(response.getEvents()).thenReturn(List.of(watchEvent));
+    return response;
   }
 
-}
\ No newline at end of file
+}
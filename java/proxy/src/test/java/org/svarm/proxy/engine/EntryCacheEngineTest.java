@@ -0,0 +1,96 @@
+package org.svarm.proxy.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.common.config.api.ImmutableTenantResource;
+import org.svarm.common.config.api.TenantResource;
+import org.svarm.node.api.EntryInfo;
+import org.svarm.node.api.ImmutableEntryInfo;
+import org.svarm.proxy.ProxyConfiguration;
+
+@ExtendWith(MockitoExtension.class)
+class EntryCacheEngineTest {
+
+  private static final String ENTRY = "entry";
+  private static final TenantResource TENANT_RESOURCE = ImmutableTenantResource.builder()
+      .tenant("tenant").resource("resource").build();
+
+  @Mock private JsonNode data;
+  @Mock private JsonNode newerData;
+
+  private ProxyConfiguration configuration;
+  private MeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setup() {
+    configuration = new ProxyConfiguration();
+    configuration.setEntryCacheEnabled(true);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void get_empty() {
+    final EntryCacheEngine engine = new EntryCacheEngine(configuration, meterRegistry);
+    assertThat(engine.get(TENANT_RESOURCE, ENTRY)).isEmpty();
+    assertThat(meterRegistry.get("EntryCacheEngine.miss").tag("tenant", "tenant").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void put_thenGet() {
+    final EntryCacheEngine engine = new EntryCacheEngine(configuration, meterRegistry);
+    final EntryInfo entryInfo = entryInfo(data, 1L);
+    engine.put(TENANT_RESOURCE, entryInfo);
+    assertThat(engine.get(TENANT_RESOURCE, ENTRY)).contains(entryInfo);
+    assertThat(meterRegistry.get("EntryCacheEngine.hit").tag("tenant", "tenant").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void put_olderDoesNotReplaceNewer() {
+    final EntryCacheEngine engine = new EntryCacheEngine(configuration, meterRegistry);
+    final EntryInfo newer = entryInfo(newerData, 2L);
+    engine.put(TENANT_RESOURCE, newer);
+    engine.put(TENANT_RESOURCE, entryInfo(data, 1L));
+    assertThat(engine.get(TENANT_RESOURCE, ENTRY)).contains(newer);
+  }
+
+  @Test
+  void invalidate() {
+    final EntryCacheEngine engine = new EntryCacheEngine(configuration, meterRegistry);
+    engine.put(TENANT_RESOURCE, entryInfo(data, 1L));
+    engine.invalidate(TENANT_RESOURCE, ENTRY);
+    assertThat(engine.get(TENANT_RESOURCE, ENTRY)).isEmpty();
+  }
+
+  @Test
+  void put_invalidatedSinceTheGeneration_skipped() {
+    final EntryCacheEngine engine = new EntryCacheEngine(configuration, meterRegistry);
+    final long generation = engine.generation(TENANT_RESOURCE, ENTRY);
+    engine.invalidate(TENANT_RESOURCE, ENTRY);
+    engine.put(TENANT_RESOURCE, entryInfo(data, 1L), generation);
+    assertThat(engine.get(TENANT_RESOURCE, ENTRY)).isEmpty();
+
+    final EntryInfo current = entryInfo(data, 2L);
+    engine.put(TENANT_RESOURCE, current, engine.generation(TENANT_RESOURCE, ENTRY));
+    assertThat(engine.get(TENANT_RESOURCE, ENTRY)).contains(current);
+  }
+
+  @Test
+  void disabled() {
+    configuration.setEntryCacheEnabled(false);
+    final EntryCacheEngine engine = new EntryCacheEngine(configuration, meterRegistry);
+    engine.put(TENANT_RESOURCE, entryInfo(data, 1L));
+    assertThat(engine.get(TENANT_RESOURCE, ENTRY)).isEmpty();
+  }
+
+  private EntryInfo entryInfo(final JsonNode jsonNode, final long timestamp) {
+    return ImmutableEntryInfo.builder().id(ENTRY).locationHash(1).timestamp(timestamp).data(jsonNode).build();
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.proxy.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.codeheadsystems.metrics.Metrics;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.functions.CheckedFunction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.proxy.ProxyConfiguration;
+
+@ExtendWith(MockitoExtension.class)
+class NodeResilienceEngineTest {
+
+  private static final String URI = "uri";
+  private static final int WINDOW = 100; // the circuit breaker's default minimum number of calls.
+
+  @Mock private Metrics metrics;
+
+  private NodeResilienceEngine engine;
+
+  @BeforeEach
+  void setup() {
+    final ProxyConfiguration configuration = new ProxyConfiguration();
+    configuration.setNodeRetryBudgetPercent(50);
+    configuration.setNodeRetryBudgetMax(1);
+    configuration.setNodeBulkheadMaxConcurrentCalls(1);
+    engine = new NodeResilienceEngine(configuration, new SimpleMeterRegistry(), metrics);
+  }
+
+  @Test
+  void decorators() {
+    assertThat(engine.decorators(URI)).isNotNull();
+  }
+
+  @Test
+  void bulkhead_fullRejectsWithoutOpeningTheBreaker() throws Throwable {
+    final AtomicReference<CheckedFunction<Object[], Object>> decorated = new AtomicReference<>();
+    decorated.set(decorate(args -> {
+      try {
+        return decorated.get().apply(args); // a second call while the only permit is held.
+      } catch (BulkheadFullException e) {
+        return e;
+      }
+    }));
+
+    assertThat(decorated.get().apply(new Object[0])).isInstanceOf(BulkheadFullException.class);
+    assertThat(engine.circuitBreaker(URI).getMetrics().getNumberOfFailedCalls()).isZero();
+  }
+
+  @Test
+  void circuitBreaker_opensOnServerErrors() {
+    final CheckedFunction<Object[], Object> decorated = decorate(args -> {
+      throw mock(FeignException.InternalServerError.class);
+    });
+
+    for (int i = 0; i < WINDOW; i++) {
+      callIgnoringFailure(decorated);
+    }
+
+    assertThat(engine.circuitBreaker(URI).getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThatExceptionOfType(CallNotPermittedException.class)
+        .isThrownBy(() -> decorated.apply(new Object[0]));
+  }
+
+  @Test
+  void circuitBreaker_ignoresClientErrors() {
+    final AtomicInteger calls = new AtomicInteger();
+    final CheckedFunction<Object[], Object> decorated = decorate(args -> {
+      calls.incrementAndGet();
+      throw mock(FeignException.NotFound.class);
+    });
+
+    for (int i = 0; i < WINDOW; i++) {
+      callIgnoringFailure(decorated);
+    }
+
+    assertThat(engine.circuitBreaker(URI).getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(engine.circuitBreaker(URI).getMetrics().getNumberOfFailedCalls()).isZero();
+    assertThat(calls).hasValue(WINDOW); // not retried either.
+  }
+
+  @Test
+  void retry_stopsWhenTheBudgetIsEmpty() {
+    final AtomicInteger calls = new AtomicInteger();
+    final CheckedFunction<Object[], Object> decorated = decorate(args -> {
+      calls.incrementAndGet();
+      throw mock(FeignException.InternalServerError.class);
+    });
+
+    callIgnoringFailure(decorated);
+    assertThat(calls).hasValue(2); // the one banked retry.
+
+    callIgnoringFailure(decorated);
+    assertThat(calls).hasValue(3); // none left.
+    assertThat(engine.retryAllowed(URI)).isFalse();
+    verify(metrics, atLeastOnce())
+        .increment("NodeResilienceEngine.retryBudgetExhausted", "node", URI);
+  }
+
+  @Test
+  void retryAllowed_doesNotSpend() {
+    assertThat(engine.retryAllowed(URI)).isTrue();
+    assertThat(engine.retryAllowed(URI)).isTrue();
+  }
+
+  @Test
+  void retryAllowed_restoredByRequests() {
+    spendBudget();
+
+    engine.request(URI);
+    engine.request(URI);
+
+    assertThat(engine.retryAllowed(URI)).isTrue();
+  }
+
+  @Test
+  void retryAllowed_perNode() {
+    spendBudget();
+
+    assertThat(engine.retryAllowed("other")).isTrue();
+  }
+
+  @Test
+  void remove_forgetsTheNode() {
+    final CircuitBreaker circuitBreaker = engine.circuitBreaker(URI);
+    spendBudget();
+
+    engine.remove(URI);
+
+    assertThat(engine.retryAllowed(URI)).isTrue();
+    assertThat(engine.circuitBreaker(URI)).isNotSameAs(circuitBreaker);
+  }
+
+  private void spendBudget() {
+    callIgnoringFailure(decorate(args -> {
+      throw mock(FeignException.InternalServerError.class);
+    }));
+  }
+
+  private CheckedFunction<Object[], Object> decorate(final CheckedFunction<Object[], Object> node) {
+    return engine.decorators(URI).decorate(node, null, null, null);
+  }
+
+  private void callIgnoringFailure(final CheckedFunction<Object[], Object> decorated) {
+    try {
+      decorated.apply(new Object[0]);
+    } catch (Throwable e) {
+      // expected.
+    }
+  }
+
+}
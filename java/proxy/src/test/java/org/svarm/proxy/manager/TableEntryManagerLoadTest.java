@@ -0,0 +1,174 @@
+package org.svarm.proxy.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.codeheadsystems.metrics.Metrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.svarm.common.config.api.ImmutableNodeRange;
+import org.svarm.common.config.api.ImmutableTenantResource;
+import org.svarm.common.config.api.NodeRange;
+import org.svarm.common.config.api.TenantResource;
+import org.svarm.node.api.EntryInfo;
+import org.svarm.node.api.ImmutableEntryInfo;
+import org.svarm.node.api.NodeTenantTableEntryService;
+import org.svarm.node.api.RawEntryInfo;
+import org.svarm.proxy.ProxyConfiguration;
+import org.svarm.proxy.engine.CachingNodeTenantTableEntryServiceEngine;
+import org.svarm.proxy.engine.EntryCacheEngine;
+import org.svarm.proxy.engine.NodeRangeResolverEngine;
+import org.svarm.proxy.model.NodeRangePlacement;
+
+/**
+ * Compares proxy read throughput against client concurrency for the old fixed node service pool and the virtual
+ * thread executor. Each node call sleeps to simulate network and database latency.
+ */
+@Tag("load")
+class TableEntryManagerLoadTest {
+
+  private static final Logger LOGGER = getLogger(TableEntryManagerLoadTest.class);
+  private static final Duration NODE_LATENCY = Duration.ofMillis(10);
+  private static final int FIXED_POOL_SIZE = 20;
+  private static final int REQUESTS_PER_CLIENT = 10;
+  private static final int REPLICATION_FACTOR = 3;
+  private static final List<Integer> CONCURRENCY = List.of(1, 8, 32, 64);
+  private static final TenantResource TENANT_RESOURCE = ImmutableTenantResource.builder()
+      .tenant("tenant").resource("resource").build();
+  private static final EntryInfo ENTRY_INFO = ImmutableEntryInfo.builder()
+      .id("entry").locationHash(1).timestamp(1L)
+      .data(new ObjectMapper().createObjectNode().put("a", 1))
+      .build();
+
+  @Test
+  void throughputVsConcurrency() throws Exception {
+    final Map<Integer, Double> fixed = new TreeMap<>();
+    final Map<Integer, Double> virtual = new TreeMap<>();
+    for (Integer concurrency : CONCURRENCY) {
+      try (ExecutorService executor = Executors.newFixedThreadPool(FIXED_POOL_SIZE)) {
+        fixed.put(concurrency, throughput(executor, concurrency));
+      }
+      try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        virtual.put(concurrency, throughput(executor, concurrency));
+      }
+    }
+    CONCURRENCY.forEach(concurrency -> LOGGER.info("concurrency={} fixed={} req/s virtual={} req/s",
+        concurrency, String.format("%.1f", fixed.get(concurrency)), String.format("%.1f", virtual.get(concurrency))));
+
+    final Integer highest = CONCURRENCY.get(CONCURRENCY.size() - 1);
+    assertThat(virtual.get(highest))
+        .as("virtual threads are not capped by the fixed pool")
+        .isGreaterThan(fixed.get(highest));
+  }
+
+  private double throughput(final ExecutorService nodeServiceExecutor,
+                            final int concurrency) throws Exception {
+    final TableEntryManager manager = manager(nodeServiceExecutor);
+    final CountDownLatch start = new CountDownLatch(1);
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      final List<Future<?>> futures = IntStream.range(0, concurrency)
+          .mapToObj(i -> clients.submit(() -> {
+            start.await();
+            for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+              assertThat(manager.getTenantTableEntry(TENANT_RESOURCE, "entry")).isPresent();
+            }
+            return null;
+          }))
+          .collect(Collectors.toList());
+      final long begin = System.nanoTime();
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      final long elapsed = System.nanoTime() - begin;
+      return (concurrency * REQUESTS_PER_CLIENT) / (elapsed / 1_000_000_000.0);
+    }
+  }
+
+  private TableEntryManager manager(final ExecutorService nodeServiceExecutor) {
+    final NodeTenantTableEntryService service = new SlowNodeTenantTableEntryService();
+    final CachingNodeTenantTableEntryServiceEngine serviceEngine = mock(CachingNodeTenantTableEntryServiceEngine.class);
+    when(serviceEngine.get(any())).thenReturn(service);
+    final NodeRangeResolverEngine resolverEngine = mock(NodeRangeResolverEngine.class);
+    final NodeRange[] ranges = IntStream.range(0, REPLICATION_FACTOR)
+        .mapToObj(i -> ImmutableNodeRange.builder().uuid("node" + i).uri("http://node" + i).hash(i).build())
+        .toArray(NodeRange[]::new);
+    final int[] hashes = IntStream.range(0, REPLICATION_FACTOR).toArray();
+    when(resolverEngine.nodeRangeToHash(any(), anyString()))
+        .thenReturn(new NodeRangePlacement(ranges, hashes, REPLICATION_FACTOR));
+    final ProxyConfiguration configuration = new ProxyConfiguration();
+    final Metrics metrics = mock(Metrics.class);
+    return new TableEntryManager(serviceEngine, Clock.systemUTC(), metrics, nodeServiceExecutor,
+        resolverEngine, configuration, new EntryCacheEngine(configuration, new SimpleMeterRegistry()));
+  }
+
+  /**
+   * A node that takes a fixed amount of time to answer.
+   */
+  private static class SlowNodeTenantTableEntryService implements NodeTenantTableEntryService {
+
+    @Override
+    public Optional<EntryInfo> readTenantTableEntry(final String tenantId, final String table, final String entry) {
+      try {
+        Thread.sleep(NODE_LATENCY);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+      return Optional.of(ENTRY_INFO);
+    }
+
+    @Override
+    public Optional<RawEntryInfo> readTenantTableEntryRaw(final String tenantId, final String table,
+                                                          final String entry) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void createTenantTableEntry(final String tenantId, final String table, final String entry,
+                                       final EntryInfo entryInfo) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteTenantTableEntry(final String tenantId, final String table, final String entry) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<EntryInfo> readTenantTableEntries(final String tenantId, final String table,
+                                                  final List<String> entries) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void createTenantTableEntries(final String tenantId, final String table,
+                                         final List<EntryInfo> entryInfos) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteTenantTableEntries(final String tenantId, final String table, final List<String> entries) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -1,31 +1,64 @@
 package org.svarm.proxy.manager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.codeheadsystems.metrics.Metrics;
+import com.codeheadsystems.metrics.Tags;
 import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.common.config.api.ImmutableTenantResource;
+import org.svarm.common.config.api.NodeRange;
+import org.svarm.common.config.api.TenantResource;
 import org.svarm.node.api.EntryInfo;
+import org.svarm.node.api.ImmutableEntryInfo;
+import org.svarm.node.api.ImmutableRawEntryInfo;
+import org.svarm.node.api.NodeTenantTableEntryService;
+import org.svarm.node.api.RawEntryInfo;
+import org.svarm.node.api.RawJson;
+import org.svarm.proxy.ProxyConfiguration;
 import org.svarm.proxy.engine.CachingNodeTenantTableEntryServiceEngine;
+import org.svarm.proxy.engine.EntryCacheEngine;
 import org.svarm.proxy.engine.NodeRangeResolverEngine;
+import org.svarm.proxy.model.NodeRangePlacement;
 
 @ExtendWith(MockitoExtension.class)
 class TableEntryManagerTest {
+  private static final String ENTRY = "entry";
+  private static final TenantResource TENANT_RESOURCE = ImmutableTenantResource.builder()
+      .tenant("tenant").resource("resource").build();
+
   @Mock private CachingNodeTenantTableEntryServiceEngine cachingNodeTenantTableEntryServiceEngine;
   @Mock private NodeRangeResolverEngine nodeRangeResolverEngine;
   @Mock private Clock clock;
   @Mock private Metrics metrics;
   @Mock private ExecutorService nodeServiceExecutor;
+  @Mock private ProxyConfiguration proxyConfiguration;
+  @Mock private EntryCacheEngine entryCacheEngine;
+  @Mock private NodeRange nodeRange;
+  @Mock private NodeTenantTableEntryService nodeTenantTableEntryService;
+  @Mock private JsonNode data;
 
   @InjectMocks private TableEntryManager manager;
 
@@ -48,4 +81,132 @@ class TableEntryManagerTest {
     assertThat(result).isPresent()
         .contains(info2);
   }
-}
\ No newline at end of file
+
+  @Test
+  void getTenantTableEntryAsync_coalescesConcurrentReads() {
+    when(proxyConfiguration.getNodeRequestTimeoutMillis()).thenReturn(60_000L);
+    when(entryCacheEngine.get(TENANT_RESOURCE, ENTRY)).thenReturn(Optional.empty());
+    when(nodeRangeResolverEngine.nodeRangeToHash(TENANT_RESOURCE, ENTRY)).thenReturn(placement(1));
+    final TableEntryManager coalescing = new TableEntryManager(cachingNodeTenantTableEntryServiceEngine, clock,
+        metrics, nodeServiceExecutor, nodeRangeResolverEngine, proxyConfiguration, entryCacheEngine);
+
+    // the mock executor never runs the node request, so the first read stays in flight.
+    final CompletableFuture<Optional<EntryInfo>> first = coalescing.getTenantTableEntryAsync(TENANT_RESOURCE, ENTRY);
+    final CompletableFuture<Optional<EntryInfo>> second = coalescing.getTenantTableEntryAsync(TENANT_RESOURCE, ENTRY);
+
+    assertThat(first).isNotDone();
+    assertThat(second).isNotDone();
+    verify(nodeRangeResolverEngine, times(1)).nodeRangeToHash(TENANT_RESOURCE, ENTRY);
+    verify(nodeServiceExecutor, times(1)).execute(any());
+  }
+
+  @Test
+  void getTenantTableEntriesAsync_oneRequestPerNode() {
+    final String other = "other";
+    final EntryInfo entryInfo = ImmutableEntryInfo.builder().id(ENTRY).locationHash(1).timestamp(1L).data(data).build();
+    when(proxyConfiguration.getNodeRequestTimeoutMillis()).thenReturn(60_000L);
+    when(entryCacheEngine.get(any(), any())).thenReturn(Optional.empty());
+    when(nodeRangeResolverEngine.nodeRangeToHash(TENANT_RESOURCE, ENTRY)).thenReturn(placement(1));
+    when(nodeRangeResolverEngine.nodeRangeToHash(TENANT_RESOURCE, other)).thenReturn(placement(2));
+    when(cachingNodeTenantTableEntryServiceEngine.get(nodeRange)).thenReturn(nodeTenantTableEntryService);
+    when(nodeTenantTableEntryService.readTenantTableEntries("tenant", "resource", List.of(ENTRY, other)))
+        .thenReturn(List.of(entryInfo));
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(0).run();
+      return null;
+    }).when(nodeServiceExecutor).execute(any());
+    final TableEntryManager batching = new TableEntryManager(cachingNodeTenantTableEntryServiceEngine, clock,
+        metrics, nodeServiceExecutor, nodeRangeResolverEngine, proxyConfiguration, entryCacheEngine);
+
+    assertThat(batching.getTenantTableEntriesAsync(TENANT_RESOURCE, List.of(ENTRY, other)).join())
+        .containsOnly(Map.entry(ENTRY, entryInfo));
+    verify(nodeServiceExecutor, times(1)).execute(any());
+    verify(entryCacheEngine).put(TENANT_RESOURCE, entryInfo, 0L);
+  }
+
+  @Test
+  void mostCommonRawEntry() {
+    final RawEntryInfo common = raw(1L, "a");
+    final RawEntryInfo newer = raw(2L, "b");
+
+    assertThat(manager.mostCommonRawEntry(TENANT_RESOURCE, List.of(Optional.of(newer), Optional.of(common),
+        Optional.of(raw(1L, "a")), Optional.empty()))).contains(common);
+    verify(metrics).increment(eq("TableEntryManager.divergentRead"), any(Tags.class));
+  }
+
+  @Test
+  void mostCommonRawEntry_tieGoesToNewest() {
+    final RawEntryInfo old = raw(1L, "a");
+    final RawEntryInfo newest = raw(2L, "b");
+
+    assertThat(manager.mostCommonRawEntry(TENANT_RESOURCE, List.of(Optional.of(old), Optional.of(newest))))
+        .contains(newest);
+    assertThat(manager.mostCommonRawEntry(TENANT_RESOURCE, List.of(Optional.empty()))).isEmpty();
+  }
+
+  @Test
+  void largestFirst_tieGoesToNewest() {
+    final EntryInfo old = mock(EntryInfo.class);
+    final EntryInfo newest = mock(EntryInfo.class);
+    when(old.timestamp()).thenReturn(1L);
+    when(newest.timestamp()).thenReturn(2L);
+
+    assertThat(manager.largestListFirst(Map.entry(mock(JsonNode.class), List.of(old)),
+        Map.entry(mock(JsonNode.class), List.of(newest)))).isPositive();
+  }
+
+  @Test
+  void getTenantTableEntryRawAsync() {
+    final RawEntryInfo rawEntryInfo = raw(1L, "a");
+    when(proxyConfiguration.getNodeRequestTimeoutMillis()).thenReturn(60_000L);
+    when(entryCacheEngine.get(TENANT_RESOURCE, ENTRY)).thenReturn(Optional.empty());
+    when(nodeRangeResolverEngine.nodeRangeToHash(TENANT_RESOURCE, ENTRY)).thenReturn(placement(1));
+    when(cachingNodeTenantTableEntryServiceEngine.get(nodeRange)).thenReturn(nodeTenantTableEntryService);
+    when(nodeTenantTableEntryService.readTenantTableEntryRaw("tenant", "resource", ENTRY))
+        .thenReturn(Optional.of(rawEntryInfo));
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(0).run();
+      return null;
+    }).when(nodeServiceExecutor).execute(any());
+    final TableEntryManager passThrough = new TableEntryManager(cachingNodeTenantTableEntryServiceEngine, clock,
+        metrics, nodeServiceExecutor, nodeRangeResolverEngine, proxyConfiguration, entryCacheEngine);
+
+    assertThat(passThrough.getTenantTableEntryRawAsync(TENANT_RESOURCE, ENTRY).join())
+        .contains(rawEntryInfo.data());
+    verify(entryCacheEngine, never()).put(any(), any(), anyLong());
+  }
+
+  @Test
+  void getTenantTableEntryAsync_readCompletingAfterDelete_notCached() {
+    final ProxyConfiguration configuration = new ProxyConfiguration();
+    configuration.setEntryCacheEnabled(true);
+    final EntryCacheEngine cache = new EntryCacheEngine(configuration, new SimpleMeterRegistry());
+    final EntryInfo entryInfo = ImmutableEntryInfo.builder().id(ENTRY).locationHash(1).timestamp(1L).data(data).build();
+    when(nodeRangeResolverEngine.nodeRangeToHash(TENANT_RESOURCE, ENTRY)).thenReturn(placement(1));
+    when(cachingNodeTenantTableEntryServiceEngine.get(nodeRange)).thenReturn(nodeTenantTableEntryService);
+    when(nodeTenantTableEntryService.readTenantTableEntry("tenant", "resource", ENTRY))
+        .thenReturn(Optional.of(entryInfo));
+    final List<Runnable> pending = new ArrayList<>();
+    doAnswer(invocation -> pending.add(invocation.getArgument(0))).when(nodeServiceExecutor).execute(any());
+    final TableEntryManager caching = new TableEntryManager(cachingNodeTenantTableEntryServiceEngine, clock,
+        metrics, nodeServiceExecutor, nodeRangeResolverEngine, configuration, cache);
+
+    final CompletableFuture<Optional<EntryInfo>> read = caching.getTenantTableEntryAsync(TENANT_RESOURCE, ENTRY);
+    final CompletableFuture<Void> delete = caching.deleteTenantTableEntryAsync(TENANT_RESOURCE, ENTRY);
+    pending.get(1).run(); // the delete finishes first.
+    delete.join();
+    pending.get(0).run(); // then the read that started before it.
+
+    assertThat(read.join()).contains(entryInfo);
+    assertThat(cache.get(TENANT_RESOURCE, ENTRY)).isEmpty();
+  }
+
+  private NodeRangePlacement placement(final int hash) {
+    return new NodeRangePlacement(new NodeRange[]{nodeRange}, new int[]{hash}, 1);
+  }
+
+  private RawEntryInfo raw(final long timestamp, final String digest) {
+    return ImmutableRawEntryInfo.builder().id(ENTRY).locationHash(1).timestamp(timestamp).digest(digest)
+        .data(RawJson.of(digest.getBytes(StandardCharsets.UTF_8))).build();
+  }
+}
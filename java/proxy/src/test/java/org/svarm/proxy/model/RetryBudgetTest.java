@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.proxy.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+  @Test
+  void hasRetry_startsFull() {
+    final RetryBudget budget = new RetryBudget(10, 2);
+
+    assertThat(budget.hasRetry()).isTrue();
+    budget.withdraw();
+    assertThat(budget.hasRetry()).isTrue();
+    budget.withdraw();
+    assertThat(budget.hasRetry()).isFalse();
+  }
+
+  @Test
+  void withdraw_stopsAtZero() {
+    final RetryBudget budget = new RetryBudget(50, 1);
+    budget.withdraw();
+    budget.withdraw();
+
+    budget.deposit();
+    budget.deposit();
+
+    assertThat(budget.hasRetry()).isTrue();
+  }
+
+  @Test
+  void deposit_banksPercentOfRequests() {
+    final RetryBudget budget = new RetryBudget(10, 1);
+    budget.withdraw();
+
+    for (int i = 0; i < 9; i++) {
+      budget.deposit();
+    }
+    assertThat(budget.hasRetry()).isFalse();
+
+    budget.deposit();
+    assertThat(budget.hasRetry()).isTrue();
+  }
+
+  @Test
+  void deposit_cappedAtMax() {
+    final RetryBudget budget = new RetryBudget(50, 1);
+
+    for (int i = 0; i < 100; i++) {
+      budget.deposit();
+    }
+
+    budget.withdraw();
+    assertThat(budget.hasRetry()).isFalse();
+  }
+
+}
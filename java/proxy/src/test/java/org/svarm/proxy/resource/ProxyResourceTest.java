@@ -0,0 +1,166 @@
+package org.svarm.proxy.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.container.AsyncResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.svarm.node.api.EntryInfo;
+import org.svarm.node.api.RawJson;
+import org.svarm.proxy.ProxyConfiguration;
+import org.svarm.proxy.manager.TableEntryManager;
+import org.svarm.server.exception.NotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+class ProxyResourceTest {
+
+  private static final String TENANT = "tenant";
+  private static final String TABLE = "table";
+  private static final String ENTRY = "entry";
+  private static final int MAX_BATCH_SIZE = 2;
+
+  @Mock private TableEntryManager tableEntryManager;
+  @Mock private ProxyConfiguration proxyConfiguration;
+  @Mock private AsyncResponse asyncResponse;
+  @Mock private EntryInfo entryInfo;
+  @Mock private JsonNode data;
+  @Captor private ArgumentCaptor<Throwable> throwableCaptor;
+
+  private MeterRegistry meterRegistry;
+  private ProxyResource resource;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    when(proxyConfiguration.getMaxBatchSize()).thenReturn(MAX_BATCH_SIZE);
+    resource = new ProxyResource(tableEntryManager, proxyConfiguration, meterRegistry);
+  }
+
+  @Test
+  void read_found() {
+    final CompletableFuture<Optional<EntryInfo>> future = new CompletableFuture<>();
+    when(tableEntryManager.getTenantTableEntryAsync(any(), eq(ENTRY))).thenReturn(future);
+    when(entryInfo.data()).thenReturn(data);
+
+    resource.readTenantTableEntry(TENANT, TABLE, ENTRY, asyncResponse);
+    assertThat(meterRegistry.find("ProxyResource.request").timer()).isNull();
+    future.complete(Optional.of(entryInfo));
+
+    verify(asyncResponse).resume((Object) data);
+    assertThat(meterRegistry.get("ProxyResource.request")
+        .tag("method", "readTenantTableEntry").tag("outcome", "success").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void read_passThrough() {
+    final byte[] bytes = "{}".getBytes(StandardCharsets.UTF_8);
+    when(proxyConfiguration.isReadPassThrough()).thenReturn(true);
+    when(tableEntryManager.getTenantTableEntryRawAsync(any(), eq(ENTRY)))
+        .thenReturn(CompletableFuture.completedFuture(Optional.of(RawJson.of(bytes))));
+
+    new ProxyResource(tableEntryManager, proxyConfiguration, meterRegistry)
+        .readTenantTableEntry(TENANT, TABLE, ENTRY, asyncResponse);
+
+    verify(asyncResponse).resume((Object) bytes);
+  }
+
+  @Test
+  void read_notFound() {
+    when(tableEntryManager.getTenantTableEntryAsync(any(), eq(ENTRY)))
+        .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+    resource.readTenantTableEntry(TENANT, TABLE, ENTRY, asyncResponse);
+
+    verify(asyncResponse).resume(throwableCaptor.capture());
+    assertThat(throwableCaptor.getValue()).isInstanceOf(NotFoundException.class);
+    assertThat(meterRegistry.get("ProxyResource.request")
+        .tag("outcome", "NotFoundException").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void read_failedBeforeFuture() {
+    final NotFoundException exception = new NotFoundException();
+    when(tableEntryManager.getTenantTableEntryAsync(any(), eq(ENTRY))).thenThrow(exception);
+
+    resource.readTenantTableEntry(TENANT, TABLE, ENTRY, asyncResponse);
+
+    verify(asyncResponse).resume(exception);
+  }
+
+  @Test
+  void create() {
+    when(tableEntryManager.putTenantTableEntryAsync(any(), eq(ENTRY), eq(data)))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    resource.createTenantTableEntry(TENANT, TABLE, ENTRY, data, asyncResponse);
+
+    verify(asyncResponse).resume((Object) null);
+  }
+
+  @Test
+  void delete_failed() {
+    final IllegalStateException exception = new IllegalStateException();
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    when(tableEntryManager.deleteTenantTableEntryAsync(any(), eq(ENTRY)))
+        .thenReturn(future.thenApply(v -> v)); // dependent stage wraps the failure.
+
+    resource.deleteTenantTableEntry(TENANT, TABLE, ENTRY, asyncResponse);
+    future.completeExceptionally(exception);
+
+    verify(asyncResponse).resume(exception);
+  }
+
+  @Test
+  void readBatch() {
+    final List<String> entries = List.of(ENTRY);
+    when(tableEntryManager.getTenantTableEntriesAsync(any(), eq(entries)))
+        .thenReturn(CompletableFuture.completedFuture(Map.of(ENTRY, entryInfo)));
+    when(entryInfo.data()).thenReturn(data);
+
+    resource.readTenantTableEntries(TENANT, TABLE, entries, asyncResponse);
+
+    verify(asyncResponse).resume((Object) Map.of(ENTRY, data));
+  }
+
+  @Test
+  void readBatch_tooLarge() {
+    resource.readTenantTableEntries(TENANT, TABLE, List.of("a", "b", "c"), asyncResponse);
+
+    verify(asyncResponse).resume(throwableCaptor.capture());
+    assertThat(throwableCaptor.getValue()).isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void createBatch_tooLarge() {
+    resource.createTenantTableEntries(TENANT, TABLE, Map.of("a", data, "b", data, "c", data), asyncResponse);
+
+    verify(asyncResponse).resume(throwableCaptor.capture());
+    assertThat(throwableCaptor.getValue()).isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void deleteBatch_tooLarge() {
+    resource.deleteTenantTableEntries(TENANT, TABLE, List.of("a", "b", "c"), asyncResponse);
+
+    verify(asyncResponse).resume(throwableCaptor.capture());
+    assertThat(throwableCaptor.getValue()).isInstanceOf(BadRequestException.class);
+  }
+}
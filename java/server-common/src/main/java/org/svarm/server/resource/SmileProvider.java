@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.svarm.server.resource;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.jakarta.rs.smile.JacksonSmileProvider;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+
+/**
+ * Reads and writes Smile bodies for resources that list it in their produces/consumes types. Uses a copy of the
+ * server object mapper, so the modules and settings match the JSON ones. Only bound by servers that offer Smile.
+ */
+@Singleton
+public class SmileProvider extends JacksonSmileProvider implements JerseyResource {
+
+  private static final Logger LOGGER = getLogger(SmileProvider.class);
+
+  /**
+   * Constructor.
+   *
+   * @param objectMapper the server object mapper.
+   */
+  @Inject
+  public SmileProvider(final ObjectMapper objectMapper) {
+    super(objectMapper.copyWith(new SmileFactory()));
+    LOGGER.info("SmileProvider()");
+  }
+
+}